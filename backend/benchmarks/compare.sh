@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compare a JMH JSON result against the committed baseline.
+#
+#   benchmarks/compare.sh [current.json] [baseline.json]
+#
+# Prints one row per benchmark/parameter combination and exits non-zero when
+# any score is more than THRESHOLD percent slower than the baseline.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CURRENT="${1:-target/jmh-result.json}"
+BASELINE="${2:-benchmarks/baseline/jmh-result.json}"
+THRESHOLD="${THRESHOLD:-20}"
+
+jq -r -n --slurpfile base "$BASELINE" --slurpfile cur "$CURRENT" --argjson threshold "$THRESHOLD" '
+    def key: (.benchmark | sub("^com\\.education\\.sms\\.bench\\."; "")) + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join(""));
+    def scores(results): results | map({ (key): .primaryMetric }) | add // {};
+    (scores($base[0])) as $b
+    | (scores($cur[0])) as $c
+    | ($c | keys[]) as $k
+    | $c[$k] as $now
+    | $b[$k] as $was
+    | if $was == null then
+        [$k, "-", ($now.score | tostring), $now.scoreUnit, "new"]
+      else
+        (($now.score - $was.score) / $was.score * 100) as $change
+        | [$k, ($was.score | tostring), ($now.score | tostring), $now.scoreUnit,
+           ((if $change >= 0 then "+" else "" end) + ($change | floor | tostring) + "%"
+            + (if $change > $threshold then "  REGRESSION" else "" end))]
+      end
+    | @tsv' \
+| awk -F'\t' '
+    BEGIN { printf "%-60s %12s %12s %-6s %s\n", "Benchmark", "Baseline", "Current", "Unit", "Change" }
+    {
+        printf "%-60s %12s %12s %-6s %s\n", $1, ($2 == "-" ? "-" : sprintf("%.3f", $2)), sprintf("%.3f", $3), $4, $5
+        if ($5 ~ /REGRESSION/) regressions++
+    }
+    END {
+        if (regressions > 0) {
+            printf "\n%d benchmark(s) regressed by more than the threshold\n", regressions
+            exit 1
+        }
+    }'
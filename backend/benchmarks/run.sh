@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Runs the JMH benchmarks (src/jmh/java) and compares them with the committed baseline.
+#
+# Usage: benchmarks/run.sh                       (from backend/, all benchmarks)
+#        benchmarks/run.sh 'JwtUtilBenchmark'     (regex filter, passed to JMH)
+#        THRESHOLD=10 benchmarks/run.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+./mvnw -B -q -P benchmarks test-compile exec:exec@jmh \
+    -Djmh.args="-rf json -rff target/jmh-result.json $*"
+
+echo
+benchmarks/compare.sh target/jmh-result.json benchmarks/baseline/jmh-result.json
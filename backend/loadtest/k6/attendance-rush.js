@@ -0,0 +1,76 @@
+// Attendance rush: every teacher marks every class register in the first
+// period, while a few students look up their attendance history.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 k6/attendance-rush.js
+//
+// Marks start on the manifest's "today" (the first day after the generated
+// year) and move to the next day once every (subject, student) pair has been
+// marked, so re-running against the same database mostly hits the
+// "already marked" path; regenerate for clean numbers.
+
+import exec from 'k6/execution';
+import { SharedArray } from 'k6/data';
+import { ACCEPT_400, get, ok, send, tokenFor } from './lib/session.js';
+import { addDays, studentsByClass } from './lib/manifest.js';
+import { TREND_STATS, endpointThresholds, summarize } from './lib/report.js';
+
+const MANIFEST = __ENV.MANIFEST || '../data/manifest.json';
+const manifest = new SharedArray('manifest', () => [JSON.parse(open(MANIFEST))])[0];
+
+const ENDPOINTS = ['attendance_mark', 'attendance_student'];
+const RATE = Number(__ENV.RATE || 100);
+
+export const options = {
+    scenarios: {
+        teachers: {
+            executor: 'ramping-arrival-rate',
+            exec: 'mark',
+            startRate: 0,
+            timeUnit: '1s',
+            preAllocatedVUs: Number(__ENV.VUS || 100),
+            maxVUs: Number(__ENV.MAX_VUS || 400),
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: RATE },
+                { duration: __ENV.HOLD || '2m', target: RATE },
+                { duration: '10s', target: 0 },
+            ],
+        },
+        students: {
+            executor: 'constant-arrival-rate',
+            exec: 'history',
+            rate: Math.max(1, Math.round(RATE / 10)),
+            timeUnit: '1s',
+            duration: __ENV.HOLD || '2m',
+            startTime: __ENV.RAMP || '30s',
+            preAllocatedVUs: 20,
+            maxVUs: 100,
+        },
+    },
+    summaryTrendStats: TREND_STATS,
+    thresholds: endpointThresholds(ENDPOINTS),
+};
+
+// Every (subject, student) register entry, in marking order; built once per VU
+const byClass = studentsByClass(manifest);
+const entries = manifest.subjects.flatMap((subject) =>
+    (byClass[subject.classId] || []).map((student) => ({ subject, student })));
+
+export function mark() {
+    const i = exec.scenario.iterationInTest;
+    const { subject, student } = entries[i % entries.length];
+    const date = addDays(manifest.today, Math.floor(i / entries.length));
+    const token = tokenFor(subject.facultyEmail, manifest.password);
+    ok(send('POST', token, '/api/attendance/mark',
+        { studentId: student.studentId, subjectId: subject.subjectId, date, isPresent: (i % 10) !== 0 },
+        'attendance_mark', ACCEPT_400), true);
+}
+
+export function history() {
+    const student = manifest.students[Math.floor(Math.random() * manifest.students.length)];
+    const token = tokenFor(student.email, manifest.password);
+    ok(get(token, `/api/attendance/student/${student.studentId}`, 'attendance_student'));
+}
+
+export function handleSummary(data) {
+    return summarize('attendance-rush', ENDPOINTS, data);
+}
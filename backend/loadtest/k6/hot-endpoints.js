@@ -0,0 +1,149 @@
+// Hot-endpoint mix used to compare the platform and virtual thread modes.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e MODE=virtual k6/hot-endpoints.js
+//
+// setup() provisions a librarian and a student through the admin registration
+// API, so the only prerequisite is a running app with the bootstrap admin.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const MODE = __ENV.MODE || 'unknown';
+const ADMIN_EMAIL = __ENV.ADMIN_EMAIL || 'admin@sms.edu.in';
+const ADMIN_PASSWORD = __ENV.ADMIN_PASSWORD || 'Admin@123';
+const USER_PASSWORD = 'password123';
+
+const ENDPOINTS = [
+    'student_announcements',
+    'announcements_general',
+    'librarian_pending_requests',
+    'admin_students_page',
+    'books_list',
+    'login',
+];
+
+export const options = {
+    scenarios: {
+        hot_endpoints: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: Number(__ENV.VUS || 200) },
+                { duration: __ENV.HOLD || '2m', target: Number(__ENV.VUS || 200) },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Thresholds per endpoint so k6 keeps per-endpoint sub-metrics in the summary
+    thresholds: Object.fromEntries(
+        ENDPOINTS.flatMap((e) => [
+            [`http_req_duration{endpoint:${e}}`, ['p(99)<5000']],
+            [`http_reqs{endpoint:${e}}`, ['count>=0']],
+        ]).concat([['http_req_failed', ['rate<0.01']]])),
+};
+
+function login(email, password) {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email, password }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    return res.json('token');
+}
+
+function auth(token, endpoint) {
+    return { headers: { Authorization: `Bearer ${token}` }, tags: { endpoint } };
+}
+
+function register(adminToken, kind, body) {
+    const res = http.post(`${BASE_URL}/api/admin/register/${kind}`, JSON.stringify(body), {
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${adminToken}` },
+    });
+    if (res.status !== 200) {
+        throw new Error(`Failed to register ${kind}: ${res.status} ${res.body}`);
+    }
+    return res.json('generatedEmail');
+}
+
+export function setup() {
+    const runId = String(Date.now()).slice(-6).replace(/\d/g, (d) => 'abcdefghij'[d]);
+    const adminToken = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+    const librarianEmail = register(adminToken, 'librarian', {
+        firstName: 'load', lastName: `lib${runId}`, personalEmail: `lib.${runId}@example.com`,
+    });
+    const studentEmail = register(adminToken, 'student', {
+        firstName: 'load', lastName: `stu${runId}`, personalEmail: `stu.${runId}@example.com`,
+    });
+
+    const studentToken = login(studentEmail, USER_PASSWORD);
+    const profile = http.get(`${BASE_URL}/api/student/profile`, auth(studentToken, 'setup'));
+
+    return {
+        adminToken,
+        librarianToken: login(librarianEmail, USER_PASSWORD),
+        studentToken,
+        studentEmail,
+        studentId: profile.json('studentId'),
+    };
+}
+
+export default function (ctx) {
+    // Weighted roughly after production traffic: feeds and dashboards dominate
+    const roll = Math.random();
+    let res;
+    if (roll < 0.30) {
+        res = http.get(`${BASE_URL}/api/student/${ctx.studentId}/announcements`,
+            auth(ctx.studentToken, 'student_announcements'));
+    } else if (roll < 0.50) {
+        res = http.get(`${BASE_URL}/api/announcements/general`, auth(ctx.studentToken, 'announcements_general'));
+    } else if (roll < 0.70) {
+        res = http.get(`${BASE_URL}/api/librarian/dashboard/pending-requests?page=0&size=10`,
+            auth(ctx.librarianToken, 'librarian_pending_requests'));
+    } else if (roll < 0.85) {
+        res = http.get(`${BASE_URL}/api/admin/users/students?page=0&size=20`,
+            auth(ctx.adminToken, 'admin_students_page'));
+    } else if (roll < 0.98) {
+        res = http.get(`${BASE_URL}/api/books`, auth(ctx.studentToken, 'books_list'));
+    } else {
+        login(ctx.studentEmail, USER_PASSWORD);
+        return;
+    }
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const rows = ENDPOINTS.map((e) => {
+        const duration = data.metrics[`http_req_duration{endpoint:${e}}`];
+        const reqs = data.metrics[`http_reqs{endpoint:${e}}`];
+        return {
+            endpoint: e,
+            rps: reqs ? reqs.values.rate : 0,
+            p50: duration ? duration.values['p(50)'] : null,
+            p99: duration ? duration.values['p(99)'] : null,
+        };
+    });
+    const total = data.metrics.http_reqs.values;
+    const report = {
+        mode: MODE,
+        totalRps: total.rate,
+        totalRequests: total.count,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        p99: data.metrics.http_req_duration.values['p(99)'],
+        endpoints: rows,
+    };
+
+    let text = `\n== ${MODE}: ${total.rate.toFixed(1)} req/s, p99 ${report.p99.toFixed(1)} ms, `
+        + `failed ${(report.failedRate * 100).toFixed(2)}%\n`;
+    for (const r of rows) {
+        text += `  ${r.endpoint.padEnd(28)} ${r.rps.toFixed(1).padStart(8)} req/s`
+            + `  p50 ${(r.p50 ?? 0).toFixed(1).padStart(8)} ms  p99 ${(r.p99 ?? 0).toFixed(1).padStart(8)} ms\n`;
+    }
+
+    const out = { stdout: text };
+    if (__ENV.SUMMARY_FILE) {
+        out[__ENV.SUMMARY_FILE] = JSON.stringify(report, null, 2);
+    }
+    return out;
+}
@@ -0,0 +1,19 @@
+// Helpers over the dataset manifest written by SchoolDataGenerator. Each script
+// open()s the manifest itself (init context, path relative to the script):
+//
+//   const manifest = new SharedArray('manifest', () => [JSON.parse(open(MANIFEST))])[0];
+
+// Students grouped by class id, built once per VU
+export function studentsByClass(manifest) {
+    const byClass = {};
+    for (const s of manifest.students) {
+        (byClass[s.classId] = byClass[s.classId] || []).push(s);
+    }
+    return byClass;
+}
+
+export function addDays(isoDate, days) {
+    const d = new Date(`${isoDate}T00:00:00Z`);
+    d.setUTCDate(d.getUTCDate() + days);
+    return d.toISOString().slice(0, 10);
+}
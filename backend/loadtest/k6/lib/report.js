@@ -0,0 +1,52 @@
+// Per-endpoint throughput and latency report shared by the scenario scripts.
+// Same JSON shape as hot-endpoints.js (plus p95) so the runner scripts can
+// tabulate either.
+
+export function endpointThresholds(endpoints) {
+    // A threshold per endpoint makes k6 keep the tagged sub-metrics in the summary
+    return Object.fromEntries(
+        endpoints.flatMap((e) => [
+            [`http_req_duration{endpoint:${e}}`, ['p(99)<5000']],
+            [`http_reqs{endpoint:${e}}`, ['count>=0']],
+        ]).concat([['http_req_failed', ['rate<0.01']]]));
+}
+
+export const TREND_STATS = ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'];
+
+export function summarize(scenario, endpoints, data) {
+    const rows = endpoints.map((e) => {
+        const duration = data.metrics[`http_req_duration{endpoint:${e}}`];
+        const reqs = data.metrics[`http_reqs{endpoint:${e}}`];
+        return {
+            endpoint: e,
+            requests: reqs ? reqs.values.count : 0,
+            rps: reqs ? reqs.values.rate : 0,
+            p50: duration ? duration.values['p(50)'] : null,
+            p95: duration ? duration.values['p(95)'] : null,
+            p99: duration ? duration.values['p(99)'] : null,
+        };
+    });
+    const total = data.metrics.http_reqs.values;
+    const report = {
+        mode: scenario,
+        totalRps: total.rate,
+        totalRequests: total.count,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        p99: data.metrics.http_req_duration.values['p(99)'],
+        endpoints: rows,
+    };
+
+    const ms = (v) => (v ?? 0).toFixed(1).padStart(8);
+    let text = `\n== ${scenario}: ${total.rate.toFixed(1)} req/s, p99 ${report.p99.toFixed(1)} ms, `
+        + `failed ${(report.failedRate * 100).toFixed(2)}%\n`;
+    for (const r of rows) {
+        text += `  ${r.endpoint.padEnd(28)} ${r.rps.toFixed(1).padStart(8)} req/s`
+            + `  p50 ${ms(r.p50)} ms  p95 ${ms(r.p95)} ms  p99 ${ms(r.p99)} ms\n`;
+    }
+
+    const out = { stdout: text };
+    if (__ENV.SUMMARY_FILE) {
+        out[__ENV.SUMMARY_FILE] = JSON.stringify(report, null, 2);
+    }
+    return out;
+}
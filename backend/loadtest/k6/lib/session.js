@@ -0,0 +1,45 @@
+// Shared helpers for the dataset-driven scenarios (see ../../README.md).
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+export const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+
+// Business rejections ("already marked", "no copies left") are answers, not failures
+export const ACCEPT_400 = http.expectedStatuses(200, 400);
+
+const tokens = {};
+
+export function login(email, password, endpoint = 'login') {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email, password }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint } });
+    check(res, { 'login ok': (r) => r.status === 200 });
+    return res.status === 200 ? res.json('token') : null;
+}
+
+// One login per VU and account; the token outlives any scenario here
+export function tokenFor(email, password) {
+    if (!tokens[email]) {
+        tokens[email] = login(email, password);
+    }
+    return tokens[email];
+}
+
+export function get(token, path, endpoint) {
+    return http.get(`${BASE_URL}${path}`, { headers: { Authorization: `Bearer ${token}` }, tags: { endpoint } });
+}
+
+export function send(method, token, path, body, endpoint, responseCallback) {
+    const params = {
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` },
+        tags: { endpoint },
+    };
+    if (responseCallback) {
+        params.responseCallback = responseCallback;
+    }
+    return http.request(method, `${BASE_URL}${path}`, body === null ? null : JSON.stringify(body), params);
+}
+
+export function ok(res, accept400 = false) {
+    check(res, { 'status ok': (r) => r.status === 200 || (accept400 && r.status === 400) });
+}
@@ -0,0 +1,108 @@
+// Library day: students browse, search and request books while the
+// librarians work the request queue, issue books over the counter, take
+// returns and check overdue loans.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 k6/library-day.js
+//
+// Returns walk the manifest's active loans once; later returns of the same
+// loan are rejected with 400, which counts as an answer rather than a failure.
+// Likewise requests for a book the student already asked for, and issues of
+// a book with no copies left.
+
+import exec from 'k6/execution';
+import { SharedArray } from 'k6/data';
+import { ACCEPT_400, get, ok, send, tokenFor } from './lib/session.js';
+import { TREND_STATS, endpointThresholds, summarize } from './lib/report.js';
+
+const MANIFEST = __ENV.MANIFEST || '../data/manifest.json';
+const manifest = new SharedArray('manifest', () => [JSON.parse(open(MANIFEST))])[0];
+
+const ENDPOINTS = [
+    'books_list', 'books_search', 'book_request_create',
+    'book_requests_pending', 'book_request_process', 'library_issue', 'library_return', 'library_overdue',
+];
+const RATE = Number(__ENV.RATE || 40);
+
+export const options = {
+    scenarios: {
+        students: {
+            executor: 'ramping-arrival-rate',
+            exec: 'student',
+            startRate: 0,
+            timeUnit: '1s',
+            preAllocatedVUs: Number(__ENV.VUS || 100),
+            maxVUs: Number(__ENV.MAX_VUS || 400),
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: RATE },
+                { duration: __ENV.HOLD || '2m', target: RATE },
+                { duration: '10s', target: 0 },
+            ],
+        },
+        librarians: {
+            executor: 'constant-arrival-rate',
+            exec: 'librarian',
+            rate: Math.max(1, Math.round(RATE / 4)),
+            timeUnit: '1s',
+            duration: __ENV.HOLD || '2m',
+            startTime: __ENV.RAMP || '30s',
+            preAllocatedVUs: 20,
+            maxVUs: 100,
+        },
+    },
+    summaryTrendStats: TREND_STATS,
+    thresholds: endpointThresholds(ENDPOINTS),
+};
+
+function randomOf(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+function randomBookId() {
+    return manifest.firstBookId + Math.floor(Math.random() * (manifest.lastBookId - manifest.firstBookId + 1));
+}
+
+export function student() {
+    const s = randomOf(manifest.students);
+    const token = tokenFor(s.email, manifest.password);
+    const roll = Math.random();
+    if (roll < 0.3) {
+        ok(get(token, '/api/books', 'books_list'));
+    } else if (roll < 0.8) {
+        ok(get(token, `/api/books/search/title?title=${encodeURIComponent(randomOf(manifest.titleWords))}`,
+            'books_search'));
+    } else {
+        ok(send('POST', token, '/api/book-requests',
+            { studentId: s.studentId, bookId: randomBookId(), remarks: 'load test' },
+            'book_request_create', ACCEPT_400), true);
+    }
+}
+
+export function librarian() {
+    const token = tokenFor(manifest.librarians[exec.vu.idInTest % manifest.librarians.length], manifest.password);
+    const roll = Math.random();
+    if (roll < 0.35) {
+        const pending = get(token, '/api/book-requests/pending?page=0&size=10', 'book_requests_pending');
+        ok(pending);
+        const content = pending.status === 200 ? pending.json('content') : [];
+        if (content.length > 0) {
+            // Concurrent librarians race for the same head of the queue; the loser gets a 400
+            const request = randomOf(content);
+            ok(send('PUT', token, '/api/book-requests/process',
+                { requestId: request.requestId, action: Math.random() < 0.8 ? 'APPROVE' : 'REJECT', remarks: null },
+                'book_request_process', ACCEPT_400), true);
+        }
+    } else if (roll < 0.6) {
+        const s = randomOf(manifest.students);
+        ok(send('POST', token, '/api/library-issues/issue', { bookId: randomBookId(), userId: s.userId },
+            'library_issue', ACCEPT_400), true);
+    } else if (roll < 0.9) {
+        const issueId = manifest.activeIssueIds[exec.scenario.iterationInTest % manifest.activeIssueIds.length];
+        ok(send('PUT', token, `/api/library-issues/${issueId}/return`, null, 'library_return', ACCEPT_400), true);
+    } else {
+        ok(get(token, '/api/library-issues/overdue', 'library_overdue'));
+    }
+}
+
+export function handleSummary(data) {
+    return summarize('library-day', ENDPOINTS, data);
+}
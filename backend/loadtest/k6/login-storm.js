@@ -0,0 +1,50 @@
+// Login storm: every student of the generated school signs in within a few
+// minutes (results published, fee deadline) and lands on the profile page.
+// BCrypt makes login CPU-bound, so this finds the request rate where it saturates.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 k6/login-storm.js
+//
+// Needs a dataset from SchoolDataGenerator (see ../README.md).
+
+import exec from 'k6/execution';
+import { SharedArray } from 'k6/data';
+import { get, login, ok } from './lib/session.js';
+import { TREND_STATS, endpointThresholds, summarize } from './lib/report.js';
+
+const MANIFEST = __ENV.MANIFEST || '../data/manifest.json';
+const manifest = new SharedArray('manifest', () => [JSON.parse(open(MANIFEST))])[0];
+
+const ENDPOINTS = ['login', 'student_profile'];
+const RATE = Number(__ENV.RATE || 50);
+
+export const options = {
+    scenarios: {
+        login_storm: {
+            executor: 'ramping-arrival-rate',
+            startRate: 0,
+            timeUnit: '1s',
+            preAllocatedVUs: Number(__ENV.VUS || 100),
+            maxVUs: Number(__ENV.MAX_VUS || 400),
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: RATE },
+                { duration: __ENV.HOLD || '2m', target: RATE },
+                { duration: '10s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: TREND_STATS,
+    thresholds: endpointThresholds(ENDPOINTS),
+};
+
+export default function () {
+    // Walk the student list so each account logs in once before any repeats
+    const student = manifest.students[exec.scenario.iterationInTest % manifest.students.length];
+    const token = login(student.email, manifest.password);
+    if (token) {
+        ok(get(token, '/api/student/profile', 'student_profile'));
+    }
+}
+
+export function handleSummary(data) {
+    return summarize('login-storm', ENDPOINTS, data);
+}
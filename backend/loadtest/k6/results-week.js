@@ -0,0 +1,71 @@
+// Results week: teachers enter marks for the open (final) exams while
+// students keep refreshing their results page.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 k6/results-week.js
+//
+// Entries cycle through every (open exam, student) pair; once all have a
+// result, further entries update them, which the API allows until finalised.
+
+import exec from 'k6/execution';
+import { SharedArray } from 'k6/data';
+import { get, ok, send, tokenFor } from './lib/session.js';
+import { studentsByClass } from './lib/manifest.js';
+import { TREND_STATS, endpointThresholds, summarize } from './lib/report.js';
+
+const MANIFEST = __ENV.MANIFEST || '../data/manifest.json';
+const manifest = new SharedArray('manifest', () => [JSON.parse(open(MANIFEST))])[0];
+
+const ENDPOINTS = ['results_enter', 'results_student'];
+const RATE = Number(__ENV.RATE || 50);
+
+export const options = {
+    scenarios: {
+        teachers: {
+            executor: 'constant-arrival-rate',
+            exec: 'enter',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: __ENV.HOLD || '2m',
+            preAllocatedVUs: Number(__ENV.VUS || 50),
+            maxVUs: Number(__ENV.MAX_VUS || 200),
+        },
+        students: {
+            // Reads dominate results week: every student checks repeatedly
+            executor: 'ramping-arrival-rate',
+            exec: 'lookup',
+            startRate: 0,
+            timeUnit: '1s',
+            preAllocatedVUs: Number(__ENV.VUS || 100),
+            maxVUs: Number(__ENV.MAX_VUS || 400),
+            stages: [
+                { duration: __ENV.RAMP || '30s', target: RATE * 4 },
+                { duration: __ENV.HOLD || '2m', target: RATE * 4 },
+            ],
+        },
+    },
+    summaryTrendStats: TREND_STATS,
+    thresholds: endpointThresholds(ENDPOINTS),
+};
+
+const byClass = studentsByClass(manifest);
+const entries = manifest.openExams.flatMap((exam) =>
+    (byClass[exam.classId] || []).map((student) => ({ exam, student })));
+
+export function enter() {
+    const i = exec.scenario.iterationInTest;
+    const { exam, student } = entries[i % entries.length];
+    const token = tokenFor(exam.facultyEmail, manifest.password);
+    ok(send('POST', token, '/api/results',
+        { examId: exam.examId, studentId: student.studentId, marksObtained: 35 + (i * 7) % 66 },
+        'results_enter'));
+}
+
+export function lookup() {
+    const student = manifest.students[Math.floor(Math.random() * manifest.students.length)];
+    const token = tokenFor(student.email, manifest.password);
+    ok(get(token, `/api/results/student/${student.studentId}`, 'results_student'));
+}
+
+export function handleSummary(data) {
+    return summarize('results-week', ENDPOINTS, data);
+}
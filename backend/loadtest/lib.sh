@@ -0,0 +1,45 @@
+# Shared helpers for the load-test scripts. Source from backend/:
+#   . loadtest/lib.sh
+# Expects PORT, BASE_URL and RESULTS_DIR to be set by the caller.
+
+# Starts the local Postgres and builds the jar; sets JAR.
+prepare_app() {
+    docker compose up -d sms-db
+    ./mvnw -q -DskipTests package
+    JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+}
+
+wait_for_app() {
+    for _ in $(seq 1 120); do
+        if curl -sf -o /dev/null "${BASE_URL}/v3/api-docs"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "App did not start, see ${RESULTS_DIR}/app-$1.log" >&2
+    return 1
+}
+
+# run_variant <name> <k6 script> [extra app args...]
+# Starts the app with the given args (environment is inherited), runs the k6
+# script against it and writes ${RESULTS_DIR}/<name>.json.
+run_variant() {
+    local name="$1" script="$2"
+    shift 2
+
+    echo "==> ${name}: $*"
+    DATABASE_URL="jdbc:postgresql://localhost:5432/sms_db" \
+        java -jar "$JAR" --server.port="$PORT" "$@" \
+        < /dev/null > "${RESULTS_DIR}/app-${name}.log" 2>&1 &
+    app_pid=$!
+    trap 'kill $app_pid 2>/dev/null || true' EXIT
+
+    wait_for_app "$name"
+    k6 run --quiet \
+        -e BASE_URL="$BASE_URL" -e MODE="$name" \
+        -e SUMMARY_FILE="${RESULTS_DIR}/${name}.json" \
+        "$script" < /dev/null || true
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+}
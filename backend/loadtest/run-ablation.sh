@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Measures what each setting of the prod profile buys: runs the reference "prod"
+# variant and one variant per setting with that setting reverted (see
+# loadtest/ablation/prod-settings.tsv), then prints throughput and p99 per
+# variant with the delta against "prod".
+#
+# Requirements: docker (for the local Postgres from ../docker-compose.yml), k6, jq.
+# Usage: loadtest/run-ablation.sh                         (from backend/)
+#        ONLY=prod,prod-show-sql HOLD=1m loadtest/run-ablation.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${PORT:-8081}"
+BASE_URL="http://localhost:${PORT}"
+RESULTS_DIR="loadtest/results/ablation-$(date +%Y%m%d-%H%M%S)"
+VARIANTS_FILE="${VARIANTS_FILE:-loadtest/ablation/prod-settings.tsv}"
+mkdir -p "$RESULTS_DIR"
+
+. loadtest/lib.sh
+prepare_app
+
+names=()
+while IFS=$'\t' read -r name script args; do
+    [[ -z "$name" || "$name" == \#* ]] && continue
+    if [[ -n "${ONLY:-}" && ",${ONLY}," != *",${name},"* ]]; then
+        continue
+    fi
+    # shellcheck disable=SC2086  # args are intentionally word-split
+    run_variant "$name" "$script" $args
+    names+=("$name")
+done < "$VARIANTS_FILE"
+
+echo
+echo "== Prod settings ablation (${RESULTS_DIR})"
+files=()
+for name in "${names[@]}"; do
+    files+=("${RESULTS_DIR}/${name}.json")
+done
+jq -rs '
+    def fmt: . * 10 | round / 10 | tostring;
+    (map(select(.mode == "prod")) | first) as $ref |
+    ["variant", "req/s", "p99 ms", "failed %", "req/s vs prod", "p99 vs prod"],
+    (.[] | [.mode, (.totalRps | fmt), (.p99 | fmt), (.failedRate * 100 | fmt),
+        (if $ref then ((.totalRps / $ref.totalRps - 1) * 100 | fmt) + "%" else "-" end),
+        (if $ref then ((.p99 / $ref.p99 - 1) * 100 | fmt) + "%" else "-" end)])
+    | @tsv' "${files[@]}" | column -t -s $'\t'
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Runs the hot-endpoint k6 mix against the app twice - once on Tomcat's platform
+# thread pool and once on virtual threads - and prints throughput/p99 side by side.
+#
+# Requirements: docker (for the local Postgres from ../docker-compose.yml), k6, jq.
+# Usage: loadtest/run-comparison.sh            (from backend/)
+#        VUS=400 HOLD=5m loadtest/run-comparison.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${PORT:-8081}"
+BASE_URL="http://localhost:${PORT}"
+RESULTS_DIR="loadtest/results/$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS_DIR"
+
+. loadtest/lib.sh
+prepare_app
+
+for mode in platform virtual; do
+    enabled=false
+    [ "$mode" = "virtual" ] && enabled=true
+    VIRTUAL_THREADS_ENABLED="$enabled" run_variant "$mode" loadtest/k6/hot-endpoints.js
+done
+
+echo
+echo "== Platform vs virtual threads (${RESULTS_DIR})"
+jq -rn --slurpfile p "${RESULTS_DIR}/platform.json" --slurpfile v "${RESULTS_DIR}/virtual.json" '
+    def fmt: . * 10 | round / 10 | tostring;
+    ["endpoint", "platform req/s", "virtual req/s", "platform p99 ms", "virtual p99 ms"],
+    (["TOTAL", ($p[0].totalRps | fmt), ($v[0].totalRps | fmt), ($p[0].p99 | fmt), ($v[0].p99 | fmt)]),
+    ($p[0].endpoints | to_entries[] | . as $e |
+        [$e.value.endpoint, ($e.value.rps | fmt), ($v[0].endpoints[$e.key].rps | fmt),
+         (($e.value.p99 // 0) | fmt), (($v[0].endpoints[$e.key].p99 // 0) | fmt)])
+    | @tsv' | column -t -s $'\t'
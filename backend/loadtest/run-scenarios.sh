@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Loads a synthetic school into the local Postgres (SchoolDataGenerator) and
+# runs the dataset-driven k6 scenarios against it, one app start per scenario,
+# then prints throughput and p50/p95/p99 per endpoint.
+#
+# Requirements: docker (for the local Postgres from ../docker-compose.yml), k6, jq.
+# Usage: loadtest/run-scenarios.sh                                  (from backend/)
+#        CLASSES=60 ONLY=login-storm,library-day loadtest/run-scenarios.sh
+#        SKIP_DATAGEN=1 loadtest/run-scenarios.sh                    (reuse loaded data)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${PORT:-8081}"
+BASE_URL="http://localhost:${PORT}"
+RESULTS_DIR="loadtest/results/scenarios-$(date +%Y%m%d-%H%M%S)"
+export MANIFEST="${MANIFEST:-$PWD/loadtest/data/manifest.json}"
+SCENARIOS=(login-storm attendance-rush results-week library-day)
+mkdir -p "$RESULTS_DIR"
+
+. loadtest/lib.sh
+prepare_app
+
+if [[ -z "${SKIP_DATAGEN:-}" ]]; then
+    echo "==> datagen: ${CLASSES:-20} classes ${DATAGEN_ARGS:-}"
+    # shellcheck disable=SC2086  # DATAGEN_ARGS is intentionally word-split
+    ./mvnw -q -P datagen test-compile exec:exec@datagen \
+        -Ddatagen.args="--classes=${CLASSES:-20} --manifest=${MANIFEST} ${DATAGEN_ARGS:-}"
+elif [[ ! -f "$MANIFEST" ]]; then
+    echo "No manifest at ${MANIFEST}; run without SKIP_DATAGEN first" >&2
+    exit 1
+fi
+
+files=()
+for name in "${SCENARIOS[@]}"; do
+    if [[ -n "${ONLY:-}" && ",${ONLY}," != *",${name},"* ]]; then
+        continue
+    fi
+    # shellcheck disable=SC2086  # APP_ARGS is intentionally word-split
+    run_variant "$name" "loadtest/k6/${name}.js" ${APP_ARGS:-}
+    files+=("${RESULTS_DIR}/${name}.json")
+done
+
+echo
+echo "== Scenarios (${RESULTS_DIR})"
+jq -rs '
+    def fmt: if . == null then "-" else . * 10 | round / 10 | tostring end;
+    ["scenario", "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms"],
+    (.[] | .mode as $m |
+        ([$m, "TOTAL", (.totalRequests | tostring), (.totalRps | fmt), "-", "-", (.p99 | fmt)]),
+        (.endpoints[] | [$m, .endpoint, (.requests | tostring), (.rps | fmt),
+            (.p50 | fmt), (.p95 | fmt), (.p99 | fmt)]))
+    | @tsv' "${files[@]}" | column -t -s $'\t'
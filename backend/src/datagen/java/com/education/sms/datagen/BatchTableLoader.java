@@ -0,0 +1,51 @@
+package com.education.sms.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Portable loader using batched INSERTs (H2, or PostgreSQL with --loader=batch).
+ */
+class BatchTableLoader implements TableLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PreparedStatement statement;
+    private final int columnCount;
+    private long count;
+
+    BatchTableLoader(Connection connection, String table, List<String> columns) throws SQLException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        this.statement = connection.prepareStatement(sql);
+        this.columnCount = columns.size();
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.addBatch();
+        if (++count % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.executeBatch();
+        statement.close();
+    }
+}
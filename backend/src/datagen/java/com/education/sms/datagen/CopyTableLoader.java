@@ -0,0 +1,76 @@
+package com.education.sms.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL loader using COPY ... FROM STDIN in CSV format, streamed in
+ * chunks so memory use does not depend on the table size.
+ */
+class CopyTableLoader implements TableLoader {
+
+    private static final int FLUSH_BYTES = 256 * 1024;
+
+    private final CopyIn copyIn;
+    private final int columnCount;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+    private long count;
+
+    CopyTableLoader(Connection connection, String table, List<String> columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        this.columnCount = columns.size();
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+        count++;
+        if (buffer.length() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    // In COPY CSV an unquoted empty field is NULL, so every string is quoted
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String s) {
+            buffer.append('"').append(s.replace("\"", "\"\"")).append('"');
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        copyIn.endCopy();
+    }
+}
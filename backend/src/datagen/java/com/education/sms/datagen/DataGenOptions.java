@@ -0,0 +1,93 @@
+package com.education.sms.datagen;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value. Defaults produce a mid-sized
+ * school: 20 classes of 40 students, a year (200 school days) of attendance.
+ */
+record DataGenOptions(
+        String url,
+        String username,
+        String password,
+        Loader loader,
+        boolean migrate,
+        long seed,
+        int classes,
+        int studentsPerClass,
+        int subjectsPerClass,
+        int schoolDays,
+        int books,
+        int issuesPerStudent,
+        LocalDate startDate,
+        Path manifest) {
+
+    enum Loader { COPY, BATCH }
+
+    static final String USAGE = """
+            Options (all optional):
+              --url=jdbc:postgresql://localhost:5432/sms_db   JDBC URL (jdbc:h2:... also works)
+              --username=postgres --password=123456789
+              --loader=copy|batch        COPY needs PostgreSQL; default copy for PostgreSQL, batch otherwise
+              --migrate=true|false       create/upgrade the schema first (Flyway on PostgreSQL, entity mappings on H2)
+              --seed=42                  same seed and sizes give the same data
+              --classes=20 --students-per-class=40 --subjects-per-class=6
+              --school-days=200          attendance days (Monday-Saturday) from --start-date
+              --books=1000 --issues-per-student=6
+              --start-date=2025-06-02
+              --manifest=loadtest/data/manifest.json   ids and logins for the k6 scenarios
+            """;
+
+    static DataGenOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String url = values.getOrDefault("url", "jdbc:postgresql://localhost:5432/sms_db");
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        Loader loader = Loader.valueOf(values.getOrDefault("loader", postgres ? "copy" : "batch").toUpperCase());
+        if (loader == Loader.COPY && !postgres) {
+            throw new IllegalArgumentException("--loader=copy requires a PostgreSQL URL");
+        }
+
+        DataGenOptions options = new DataGenOptions(
+                url,
+                values.getOrDefault("username", postgres ? "postgres" : "sa"),
+                values.getOrDefault("password", postgres ? "123456789" : ""),
+                loader,
+                Boolean.parseBoolean(values.getOrDefault("migrate", "true")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                positive(values, "classes", 20),
+                positive(values, "students-per-class", 40),
+                positive(values, "subjects-per-class", 6),
+                positive(values, "school-days", 200),
+                positive(values, "books", 1000),
+                positive(values, "issues-per-student", 6),
+                LocalDate.parse(values.getOrDefault("start-date", "2025-06-02")),
+                Path.of(values.getOrDefault("manifest", "loadtest/data/manifest.json")));
+        if (options.subjectsPerClass() > SchoolDataset.SUBJECTS.size()) {
+            throw new IllegalArgumentException("--subjects-per-class can be at most " + SchoolDataset.SUBJECTS.size());
+        }
+        return options;
+    }
+
+    boolean postgres() {
+        return url.startsWith("jdbc:postgresql:");
+    }
+
+    private static int positive(Map<String, String> values, String name, int defaultValue) {
+        int value = Integer.parseInt(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,36 @@
+package com.education.sms.datagen;
+
+import java.util.List;
+
+/**
+ * What the k6 scenarios need to know about a generated dataset: logins, ids
+ * and the open work items (exams without results, books still on loan,
+ * pending requests). Written as JSON next to the load-test scripts.
+ */
+record Manifest(
+        long seed,
+        String password,
+        String today,
+        List<Student> students,
+        List<Faculty> faculty,
+        List<String> librarians,
+        List<Subject> subjects,
+        List<Exam> openExams,
+        List<Long> activeIssueIds,
+        List<Long> pendingRequestIds,
+        long firstBookId,
+        long lastBookId,
+        List<String> titleWords) {
+
+    record Student(String email, long userId, long studentId, long classId) {
+    }
+
+    record Faculty(String email, long userId, List<Long> subjectIds) {
+    }
+
+    record Subject(long subjectId, long classId, String facultyEmail) {
+    }
+
+    record Exam(long examId, long classId, String facultyEmail) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.education.sms.datagen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.Entity;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads a deterministic synthetic school (classes, students, a year of
+ * attendance, exams and results, library loans, fee payments) into PostgreSQL
+ * or H2 for load testing. See loadtest/README.md.
+ *
+ * mvn -P datagen test-compile exec:exec@datagen -Ddatagen.args="--classes=40"
+ */
+public final class SchoolDataGenerator {
+
+    // table -> id column, in the order rows are loaded
+    private static final Map<String, String> ID_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ID_COLUMNS.put("app_users", "id");
+        ID_COLUMNS.put("class_entities", "id");
+        ID_COLUMNS.put("faculty", "id");
+        ID_COLUMNS.put("librarians", "id");
+        ID_COLUMNS.put("students", "student_id");
+        ID_COLUMNS.put("subjects", "id");
+        ID_COLUMNS.put("courses", "course_id");
+        ID_COLUMNS.put("exams", "exam_id");
+        ID_COLUMNS.put("fees_structure", "fee_id");
+        ID_COLUMNS.put("books", "book_id");
+        ID_COLUMNS.put("announcements", "announcement_id");
+        ID_COLUMNS.put("attendance", "id");
+        ID_COLUMNS.put("results", "result_id");
+        ID_COLUMNS.put("library_issues", "issue_id");
+        ID_COLUMNS.put("book_requests", "request_id");
+        ID_COLUMNS.put("payments", "payment_id");
+    }
+
+    // Tables whose ids come from a pooled sequence rather than an identity column (see V6)
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "attendance", "attendance_seq",
+            "results", "results_seq",
+            "payments", "payments_seq",
+            "library_issues", "library_issues_seq");
+
+    private SchoolDataGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(DataGenOptions.USAGE);
+            return;
+        }
+        DataGenOptions options;
+        try {
+            options = DataGenOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DataGenOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        long started = System.nanoTime();
+
+        if (options.migrate() && options.postgres()) {
+            Flyway.configure()
+                    .dataSource(options.url(), options.username(), options.password())
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+        }
+
+        try (Connection connection = DriverManager.getConnection(options.url(), options.username(),
+                options.password())) {
+            if (options.migrate() && !options.postgres()) {
+                createH2Schema(connection, options);
+            }
+            connection.setAutoCommit(false);
+
+            Map<String, Long> nextIds = new LinkedHashMap<>();
+            for (Map.Entry<String, String> table : ID_COLUMNS.entrySet()) {
+                nextIds.put(table.getKey(), maxId(connection, table.getKey(), table.getValue()) + 1);
+            }
+
+            String passwordHash = new BCryptPasswordEncoder().encode(SchoolDataset.PASSWORD);
+            SchoolDataset dataset = new SchoolDataset(options,
+                    (table, columns) -> options.loader() == DataGenOptions.Loader.COPY
+                            ? new CopyTableLoader(connection, table, List.of(columns))
+                            : new BatchTableLoader(connection, table, List.of(columns)),
+                    nextIds, passwordHash);
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            dataset.generate(counts);
+            fixAvailableCopies(connection, dataset.firstBookId(), dataset.lastBookId());
+            if (options.postgres()) {
+                ensureAttendancePartitions(connection);
+                rebuildAttendanceDerived(connection);
+            }
+            resyncIds(connection, options.postgres());
+            connection.commit();
+
+            writeManifest(options, dataset.manifest());
+            counts.forEach((table, count) -> System.out.printf("%-16s %,12d%n", table, count));
+            System.out.printf("Loaded in %.1f s (%s). Dataset date: %s. Manifest: %s%n",
+                    (System.nanoTime() - started) / 1e9, options.loader(), dataset.today(), options.manifest());
+        }
+    }
+
+    private static long maxId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static void fixAvailableCopies(Connection connection, long firstBookId, long lastBookId)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE books b SET available_copies = b.total_copies - "
+                    + "(SELECT COUNT(*) FROM library_issues i WHERE i.book_id = b.book_id AND i.status = 'issued') "
+                    + "WHERE b.book_id BETWEEN " + firstBookId + " AND " + lastBookId);
+        }
+    }
+
+    /**
+     * Generated marks for academic years without a partition were routed to
+     * attendance_default; give those years their own partitions (V11).
+     */
+    private static void ensureAttendancePartitions(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT ensure_attendance_partitions(CAST(CURRENT_DATE + INTERVAL '1 year' AS DATE))");
+        }
+    }
+
+    /**
+     * Generated marks bypass markAttendance, so recompute the bitmaps (V12) and
+     * running totals (V13) from the rows.
+     */
+    private static void rebuildAttendanceDerived(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT rebuild_attendance_bitmaps()");
+            statement.execute("SELECT rebuild_attendance_rollups()");
+        }
+    }
+
+    /**
+     * Rows were inserted with explicit ids, so move every id generator past the
+     * new maximum; the application would otherwise hand out ids that now exist.
+     */
+    private static void resyncIds(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> table : ID_COLUMNS.entrySet()) {
+                long next = maxId(connection, table.getKey(), table.getValue()) + 1;
+                String sequence = SEQUENCES.get(table.getKey());
+                if (postgres) {
+                    String name = sequence != null ? sequence
+                            : queryString(connection, "SELECT pg_get_serial_sequence('" + table.getKey() + "', '"
+                                    + table.getValue() + "')");
+                    // Only ever move forward: a running app may hold a pooled-lo block above MAX(id)
+                    statement.execute("SELECT setval('" + name + "', " + next + ", false) FROM " + name
+                            + " WHERE last_value < " + next);
+                } else if (sequence != null) {
+                    statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+                } else {
+                    statement.execute("ALTER TABLE " + table.getKey() + " ALTER COLUMN " + table.getValue()
+                            + " RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    /**
+     * H2 gets its schema from the entity mappings, like the test profile does;
+     * the Flyway scripts are written for PostgreSQL.
+     */
+    private static void createH2Schema(Connection connection, DataGenOptions options) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, "app_users", null)) {
+            if (tables.next()) {
+                return;
+            }
+        }
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, options.url())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, options.username())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, options.password())
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, "create")
+                .build();
+        try {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            MetadataSources sources = new MetadataSources(registry);
+            for (BeanDefinition entity : scanner.findCandidateComponents("com.education.sms.entity")) {
+                sources.addAnnotatedClassName(entity.getBeanClassName());
+            }
+            // Building the session factory runs the schema action; nothing else is needed from it
+            sources.buildMetadata().buildSessionFactory().close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private static void writeManifest(DataGenOptions options, Manifest manifest) throws IOException {
+        if (options.manifest().getParent() != null) {
+            Files.createDirectories(options.manifest().getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.manifest().toFile(), manifest);
+    }
+}
@@ -0,0 +1,554 @@
+package com.education.sms.datagen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates one school year of data, table by table in foreign key order.
+ *
+ * All randomness comes from a single seeded Random and all dates are derived
+ * from the start date, so the same options always produce the same rows. Ids
+ * start after whatever the tables already contain, so a dataset can be loaded
+ * into a database that already has the bootstrap admin or earlier test data.
+ */
+final class SchoolDataset {
+
+    static final List<String> SUBJECTS = List.of("Mathematics", "Science", "English", "History", "Geography",
+            "Computer Science", "Hindi", "Physics", "Chemistry", "Biology");
+
+    // Password of every generated account, as used by the k6 scripts
+    static final String PASSWORD = "password123";
+
+    private static final String[] FIRST_NAMES = { "aarav", "aditi", "arjun", "diya", "ishaan", "kavya", "krishna",
+            "meera", "neha", "nikhil", "priya", "rahul", "riya", "rohan", "saanvi", "sahil", "sanjana", "shreya",
+            "siddharth", "sneha", "tanvi", "varun", "vihaan", "zara", "ananya", "dev", "ira", "kabir", "myra", "yash" };
+    private static final String[] LAST_NAMES = { "sharma", "verma", "gupta", "iyer", "nair", "reddy", "patel",
+            "mehta", "joshi", "kulkarni", "banerjee", "chatterjee", "das", "singh", "kapoor", "malhotra", "rao",
+            "pillai", "menon", "bose", "saxena", "agarwal", "chopra", "desai", "ghosh", "jain", "mishra", "pandey",
+            "sinha", "tiwari" };
+    private static final String[] TITLE_WORDS = { "Modern", "Algebra", "Chemistry", "History", "Of", "India",
+            "Physics", "Concepts", "Stories", "Poems", "Guide", "Mathematics", "World", "Science", "Adventures",
+            "Biology", "Geography", "Essentials", "Programming", "Literature", "Ancient", "Practical", "Atlas",
+            "Grammar" };
+    private static final String[] FEE_TYPES = { "Tuition", "Transport", "Library", "Examination" };
+
+    private static final String[] USER_COLUMNS = { "id", "email", "password_hash", "role", "is_active",
+            "must_change_password", "created_at", "password_changed_at", "version" };
+    private static final int SUBJECTS_PER_TEACHER = 4;
+    private static final int LIBRARIANS = 2;
+    private static final int LOAN_DAYS = 14;
+    private static final BigDecimal FINE_PER_DAY = new BigDecimal("2.00");
+    private static final LocalTime EXAM_DAY_START = LocalTime.of(9, 0);
+    private static final int EXAM_MINUTES = 60;
+    private static final int EXAM_BREAK_MINUTES = 30;
+
+    private final DataGenOptions options;
+    private final TableLoaders loaders;
+    private final Map<String, Long> nextIds;
+    private final Random random;
+    private final String passwordHash;
+    private final List<LocalDate> schoolDays;
+    private final LocalDate today;
+    private final LocalDateTime accountsCreatedAt;
+
+    private final List<ClassRow> classes = new ArrayList<>();
+    private final List<Account> faculty = new ArrayList<>();
+    private final List<Account> librarians = new ArrayList<>();
+    private final List<Account> students = new ArrayList<>();
+    private final Map<Long, List<Integer>> studentsByClass = new HashMap<>();
+    private final List<SubjectRow> subjects = new ArrayList<>();
+    private final List<ExamRow> exams = new ArrayList<>();
+    private final List<Long> activeIssueIds = new ArrayList<>();
+    private final List<Long> pendingRequestIds = new ArrayList<>();
+    private long firstBookId;
+    private long lastBookId;
+
+    @FunctionalInterface
+    interface TableLoaders {
+        TableLoader open(String table, String... columns) throws SQLException;
+    }
+
+    SchoolDataset(DataGenOptions options, TableLoaders loaders, Map<String, Long> nextIds, String passwordHash) {
+        this.options = options;
+        this.loaders = loaders;
+        this.nextIds = nextIds;
+        this.random = new Random(options.seed());
+        this.passwordHash = passwordHash;
+        this.schoolDays = schoolDays(options.startDate(), options.schoolDays());
+        this.today = schoolDays(schoolDays.get(schoolDays.size() - 1).plusDays(1), 1).get(0);
+        this.accountsCreatedAt = options.startDate().minusDays(30).atTime(9, 0);
+    }
+
+    /** "Today" for the dataset: the first school day after the generated attendance. */
+    LocalDate today() {
+        return today;
+    }
+
+    void generate(Map<String, Long> counts) throws SQLException {
+        counts.put("class_entities", classEntities());
+        counts.put("faculty", faculty());
+        counts.put("librarians", librarians());
+        counts.put("students", students());
+        counts.put("subjects", subjects());
+        counts.put("exams", coursesAndExams());
+        counts.put("fees_structure", feesStructure());
+        counts.put("books", books());
+        counts.put("announcements", announcements());
+        counts.put("attendance", attendance());
+        counts.put("results", results());
+        counts.put("library_issues", libraryIssues());
+        counts.put("book_requests", bookRequests());
+        counts.put("payments", payments());
+        counts.put("app_users", (long) (faculty.size() + librarians.size() + students.size()));
+    }
+
+    private long classEntities() throws SQLException {
+        try (TableLoader loader = loaders.open("class_entities",
+                "id", "grade_level", "section", "academic_year", "address")) {
+            for (int i = 0; i < options.classes(); i++) {
+                long id = nextId("class_entities");
+                String grade = "Class " + (1 + (i / 4) % 12);
+                String section = String.valueOf((char) ('A' + i % 4));
+                loader.add(id, grade, section, options.startDate().getYear(), "Block " + (char) ('A' + i % 3));
+                classes.add(new ClassRow(id, grade, section));
+            }
+            return loader.count();
+        }
+    }
+
+    private long faculty() throws SQLException {
+        int count = Math.max(1, (options.classes() * options.subjectsPerClass() + SUBJECTS_PER_TEACHER - 1)
+                / SUBJECTS_PER_TEACHER);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String first = pick(FIRST_NAMES);
+            String last = pick(LAST_NAMES);
+            long id = nextId("faculty");
+            // Derived from the id so re-runs on a non-empty database stay unique
+            String employeeId = String.format("FAC%04d", id);
+            String email = first + "." + last + "." + employeeId.toLowerCase() + "@sms.edu.in";
+            long userId = addUser(users, email, "FACULTY");
+            rows.add(new Object[] { id, userId, employeeId, capitalize(first), capitalize(last),
+                    SUBJECTS.get(i % SUBJECTS.size()), phone() });
+            faculty.add(new Account(userId, id, email, null));
+        }
+        load("app_users", USER_COLUMNS, users);
+        return load("faculty", new String[] { "id", "user_id", "employee_id", "first_name", "last_name",
+                "department", "phone" }, rows);
+    }
+
+    private long librarians() throws SQLException {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < LIBRARIANS; i++) {
+            String first = pick(FIRST_NAMES);
+            String last = pick(LAST_NAMES);
+            long id = nextId("librarians");
+            String employeeId = String.format("LIB%04d", id);
+            String email = first + "." + last + "." + employeeId.toLowerCase() + "@sms.edu.in";
+            long userId = addUser(users, email, "LIBRARIAN");
+            rows.add(new Object[] { id, userId, employeeId, capitalize(first), capitalize(last), phone() });
+            librarians.add(new Account(userId, id, email, null));
+        }
+        load("app_users", USER_COLUMNS, users);
+        return load("librarians", new String[] { "id", "user_id", "employee_id", "first_name", "last_name",
+                "phone" }, rows);
+    }
+
+    private long students() throws SQLException {
+        int year = options.startDate().getYear();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (ClassRow classRow : classes) {
+            for (int i = 0; i < options.studentsPerClass(); i++) {
+                String first = pick(FIRST_NAMES);
+                String last = pick(LAST_NAMES);
+                long id = nextId("students");
+                // Same shape as registered students (first.last.year), made unique with the id
+                String email = first + "." + last + id + "." + year + "@sms.edu.in";
+                long userId = addUser(users, email, "STUDENT");
+                rows.add(new Object[] { id, userId, classRow.id(), capitalize(first), capitalize(last),
+                        String.format("REG%d%06d", year, id), year, phone(), phone(),
+                        (1 + random.nextInt(200)) + " " + capitalize(pick(LAST_NAMES)) + " Nagar",
+                        random.nextInt(500) });
+                Account student = new Account(userId, id, email, classRow.id());
+                students.add(student);
+                studentsByClass.computeIfAbsent(classRow.id(), k -> new ArrayList<>()).add(students.size() - 1);
+            }
+        }
+        load("app_users", USER_COLUMNS, users);
+        return load("students", new String[] { "student_id", "user_id", "class_id", "first_name", "last_name",
+                "registration_number", "enrollment_year", "phone", "parent_phone", "address",
+                "gamification_points" }, rows);
+    }
+
+    private long subjects() throws SQLException {
+        int facultyIndex = 0;
+        try (TableLoader loader = loaders.open("subjects", "id", "class_id", "faculty_id", "name", "code")) {
+            for (ClassRow classRow : classes) {
+                for (int i = 0; i < options.subjectsPerClass(); i++) {
+                    long id = nextId("subjects");
+                    Account teacher = faculty.get(facultyIndex++ % faculty.size());
+                    String name = SUBJECTS.get(i);
+                    loader.add(id, classRow.id(), teacher.entityId(), name,
+                            name.substring(0, 3).toUpperCase() + "-" + id);
+                    subjects.add(new SubjectRow(id, classRow.id(), teacher, name));
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    /**
+     * One course per subject with three exams: two during the year (with
+     * results) and a final on the dataset's "today" that has no results yet.
+     */
+    private long coursesAndExams() throws SQLException {
+        LocalDate[] examDates = {
+                schoolDays.get(schoolDays.size() / 3),
+                schoolDays.get(2 * schoolDays.size() / 3),
+                today };
+        String[] examNames = { "Unit Test", "Mid Term", "Final" };
+        List<Object[]> courses = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        // A class sits its subjects' exams one after another on the same day;
+        // each exam takes the first slot free for both the class and its teacher
+        Map<Long, Set<Integer>> classSlots = new HashMap<>();
+        Map<Long, Set<Integer>> teacherSlots = new HashMap<>();
+        for (SubjectRow subject : subjects) {
+            Set<Integer> takenByClass = classSlots.computeIfAbsent(subject.classId(), id -> new HashSet<>());
+            Set<Integer> takenByTeacher = teacherSlots.computeIfAbsent(subject.teacher().entityId(),
+                    id -> new HashSet<>());
+            int slot = 0;
+            while (takenByClass.contains(slot) || takenByTeacher.contains(slot)) {
+                slot++;
+            }
+            takenByClass.add(slot);
+            takenByTeacher.add(slot);
+            LocalTime startTime = EXAM_DAY_START.plusMinutes((long) slot * (EXAM_MINUTES + EXAM_BREAK_MINUTES));
+            long courseId = nextId("courses");
+            ClassRow classRow = classOf(subject.classId());
+            courses.add(new Object[] { courseId, subject.classId(), subject.teacher().entityId(),
+                    subject.name() + " " + classRow.grade() + "-" + classRow.section() });
+            for (int i = 0; i < examNames.length; i++) {
+                long examId = nextId("exams");
+                rows.add(new Object[] { examId, courseId, examNames[i] + " - " + subject.name(), examDates[i], 100,
+                        startTime, EXAM_MINUTES });
+                exams.add(new ExamRow(examId, subject.classId(), subject.teacher(), examDates[i].isBefore(today)));
+            }
+        }
+        load("courses", new String[] { "course_id", "class_id", "faculty_id", "course_name" }, courses);
+        return load("exams", new String[] { "exam_id", "course_id", "exam_name", "date", "total_marks",
+                "start_time", "duration_minutes" }, rows);
+    }
+
+    private long feesStructure() throws SQLException {
+        try (TableLoader loader = loaders.open("fees_structure", "fee_id", "class_id", "fee_type", "amount")) {
+            for (ClassRow classRow : classes) {
+                for (String feeType : FEE_TYPES) {
+                    loader.add(nextId("fees_structure"), classRow.id(), feeType, feeAmount(classRow, feeType));
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    private long books() throws SQLException {
+        try (TableLoader loader = loaders.open("books",
+                "book_id", "title", "author", "isbn", "total_copies", "available_copies", "version")) {
+            for (int i = 0; i < options.books(); i++) {
+                long id = nextId("books");
+                if (i == 0) {
+                    firstBookId = id;
+                }
+                lastBookId = id;
+                String title = pick(TITLE_WORDS) + " " + pick(TITLE_WORDS) + " " + pick(TITLE_WORDS);
+                String author = capitalize(pick(FIRST_NAMES)) + " " + capitalize(pick(LAST_NAMES));
+                int copies = 1 + random.nextInt(5);
+                // available_copies is corrected once the issues are loaded
+                loader.add(id, title, author, String.format("978%010d", id), copies, copies, 0L);
+            }
+            return loader.count();
+        }
+    }
+
+    private long announcements() throws SQLException {
+        String[] roles = { null, null, "STUDENT", "FACULTY" };
+        try (TableLoader loader = loaders.open("announcements",
+                "announcement_id", "title", "content", "post_by_user_id", "target_class_id", "target_role",
+                "created_at")) {
+            for (int i = 0; i < 30; i++) {
+                loader.add(nextId("announcements"), "Notice " + (i + 1), "School-wide notice number " + (i + 1),
+                        faculty.get(i % faculty.size()).userId(), null, roles[i % roles.length],
+                        dayAt(random.nextInt(schoolDays.size()), 8));
+            }
+            for (SubjectRow subject : subjects) {
+                loader.add(nextId("announcements"), subject.name() + " update",
+                        "Homework and schedule for " + subject.name(), subject.teacher().userId(),
+                        subject.classId(), null, dayAt(random.nextInt(schoolDays.size()), 15));
+            }
+            return loader.count();
+        }
+    }
+
+    private long attendance() throws SQLException {
+        try (TableLoader loader = loaders.open("attendance", "id", "student_id", "subject_id", "date", "is_present")) {
+            // Per-student attendance rate between 80% and 98%
+            double[] presence = new double[students.size()];
+            for (int i = 0; i < presence.length; i++) {
+                presence[i] = 0.80 + random.nextDouble() * 0.18;
+            }
+            for (SubjectRow subject : subjects) {
+                List<Integer> classStudents = studentsByClass.get(subject.classId());
+                for (LocalDate day : schoolDays) {
+                    for (int i : classStudents) {
+                        loader.add(nextId("attendance"), students.get(i).entityId(), subject.id(), day,
+                                random.nextDouble() < presence[i]);
+                    }
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    private long results() throws SQLException {
+        double[] ability = new double[students.size()];
+        for (int i = 0; i < ability.length; i++) {
+            ability[i] = 45 + random.nextDouble() * 45;
+        }
+        try (TableLoader loader = loaders.open("results",
+                "result_id", "exam_id", "student_id", "marks_obtained", "is_finalized", "created_at", "version")) {
+            for (ExamRow exam : exams) {
+                if (!exam.held()) {
+                    continue;
+                }
+                for (int i : studentsByClass.get(exam.classId())) {
+                    double marks = Math.max(0, Math.min(100, ability[i] + random.nextGaussian() * 10));
+                    loader.add(nextId("results"), exam.id(), students.get(i).entityId(),
+                            BigDecimal.valueOf(marks).setScale(2, RoundingMode.HALF_UP), true,
+                            today.minusDays(1).atTime(17, 0), 0L);
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    /**
+     * Loans spread over the year. Loans from the last 30 days are partly still
+     * out (some of them overdue); older ones were returned, late returns with a fine.
+     */
+    private long libraryIssues() throws SQLException {
+        int bookCount = (int) (lastBookId - firstBookId + 1);
+        try (TableLoader loader = loaders.open("library_issues",
+                "issue_id", "book_id", "user_id", "issue_date", "due_date", "return_date", "status", "fine_amount")) {
+            for (Account student : students) {
+                for (int i = 0; i < options.issuesPerStudent(); i++) {
+                    LocalDate issued = schoolDays.get(random.nextInt(schoolDays.size()));
+                    LocalDate due = issued.plusDays(LOAN_DAYS);
+                    long bookId = firstBookId + random.nextInt(bookCount);
+                    long id = nextId("library_issues");
+                    if (!issued.isBefore(today.minusDays(30)) && random.nextDouble() < 0.6) {
+                        loader.add(id, bookId, student.userId(), issued, due, null, "issued", null);
+                        activeIssueIds.add(id);
+                    } else {
+                        LocalDate returned = issued.plusDays(3 + random.nextInt(LOAN_DAYS + 8));
+                        if (!returned.isBefore(today)) {
+                            returned = today.minusDays(1);
+                        }
+                        long lateDays = Math.max(0, returned.toEpochDay() - due.toEpochDay());
+                        loader.add(id, bookId, student.userId(), issued, due, returned, "returned",
+                                FINE_PER_DAY.multiply(BigDecimal.valueOf(lateDays)));
+                    }
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    private long bookRequests() throws SQLException {
+        int bookCount = (int) (lastBookId - firstBookId + 1);
+        try (TableLoader loader = loaders.open("book_requests",
+                "request_id", "student_id", "book_id", "status", "request_date", "approved_by", "approved_date",
+                "remarks", "created_at", "updated_at", "version")) {
+            for (Account student : students) {
+                double roll = random.nextDouble();
+                long bookId = firstBookId + random.nextInt(bookCount);
+                long id = nextId("book_requests");
+                if (roll < 0.1) {
+                    LocalDateTime requested = today.minusDays(1 + random.nextInt(7)).atTime(11, 0);
+                    loader.add(id, student.entityId(), bookId, "PENDING", requested, null, null, null,
+                            requested, requested, 0L);
+                    pendingRequestIds.add(id);
+                } else if (roll < 0.3) {
+                    LocalDateTime requested = dayAt(random.nextInt(schoolDays.size()), 11);
+                    LocalDateTime approved = requested.plusHours(3);
+                    loader.add(id, student.entityId(), bookId, "APPROVED", requested,
+                            librarians.get(random.nextInt(librarians.size())).userId(), approved, null,
+                            requested, approved, 0L);
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    /**
+     * Quarterly instalments of the class fees. Most are paid, a few failed once
+     * and were retried, a few are still pending, and some students skipped the
+     * latest instalment (fee defaulters).
+     */
+    private long payments() throws SQLException {
+        try (TableLoader loader = loaders.open("payments",
+                "payment_id", "student_id", "amount_paid", "razorpay_payment_id", "razorpay_order_id",
+                "payment_status", "payment_date", "admin_request_id", "version")) {
+            for (Account student : students) {
+                ClassRow classRow = classOf(student.classId());
+                BigDecimal annual = BigDecimal.ZERO;
+                for (String feeType : FEE_TYPES) {
+                    annual = annual.add(feeAmount(classRow, feeType));
+                }
+                BigDecimal instalment = annual.divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+                boolean defaulter = random.nextDouble() < 0.08;
+                for (int quarter = 0; quarter < 4; quarter++) {
+                    LocalDate dueDate = options.startDate().plusMonths(3L * quarter);
+                    boolean latest = quarter == 3 || !options.startDate().plusMonths(3L * (quarter + 1)).isBefore(today);
+                    if (!dueDate.isBefore(today) || (defaulter && latest)) {
+                        break;
+                    }
+                    LocalDateTime paidAt = dueDate.plusDays(random.nextInt(20)).atTime(10, random.nextInt(60));
+                    double roll = random.nextDouble();
+                    if (roll < 0.05) {
+                        addPayment(loader, student, instalment, "failed", paidAt);
+                        addPayment(loader, student, instalment, "success", paidAt.plusHours(1));
+                    } else if (roll < 0.08) {
+                        addPayment(loader, student, instalment, "pending", paidAt);
+                    } else {
+                        addPayment(loader, student, instalment, "success", paidAt);
+                    }
+                }
+            }
+            return loader.count();
+        }
+    }
+
+    private void addPayment(TableLoader loader, Account student, BigDecimal amount, String status,
+            LocalDateTime paidAt) throws SQLException {
+        long id = nextId("payments");
+        String paymentId = "pending".equals(status) ? null : "pay_datagen" + id;
+        loader.add(id, student.entityId(), amount, paymentId, "order_datagen" + id, status, paidAt, null, 0L);
+    }
+
+    Manifest manifest() {
+        List<Manifest.Student> studentEntries = students.stream()
+                .map(s -> new Manifest.Student(s.email(), s.userId(), s.entityId(), s.classId()))
+                .toList();
+        List<Manifest.Faculty> facultyEntries = faculty.stream()
+                .map(f -> new Manifest.Faculty(f.email(), f.userId(),
+                        subjects.stream().filter(s -> s.teacher() == f).map(SubjectRow::id).toList()))
+                .toList();
+        List<Manifest.Subject> subjectEntries = subjects.stream()
+                .map(s -> new Manifest.Subject(s.id(), s.classId(), s.teacher().email()))
+                .toList();
+        List<Manifest.Exam> openExams = exams.stream()
+                .filter(e -> !e.held())
+                .map(e -> new Manifest.Exam(e.id(), e.classId(), e.teacher().email()))
+                .toList();
+        return new Manifest(options.seed(), PASSWORD, today.toString(),
+                studentEntries, facultyEntries,
+                librarians.stream().map(Account::email).toList(),
+                subjectEntries, openExams, List.copyOf(activeIssueIds), List.copyOf(pendingRequestIds),
+                firstBookId, lastBookId, List.of(TITLE_WORDS));
+    }
+
+    long firstBookId() {
+        return firstBookId;
+    }
+
+    long lastBookId() {
+        return lastBookId;
+    }
+
+    private long addUser(List<Object[]> users, String email, String role) {
+        long id = nextId("app_users");
+        users.add(new Object[] { id, email, passwordHash, role, true, false, accountsCreatedAt, accountsCreatedAt, 0L });
+        return id;
+    }
+
+    // Small tables are built in memory first: only one COPY can be open per connection
+    private long load(String table, String[] columns, List<Object[]> rows) throws SQLException {
+        try (TableLoader loader = loaders.open(table, columns)) {
+            for (Object[] row : rows) {
+                loader.add(row);
+            }
+            return loader.count();
+        }
+    }
+
+    private long nextId(String table) {
+        return nextIds.merge(table, 1L, Long::sum) - 1;
+    }
+
+    private ClassRow classOf(long classId) {
+        return classes.get((int) (classId - classes.get(0).id()));
+    }
+
+    private static BigDecimal feeAmount(ClassRow classRow, String feeType) {
+        int grade = Integer.parseInt(classRow.grade().substring("Class ".length()));
+        return switch (feeType) {
+            case "Tuition" -> BigDecimal.valueOf(12000 + grade * 500L);
+            case "Transport" -> BigDecimal.valueOf(3000);
+            case "Library" -> BigDecimal.valueOf(500);
+            default -> BigDecimal.valueOf(1000);
+        };
+    }
+
+    private LocalDateTime dayAt(int schoolDayIndex, int hour) {
+        return LocalDateTime.of(schoolDays.get(schoolDayIndex), LocalTime.of(hour, random.nextInt(60)));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String phone() {
+        return String.format("9%09d", random.nextInt(1_000_000_000));
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static List<LocalDate> schoolDays(LocalDate from, int count) {
+        List<LocalDate> days = new ArrayList<>(count);
+        for (LocalDate day = from; days.size() < count; day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private record ClassRow(long id, String grade, String section) {
+    }
+
+    private record Account(long userId, long entityId, String email, Long classId) {
+    }
+
+    private record SubjectRow(long id, long classId, Account teacher, String name) {
+    }
+
+    private record ExamRow(long id, long classId, Account teacher, boolean held) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.education.sms.datagen;
+
+import java.sql.SQLException;
+
+/**
+ * Bulk writer for the rows of one table. Values are given in the column order
+ * the loader was opened with; {@code null} is written as SQL NULL.
+ */
+interface TableLoader extends AutoCloseable {
+
+    void add(Object... values) throws SQLException;
+
+    long count();
+
+    /** Flushes whatever is still buffered. */
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,76 @@
+package com.education.sms.bench;
+
+import com.education.sms.controller.StudentProfileController;
+import com.education.sms.dto.AnnouncementResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.AnnouncementRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.impl.AnnouncementServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Announcement feed assembly with the repositories served from memory:
+ * getAnnouncementsForFeed (filter by role and map), and the student feed which
+ * merges it with the class announcements, de-duplicates and re-sorts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnouncementFeedBenchmark {
+
+    // Announcements per source (general, class)
+    @Param({ "20", "200" })
+    public int announcements;
+
+    private AnnouncementServiceImpl announcementService;
+    private StudentProfileController studentProfileController;
+    private Student student;
+
+    @Setup
+    public void setUp() {
+        ClassEntity classEntity = BenchmarkFixtures.classEntity(1);
+        student = BenchmarkFixtures.student(1, classEntity);
+
+        AnnouncementRepository announcementRepository = BenchmarkFixtures.repository(AnnouncementRepository.class,
+                Map.of("findByTargetClassIsNullOrderByCreatedAtDesc",
+                        BenchmarkFixtures.announcements(announcements, null),
+                        "findByTargetClassIdOrderByCreatedAtDesc",
+                        BenchmarkFixtures.announcements(announcements, classEntity)));
+        StudentRepository studentRepository = BenchmarkFixtures.repository(StudentRepository.class,
+                Map.of("findByUserId", Optional.of(student)));
+
+        announcementService = new AnnouncementServiceImpl(announcementRepository, null, null, null);
+        studentProfileController = new StudentProfileController(studentRepository, announcementService, null);
+    }
+
+    @Benchmark
+    public List<AnnouncementResponse> feedForRole() {
+        return announcementService.getAnnouncementsForFeed(UserRole.STUDENT);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<AnnouncementResponse>> studentFeed() {
+        return studentProfileController.getMyAnnouncements(student.getUser(), student.getStudentId());
+    }
+}
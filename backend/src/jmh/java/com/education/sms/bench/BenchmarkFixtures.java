@@ -0,0 +1,111 @@
+package com.education.sms.bench;
+
+import com.education.sms.entity.Announcement;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.utils.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared test data for the benchmarks. Everything is built in memory so the
+ * benchmarks measure our code, not the database.
+ */
+final class BenchmarkFixtures {
+
+    // Same secret and expiry as the test profile
+    static final String JWT_SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    static final long JWT_EXPIRATION_MS = 518400000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", JWT_EXPIRATION_MS);
+        return jwtUtil;
+    }
+
+    static User user(long id, String email, UserRole role) {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .password("$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi")
+                .role(role)
+                .mustChangePassword(false)
+                .createdAt(LocalDateTime.now().minusDays(30))
+                .build();
+    }
+
+    static ClassEntity classEntity(long id) {
+        return ClassEntity.builder().id(id).gradeLevel("Class 10").section("A").academicYear(2025).build();
+    }
+
+    static Student student(long id, ClassEntity classEntity) {
+        return Student.builder()
+                .studentId(id)
+                .user(user(1000 + id, "first" + id + ".last" + id + ".2025@sms.edu.in", UserRole.STUDENT))
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .registrationNumber("REG2025" + id)
+                .enrollmentYear(2025)
+                .parentPhone("9876543210")
+                .address("12 School Road")
+                .classEntity(classEntity)
+                .build();
+    }
+
+    /**
+     * Announcements newest first, as the repository returns them: a third global,
+     * a third per role and, when a class is given, a third for that class.
+     */
+    static List<Announcement> announcements(int count, ClassEntity targetClass) {
+        User author = user(1, "admin@sms.edu.in", UserRole.ADMIN);
+        UserRole[] roles = UserRole.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<Announcement> announcements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Announcement.AnnouncementBuilder builder = Announcement.builder()
+                    .announcementId((long) i + (targetClass != null ? 100_000 : 0))
+                    .title("Announcement " + i)
+                    .content("Content of announcement " + i)
+                    .postByUser(author)
+                    .createdAt(now.minusMinutes(i * 7L));
+            if (targetClass != null) {
+                builder.targetClass(targetClass);
+            } else if (i % 3 == 1) {
+                builder.targetRole(roles[i % roles.length]);
+            }
+            announcements.add(builder.build());
+        }
+        return announcements;
+    }
+
+    /**
+     * In-memory stand-in for a Spring Data repository: each named method returns
+     * the given value, any other call fails.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (!results.containsKey(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        yield results.get(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,84 @@
+package com.education.sms.bench;
+
+import com.education.sms.scheduling.ExamConflict;
+import com.education.sms.scheduling.ExamScheduler;
+import com.education.sms.scheduling.ExamSlot;
+import com.education.sms.scheduling.ExamWindow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The exam scheduler over a whole school's term: 300 classes with 8 subjects
+ * each, taught by 100 faculty.
+ *
+ * conflicts: build the timetable from 7,200 stored exams (three per course, a
+ * few deliberately clashing) and list every overlap, as /api/exams/conflicts does.
+ * proposeTerm: place one exam per course (2,400) into an empty three-week
+ * window, one exam per class per day, as /api/exams/schedule/proposals does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExamSchedulerBenchmark {
+
+    private static final int CLASSES = 300;
+    private static final int SUBJECTS = 8;
+    private static final int FACULTY = 100;
+    private static final LocalDate TERM_START = LocalDate.of(2026, 3, 2);
+
+    private List<ExamSlot> stored;
+    private List<ExamSlot> batch;
+    private ExamWindow window;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        stored = new ArrayList<>();
+        batch = new ArrayList<>();
+        long examId = 1;
+        for (long classId = 1; classId <= CLASSES; classId++) {
+            for (int subject = 0; subject < SUBJECTS; subject++) {
+                long facultyId = 1 + (classId * SUBJECTS + subject) % FACULTY;
+                for (int round = 0; round < 3; round++) {
+                    LocalDate date = TERM_START.plusWeeks(round * 4L).plusDays(random.nextInt(5));
+                    LocalTime start = LocalTime.of(9 + random.nextInt(6), random.nextBoolean() ? 0 : 30);
+                    stored.add(new ExamSlot(examId++, "Exam " + examId, classId, facultyId, date, start, 90));
+                }
+                batch.add(new ExamSlot(null, "Final", classId, facultyId, null, null, 120));
+            }
+        }
+        List<LocalDate> days = TERM_START.plusWeeks(16).datesUntil(TERM_START.plusWeeks(19))
+                .filter(day -> day.getDayOfWeek() != DayOfWeek.SUNDAY)
+                .toList();
+        window = new ExamWindow(days, LocalTime.of(9, 0), LocalTime.of(16, 0), 30, 1);
+    }
+
+    @Benchmark
+    public List<ExamConflict> conflicts() {
+        return new ExamScheduler(stored).conflicts();
+    }
+
+    @Benchmark
+    public List<ExamSlot> proposeTerm() {
+        return new ExamScheduler(List.of()).placeAll(batch, window);
+    }
+}
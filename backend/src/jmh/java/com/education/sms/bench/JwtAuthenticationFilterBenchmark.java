@@ -0,0 +1,69 @@
+package com.education.sms.bench;
+
+import com.education.sms.config.JwtAuthenticationFilter;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.UserRepository;
+import com.education.sms.service.impl.CustomUserDetailsService;
+import com.education.sms.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end for an authenticated request: token
+ * parsing, user lookup (served from memory here), logout check and building the
+ * security context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        User user = BenchmarkFixtures.user(1, "first1.last1.2025@sms.edu.in", UserRole.STUDENT);
+        UserRepository userRepository = BenchmarkFixtures.repository(UserRepository.class,
+                Map.of("findByEmail", Optional.of(user)));
+
+        filter = new JwtAuthenticationFilter(jwtUtil, new CustomUserDetailsService(userRepository),
+                new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/student/profile");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
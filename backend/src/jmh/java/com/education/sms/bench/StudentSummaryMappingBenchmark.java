@@ -0,0 +1,58 @@
+package com.education.sms.bench;
+
+import com.education.sms.dto.StudentSummaryResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Java side of the student listings (admin users page, faculty class
+ * lists, student details): building StudentSummaryResponse from the columns
+ * selected by StudentRepository.SUMMARY_SELECT, per page of 20.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentSummaryMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private List<Student> page;
+
+    @Setup
+    public void setUp() {
+        ClassEntity classEntity = BenchmarkFixtures.classEntity(1);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(BenchmarkFixtures.student(i, classEntity));
+        }
+    }
+
+    @Benchmark
+    public List<StudentSummaryResponse> projectionPage() {
+        List<StudentSummaryResponse> result = new ArrayList<>(page.size());
+        for (Student s : page) {
+            ClassEntity c = s.getClassEntity();
+            result.add(new StudentSummaryResponse(s.getStudentId(), s.getFirstName(), s.getLastName(),
+                    s.getRegistrationNumber(), s.getUser().getEmail(), s.getEnrollmentYear(),
+                    c.getId(), c.getGradeLevel(), c.getSection(), s.getParentPhone(), s.getAddress()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.education.sms.bench;
+
+import com.education.sms.scheduling.TimetableGrid;
+import com.education.sms.scheduling.TimetableProblem;
+import com.education.sms.scheduling.TimetableRequirement;
+import com.education.sms.scheduling.TimetableSolution;
+import com.education.sms.scheduling.TimetableSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the timetable solver to find a perfect week (no clashes, every
+ * subject spread over the days) for a school of 120 or 240 classes: 8 subjects
+ * each, 36 of the 40 periods of the week taken, every faculty member teaching
+ * 4 subjects and unavailable for 6 random periods. One worker thread, so the
+ * score does not depend on the core count; the 60 second budget is only a
+ * safety net.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimetableSolverBenchmark {
+
+    private static final int SUBJECTS = 8;
+    private static final int SUBJECTS_PER_FACULTY = 4;
+
+    @Param({ "120", "240" })
+    private int classes;
+
+    private TimetableProblem problem;
+
+    @Setup
+    public void setUp() {
+        TimetableGrid grid = new TimetableGrid(5, 8);
+        int faculty = classes * SUBJECTS / SUBJECTS_PER_FACULTY;
+        List<TimetableRequirement> requirements = new ArrayList<>();
+        long subjectId = 1;
+        for (long classId = 1; classId <= classes; classId++) {
+            for (int subject = 0; subject < SUBJECTS; subject++) {
+                long facultyId = 1 + (subjectId - 1) % faculty;
+                requirements.add(new TimetableRequirement(subjectId++, classId, facultyId, subject < 2 ? 6 : 4));
+            }
+        }
+        Random random = new Random(42);
+        Map<Long, Set<Integer>> blocked = new HashMap<>();
+        for (long facultyId = 1; facultyId <= faculty; facultyId++) {
+            Set<Integer> slots = new HashSet<>();
+            for (int i = 0; i < 6; i++) {
+                slots.add(random.nextInt(grid.slots()));
+            }
+            blocked.put(facultyId, slots);
+        }
+        problem = new TimetableProblem(grid, requirements, blocked);
+    }
+
+    @Benchmark
+    public TimetableSolution solve() {
+        TimetableSolution solution = new TimetableSolver(problem).solve(Duration.ofSeconds(60), 1);
+        if (solution.hardViolations() > 0 || solution.softPenalty() > 0) {
+            throw new IllegalStateException("No perfect timetable within the budget: " + solution.hardViolations()
+                    + " clashes, spread penalty " + solution.softPenalty());
+        }
+        return solution;
+    }
+}
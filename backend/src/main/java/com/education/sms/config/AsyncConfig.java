@@ -0,0 +1,19 @@
+package com.education.sms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Async and @Scheduled processing.
+ *
+ * The executors themselves come from Spring Boot's task auto-configuration:
+ * with spring.threads.virtual.enabled=true both async work (e.g. outgoing
+ * emails) and scheduled jobs run on virtual threads, otherwise on the default
+ * bounded platform thread pools.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
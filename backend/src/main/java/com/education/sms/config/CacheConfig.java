@@ -0,0 +1,35 @@
+package com.education.sms.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction with in-memory ConcurrentMap caches, which
+ * is enough for a single instance; entries are evicted explicitly when the data
+ * changes.
+ *
+ * The caches are transaction-aware: an eviction (or put) made inside a
+ * transaction is applied after it commits, so a concurrent read cannot load the
+ * old rows back into the cache between the eviction and the commit. Code that
+ * already runs after commit (transactional event listeners) evicts with
+ * beforeInvocation = true, which is applied immediately.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Fee ledger (see FeeLedgerServiceImpl). Evicted on payments, fee structure
+    // changes and class re-assignments.
+    public static final String STUDENT_LEDGER = "studentFeeLedger";
+    public static final String CLASS_LEDGER = "classFeeLedger";
+    public static final String FEE_DEFAULTERS = "feeDefaulters";
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new TransactionAwareCacheManagerProxy(new ConcurrentMapCacheManager());
+    }
+}
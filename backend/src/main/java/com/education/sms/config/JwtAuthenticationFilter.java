@@ -2,6 +2,8 @@ package com.education.sms.config;
 
 import com.education.sms.service.impl.CustomUserDetailsService;
 import com.education.sms.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -49,6 +52,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract JWT token (remove "Bearer " prefix)
         final String jwt = authHeader.substring(7);
 
+        // Time token handling (parse, user lookup, logout check), tagged by outcome
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "unauthenticated";
+
         try {
             // Extract username from token
             final String userEmail = jwtUtil.extractUsername(jwt);
@@ -68,6 +75,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             java.util.Date issuedAt = jwtUtil.extractClaim(jwt, io.jsonwebtoken.Claims::getIssuedAt);
                             if (issuedAt != null && issuedAt.before(java.sql.Timestamp.valueOf(user.getLastLogout()))) {
                                 // Token is invalid
+                                recordFilterTime(sample, "revoked");
                                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                                 return;
                             }
@@ -85,13 +93,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "authenticated";
                 }
             }
         } catch (Exception e) {
             // Log the error but don't stop the filter chain
             logger.error("Cannot set user authentication: " + e.getMessage());
+            outcome = "error";
         }
+        recordFilterTime(sample, outcome);
 
         filterChain.doFilter(request, response);
     }
+
+    private void recordFilterTime(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("sms.security.jwt.filter")
+                .description("Time spent validating the bearer token and loading the user")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
 }
@@ -0,0 +1,22 @@
+package com.education.sms.config;
+
+import com.education.sms.metrics.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring for metrics that need hooks outside Spring Boot's auto-configuration.
+ *
+ * Most metrics (HTTP latency, Hikari, Hibernate statistics, executors) are
+ * bound by Actuator itself; see the management.* properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+}
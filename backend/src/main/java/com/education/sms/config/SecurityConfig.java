@@ -47,9 +47,10 @@ public class SecurityConfig {
 
                 // 3. Set permissions on endpoints
                 .authorizeHttpRequests(auth -> auth
-                        // Allow dispatch types (for error pages and forwards)
+                        // Allow dispatch types (for error pages, forwards and SSE/async completion)
                         .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.FORWARD,
-                                jakarta.servlet.DispatcherType.ERROR)
+                                jakarta.servlet.DispatcherType.ERROR,
+                                jakarta.servlet.DispatcherType.ASYNC)
                         .permitAll()
                         // Explicitly allow OPTIONS for CORS preflight (though .cors() usually handles
                         // this)
@@ -63,6 +64,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/password/reset/request").permitAll()
                         .requestMatchers("/api/password/reset/confirm").permitAll()
                         .requestMatchers("/error").permitAll() // Allow error page
+                        // Razorpay webhooks (authenticated by HMAC signature, not JWT)
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/payments/webhook").permitAll()
                         // Swagger/OpenAPI endpoints
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/swagger-ui.html").permitAll()
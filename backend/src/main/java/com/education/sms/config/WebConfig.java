@@ -1,19 +1,26 @@
 package com.education.sms.config;
 
+import com.education.sms.httpcache.ConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
 
 /**
- * Configuration for serving static resources like uploaded profile images.
+ * Configuration for serving static resources like uploaded profile images,
+ * plus the conditional GET interceptor (see the httpcache package).
  * NOTE: CORS is handled by SecurityConfig, not here - to avoid conflicts.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
@@ -25,4 +32,9 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations(absolutePath);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor);
+    }
 }
@@ -0,0 +1,84 @@
+package com.education.sms.controller;
+
+import com.education.sms.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * CSV exports of the admin listings. The body is written on an async thread
+ * while rows are read from the database, so the response starts immediately and
+ * memory use does not depend on the size of the export. Files include a UTF-8
+ * BOM so they open directly in Excel.
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin - Exports", description = "Streaming CSV exports")
+public class AdminExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final ExportService exportService;
+
+    @GetMapping("/students")
+    @Operation(summary = "Export students")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return csv("students", exportService::exportStudents);
+    }
+
+    @GetMapping("/faculty")
+    @Operation(summary = "Export faculty")
+    public ResponseEntity<StreamingResponseBody> exportFaculty() {
+        return csv("faculty", exportService::exportFaculty);
+    }
+
+    @GetMapping("/payments")
+    @Operation(summary = "Export payments", description = "Payments in a date range (default: last 12 months)")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return csv("payments", out -> exportService.exportPayments(out, start, end));
+    }
+
+    @GetMapping("/library-issues")
+    @Operation(summary = "Export library issues", description = "Issues in a date range (default: last 12 months)")
+    public ResponseEntity<StreamingResponseBody> exportLibraryIssues(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return csv("library-issues", out -> exportService.exportLibraryIssues(out, start, end));
+    }
+
+    @GetMapping("/attendance")
+    @Operation(summary = "Export attendance", description = "Attendance in a date range (default: last 12 months), optionally for one class")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long classId) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return csv("attendance", out -> exportService.exportAttendance(out, start, end, classId));
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String name, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "-" + LocalDate.now() + ".csv\"")
+                .body(body);
+    }
+}
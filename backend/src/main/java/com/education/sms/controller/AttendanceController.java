@@ -3,13 +3,18 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.AttendanceRequest;
 import com.education.sms.dto.AttendanceResponse;
+import com.education.sms.dto.AttendanceStats;
+import com.education.sms.dto.BulkAttendanceRequest;
+import com.education.sms.dto.ClassAttendanceRow;
 import com.education.sms.entity.Attendance;
 import com.education.sms.service.AttendanceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -41,15 +46,34 @@ public class AttendanceController {
         }
     }
 
+    // Mark a whole class for one subject and day; everyone not listed as absent is present
+    @PostMapping("/mark/bulk")
+    @PreAuthorize("hasRole('FACULTY')")
+    public ResponseEntity<String> markBulkAttendance(@RequestBody BulkAttendanceRequest request) {
+        if (request.subjectId() == null || request.subjectId() <= 0) {
+            return ResponseEntity.badRequest().body("Subject ID must be valid");
+        }
+        if (request.date() == null) {
+            return ResponseEntity.badRequest().body("Date cannot be null");
+        }
+
+        try {
+            return ResponseEntity.ok(attendanceService.markBulkAttendance(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // 2. View Student Attendance (Student, Faculty, Admin)
     @GetMapping("/student/{studentId}/subject/{subjectId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<AttendanceResponse>> getAttendanceByStudentSubjectId(
             @PathVariable Long studentId,
-            @RequestParam Long subjectId
+            @RequestParam Long subjectId,
+            @RequestParam(required = false) Integer academicYear
     ) {
         return ResponseEntity.ok(
-                attendanceService.getAttendanceByStudentAndSubjectId(studentId, subjectId)
+                attendanceService.getAttendanceByStudentAndSubjectId(studentId, subjectId, academicYear)
         );
     }
 
@@ -57,10 +81,42 @@ public class AttendanceController {
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<AttendanceResponse>> getAttendanceByStudentId(
-            @PathVariable Long studentId
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Integer academicYear
     ) {
         return ResponseEntity.ok(
-                attendanceService.getAttendanceByStudentId(studentId)
+                attendanceService.getAttendanceByStudentId(studentId, academicYear)
         );
     }
+
+    // 3. Attendance statistics from the bitmaps (percentage, current streak)
+    @GetMapping("/student/{studentId}/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
+    public ResponseEntity<AttendanceStats> getAttendanceStats(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(attendanceService.getAttendanceStats(studentId, subjectId, from, to));
+    }
+
+    @GetMapping("/class/{classId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<ClassAttendanceRow>> getClassAttendance(
+            @PathVariable Long classId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(attendanceService.getClassAttendance(classId, from, to));
+    }
+
+    @GetMapping("/class/{classId}/absentees")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<ClassAttendanceRow>> getClassAbsentees(
+            @PathVariable Long classId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(attendanceService.getClassAbsentees(classId, date));
+    }
 }
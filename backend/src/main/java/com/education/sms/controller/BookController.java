@@ -2,6 +2,8 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.BookRequest;
 import com.education.sms.dto.BookResponse;
+import com.education.sms.entity.Book;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.BookService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -33,30 +35,35 @@ public class BookController {
     }
 
     @GetMapping
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<BookResponse>> getAllBooks() {
         return ResponseEntity.ok(bookService.getAllBooks());
     }
 
     @GetMapping("/available")
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<BookResponse>> getAvailableBooks() {
         return ResponseEntity.ok(bookService.getAvailableBooks());
     }
 
     @GetMapping("/search/title")
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<BookResponse>> searchByTitle(@RequestParam String title) {
         return ResponseEntity.ok(bookService.searchBooksByTitle(title));
     }
 
     @GetMapping("/search/author")
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<BookResponse>> searchByAuthor(@RequestParam String author) {
         return ResponseEntity.ok(bookService.searchBooksByAuthor(author));
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasAnyRole('LIBRARIAN', 'FACULTY', 'STUDENT')")
     @io.swagger.v3.oas.annotations.Operation(hidden = true)
     public ResponseEntity<?> getBookById(@PathVariable Long id) {
@@ -68,6 +75,7 @@ public class BookController {
     }
 
     @GetMapping("/isbn/{isbn}")
+    @ConditionalGet(Book.class)
     @PreAuthorize("hasRole('LIBRARIAN')")
     @io.swagger.v3.oas.annotations.Operation(hidden = true)
     public ResponseEntity<?> getBookByIsbn(@PathVariable String isbn) {
@@ -2,12 +2,15 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.ClassRequest;
 import com.education.sms.dto.ClassResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.ClassService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -30,6 +33,9 @@ public class ClassController {
         if (request.academicYear() == null || request.academicYear() <= 0) {
             return ResponseEntity.badRequest().body("Academic year must be valid");
         }
+        if (!isValidThreshold(request.minAttendancePercent())) {
+            return ResponseEntity.badRequest().body("Threshold must be between 0 and 100");
+        }
 
         try {
             return ResponseEntity.ok(classService.createClass(request));
@@ -40,6 +46,7 @@ public class ClassController {
 
     // 2. Get All Classes (Admin and Faculty)
     @GetMapping
+    @ConditionalGet(ClassEntity.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<ClassResponse>> getAllClasses() {
         return ResponseEntity.ok(classService.getAllClasses());
@@ -47,6 +54,7 @@ public class ClassController {
 
     // 3. Get Class by ID
     @GetMapping("/{id}")
+    @ConditionalGet(ClassEntity.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<?> getClassById(@PathVariable Long id) {
         try {
@@ -69,4 +77,24 @@ public class ClassController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    // 5. Set the minimum attendance for low-attendance alerts (Admin Only)
+    @PutMapping("/{classId}/attendance-threshold")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateAttendanceThreshold(
+            @PathVariable Long classId,
+            @RequestParam(required = false) BigDecimal percent) {
+        if (!isValidThreshold(percent)) {
+            return ResponseEntity.badRequest().body("Threshold must be between 0 and 100");
+        }
+        try {
+            return ResponseEntity.ok(classService.updateAttendanceThreshold(classId, percent));
+        } catch (com.education.sms.exception.ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static boolean isValidThreshold(BigDecimal percent) {
+        return percent == null || (percent.signum() >= 0 && percent.compareTo(BigDecimal.valueOf(100)) <= 0);
+    }
 }
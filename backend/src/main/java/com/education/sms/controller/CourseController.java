@@ -2,6 +2,10 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.CourseRequest;
 import com.education.sms.dto.CourseResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Course;
+import com.education.sms.entity.Faculty;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.CourseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -35,24 +39,28 @@ public class CourseController {
     }
 
     @GetMapping
+    @ConditionalGet({ Course.class, ClassEntity.class, Faculty.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<CourseResponse>> getAllCourses() {
         return ResponseEntity.ok(courseService.getAllCourses());
     }
 
     @GetMapping("/class/{classId}")
+    @ConditionalGet({ Course.class, ClassEntity.class, Faculty.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<CourseResponse>> getCoursesByClass(@PathVariable Long classId) {
         return ResponseEntity.ok(courseService.getCoursesByClass(classId));
     }
 
     @GetMapping("/faculty/{facultyId}")
+    @ConditionalGet({ Course.class, ClassEntity.class, Faculty.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<CourseResponse>> getCoursesByFaculty(@PathVariable Long facultyId) {
         return ResponseEntity.ok(courseService.getCoursesByFaculty(facultyId));
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet({ Course.class, ClassEntity.class, Faculty.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<?> getCourseById(@PathVariable Long id) {
         try {
@@ -2,6 +2,8 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.EventRequest;
 import com.education.sms.dto.EventResponse;
+import com.education.sms.entity.Event;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.EventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,22 +27,29 @@ public class EventController {
             return ResponseEntity.badRequest().body("Missing required fields");
         }
 
-        return ResponseEntity.ok(eventService.createEvent(request));
+        try {
+            return ResponseEntity.ok(eventService.createEvent(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping
+    @ConditionalGet(Event.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<EventResponse>> getAllEvents() {
         return ResponseEntity.ok(eventService.getAllEvents());
     }
 
     @GetMapping("/upcoming")
+    @ConditionalGet(value = Event.class, perDay = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<EventResponse>> getUpcomingEvents() {
         return ResponseEntity.ok(eventService.getUpcomingEvents());
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(Event.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     @io.swagger.v3.oas.annotations.Operation(hidden = true)
     public ResponseEntity<?> getEventById(@PathVariable Long id) {
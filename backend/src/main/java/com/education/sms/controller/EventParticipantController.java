@@ -1,9 +1,12 @@
 package com.education.sms.controller;
 
+import com.education.sms.dto.EventAvailabilityResponse;
+import com.education.sms.dto.EventCapacityRequest;
 import com.education.sms.dto.EventParticipantRequest;
 import com.education.sms.dto.EventParticipantResponse;
 import com.education.sms.service.EventParticipantService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -45,6 +48,41 @@ public class EventParticipantController {
         return ResponseEntity.ok(eventParticipantService.getEventsByUser(userId));
     }
 
+    @PostMapping("/event/{eventId}/class/{classId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<?> enrolClass(@PathVariable Long eventId, @PathVariable Long classId,
+            @RequestParam(required = false) String role) {
+        try {
+            return ResponseEntity.ok(eventParticipantService.enrolClass(eventId, classId, role));
+        } catch (com.education.sms.exception.ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/event/{eventId}/availability")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
+    public ResponseEntity<EventAvailabilityResponse> getAvailability(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(eventParticipantService.getAvailability(eventId));
+        } catch (com.education.sms.exception.ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/event/{eventId}/capacity")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<?> updateCapacity(@PathVariable Long eventId, @RequestBody EventCapacityRequest request) {
+        try {
+            return ResponseEntity.ok(eventParticipantService.updateCapacity(eventId, request.capacity()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (com.education.sms.exception.ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<String> removeParticipant(@PathVariable Long id) {
@@ -1,13 +1,18 @@
 package com.education.sms.controller;
 
+import com.education.sms.dto.ExamConflictResponse;
 import com.education.sms.dto.ExamRequest;
 import com.education.sms.dto.ExamResponse;
+import com.education.sms.dto.ExamScheduleRequest;
 import com.education.sms.service.ExamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,9 +34,26 @@ public class ExamController {
             return ResponseEntity.ok(examService.createExam(request));
         } catch (com.education.sms.exception.ResourceNotFoundException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            // Overlaps another exam of the class or faculty
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
 
+    @GetMapping("/conflicts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<ExamConflictResponse>> getConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(examService.getConflicts(from, to));
+    }
+
+    @PostMapping("/schedule/proposals")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<ExamResponse>> proposeSchedule(@RequestBody ExamScheduleRequest request) {
+        return ResponseEntity.ok(examService.proposeSchedule(request));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<ExamResponse>> getAllExams() {
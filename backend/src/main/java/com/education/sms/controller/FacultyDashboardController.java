@@ -2,7 +2,6 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.*;
 import com.education.sms.entity.Faculty;
-import com.education.sms.entity.Student;
 import com.education.sms.entity.Subject;
 import com.education.sms.entity.User;
 import com.education.sms.exception.ResourceNotFoundException;
@@ -11,7 +10,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -102,9 +100,7 @@ public class FacultyDashboardController {
 
                 // Get first class's students (simplified - ideally should aggregate)
                 Pageable pageable = PageRequest.of(page, size);
-                Page<Student> studentPage = studentRepository.findByClassEntityId(classIds.get(0), pageable);
-
-                var response = PagedResponse.from(studentPage.map(this::mapToStudentSummary));
+                var response = PagedResponse.from(studentRepository.findSummariesByClassId(classIds.get(0), pageable));
                 return ResponseEntity.ok(response);
         }
 
@@ -130,9 +126,7 @@ public class FacultyDashboardController {
                 }
 
                 Pageable pageable = PageRequest.of(page, size);
-                Page<Student> studentPage = studentRepository.findByClassEntityId(classId, pageable);
-
-                var response = PagedResponse.from(studentPage.map(this::mapToStudentSummary));
+                var response = PagedResponse.from(studentRepository.findSummariesByClassId(classId, pageable));
                 return ResponseEntity.ok(response);
         }
 
@@ -192,37 +186,4 @@ public class FacultyDashboardController {
 
                 return ResponseEntity.ok(subjectList);
         }
-
-        private StudentSummaryResponse mapToStudentSummary(Student student) {
-                String className = student.getClassEntity() != null
-                                ? student.getClassEntity().getGradeLevel() + " - "
-                                                + student.getClassEntity().getSection()
-                                : "Not Assigned";
-
-                Long classId = student.getClassEntity() != null ? student.getClassEntity().getId() : null;
-
-                // Extract enrollment year from email
-                String enrollmentYear = null;
-                String email = student.getUser() != null ? student.getUser().getEmail() : null;
-                if (email != null && email.contains("@sms.edu.in")) {
-                        String[] parts = email.split("@")[0].split("\\.");
-                        if (parts.length >= 3) {
-                                enrollmentYear = parts[parts.length - 1];
-                        }
-                }
-
-                return new StudentSummaryResponse(
-                                student.getStudentId(),
-                                student.getStudentId(),
-                                student.getFirstName(),
-                                student.getLastName(),
-                                student.getFirstName() + " " + student.getLastName(),
-                                student.getRegistrationNumber(),
-                                email,
-                                enrollmentYear,
-                                className,
-                                classId,
-                                student.getParentPhone(),
-                                student.getAddress());
-        }
 }
@@ -0,0 +1,68 @@
+package com.education.sms.controller;
+
+import com.education.sms.dto.ClassFeeLedgerResponse;
+import com.education.sms.dto.PagedResponse;
+import com.education.sms.dto.StudentFeeLedgerResponse;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.service.FeeLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/fees/ledger")
+@RequiredArgsConstructor
+@Tag(name = "Fee Ledger", description = "Dues, payments and outstanding balances")
+public class FeeLedgerController {
+
+    private final FeeLedgerService feeLedgerService;
+
+    @GetMapping("/student/{studentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STUDENT')")
+    @Operation(summary = "Student balance", description = "Total due, paid and outstanding for one student")
+    public ResponseEntity<?> getStudentLedger(@PathVariable Long studentId) {
+        try {
+            return ResponseEntity.ok(feeLedgerService.getStudentLedger(studentId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/classes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Class balances", description = "Fee totals and defaulter counts for every class")
+    public ResponseEntity<List<ClassFeeLedgerResponse>> getClassLedgers() {
+        return ResponseEntity.ok(feeLedgerService.getClassLedgers());
+    }
+
+    @GetMapping("/class/{classId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    @Operation(summary = "Class balance", description = "Fee totals and defaulter count for one class")
+    public ResponseEntity<?> getClassLedger(@PathVariable Long classId) {
+        try {
+            return ResponseEntity.ok(feeLedgerService.getClassLedger(classId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/defaulters")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Fee defaulters", description = "Paginated students with an outstanding balance, largest first")
+    public ResponseEntity<PagedResponse<StudentFeeLedgerResponse>> getDefaulters(
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) BigDecimal minOutstanding,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return ResponseEntity.ok(feeLedgerService.getDefaulters(classId, minOutstanding, pageable));
+    }
+}
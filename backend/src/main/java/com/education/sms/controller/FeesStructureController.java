@@ -2,6 +2,9 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.FeesStructureRequest;
 import com.education.sms.dto.FeesStructureResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.FeesStructure;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.FeesStructureService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -34,18 +37,21 @@ public class FeesStructureController {
     }
 
     @GetMapping
+    @ConditionalGet({ FeesStructure.class, ClassEntity.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<FeesStructureResponse>> getAllFeesStructures() {
         return ResponseEntity.ok(feesStructureService.getAllFeesStructures());
     }
 
     @GetMapping("/class/{classId}")
+    @ConditionalGet({ FeesStructure.class, ClassEntity.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
     public ResponseEntity<List<FeesStructureResponse>> getFeesStructuresByClass(@PathVariable Long classId) {
         return ResponseEntity.ok(feesStructureService.getFeesStructuresByClass(classId));
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet({ FeesStructure.class, ClassEntity.class })
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<?> getFeesStructureById(@PathVariable Long id) {
         try {
@@ -0,0 +1,85 @@
+package com.education.sms.controller;
+
+import com.education.sms.dto.StudentPointsResponse;
+import com.education.sms.entity.User;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.service.GamificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/gamification")
+@RequiredArgsConstructor
+@Tag(name = "Gamification", description = "Student points and leaderboards")
+public class GamificationController {
+
+    private final GamificationService gamificationService;
+
+    @GetMapping("/leaderboard")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
+    @Operation(summary = "School leaderboard", description = "Students with the most points")
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(gamificationService.getLeaderboard(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/leaderboard/class/{classId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
+    @Operation(summary = "Class leaderboard", description = "Students of a class with the most points")
+    public ResponseEntity<?> getClassLeaderboard(@PathVariable Long classId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(gamificationService.getClassLeaderboard(classId, limit));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/students/{studentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    @Operation(summary = "Student points", description = "Points, school and class rank and recent awards")
+    public ResponseEntity<StudentPointsResponse> getStudentPoints(@PathVariable Long studentId) {
+        try {
+            return ResponseEntity.ok(gamificationService.getStudentPoints(studentId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "My points", description = "Points, school and class rank and recent awards")
+    public ResponseEntity<StudentPointsResponse> getMyPoints(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok(gamificationService.getStudentPointsByUser(user.getId()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/streaks/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Award attendance streaks", description = "Runs the daily streak award for a day "
+            + "(today by default); streaks already awarded are skipped")
+    public ResponseEntity<Map<String, Object>> runStreaks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(Map.of("date", day, "studentsAwarded", gamificationService.awardAttendanceStreaks(day)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.education.sms.controller;
+
+import com.education.sms.entity.User;
+import com.education.sms.service.LiveUpdateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@Tag(name = "Live Updates", description = "Server-Sent Events stream replacing dashboard polling")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT', 'LIBRARIAN')")
+    @Operation(summary = "Open live update stream", description = "Pushes 'announcement' events targeted at the caller's role/class and 'book-request' status changes (all for librarians, own requests for students)")
+    public SseEmitter stream(@Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        return liveUpdateService.subscribe(user);
+    }
+}
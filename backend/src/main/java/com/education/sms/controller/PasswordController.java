@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -51,6 +52,9 @@ public class PasswordController {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "message", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            // Still conflicting after the retries; GlobalExceptionHandler answers 409
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error during password change: {}", e.getMessage());
             return ResponseEntity.internalServerError().body(Map.of(
@@ -96,6 +100,9 @@ public class PasswordController {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "message", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            // Still conflicting after the retries; GlobalExceptionHandler answers 409
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error during password reset confirmation: {}", e.getMessage());
             return ResponseEntity.internalServerError().body(Map.of(
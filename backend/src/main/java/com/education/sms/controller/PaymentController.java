@@ -3,6 +3,7 @@ package com.education.sms.controller;
 import com.education.sms.dto.PaymentRequest;
 import com.education.sms.dto.PaymentResponse;
 import com.education.sms.service.PaymentService;
+import com.education.sms.service.PaymentWebhookService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +17,7 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STUDENT')")
@@ -32,6 +34,24 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Razorpay webhook receiver. Only verifies and queues the event; payments are
+     * updated asynchronously by the reconciliation worker.
+     */
+    @PostMapping("/webhook")
+    @io.swagger.v3.oas.annotations.Operation(hidden = true)
+    public ResponseEntity<?> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+        try {
+            paymentWebhookService.ingest(payload, signature, eventId);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{paymentId}/status")
     @PreAuthorize("hasRole('ADMIN')")
     @io.swagger.v3.oas.annotations.Operation(hidden = true)
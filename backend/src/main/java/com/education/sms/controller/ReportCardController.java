@@ -0,0 +1,67 @@
+package com.education.sms.controller;
+
+import com.education.sms.dto.ReportCardJobRequest;
+import com.education.sms.dto.ReportCardJobResponse;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.service.ReportCardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/report-cards")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+@Tag(name = "Report Cards", description = "Background generation of class report cards (CSV/PDF)")
+public class ReportCardController {
+
+    private final ReportCardService reportCardService;
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start report card job", description = "Generates report cards for a class and term in the background")
+    public ResponseEntity<?> startJob(@RequestBody ReportCardJobRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportCardService.startJob(request));
+        } catch (IllegalArgumentException | ResourceNotFoundException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Report job status", description = "Progress of a report card job")
+    public ResponseEntity<ReportCardJobResponse> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(reportCardService.getJob(jobId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(summary = "Download report cards", description = "Output of a completed report card job")
+    public ResponseEntity<?> download(@PathVariable String jobId) {
+        try {
+            ReportCardJobResponse job = reportCardService.getJob(jobId);
+            Resource file = reportCardService.getJobOutput(jobId);
+            MediaType type = "pdf".equals(job.format())
+                    ? MediaType.APPLICATION_PDF
+                    : MediaType.parseMediaType("text/csv");
+            return ResponseEntity.ok()
+                    .contentType(type)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"report-cards-class-" + job.classId() + "." + job.format() + "\"")
+                    .body(file);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
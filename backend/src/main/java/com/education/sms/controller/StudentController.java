@@ -1,5 +1,6 @@
 package com.education.sms.controller;
 
+import com.education.sms.config.CacheConfig;
 import com.education.sms.dto.StudentSummaryResponse;
 import com.education.sms.dto.StudentUpdateRequest;
 import com.education.sms.entity.ClassEntity;
@@ -12,6 +13,7 @@ import com.education.sms.repository.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -32,14 +34,15 @@ public class StudentController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get student by ID", description = "Get detailed student information by student ID")
     public ResponseEntity<StudentSummaryResponse> getStudentById(@PathVariable Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
-
-        return ResponseEntity.ok(mapToSummaryResponse(student));
+        return ResponseEntity.ok(studentRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id)));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    // Class re-assignment changes the student's dues
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true)
     @Operation(summary = "Update student", description = "Update student information (admin only)")
     public ResponseEntity<?> updateStudent(@PathVariable Long id, @RequestBody StudentUpdateRequest request) {
         try {
@@ -82,7 +85,7 @@ public class StudentController {
 
             return ResponseEntity.ok(Map.of(
                     "message", "Student updated successfully",
-                    "student", mapToSummaryResponse(savedStudent)));
+                    "student", studentRepository.findSummaryById(savedStudent.getStudentId()).orElseThrow()));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
@@ -109,36 +112,4 @@ public class StudentController {
 
         return ResponseEntity.ok(Map.of("message", "Student deleted successfully"));
     }
-
-    private StudentSummaryResponse mapToSummaryResponse(Student student) {
-        String className = student.getClassEntity() != null
-                ? student.getClassEntity().getGradeLevel() + " - " + student.getClassEntity().getSection()
-                : "Not Assigned";
-
-        Long classId = student.getClassEntity() != null ? student.getClassEntity().getId() : null;
-
-        // Extract enrollment year from email
-        String enrollmentYear = null;
-        String email = student.getUser() != null ? student.getUser().getEmail() : null;
-        if (email != null && email.contains("@sms.edu.in")) {
-            String[] parts = email.split("@")[0].split("\\.");
-            if (parts.length >= 3) {
-                enrollmentYear = parts[parts.length - 1];
-            }
-        }
-
-        return new StudentSummaryResponse(
-                student.getStudentId(),
-                student.getStudentId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getFirstName() + " " + student.getLastName(),
-                student.getRegistrationNumber(),
-                email,
-                enrollmentYear,
-                className,
-                classId,
-                student.getParentPhone(),
-                student.getAddress());
-    }
 }
@@ -1,15 +1,15 @@
 package com.education.sms.controller;
 
 import com.education.sms.dto.AnnouncementResponse;
+import com.education.sms.dto.StudentOverviewResponse;
 import com.education.sms.dto.StudentProfileDTO;
 import com.education.sms.dto.StudentProfileUpdateRequest;
-import com.education.sms.entity.ClassEntity;
 import com.education.sms.entity.Student;
 import com.education.sms.entity.User;
-import com.education.sms.entity.UserRole;
 import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.StudentRepository;
 import com.education.sms.service.AnnouncementService;
+import com.education.sms.service.StudentOverviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -25,8 +25,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -40,6 +38,7 @@ public class StudentProfileController {
 
     private final StudentRepository studentRepository;
     private final AnnouncementService announcementService;
+    private final StudentOverviewService studentOverviewService;
 
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -50,7 +49,7 @@ public class StudentProfileController {
         Student student = studentRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Student profile not found"));
 
-        return ResponseEntity.ok(mapToProfileDTO(student));
+        return ResponseEntity.ok(StudentProfileDTO.from(student));
     }
 
     @PutMapping("/profile")
@@ -76,7 +75,7 @@ public class StudentProfileController {
 
         return ResponseEntity.ok(Map.of(
                 "message", "Profile updated successfully",
-                "profile", mapToProfileDTO(savedStudent)));
+                "profile", StudentProfileDTO.from(savedStudent)));
     }
 
     @PostMapping("/profile/image")
@@ -136,6 +135,14 @@ public class StudentProfileController {
         }
     }
 
+    @GetMapping("/me/overview")
+    @Operation(summary = "Get my home screen", description = "Profile, attendance, recent results and payments, "
+            + "book requests and announcements in one call. Sections that fail or time out are null and listed "
+            + "in 'unavailable'; the rest are still returned")
+    public ResponseEntity<StudentOverviewResponse> getMyOverview(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(studentOverviewService.getOverview(user.getId()));
+    }
+
     @GetMapping("/{studentId}/announcements")
     @Operation(summary = "Get my announcements", description = "Get announcements for student (general + class-specific)")
     public ResponseEntity<List<AnnouncementResponse>> getMyAnnouncements(
@@ -150,45 +157,7 @@ public class StudentProfileController {
             return ResponseEntity.status(403).body(List.of());
         }
 
-        // Get general announcements for STUDENT role
-        List<AnnouncementResponse> allAnnouncements = new ArrayList<>(
-                announcementService.getAnnouncementsForFeed(UserRole.STUDENT));
-
-        // Get class-specific announcements if student is in a class
-        if (student.getClassEntity() != null) {
-            List<AnnouncementResponse> classAnnouncements = announcementService
-                    .getAnnouncementsByClass(student.getClassEntity().getId());
-            allAnnouncements.addAll(classAnnouncements);
-        }
-
-        // Sort by createdAt descending and remove duplicates
-        allAnnouncements = allAnnouncements.stream()
-                .distinct()
-                .sorted(Comparator.comparing(AnnouncementResponse::createdAt).reversed())
-                .toList();
-
-        return ResponseEntity.ok(allAnnouncements);
-    }
-
-    private StudentProfileDTO mapToProfileDTO(Student student) {
-        ClassEntity classEntity = student.getClassEntity();
-        User user = student.getUser();
-
-        return StudentProfileDTO.builder()
-                .studentId(student.getStudentId())
-                .firstName(student.getFirstName())
-                .lastName(student.getLastName())
-                .email(user != null ? user.getEmail() : null)
-                .registrationNumber(student.getRegistrationNumber())
-                .phone(student.getPhone())
-                .parentPhone(student.getParentPhone())
-                .address(student.getAddress())
-                .profileImageUrl(student.getProfileImageUrl())
-                .className(classEntity != null ? classEntity.getGradeLevel() + " - " + classEntity.getSection() : null)
-                .classId(classEntity != null ? classEntity.getId() : null)
-                .gradeLevel(classEntity != null ? classEntity.getGradeLevel() : null)
-                .section(classEntity != null ? classEntity.getSection() : null)
-                .gamificationPoints(student.getGamificationPoints())
-                .build();
+        Long classId = student.getClassEntity() != null ? student.getClassEntity().getId() : null;
+        return ResponseEntity.ok(announcementService.getStudentFeed(classId));
     }
 }
@@ -2,6 +2,8 @@ package com.education.sms.controller;
 
 import com.education.sms.dto.SubjectRequest;
 import com.education.sms.dto.SubjectResponse;
+import com.education.sms.entity.Subject;
+import com.education.sms.httpcache.ConditionalGet;
 import com.education.sms.service.SubjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +36,9 @@ public class SubjectController {
         if (request.facultyId() == null || request.facultyId() <= 0) {
             return ResponseEntity.badRequest().body("Valid faculty ID is required");
         }
+        if (request.periodsPerWeek() != null && request.periodsPerWeek() <= 0) {
+            return ResponseEntity.badRequest().body("Periods per week must be positive");
+        }
 
         try {
             return ResponseEntity.ok(subjectService.createSubject(request));
@@ -45,6 +50,7 @@ public class SubjectController {
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(Subject.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     @io.swagger.v3.oas.annotations.Operation(hidden = true)
     public ResponseEntity<?> getSubjectById(@PathVariable Long id) {
@@ -56,6 +62,7 @@ public class SubjectController {
     }
 
     @GetMapping
+    @ConditionalGet(Subject.class)
     @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
     public ResponseEntity<List<SubjectResponse>> getAllSubjects() {
         return ResponseEntity.ok(subjectService.getAllSubjects());
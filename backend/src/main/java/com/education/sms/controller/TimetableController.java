@@ -0,0 +1,136 @@
+package com.education.sms.controller;
+
+import com.education.sms.dto.TimetableEntryResponse;
+import com.education.sms.dto.TimetableJobRequest;
+import com.education.sms.dto.TimetableJobResponse;
+import com.education.sms.dto.TimetablePeriod;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.service.TimetableService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timetables")
+@RequiredArgsConstructor
+@Tag(name = "Timetables", description = "Weekly class timetables and their background generation")
+public class TimetableController {
+
+    private final TimetableService timetableService;
+
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start timetable job", description = "Generates a timetable for some or all classes in the background")
+    public ResponseEntity<?> startJob(@RequestBody TimetableJobRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(timetableService.startJob(request));
+        } catch (IllegalArgumentException | ResourceNotFoundException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Timetable job status", description = "Progress and score of the best timetable so far")
+    public ResponseEntity<TimetableJobResponse> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(timetableService.getJob(jobId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}/timetable")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Timetable of a job", description = "The best timetable found so far, also while the job runs")
+    public ResponseEntity<?> getJobTimetable(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(timetableService.getJobTimetable(jobId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/jobs/{jobId}/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stop timetable job", description = "Ends the search early and keeps the best timetable so far")
+    public ResponseEntity<TimetableJobResponse> stopJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(timetableService.stopJob(jobId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/jobs/{jobId}/apply")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Apply timetable job", description = "Replaces the stored timetable of the job's classes")
+    public ResponseEntity<?> applyJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(timetableService.applyJob(jobId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Subjects or other classes' timetables changed since the job started
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("The timetable no longer fits the stored data; generate it again");
+        }
+    }
+
+    @GetMapping("/class/{classId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY', 'STUDENT')")
+    public ResponseEntity<List<TimetableEntryResponse>> getClassTimetable(@PathVariable Long classId) {
+        try {
+            return ResponseEntity.ok(timetableService.getClassTimetable(classId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/faculty/{facultyId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<TimetableEntryResponse>> getFacultyTimetable(@PathVariable Long facultyId) {
+        try {
+            return ResponseEntity.ok(timetableService.getFacultyTimetable(facultyId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/faculty/{facultyId}/unavailable")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACULTY')")
+    public ResponseEntity<List<TimetablePeriod>> getUnavailablePeriods(@PathVariable Long facultyId) {
+        try {
+            return ResponseEntity.ok(timetableService.getUnavailablePeriods(facultyId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/faculty/{facultyId}/unavailable")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Set unavailable periods", description = "Periods in which the faculty member cannot teach")
+    public ResponseEntity<?> setUnavailablePeriods(@PathVariable Long facultyId,
+            @RequestBody List<TimetablePeriod> periods) {
+        try {
+            return ResponseEntity.ok(timetableService.setUnavailablePeriods(facultyId, periods));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
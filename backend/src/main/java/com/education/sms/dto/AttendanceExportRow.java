@@ -0,0 +1,17 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+
+public record AttendanceExportRow(
+        Long attendanceId,
+        LocalDate date,
+        Long studentId,
+        String registrationNumber,
+        String firstName,
+        String lastName,
+        String gradeLevel,
+        String section,
+        String subjectCode,
+        String subjectName,
+        boolean present) {
+}
@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+import java.util.List;
+
+/**
+ * Attendance totals for a student in the current academic year, with the
+ * most recent marks.
+ */
+public record AttendanceOverview(
+        long totalClasses,
+        long presentClasses,
+        double percentage,
+        List<AttendanceResponse> recent) {
+}
@@ -0,0 +1,19 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance of one student between two dates, for one subject or (subjectId
+ * null) all of them. currentStreak counts the days up to {@code to} on which
+ * every mark was present, stopping at the latest day with an absence.
+ */
+public record AttendanceStats(
+        Long studentId,
+        Long subjectId,
+        LocalDate from,
+        LocalDate to,
+        long totalClasses,
+        long presentClasses,
+        double percentage,
+        int currentStreak) {
+}
@@ -0,0 +1,10 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public record BulkAttendanceRequest(
+        Long subjectId,
+        LocalDate date,
+        Set<Long> absentStudentIds) {
+}
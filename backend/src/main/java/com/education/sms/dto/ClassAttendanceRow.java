@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+/**
+ * Attendance totals of one student in a class register.
+ */
+public record ClassAttendanceRow(
+        Long studentId,
+        String registrationNumber,
+        String firstName,
+        String lastName,
+        long totalClasses,
+        long presentClasses,
+        double percentage) {
+}
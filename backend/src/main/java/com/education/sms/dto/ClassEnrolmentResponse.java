@@ -0,0 +1,10 @@
+package com.education.sms.dto;
+
+public record ClassEnrolmentResponse(
+        Long eventId,
+        Long classId,
+        int registered,
+        int waitlisted,
+        int alreadyEnrolled,
+        Integer seatsAvailable) {
+}
@@ -0,0 +1,13 @@
+package com.education.sms.dto;
+
+import java.math.BigDecimal;
+
+public record ClassFeeLedgerResponse(
+        Long classId,
+        String className,
+        long studentCount,
+        BigDecimal totalDue,
+        BigDecimal totalPaid,
+        BigDecimal totalOutstanding,
+        long defaulterCount) {
+}
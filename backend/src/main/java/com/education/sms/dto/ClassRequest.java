@@ -1,7 +1,10 @@
 package com.education.sms.dto;
 
+import java.math.BigDecimal;
+
 public record ClassRequest(
                 String gradeLevel,
                 String section,
-                Integer academicYear) {
+                Integer academicYear,
+                BigDecimal minAttendancePercent) {
 }
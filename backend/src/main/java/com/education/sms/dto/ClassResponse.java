@@ -1,9 +1,12 @@
 package com.education.sms.dto;
 
+import java.math.BigDecimal;
+
 public record ClassResponse(
         Long id,
         String gradeLevel,
         String section,
         String address,
-        Integer academicYear) {
+        Integer academicYear,
+        BigDecimal minAttendancePercent) {
 }
@@ -0,0 +1,9 @@
+package com.education.sms.dto;
+
+public record EventAvailabilityResponse(
+        Long eventId,
+        Integer capacity, // null when unlimited
+        Integer seatsAvailable,
+        long registered,
+        long waitlisted) {
+}
@@ -0,0 +1,5 @@
+package com.education.sms.dto;
+
+public record EventCapacityRequest(
+        Integer capacity) { // null removes the limit
+}
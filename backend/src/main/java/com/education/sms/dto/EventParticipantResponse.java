@@ -6,5 +6,6 @@ public record EventParticipantResponse(
         String eventTitle,
         Long userId,
         String userEmail,
-        String role) {
+        String role,
+        String status) { // "registered" or "waitlisted"
 }
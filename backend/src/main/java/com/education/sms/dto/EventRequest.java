@@ -5,5 +5,6 @@ import java.time.LocalDate;
 public record EventRequest(
         String title,
         LocalDate eventDate,
-        String description) {
+        String description,
+        Integer capacity) { // optional; null means unlimited
 }
@@ -6,5 +6,6 @@ public record EventResponse(
         Long eventId,
         String title,
         LocalDate eventDate,
-        String description) {
+        String description,
+        Integer capacity) { // null when unlimited
 }
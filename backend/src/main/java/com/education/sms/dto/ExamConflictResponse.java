@@ -0,0 +1,16 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Two exams that overlap for the same class or faculty (resource is CLASS or FACULTY).
+ */
+public record ExamConflictResponse(
+        String resource,
+        Long resourceId,
+        LocalDate date,
+        Long firstExamId,
+        String firstExamName,
+        Long secondExamId,
+        String secondExamName) {
+}
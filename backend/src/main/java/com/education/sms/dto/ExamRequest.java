@@ -1,10 +1,13 @@
 package com.education.sms.dto;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public record ExamRequest(
         Long courseId,
         String examName,
         LocalDate date,
-        Integer totalMarks) {
+        Integer totalMarks,
+        LocalTime startTime,
+        Integer durationMinutes) {
 }
@@ -1,6 +1,7 @@
 package com.education.sms.dto;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public record ExamResponse(
         Long examId,
@@ -8,5 +9,7 @@ public record ExamResponse(
         String courseName,
         String examName,
         LocalDate date,
-        Integer totalMarks) {
+        Integer totalMarks,
+        LocalTime startTime,
+        Integer durationMinutes) {
 }
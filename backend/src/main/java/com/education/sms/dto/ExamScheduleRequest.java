@@ -0,0 +1,20 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A batch of exams to place between two dates. Each exam needs courseId,
+ * examName and durationMinutes; its date and startTime are ignored. The
+ * optional fields fall back to the app.exams.scheduling defaults.
+ */
+public record ExamScheduleRequest(
+        LocalDate from,
+        LocalDate to,
+        LocalTime dayStart,
+        LocalTime dayEnd,
+        Integer stepMinutes,
+        Integer maxExamsPerClassPerDay,
+        List<ExamRequest> exams) {
+}
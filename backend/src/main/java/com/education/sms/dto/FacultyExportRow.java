@@ -0,0 +1,12 @@
+package com.education.sms.dto;
+
+public record FacultyExportRow(
+        Long facultyId,
+        String employeeId,
+        String firstName,
+        String lastName,
+        String email,
+        String department,
+        String phone,
+        Boolean isActive) {
+}
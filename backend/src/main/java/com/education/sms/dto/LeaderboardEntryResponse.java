@@ -0,0 +1,10 @@
+package com.education.sms.dto;
+
+public record LeaderboardEntryResponse(
+        int rank, // students with equal points share a rank
+        Long studentId,
+        String studentName,
+        Long classId,
+        String className,
+        int points) {
+}
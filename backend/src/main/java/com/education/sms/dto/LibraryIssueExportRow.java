@@ -0,0 +1,19 @@
+package com.education.sms.dto;
+
+import com.education.sms.entity.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record LibraryIssueExportRow(
+        Long issueId,
+        String bookTitle,
+        String isbn,
+        String userEmail,
+        UserRole userRole,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        LocalDate returnDate,
+        String status,
+        BigDecimal fineAmount) {
+}
@@ -0,0 +1,17 @@
+package com.education.sms.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PaymentExportRow(
+        Long paymentId,
+        Long studentId,
+        String registrationNumber,
+        String firstName,
+        String lastName,
+        BigDecimal amountPaid,
+        String paymentStatus,
+        String razorpayPaymentId,
+        String razorpayOrderId,
+        LocalDateTime paymentDate) {
+}
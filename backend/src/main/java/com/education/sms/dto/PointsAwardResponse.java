@@ -0,0 +1,10 @@
+package com.education.sms.dto;
+
+import java.time.LocalDateTime;
+
+public record PointsAwardResponse(
+        String reason,
+        Long sourceId, // exam, event or library issue id; epoch day for attendance streaks
+        int points,
+        LocalDateTime awardedAt) {
+}
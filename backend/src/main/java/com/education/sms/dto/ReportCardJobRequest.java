@@ -0,0 +1,10 @@
+package com.education.sms.dto;
+
+import java.time.LocalDate;
+
+public record ReportCardJobRequest(
+        Long classId,
+        LocalDate fromDate,
+        LocalDate toDate,
+        String format) { // "csv" / "pdf"
+}
@@ -0,0 +1,16 @@
+package com.education.sms.dto;
+
+import java.time.LocalDateTime;
+
+public record ReportCardJobResponse(
+        String jobId,
+        Long classId,
+        String format,
+        String status, // "queued" / "running" / "completed" / "failed"
+        int processedStudents,
+        int totalStudents,
+        int progressPercent,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        String error) {
+}
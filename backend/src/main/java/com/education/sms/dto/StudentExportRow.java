@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+public record StudentExportRow(
+        Long studentId,
+        String registrationNumber,
+        String firstName,
+        String lastName,
+        String email,
+        String gradeLevel,
+        String section,
+        String phone,
+        String parentPhone,
+        Boolean isActive) {
+}
@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+import java.math.BigDecimal;
+
+public record StudentFeeLedgerResponse(
+        Long studentId,
+        String studentName,
+        String registrationNumber,
+        Long classId,
+        String className,
+        BigDecimal totalDue,
+        BigDecimal totalPaid,
+        BigDecimal outstanding) {
+}
@@ -0,0 +1,19 @@
+package com.education.sms.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the student home screen shows, in one response. A section that
+ * could not be loaded in time is null and listed in {@code unavailable}
+ * (section name to reason) so the client can fall back to its own endpoint.
+ */
+public record StudentOverviewResponse(
+        StudentProfileDTO profile,
+        AttendanceOverview attendance,
+        List<ResultResponse> recentResults,
+        List<PaymentResponse> recentPayments,
+        List<BookRequestResponse> bookRequests,
+        List<AnnouncementResponse> announcements,
+        Map<String, String> unavailable) {
+}
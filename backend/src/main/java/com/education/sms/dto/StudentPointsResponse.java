@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+import java.util.List;
+
+public record StudentPointsResponse(
+        Long studentId,
+        String studentName,
+        Long classId,
+        String className,
+        int points,
+        long schoolRank,
+        Long classRank, // null for a student without a class
+        List<PointsAwardResponse> recentAwards) {
+}
@@ -1,5 +1,8 @@
 package com.education.sms.dto;
 
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,4 +30,29 @@ public class StudentProfileDTO {
     private String gradeLevel;
     private String section;
     private Integer gamificationPoints;
+
+    /**
+     * Reads the user and class associations, so call it inside a transaction.
+     */
+    public static StudentProfileDTO from(Student student) {
+        ClassEntity classEntity = student.getClassEntity();
+        User user = student.getUser();
+
+        return StudentProfileDTO.builder()
+                .studentId(student.getStudentId())
+                .firstName(student.getFirstName())
+                .lastName(student.getLastName())
+                .email(user != null ? user.getEmail() : null)
+                .registrationNumber(student.getRegistrationNumber())
+                .phone(student.getPhone())
+                .parentPhone(student.getParentPhone())
+                .address(student.getAddress())
+                .profileImageUrl(student.getProfileImageUrl())
+                .className(classEntity != null ? classEntity.getGradeLevel() + " - " + classEntity.getSection() : null)
+                .classId(classEntity != null ? classEntity.getId() : null)
+                .gradeLevel(classEntity != null ? classEntity.getGradeLevel() : null)
+                .section(classEntity != null ? classEntity.getSection() : null)
+                .gamificationPoints(student.getGamificationPoints())
+                .build();
+    }
 }
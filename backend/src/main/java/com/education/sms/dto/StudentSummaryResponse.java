@@ -16,4 +16,19 @@ public record StudentSummaryResponse(
                 Long classId,
                 String parentPhone,
                 String address) {
+
+        /**
+         * Constructor-expression target of the StudentRepository summary queries,
+         * which select the raw columns; the display fields are derived here.
+         */
+        public StudentSummaryResponse(Long studentId, String firstName, String lastName,
+                        String registrationNumber, String email, Integer enrollmentYear,
+                        Long classId, String gradeLevel, String section,
+                        String parentPhone, String address) {
+                this(studentId, studentId, firstName, lastName, firstName + " " + lastName,
+                                registrationNumber, email,
+                                enrollmentYear != null ? enrollmentYear.toString() : null,
+                                classId != null ? gradeLevel + " - " + section : "Not Assigned",
+                                classId, parentPhone, address);
+        }
 }
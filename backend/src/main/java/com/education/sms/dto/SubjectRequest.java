@@ -4,6 +4,7 @@ public record SubjectRequest(
         String name,
         String code,
         Long classId,
-        Long facultyId
+        Long facultyId,
+        Integer periodsPerWeek // optional, for timetable generation
 ) {
 }
@@ -5,5 +5,6 @@ public record SubjectResponse (
         String name,
         String code,
         Long classId,
-        Long facultyId
+        Long facultyId,
+        Integer periodsPerWeek
 ) {}
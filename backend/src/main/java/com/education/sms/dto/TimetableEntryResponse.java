@@ -0,0 +1,14 @@
+package com.education.sms.dto;
+
+import java.time.DayOfWeek;
+
+public record TimetableEntryResponse(
+        DayOfWeek dayOfWeek,
+        int period, // counts from 1
+        Long classId,
+        String className,
+        Long subjectId,
+        String subjectName,
+        Long facultyId,
+        String facultyName) {
+}
@@ -0,0 +1,9 @@
+package com.education.sms.dto;
+
+import java.util.List;
+
+public record TimetableJobRequest(
+        List<Long> classIds, // null or empty = every class
+        Integer timeBudgetSeconds, // null = app.timetable.time-budget-seconds
+        Integer threads) { // null = app.timetable.threads
+}
@@ -0,0 +1,19 @@
+package com.education.sms.dto;
+
+import java.time.LocalDateTime;
+
+public record TimetableJobResponse(
+        String jobId,
+        String status, // "queued" / "running" / "completed" / "failed"
+        int classCount,
+        int lessonCount,
+        int timeBudgetSeconds,
+        int threads,
+        Integer hardViolations, // of the best timetable so far; null before the first one
+        Integer softPenalty,
+        boolean feasible,
+        boolean applied,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        String error) {
+}
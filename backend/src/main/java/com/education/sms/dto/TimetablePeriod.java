@@ -0,0 +1,8 @@
+package com.education.sms.dto;
+
+import java.time.DayOfWeek;
+
+public record TimetablePeriod(
+        DayOfWeek dayOfWeek,
+        Integer period) { // counts from 1
+}
@@ -20,6 +20,10 @@ public class AdminRequest {
     @Column(name = "request_id")
     private Long requestId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_user_id", nullable = false)
     @ToString.Exclude
@@ -7,7 +7,9 @@ import com.education.sms.entity.UserRole;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "announcements")
+@Table(name = "announcements", indexes = {
+        @Index(name = "idx_announcements_target_class_created", columnList = "target_class_id, created_at DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
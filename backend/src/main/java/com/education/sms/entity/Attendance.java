@@ -3,13 +3,17 @@ package com.education.sms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDate;
 
 @Entity
 @Getter
 @Setter
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_student_subject_date",
+                columnNames = {"student_id", "subject_id", "date"})
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
@@ -17,9 +21,13 @@ import java.time.LocalDate;
 @EqualsAndHashCode(exclude = {"student", "subject"})
 public class Attendance {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_id_gen")
+    @SequenceGenerator(name = "attendance_id_gen", sequenceName = "attendance_seq", allocationSize = 50)
     private Long id;
 
+    // The table is partitioned by academic year on date; Hibernate adds it to
+    // the WHERE clause of updates and deletes so they touch a single partition
+    @PartitionKey
     @Column(nullable = false)
     private LocalDate date;
 
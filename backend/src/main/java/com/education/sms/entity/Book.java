@@ -18,6 +18,10 @@ public class Book {
     @Column(name = "book_id")
     private Long bookId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
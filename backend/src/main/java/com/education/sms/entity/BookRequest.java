@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
  * Students request books, Librarian approves/rejects.
  */
 @Entity
-@Table(name = "book_requests")
+@Table(name = "book_requests", indexes = {
+        @Index(name = "idx_book_requests_status_request_date", columnList = "status, request_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +24,10 @@ public class BookRequest {
     @Column(name = "request_id")
     private Long requestId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     @ToString.Exclude
@@ -3,6 +3,8 @@ package com.education.sms.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+
 @Entity
 @Table(name = "class_entities")
 @Getter
@@ -26,4 +28,8 @@ public class ClassEntity {
 
     @Column(name = "academic_year")
     private Integer academicYear;
+
+    // Minimum attendance in percent; null uses app.attendance.alerts.default-threshold-percent
+    @Column(name = "min_attendance_percent", precision = 5, scale = 2)
+    private BigDecimal minAttendancePercent;
 }
\ No newline at end of file
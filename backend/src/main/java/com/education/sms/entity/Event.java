@@ -28,4 +28,12 @@ public class Event {
 
     @Column(columnDefinition = "TEXT")
     private String description;
+
+    // Seats for participants; null means unlimited
+    private Integer capacity;
+
+    // Only changed by EventRepository's seat statements, never by saving the
+    // entity, so a stale copy cannot give seats back
+    @Column(name = "seats_available", updatable = false)
+    private Integer seatsAvailable;
 }
@@ -3,8 +3,12 @@ package com.education.sms.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "event_participants")
+@Table(name = "event_participants", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_participants_event_user", columnNames = {"event_id", "user_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,7 +18,8 @@ import lombok.*;
 public class EventParticipant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_participants_id_gen")
+    @SequenceGenerator(name = "event_participants_id_gen", sequenceName = "event_participants_seq", allocationSize = 50)
     @Column(name = "ep_id")
     private Long epId;
 
@@ -29,4 +34,20 @@ public class EventParticipant {
     private User user;
 
     private String role; // e.g., "participant", "organizer", "volunteer"
+
+    // "registered" (holds a seat) or "waitlisted"
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private String status = "registered";
+
+    // Orders the waitlist
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (registeredAt == null) {
+            registeredAt = LocalDateTime.now();
+        }
+    }
 }
@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
-@Table(name = "exams")
+@Table(name = "exams", indexes = {
+        @Index(name = "idx_exams_date", columnList = "date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +34,13 @@ public class Exam {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Null for exams created before exams had times; they block the whole day
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @Column(name = "total_marks")
     private Integer totalMarks;
 }
@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "library_issues")
+@Table(name = "library_issues", indexes = {
+        @Index(name = "idx_library_issues_status_due_date", columnList = "status, due_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDate;
 public class LibraryIssue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "library_issues_id_gen")
+    @SequenceGenerator(name = "library_issues_id_gen", sequenceName = "library_issues_seq", allocationSize = 50)
     @Column(name = "issue_id")
     private Long issueId;
 
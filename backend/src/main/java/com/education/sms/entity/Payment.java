@@ -7,7 +7,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payments_razorpay_payment_id", columnNames = "razorpay_payment_id")
+}, indexes = {
+        @Index(name = "idx_payments_razorpay_order_id", columnList = "razorpay_order_id"),
+        @Index(name = "idx_payments_student_status", columnList = "student_id, payment_status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,10 +22,15 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_id_gen")
+    @SequenceGenerator(name = "payments_id_gen", sequenceName = "payments_seq", allocationSize = 50)
     @Column(name = "payment_id")
     private Long paymentId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     @ToString.Exclude
@@ -0,0 +1,72 @@
+package com.education.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Razorpay webhook delivery waiting to be applied to {@link Payment} rows.
+ * Rows are appended by the webhook endpoint and drained in batches by the
+ * reconciliation worker.
+ */
+@Entity
+@Table(name = "payment_webhook_events", indexes = {
+        @Index(name = "idx_payment_webhook_events_status", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_webhook_events_id_gen")
+    @SequenceGenerator(name = "payment_webhook_events_id_gen", sequenceName = "payment_webhook_events_seq", allocationSize = 50)
+    private Long id;
+
+    // X-Razorpay-Event-Id, used to drop redelivered webhooks
+    @Column(name = "gateway_event_id", unique = true)
+    private String gatewayEventId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType; // e.g. "payment.captured", "payment.failed"
+
+    @Column(name = "razorpay_order_id", nullable = false)
+    private String razorpayOrderId;
+
+    @Column(name = "razorpay_payment_id")
+    private String razorpayPaymentId;
+
+    @Column(name = "target_status", nullable = false)
+    private String targetStatus; // "success" / "failed"
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private WebhookEventStatus status = WebhookEventStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Unmatched events (payment row not recorded yet) are retried after this time
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (receivedAt == null) {
+            receivedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.education.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Points given to a student for one domain event. Written together with the
+ * increment of the student's total (see PointsAwardRepository), never through
+ * the entity manager.
+ */
+@Entity
+@Table(name = "points_awards", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_points_awards_source", columnNames = {"student_id", "reason", "source_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class PointsAward {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_awards_id_gen")
+    @SequenceGenerator(name = "points_awards_id_gen", sequenceName = "points_awards_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
+    private Student student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private PointsReason reason;
+
+    // Exam, event or library issue id; epoch day for attendance streaks
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(name = "awarded_at", nullable = false)
+    private LocalDateTime awardedAt;
+}
@@ -0,0 +1,8 @@
+package com.education.sms.entity;
+
+public enum PointsReason {
+    ATTENDANCE_STREAK,
+    RESULT,
+    EVENT_PARTICIPATION,
+    ON_TIME_RETURN
+}
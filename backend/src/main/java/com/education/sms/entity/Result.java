@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "results")
+@Table(name = "results", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_results_exam_student", columnNames = {"exam_id", "student_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,10 +19,15 @@ import java.time.LocalDateTime;
 public class Result {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "results_id_gen")
+    @SequenceGenerator(name = "results_id_gen", sequenceName = "results_seq", allocationSize = 50)
     @Column(name = "result_id")
     private Long resultId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exam_id", nullable = false)
     @ToString.Exclude
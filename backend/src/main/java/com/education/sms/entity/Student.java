@@ -6,7 +6,9 @@ import lombok.*;
 
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_class_id", columnList = "class_id")
+})
 @Getter
 @Setter
 @Builder
@@ -33,6 +35,10 @@ public class Student {
     @Column(name = "registration_number")
     private String registrationNumber;
 
+    // Set at registration from the year in the system email (firstName.lastName.YEAR@sms.edu.in)
+    @Column(name = "enrollment_year")
+    private Integer enrollmentYear;
+
     @Column(name = "parent_phone")
     private String parentPhone;
 
@@ -44,7 +50,9 @@ public class Student {
     @Column(name = "profile_image_url")
     private String profileImageUrl;
 
-    @Column(name = "gamification_points")
+    // Only ever incremented in SQL (PointsAwardRepository), so saving a loaded
+    // student must not write back a stale total
+    @Column(name = "gamification_points", nullable = false, updatable = false)
     @Builder.Default
     private Integer gamificationPoints = 0;
 
@@ -34,4 +34,8 @@ public class Subject {
     @ToString.Exclude
     private Faculty faculty;
 
+    // Null uses app.timetable.default-periods-per-week
+    @Column(name = "periods_per_week")
+    private Integer periodsPerWeek;
+
 }
@@ -0,0 +1,50 @@
+package com.education.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One period of the weekly timetable: a subject taught to its class by its
+ * faculty. Written by applying a timetable generation job.
+ */
+@Entity
+@Table(name = "timetable_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_timetable_class_period", columnNames = {"class_id", "day_of_week", "period"}),
+        @UniqueConstraint(name = "uk_timetable_faculty_period", columnNames = {"faculty_id", "day_of_week", "period"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TimetableEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timetable_entries_id_gen")
+    @SequenceGenerator(name = "timetable_entries_id_gen", sequenceName = "timetable_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id", nullable = false)
+    @ToString.Exclude
+    private ClassEntity classEntity;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subject_id", nullable = false)
+    @ToString.Exclude
+    private Subject subject;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "faculty_id")
+    @ToString.Exclude
+    private Faculty faculty;
+
+    // ISO day of week, 1 = Monday
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek;
+
+    // Counts from 1
+    @Column(nullable = false)
+    private Integer period;
+}
@@ -0,0 +1,7 @@
+package com.education.sms.entity;
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSED,
+    UNMATCHED
+}
@@ -0,0 +1,9 @@
+package com.education.sms.event;
+
+import com.education.sms.dto.AnnouncementResponse;
+
+/**
+ * Published after a new announcement has been saved.
+ */
+public record AnnouncementCreatedEvent(AnnouncementResponse announcement) {
+}
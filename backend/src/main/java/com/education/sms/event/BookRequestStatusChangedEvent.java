@@ -0,0 +1,9 @@
+package com.education.sms.event;
+
+import com.education.sms.dto.BookRequestResponse;
+
+/**
+ * Published whenever a book request is created or moves to a new status.
+ */
+public record BookRequestStatusChangedEvent(BookRequestResponse request) {
+}
@@ -0,0 +1,9 @@
+package com.education.sms.event;
+
+import java.util.Set;
+
+/**
+ * Published after a reconciliation batch changed payments for the given Razorpay orders.
+ */
+public record PaymentsReconciledEvent(Set<String> razorpayOrderIds) {
+}
@@ -0,0 +1,29 @@
+package com.education.sms.httpcache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response only depends on the given entities (and
+ * the caller's roles), so it can be answered with 304 Not Modified while none
+ * of them changed. See ConditionalGetInterceptor.
+ *
+ * List every entity the response reads, including joined ones such as the
+ * class name shown next to a course.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    Class<?>[] value();
+
+    /**
+     * Set when the result also depends on today's date (e.g. upcoming events),
+     * so the tag changes at midnight even without writes.
+     */
+    boolean perDay() default false;
+}
@@ -0,0 +1,87 @@
+package com.education.sms.httpcache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Answers If-None-Match for {@link ConditionalGet} handlers before the
+ * controller runs, so an unchanged resource costs no repository call and no
+ * serialisation.
+ *
+ * On a miss the tag is left in a request attribute and only written by
+ * ConditionalGetResponseAdvice once the handler produced a 2xx response;
+ * errors and access-denied responses never carry a tag, so a client can only
+ * revalidate what it was actually allowed to read.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+
+    private final HttpCachePolicy httpCachePolicy;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String etag = httpCachePolicy.etag(conditionalGet, request, authentication);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            httpCachePolicy.writeHeaders(response, etag, authentication);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            record(request, "not_modified");
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        record(request, "full");
+        return true;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison, as RFC 9110 requires for If-None-Match
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(HttpServletRequest request, String outcome) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder("sms.http.conditional.get")
+                .description("Conditional GET requests by outcome (not_modified = answered with 304)")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
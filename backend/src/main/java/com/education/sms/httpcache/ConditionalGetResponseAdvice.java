@@ -0,0 +1,49 @@
+package com.education.sms.httpcache;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the ETag and caching headers computed by ConditionalGetInterceptor,
+ * but only on successful responses.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final HttpCachePolicy httpCachePolicy;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            Object etag = servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+            HttpServletResponse raw = servletResponse.getServletResponse();
+            if (etag != null && raw.getStatus() >= 200 && raw.getStatus() < 300) {
+                httpCachePolicy.writeHeaders(raw, (String) etag,
+                        SecurityContextHolder.getContext().getAuthentication());
+            }
+        }
+        return body;
+    }
+}
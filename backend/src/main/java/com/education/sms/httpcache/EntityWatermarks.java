@@ -0,0 +1,103 @@
+package com.education.sms.httpcache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-entity change counters used to build ETags without querying the tables.
+ *
+ * A counter advances after every committed insert, update or delete of its
+ * entity, as reported by Hibernate's post-commit listeners. Advancing only
+ * after commit means a tag read before a request can never label data that
+ * was not visible yet. JPQL/native bulk statements and writes made outside the
+ * application bypass the listeners; of the tracked entities only
+ * events.seats_available is written that way, and no cached response shows it
+ * (seats are served by the uncached availability endpoint). Counters live in
+ * memory, like the caches in CacheConfig, so they assume a single instance;
+ * the epoch changes on every start so tags handed out before a restart never
+ * match again.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityWatermarks implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Class<?>, AtomicLong> watermarks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long current(Class<?> entity) {
+        AtomicLong watermark = watermarks.get(entity);
+        return watermark != null ? watermark.get() : 0;
+    }
+
+    private void advance(EntityPersister persister) {
+        watermarks.computeIfAbsent(persister.getMappedClass(), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        advance(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        advance(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        advance(event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back: nothing changed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back: nothing changed
+    }
+}
@@ -0,0 +1,90 @@
+package com.education.sms.httpcache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the ETag and caching headers for {@link ConditionalGet} handlers.
+ *
+ * The tag hashes the request URI and query, the caller's roles, and the
+ * watermark of every entity the handler reads. Roles are part of the tag
+ * because authorisation is role based: a tag issued to one role can never
+ * produce a 304 for another.
+ *
+ * Responses are always private (they sit behind a bearer token) and vary on
+ * Authorization. Roles that edit the data (app.http-cache.revalidate-roles)
+ * revalidate on every request so they see their own changes at once; everyone
+ * else may reuse a response for app.http-cache.max-age-seconds.
+ */
+@Component
+public class HttpCachePolicy {
+
+    private final EntityWatermarks watermarks;
+    private final Set<String> revalidateAuthorities;
+    private final CacheControl revalidate = CacheControl.noCache().cachePrivate();
+    private final CacheControl reuse;
+
+    public HttpCachePolicy(EntityWatermarks watermarks,
+            @Value("${app.http-cache.revalidate-roles:ADMIN,LIBRARIAN}") Set<String> revalidateRoles,
+            @Value("${app.http-cache.max-age-seconds:60}") long maxAgeSeconds) {
+        this.watermarks = watermarks;
+        this.revalidateAuthorities = revalidateRoles.stream()
+                .map(role -> "ROLE_" + role.trim())
+                .collect(Collectors.toUnmodifiableSet());
+        this.reuse = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().mustRevalidate();
+    }
+
+    public String etag(ConditionalGet conditionalGet, HttpServletRequest request, Authentication authentication) {
+        StringBuilder key = new StringBuilder()
+                .append(watermarks.epoch())
+                .append('|').append(request.getRequestURI())
+                .append('?').append(request.getQueryString() != null ? request.getQueryString() : "")
+                .append('|').append(roles(authentication));
+        for (Class<?> entity : conditionalGet.value()) {
+            key.append('|').append(entity.getSimpleName()).append(':').append(watermarks.current(entity));
+        }
+        if (conditionalGet.perDay()) {
+            key.append('|').append(LocalDate.now());
+        }
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    public void writeHeaders(HttpServletResponse response, String etag, Authentication authentication) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(authentication).getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+    }
+
+    private CacheControl cacheControl(Authentication authentication) {
+        if (authentication == null) {
+            return revalidate;
+        }
+        boolean editor = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(revalidateAuthorities::contains);
+        return editor ? revalidate : reuse;
+    }
+
+    private static String roles(Authentication authentication) {
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
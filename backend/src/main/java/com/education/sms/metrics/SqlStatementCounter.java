@@ -0,0 +1,63 @@
+package com.education.sms.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's statement inspector (see MetricsConfig). Counting
+ * only happens between {@link #start()} and {@link #stop()}, which
+ * EndpointSqlMetricsFilter calls around each request; statements issued on
+ * other threads (scheduled jobs, @Async work) are not counted unless the task
+ * was wrapped with {@link #propagate(Callable)}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<AtomicInteger> current = new ThreadLocal<>();
+
+    public void start() {
+        current.set(new AtomicInteger());
+    }
+
+    /**
+     * @return statements counted since {@link #start()}, or 0 if counting was not started
+     */
+    public int stop() {
+        AtomicInteger count = current.get();
+        current.remove();
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Makes statements of a task handed to another thread count towards the
+     * current request, e.g. the concurrent sections of the student overview.
+     */
+    public <T> Callable<T> propagate(Callable<T> task) {
+        AtomicInteger count = current.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            current.set(count);
+            try {
+                return task.call();
+            } finally {
+                current.remove();
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = current.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,50 @@
+package com.education.sms.report;
+
+import com.education.sms.repository.TermExamView;
+import com.education.sms.utils.CsvWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One CSV row per student: rank, identity, marks per exam, totals and grade.
+ */
+public class CsvReportCardWriter implements ReportCardWriter {
+
+    private final CsvWriter csv;
+
+    public CsvReportCardWriter(OutputStream out) {
+        this.csv = new CsvWriter(out, true);
+    }
+
+    @Override
+    public void begin(String title, List<TermExamView> exams) throws IOException {
+        List<String> header = new ArrayList<>(List.of("Rank", "Registration Number", "Student"));
+        for (TermExamView exam : exams) {
+            header.add(exam.getCourseName() + " - " + exam.getExamName() + " (" + exam.getTotalMarks() + ")");
+        }
+        header.addAll(List.of("Total", "Max", "Percentage", "Grade"));
+        csv.writeRow(header);
+    }
+
+    @Override
+    public void write(StudentReportCard card) throws IOException {
+        List<Object> row = new ArrayList<>();
+        row.add(card.classRank());
+        row.add(card.registrationNumber());
+        row.add(card.studentName());
+        row.addAll(card.marks());
+        row.add(card.totalObtained());
+        row.add(card.totalMarks());
+        row.add(card.percentage());
+        row.add(card.grade().getLabel());
+        csv.writeRow(row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        csv.close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.education.sms.report;
+
+import java.math.BigDecimal;
+
+/**
+ * Percentage bands used on report cards, highest first.
+ */
+public enum GradeBand {
+    A_PLUS("A+", 90),
+    A("A", 80),
+    B("B", 70),
+    C("C", 60),
+    D("D", 50),
+    E("E", 40),
+    F("F", 0);
+
+    private final String label;
+    private final BigDecimal minPercentage;
+
+    GradeBand(String label, int minPercentage) {
+        this.label = label;
+        this.minPercentage = BigDecimal.valueOf(minPercentage);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static GradeBand forPercentage(BigDecimal percentage) {
+        for (GradeBand band : values()) {
+            if (percentage.compareTo(band.minPercentage) >= 0) {
+                return band;
+            }
+        }
+        return F;
+    }
+}
@@ -0,0 +1,110 @@
+package com.education.sms.report;
+
+import com.education.sms.repository.TermExamView;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One page per student. Each page is flushed to the output stream when the
+ * next one starts, so memory use stays flat regardless of class size.
+ */
+public class PdfReportCardWriter implements ReportCardWriter {
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font BODY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+
+    private final Document document = new Document(PageSize.A4);
+    private final OutputStream out;
+    private String title;
+    private List<TermExamView> exams;
+    private boolean firstPage = true;
+
+    public PdfReportCardWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(String title, List<TermExamView> exams) throws IOException {
+        this.title = title;
+        this.exams = exams;
+        try {
+            PdfWriter.getInstance(document, out);
+        } catch (DocumentException e) {
+            throw new IOException("Could not start PDF", e);
+        }
+        document.open();
+    }
+
+    @Override
+    public void write(StudentReportCard card) throws IOException {
+        try {
+            if (!firstPage) {
+                document.newPage();
+            }
+            firstPage = false;
+
+            document.add(new Paragraph(title, TITLE_FONT));
+            document.add(new Paragraph(card.studentName()
+                    + (card.registrationNumber() != null ? " (" + card.registrationNumber() + ")" : ""), BODY_FONT));
+            document.add(new Paragraph("Class rank: " + card.classRank(), BODY_FONT));
+            document.add(new Paragraph(" "));
+
+            PdfPTable table = new PdfPTable(new float[] { 5, 3, 2, 2 });
+            table.setWidthPercentage(100);
+            addCell(table, "Subject", HEADER_FONT);
+            addCell(table, "Exam", HEADER_FONT);
+            addCell(table, "Marks", HEADER_FONT);
+            addCell(table, "Max", HEADER_FONT);
+            for (int i = 0; i < exams.size(); i++) {
+                TermExamView exam = exams.get(i);
+                BigDecimal mark = card.marks().get(i);
+                addCell(table, exam.getCourseName(), BODY_FONT);
+                addCell(table, exam.getExamName(), BODY_FONT);
+                addCell(table, mark != null ? mark.toPlainString() : "-", BODY_FONT);
+                addCell(table, exam.getTotalMarks() != null ? exam.getTotalMarks().toString() : "-", BODY_FONT);
+            }
+            addCell(table, "Total", HEADER_FONT);
+            addCell(table, "", HEADER_FONT);
+            addCell(table, card.totalObtained().toPlainString(), HEADER_FONT);
+            addCell(table, card.totalMarks().toPlainString(), HEADER_FONT);
+            document.add(table);
+
+            Paragraph summary = new Paragraph("Percentage: " + card.percentage().toPlainString()
+                    + "%    Grade: " + card.grade().getLabel(), HEADER_FONT);
+            summary.setAlignment(Element.ALIGN_RIGHT);
+            document.add(summary);
+        } catch (DocumentException e) {
+            throw new IOException("Could not write report card for student " + card.studentId(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (document.isOpen()) {
+            if (firstPage) {
+                // A PDF needs at least one page
+                document.add(new Paragraph("No students in this class", BODY_FONT));
+            }
+            document.close();
+        }
+    }
+
+    private static void addCell(PdfPTable table, String text, Font font) {
+        table.addCell(new PdfPCell(new Phrase(text, font)));
+    }
+}
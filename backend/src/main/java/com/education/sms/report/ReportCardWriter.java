@@ -0,0 +1,18 @@
+package com.education.sms.report;
+
+import com.education.sms.repository.TermExamView;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes report cards one student at a time so a whole class never has to be
+ * held in memory.
+ */
+public interface ReportCardWriter extends Closeable {
+
+    void begin(String title, List<TermExamView> exams) throws IOException;
+
+    void write(StudentReportCard card) throws IOException;
+}
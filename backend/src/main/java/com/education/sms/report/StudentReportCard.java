@@ -0,0 +1,20 @@
+package com.education.sms.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One student's report card for a term. {@code marks} follows the order of the
+ * term exams passed to {@link ReportCardWriter#begin}; null means no result.
+ */
+public record StudentReportCard(
+        long classRank,
+        Long studentId,
+        String studentName,
+        String registrationNumber,
+        List<BigDecimal> marks,
+        BigDecimal totalObtained,
+        BigDecimal totalMarks,
+        BigDecimal percentage,
+        GradeBand grade) {
+}
@@ -0,0 +1,26 @@
+package com.education.sms.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A student's running attendance for the academic year after an alert
+ * evaluation, see {@link AttendanceRepository#evaluateDirtyRollups}.
+ */
+public interface AttendanceAlertView {
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getEmail();
+
+    Integer getTotalClasses();
+
+    Integer getPresentClasses();
+
+    BigDecimal getThreshold();
+
+    Boolean getWasBelow();
+
+    Boolean getBelow();
+}
@@ -0,0 +1,28 @@
+package com.education.sms.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One (student, subject, month) row of attendance_bitmaps, see
+ * {@link AttendanceRepository#findBitmapsByStudent} and
+ * {@link AttendanceRepository#findBitmapsByClass}. Bit n-1 of each mask
+ * stands for day n of the month.
+ */
+public interface AttendanceBitmapView {
+
+    Long getStudentId();
+
+    String getRegistrationNumber();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getSubjectId();
+
+    LocalDate getMonth();
+
+    Integer getMarkedMask();
+
+    Integer getPresentMask();
+}
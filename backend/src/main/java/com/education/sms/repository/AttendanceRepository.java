@@ -1,18 +1,33 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.AttendanceExportRow;
 import com.education.sms.dto.AttendanceResponse;
 import com.education.sms.entity.Attendance;
 import com.education.sms.entity.Student;
 import com.education.sms.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
+    String BITMAP_COLUMNS = "SELECT s.student_id AS studentId, s.registration_number AS registrationNumber, "
+            + "s.first_name AS firstName, s.last_name AS lastName, b.subject_id AS subjectId, b.month AS month, "
+            + "b.marked_mask AS markedMask, b.present_mask AS presentMask ";
+
     // FIX: Add underscore (_) to separate Entity 'Student' from field 'Id'
     
 
@@ -22,4 +37,189 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     List<Attendance> findByStudentStudentIdAndSubjectId(Long studentId, Long subjectId);
     List<Attendance> findByStudentStudentId(Long studentId);
-}
\ No newline at end of file
+
+    // Date-bounded variants; the bounds let PostgreSQL prune to the academic year partitions involved
+    List<Attendance> findByStudentStudentIdAndSubjectIdAndDateBetween(Long studentId, Long subjectId,
+            LocalDate from, LocalDate to);
+    List<Attendance> findByStudentStudentIdAndDateBetween(Long studentId, LocalDate from, LocalDate to);
+
+    @Query("SELECT COUNT(a) AS total, COALESCE(SUM(CASE WHEN a.isPresent = true THEN 1 ELSE 0 END), 0) AS present "
+            + "FROM Attendance a WHERE a.student.studentId = :studentId AND a.date >= :from")
+    AttendanceTotalsView findTotalsByStudent(@Param("studentId") Long studentId, @Param("from") LocalDate from);
+
+    @Query("SELECT new com.education.sms.dto.AttendanceResponse(a.id, a.date, a.isPresent, sub.id, sub.name) "
+            + "FROM Attendance a JOIN a.subject sub WHERE a.student.studentId = :studentId AND a.date >= :from "
+            + "ORDER BY a.date DESC, a.id DESC")
+    List<AttendanceResponse> findRecentByStudent(@Param("studentId") Long studentId, @Param("from") LocalDate from,
+            Pageable pageable);
+
+    /**
+     * Forward-only export cursor; must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.education.sms.dto.AttendanceExportRow(a.id, a.date, s.studentId, s.registrationNumber, "
+            + "s.firstName, s.lastName, c.gradeLevel, c.section, sub.code, sub.name, a.isPresent) "
+            + "FROM Attendance a JOIN a.student s JOIN a.subject sub LEFT JOIN s.classEntity c "
+            + "WHERE a.date BETWEEN :from AND :to AND (:classId IS NULL OR c.id = :classId) "
+            + "ORDER BY a.date, a.id")
+    Stream<AttendanceExportRow> streamExportRows(@Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("classId") Long classId);
+
+    @Query("SELECT a.student.studentId FROM Attendance a WHERE a.subject.id = :subjectId AND a.date = :date")
+    List<Long> findMarkedStudentIds(@Param("subjectId") Long subjectId, @Param("date") LocalDate date);
+
+    /**
+     * ORs the marks of {@code date} for the given students into their bitmaps
+     * for the subject and month, creating bitmaps as needed (PostgreSQL, see
+     * V12). Each bitmap is a single row upsert, so concurrent marks for other
+     * days of the same month do not lose each other's bits. Reads only the
+     * day's rows, which must already be flushed.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO attendance_bitmaps (student_id, subject_id, month, marked_mask, present_mask)
+            SELECT student_id, subject_id, CAST(date_trunc('month', date) AS DATE),
+                   1 << (CAST(extract(DAY FROM date) AS INTEGER) - 1),
+                   CASE WHEN is_present THEN 1 << (CAST(extract(DAY FROM date) AS INTEGER) - 1) ELSE 0 END
+            FROM attendance
+            WHERE subject_id = :subjectId AND date = :date AND student_id IN (:studentIds)
+            ON CONFLICT (student_id, subject_id, month) DO UPDATE SET
+                marked_mask = attendance_bitmaps.marked_mask | EXCLUDED.marked_mask,
+                present_mask = (attendance_bitmaps.present_mask & ~EXCLUDED.marked_mask) | EXCLUDED.present_mask
+            """, nativeQuery = true)
+    int recordBitmaps(@Param("subjectId") Long subjectId,
+            @Param("date") LocalDate date,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Adds the marks of {@code date} for the given students to their running
+     * totals for the academic year and flags them for the next alert run
+     * (PostgreSQL, see V13). Like {@link #recordBitmaps}, reads only the day's
+     * rows.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO attendance_rollups (student_id, academic_year, total_classes, present_classes, dirty)
+            SELECT student_id, :academicYear, COUNT(*), COUNT(*) FILTER (WHERE is_present), TRUE
+            FROM attendance
+            WHERE subject_id = :subjectId AND date = :date AND student_id IN (:studentIds)
+            GROUP BY student_id
+            ON CONFLICT (student_id, academic_year) DO UPDATE SET
+                total_classes = attendance_rollups.total_classes + EXCLUDED.total_classes,
+                present_classes = attendance_rollups.present_classes + EXCLUDED.present_classes,
+                dirty = TRUE
+            """, nativeQuery = true)
+    int recordRollups(@Param("subjectId") Long subjectId,
+            @Param("date") LocalDate date,
+            @Param("academicYear") int academicYear,
+            @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Re-evaluates up to {@code limit} rollups of the academic year that
+     * changed since the last run against their class threshold (or
+     * {@code defaultThreshold}), clears their dirty flag and returns them
+     * with the previous state. Students with fewer than {@code minClasses}
+     * marks are never below the threshold. SKIP LOCKED leaves rows that a
+     * mark is updating right now for the next batch.
+     */
+    @Query(value = """
+            WITH touched AS (
+                SELECT r.student_id, r.academic_year, r.below_threshold AS was_below,
+                       COALESCE(c.min_attendance_percent, :defaultThreshold) AS threshold
+                FROM attendance_rollups r
+                JOIN students s ON s.student_id = r.student_id
+                LEFT JOIN class_entities c ON c.id = s.class_id
+                WHERE r.dirty AND r.academic_year = :academicYear
+                ORDER BY r.student_id
+                LIMIT :limit
+                FOR UPDATE OF r SKIP LOCKED
+            )
+            UPDATE attendance_rollups r SET
+                dirty = FALSE,
+                below_threshold = r.total_classes >= :minClasses
+                        AND r.present_classes * 100.0 < t.threshold * r.total_classes
+            FROM touched t
+            JOIN students s ON s.student_id = t.student_id
+            JOIN app_users u ON u.id = s.user_id
+            WHERE r.student_id = t.student_id AND r.academic_year = t.academic_year
+            RETURNING r.student_id AS studentId, s.first_name AS firstName,
+                      COALESCE(u.personal_email, u.email) AS email,
+                      r.total_classes AS totalClasses, r.present_classes AS presentClasses,
+                      t.threshold AS threshold, t.was_below AS wasBelow, r.below_threshold AS below
+            """, nativeQuery = true)
+    List<AttendanceAlertView> evaluateDirtyRollups(@Param("academicYear") int academicYear,
+            @Param("defaultThreshold") BigDecimal defaultThreshold,
+            @Param("minClasses") int minClasses,
+            @Param("limit") int limit);
+
+    /**
+     * Clears the dirty flag of rollups outside the academic year; late marks
+     * for a finished year do not raise alerts.
+     */
+    @Modifying
+    @Query(value = "UPDATE attendance_rollups SET dirty = FALSE WHERE dirty AND academic_year <> :academicYear",
+            nativeQuery = true)
+    int clearDirtyRollupsOutside(@Param("academicYear") int academicYear);
+
+    /**
+     * Bitmaps of one student for the months between {@code fromMonth} and
+     * {@code toMonth} (first days of month), for one subject or all when
+     * {@code subjectId} is null.
+     */
+    @Query(value = BITMAP_COLUMNS
+            + "FROM attendance_bitmaps b JOIN students s ON s.student_id = b.student_id "
+            + "WHERE b.student_id = :studentId AND (CAST(:subjectId AS BIGINT) IS NULL OR b.subject_id = :subjectId) "
+            + "AND b.month BETWEEN :fromMonth AND :toMonth",
+            nativeQuery = true)
+    List<AttendanceBitmapView> findBitmapsByStudent(@Param("studentId") Long studentId,
+            @Param("subjectId") Long subjectId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Bitmaps of every student in a class for the months between
+     * {@code fromMonth} and {@code toMonth}. Students without any bitmap in
+     * the range come back once with null masks.
+     */
+    @Query(value = BITMAP_COLUMNS
+            + "FROM students s LEFT JOIN attendance_bitmaps b ON b.student_id = s.student_id "
+            + "AND b.month BETWEEN :fromMonth AND :toMonth "
+            + "WHERE s.class_id = :classId ORDER BY s.student_id",
+            nativeQuery = true)
+    List<AttendanceBitmapView> findBitmapsByClass(@Param("classId") Long classId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Drops the bitmaps of months before {@code month}, once their rows have
+     * left attendance.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM attendance_bitmaps WHERE month < :month", nativeQuery = true)
+    int deleteBitmapsBefore(@Param("month") LocalDate month);
+
+    /**
+     * Creates the academic year partitions up to and including the year of
+     * {@code throughDay}, and one for any year stranded in attendance_default
+     * (PostgreSQL, see V11).
+     *
+     * @return partitions created
+     */
+    @Query(value = "SELECT ensure_attendance_partitions(:throughDay)", nativeQuery = true)
+    int ensurePartitions(@Param("throughDay") LocalDate throughDay);
+
+    /**
+     * Detaches every academic year partition that ended on or before
+     * {@code cutoff} and attaches it to attendance_archive. Only catalog
+     * entries change, so a year of marks is archived without copying rows
+     * (PostgreSQL, see V11).
+     *
+     * @return partitions archived
+     */
+    @Query(value = "SELECT archive_attendance_partitions(:cutoff)", nativeQuery = true)
+    int archivePartitionsBefore(@Param("cutoff") LocalDate cutoff);
+}
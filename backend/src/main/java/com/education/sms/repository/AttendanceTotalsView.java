@@ -0,0 +1,12 @@
+package com.education.sms.repository;
+
+/**
+ * Marked classes and classes attended for one student, see
+ * {@link AttendanceRepository#findTotalsByStudent}.
+ */
+public interface AttendanceTotalsView {
+
+    long getTotal();
+
+    long getPresent();
+}
@@ -1,13 +1,26 @@
 package com.education.sms.repository;
 
 import com.education.sms.entity.ClassEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ClassEntityRepository extends JpaRepository<ClassEntity, Long> {
 
     // Spring parses this as:
     // find where 'grade_level' = ? AND 'section' = ? AND 'academic_year' = ?
     boolean existsByGradeLevelAndSectionAndAcademicYear(String gradeLevel, String section, Integer academicYear);
-}
\ No newline at end of file
+
+    /**
+     * Loads the row with a pessimistic write lock held until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ClassEntity c WHERE c.id = :id")
+    Optional<ClassEntity> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,25 @@
+package com.education.sms.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-class aggregate of the fee ledger queries in {@link StudentRepository}.
+ */
+public interface ClassFeeBalanceView {
+
+    Long getClassId();
+
+    String getGradeLevel();
+
+    String getSection();
+
+    Long getStudentCount();
+
+    BigDecimal getTotalDue();
+
+    BigDecimal getTotalPaid();
+
+    BigDecimal getTotalOutstanding();
+
+    Long getDefaulterCount();
+}
@@ -1,7 +1,10 @@
 package com.education.sms.repository;
 
 import com.education.sms.entity.EventParticipant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,23 @@ public interface EventParticipantRepository extends JpaRepository<EventParticipa
     Optional<EventParticipant> findByEventEventIdAndUserId(Long eventId, Long userId);
 
     boolean existsByEventEventIdAndUserId(Long eventId, Long userId);
+
+    long countByEventEventIdAndStatus(Long eventId, String status);
+
+    /**
+     * The waitlist of an event, first come first served (idx_event_participants_waitlist).
+     */
+    @Query("SELECT p FROM EventParticipant p JOIN FETCH p.user WHERE p.event.eventId = :eventId "
+            + "AND p.status = 'waitlisted' ORDER BY p.registeredAt, p.epId")
+    List<EventParticipant> findWaitlisted(@Param("eventId") Long eventId, Pageable pageable);
+
+    /**
+     * The event of a participant, read without loading the participant, so its
+     * status can be read fresh once the event row is locked.
+     */
+    @Query("SELECT p.event.eventId FROM EventParticipant p WHERE p.epId = :participantId")
+    Optional<Long> findEventIdById(@Param("participantId") Long participantId);
+
+    @Query("SELECT p.user.id FROM EventParticipant p WHERE p.event.eventId = :eventId")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId);
 }
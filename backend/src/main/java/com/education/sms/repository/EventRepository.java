@@ -1,11 +1,17 @@
 package com.education.sms.repository;
 
 import com.education.sms.entity.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -15,4 +21,55 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByEventDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<Event> findAllByOrderByEventDateDesc();
+
+    /**
+     * Loads the row with a pessimistic write lock held until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.eventId = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Takes a seat if one is left: a conditional decrement, so concurrent
+     * sign-ups queue on the row and each sees the count left by the one before.
+     * Events without a capacity always match (their counter stays NULL), which
+     * still locks the row so capacity changes wait for in-flight sign-ups.
+     *
+     * @return 1 if a seat was taken, 0 if the event is full
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET seats_available = seats_available - 1 "
+            + "WHERE event_id = :eventId AND (capacity IS NULL OR seats_available > 0)",
+            nativeQuery = true)
+    int takeSeat(@Param("eventId") Long eventId);
+
+    /**
+     * Takes {@code seats} seats at once, or none if fewer are left.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET seats_available = seats_available - :seats "
+            + "WHERE event_id = :eventId AND capacity IS NOT NULL AND seats_available >= :seats",
+            nativeQuery = true)
+    int takeSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Query(value = "UPDATE events SET seats_available = seats_available + 1 "
+            + "WHERE event_id = :eventId AND capacity IS NOT NULL AND seats_available < capacity",
+            nativeQuery = true)
+    int releaseSeat(@Param("eventId") Long eventId);
+
+    /**
+     * Sets the counter after a capacity change; callers hold the row lock.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET seats_available = CAST(:seats AS INTEGER) WHERE event_id = :eventId",
+            nativeQuery = true)
+    int setSeatsAvailable(@Param("eventId") Long eventId, @Param("seats") Integer seats);
+
+    /**
+     * Current seat count from the table, not from a possibly stale entity;
+     * NULL for events without a capacity.
+     */
+    @Query(value = "SELECT seats_available FROM events WHERE event_id = :eventId", nativeQuery = true)
+    Integer findSeatsAvailable(@Param("eventId") Long eventId);
 }
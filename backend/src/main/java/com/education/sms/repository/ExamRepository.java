@@ -1,9 +1,13 @@
 package com.education.sms.repository;
 
 import com.education.sms.entity.Exam;
+import com.education.sms.scheduling.ExamSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,23 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     List<Exam> findByCourseCourseId(Long courseId);
 
     List<Exam> findByCourse_ClassEntityId(Long classId);
+
+    String SLOT_SELECT = "SELECT new com.education.sms.scheduling.ExamSlot(e.examId, e.examName, c.classEntity.id, "
+            + "f.id, e.date, e.startTime, e.durationMinutes) FROM Exam e JOIN e.course c LEFT JOIN c.faculty f ";
+
+    /**
+     * Every exam between two dates, as timetable slots for the scheduler.
+     */
+    @Query(SLOT_SELECT + "WHERE e.date BETWEEN :from AND :to")
+    List<ExamSlot> findSlotsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Exams on one day that the class sits or the faculty runs. Exams end on the
+     * day they start (checked when they are created), so these are all the
+     * exams an exam on that day can overlap.
+     */
+    @Query(SLOT_SELECT + "WHERE e.date = :date AND (c.classEntity.id = :classId OR f.id = :facultyId)")
+    List<ExamSlot> findSlotsOn(@Param("date") LocalDate date,
+            @Param("classId") Long classId,
+            @Param("facultyId") Long facultyId);
 }
@@ -0,0 +1,15 @@
+package com.education.sms.repository;
+
+/**
+ * A period of the week in which a faculty member is unavailable or already
+ * teaching, see {@link TimetableRepository}.
+ */
+public interface FacultyPeriodView {
+
+    Long getFacultyId();
+
+    /** ISO, 1 = Monday. */
+    Integer getDayOfWeek();
+
+    Integer getPeriod();
+}
@@ -1,14 +1,21 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.FacultyExportRow;
 import com.education.sms.entity.Faculty;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FacultyRepository extends JpaRepository<Faculty, Long> {
@@ -30,4 +37,23 @@ public interface FacultyRepository extends JpaRepository<Faculty, Long> {
 
     @Query("SELECT COUNT(f) FROM Faculty f")
     long countAllFaculty();
+
+    /**
+     * Forward-only export cursor; must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.education.sms.dto.FacultyExportRow(f.id, f.employeeId, f.firstName, f.lastName, "
+            + "u.email, f.department, f.phone, u.isActive) "
+            + "FROM Faculty f JOIN f.user u ORDER BY f.id")
+    Stream<FacultyExportRow> streamExportRows();
+
+    /**
+     * Loads the row with a pessimistic write lock held until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Faculty f WHERE f.id = :id")
+    Optional<Faculty> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,22 @@
+package com.education.sms.repository;
+
+/**
+ * A student and their points on a leaderboard, see
+ * {@link StudentRepository#findLeaderboard}.
+ */
+public interface LeaderboardEntryView {
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getClassId();
+
+    String getGradeLevel();
+
+    String getSection();
+
+    Integer getPoints();
+}
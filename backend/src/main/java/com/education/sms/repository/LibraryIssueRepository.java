@@ -1,10 +1,19 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.LibraryIssueExportRow;
 import com.education.sms.entity.LibraryIssue;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LibraryIssueRepository extends JpaRepository<LibraryIssue, Long> {
@@ -24,4 +33,41 @@ public interface LibraryIssueRepository extends JpaRepository<LibraryIssue, Long
 
     @org.springframework.data.jpa.repository.Query("SELECT COUNT(li) FROM LibraryIssue li WHERE li.dueDate < CURRENT_DATE AND li.status = 'issued'")
     long countOverdueIssues();
+
+    /**
+     * Forward-only export cursor; must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.education.sms.dto.LibraryIssueExportRow(i.issueId, b.title, b.isbn, u.email, u.role, "
+            + "i.issueDate, i.dueDate, i.returnDate, i.status, i.fineAmount) "
+            + "FROM LibraryIssue i JOIN i.book b JOIN i.user u "
+            + "WHERE i.issueDate BETWEEN :from AND :to "
+            + "ORDER BY i.issueId")
+    Stream<LibraryIssueExportRow> streamExportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Moves up to {@code limit} loans returned before {@code cutoff} into
+     * library_issues_archive (PostgreSQL). Open loans are never archived,
+     * whatever their age.
+     *
+     * @return rows moved; fewer than {@code limit} means nothing is left to archive
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM library_issues
+                WHERE issue_id IN (
+                    SELECT issue_id FROM library_issues
+                    WHERE status = 'returned' AND return_date < :cutoff
+                    LIMIT :limit FOR UPDATE SKIP LOCKED)
+                RETURNING issue_id, book_id, user_id, issue_date, due_date, return_date, status, fine_amount
+            )
+            INSERT INTO library_issues_archive
+                (issue_id, book_id, user_id, issue_date, due_date, return_date, status, fine_amount)
+            SELECT issue_id, book_id, user_id, issue_date, due_date, return_date, status, fine_amount FROM moved
+            """, nativeQuery = true)
+    int archiveReturnedBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
 }
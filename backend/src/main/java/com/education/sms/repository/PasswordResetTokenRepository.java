@@ -5,6 +5,7 @@ import com.education.sms.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,9 +21,22 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Query("SELECT t FROM PasswordResetToken t WHERE t.token = :token AND t.used = false AND t.expiresAt > :now")
     Optional<PasswordResetToken> findValidToken(String token, LocalDateTime now);
 
+    /**
+     * Deletes up to {@code limit} tokens that can no longer be redeemed (expired
+     * or already used). Run in a loop by the housekeeping job so each batch
+     * holds its row locks only briefly; PostgreSQL has no DELETE ... LIMIT.
+     *
+     * @return rows deleted; fewer than {@code limit} means the table is clean
+     */
     @Modifying
-    @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Query(value = """
+            DELETE FROM password_reset_tokens
+            WHERE id IN (
+                SELECT id FROM password_reset_tokens
+                WHERE expires_at < :now OR used = true
+                LIMIT :limit FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpiredOrUsedBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
     @Modifying
     @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.user = :user AND t.used = false")
@@ -1,11 +1,24 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.PaymentExportRow;
+import com.education.sms.dto.PaymentResponse;
 import com.education.sms.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -19,4 +32,81 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
 
     List<Payment> findByStudentStudentIdAndPaymentStatus(Long studentId, String paymentStatus);
+
+    @Query("SELECT new com.education.sms.dto.PaymentResponse(p.paymentId, s.studentId, "
+            + "CONCAT(s.firstName, ' ', s.lastName), p.amountPaid, p.razorpayPaymentId, p.razorpayOrderId, "
+            + "p.paymentStatus, p.paymentDate, ar.requestId) "
+            + "FROM Payment p JOIN p.student s LEFT JOIN p.adminRequest ar WHERE s.studentId = :studentId "
+            + "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<PaymentResponse> findRecentByStudent(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Set-based status update for webhook reconciliation, keyed on the Razorpay payment ID
+     * so only the attempt the webhook reports is touched. Only rows currently in one of
+     * {@code fromStatuses} change, so a late "failed" event can never overwrite a captured
+     * payment. VERSIONED bumps the optimistic lock version, so a concurrent entity update
+     * of the same payment fails.
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED Payment p SET p.paymentStatus = :status "
+            + "WHERE p.razorpayPaymentId IN :paymentIds AND p.paymentStatus IN :fromStatuses")
+    int updateStatusByPaymentIds(@Param("paymentIds") Collection<String> paymentIds,
+            @Param("status") String status,
+            @Param("fromStatuses") Collection<String> fromStatuses);
+
+    /**
+     * Settles the oldest pending payment of an order that has no Razorpay payment ID yet
+     * (created before checkout) with the attempt a webhook reports. Rows of other attempts,
+     * failed ones included, are never touched.
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED Payment p SET p.paymentStatus = :status, p.razorpayPaymentId = :paymentId "
+            + "WHERE p.paymentId = (SELECT MIN(q.paymentId) FROM Payment q WHERE q.razorpayOrderId = :orderId "
+            + "AND q.razorpayPaymentId IS NULL AND q.paymentStatus = 'pending')")
+    int settlePendingOrderPayment(@Param("orderId") String orderId,
+            @Param("paymentId") String paymentId,
+            @Param("status") String status);
+
+    @Query("SELECT p.razorpayPaymentId FROM Payment p WHERE p.razorpayPaymentId IN :paymentIds")
+    List<String> findExistingPaymentIds(@Param("paymentIds") Collection<String> paymentIds);
+
+    @Query("SELECT DISTINCT p.razorpayOrderId FROM Payment p WHERE p.razorpayOrderId IN :orderIds")
+    List<String> findExistingOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    /**
+     * Idempotent insert keyed on razorpay_payment_id (PostgreSQL).
+     * Returns 1 if a row was inserted, 0 if a payment with the same Razorpay ID already existed.
+     * The id comes straight from payments_seq; with pooled-lo allocation that value starts
+     * a block no Hibernate session will hand out, so it cannot collide with batched inserts.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO payments (payment_id, student_id, amount_paid, razorpay_payment_id, razorpay_order_id,
+                                  payment_status, payment_date, admin_request_id)
+            VALUES (nextval('payments_seq'), :studentId, :amountPaid, :razorpayPaymentId, :razorpayOrderId,
+                    :paymentStatus, :paymentDate, :adminRequestId)
+            ON CONFLICT (razorpay_payment_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("studentId") Long studentId,
+            @Param("amountPaid") BigDecimal amountPaid,
+            @Param("razorpayPaymentId") String razorpayPaymentId,
+            @Param("razorpayOrderId") String razorpayOrderId,
+            @Param("paymentStatus") String paymentStatus,
+            @Param("paymentDate") LocalDateTime paymentDate,
+            @Param("adminRequestId") Long adminRequestId);
+
+    /**
+     * Forward-only export cursor; must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.education.sms.dto.PaymentExportRow(p.paymentId, s.studentId, s.registrationNumber, "
+            + "s.firstName, s.lastName, p.amountPaid, p.paymentStatus, p.razorpayPaymentId, p.razorpayOrderId, "
+            + "p.paymentDate) "
+            + "FROM Payment p JOIN p.student s "
+            + "WHERE p.paymentDate >= :from AND p.paymentDate < :to "
+            + "ORDER BY p.paymentId")
+    Stream<PaymentExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,47 @@
+package com.education.sms.repository;
+
+import com.education.sms.entity.PaymentWebhookEvent;
+import com.education.sms.entity.WebhookEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    boolean existsByGatewayEventId(String gatewayEventId);
+
+    long countByStatus(WebhookEventStatus status);
+
+    /**
+     * Claims the oldest pending events. SKIP LOCKED lets several workers (or
+     * application instances) drain the queue without blocking on each other.
+     */
+    @Query(value = """
+            SELECT * FROM payment_webhook_events
+            WHERE status = 'PENDING'
+              AND (next_attempt_at IS NULL OR next_attempt_at <= :now)
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentWebhookEvent> claimPending(@Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :status, e.processedAt = :now, "
+            + "e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markCompleted(@Param("ids") Collection<Long> ids,
+            @Param("status") WebhookEventStatus status,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt "
+            + "WHERE e.id IN :ids")
+    int scheduleRetry(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -0,0 +1,104 @@
+package com.education.sms.repository;
+
+import com.education.sms.entity.PointsAward;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PointsAwardRepository extends JpaRepository<PointsAward, Long> {
+
+    /**
+     * Adds the points of each award that was actually inserted to its student's
+     * total. The INSERT skips awards that already exist, so the UPDATE only sees
+     * new ones; the increment itself locks the student row, so concurrent awards
+     * add up instead of overwriting each other.
+     */
+    String INCREMENT_AWARDED = """
+            ON CONFLICT (student_id, reason, source_id) DO NOTHING
+            RETURNING student_id, points)
+            UPDATE students s SET gamification_points = s.gamification_points + a.points
+            FROM awarded a WHERE s.student_id = a.student_id
+            """;
+
+    /**
+     * Awards points once per (student, reason, source) and adds them to the
+     * student's total in the same statement.
+     *
+     * @return 1 if the points were awarded, 0 if the award already existed
+     */
+    @Modifying
+    @Query(value = """
+            WITH awarded AS (
+                INSERT INTO points_awards (student_id, reason, source_id, points, awarded_at)
+                SELECT student_id, :reason, :sourceId, :points, LOCALTIMESTAMP
+                FROM students WHERE student_id = :studentId
+            """ + INCREMENT_AWARDED, nativeQuery = true)
+    int awardToStudent(@Param("studentId") Long studentId,
+            @Param("reason") String reason,
+            @Param("sourceId") long sourceId,
+            @Param("points") int points);
+
+    /**
+     * As {@link #awardToStudent}, for the student account of a user; does
+     * nothing for users who are not students.
+     */
+    @Modifying
+    @Query(value = """
+            WITH awarded AS (
+                INSERT INTO points_awards (student_id, reason, source_id, points, awarded_at)
+                SELECT student_id, :reason, :sourceId, :points, LOCALTIMESTAMP
+                FROM students WHERE user_id = :userId
+            """ + INCREMENT_AWARDED, nativeQuery = true)
+    int awardToUser(@Param("userId") Long userId,
+            @Param("reason") String reason,
+            @Param("sourceId") long sourceId,
+            @Param("points") int points);
+
+    /**
+     * Attendance streaks reached on {@code day}: students present in every
+     * subject on each of their last {@code streakDays} days with attendance,
+     * the latest being {@code day}. Only days from {@code from} on are read, so
+     * the scan stays in the current partition and within idx_attendance_date.
+     * A student is not awarded again until a new full streak has passed since
+     * their last streak award, so an unbroken run pays out every
+     * {@code streakDays} days. Streak awards use the epoch day as source.
+     *
+     * @return number of students awarded
+     */
+    @Modifying
+    @Query(value = """
+            WITH days AS (
+                SELECT student_id, date, bool_and(is_present) AS present,
+                       row_number() OVER (PARTITION BY student_id ORDER BY date DESC) AS recent
+                FROM attendance
+                WHERE date BETWEEN :from AND :day
+                GROUP BY student_id, date
+            ), streaks AS (
+                SELECT student_id, MIN(date) AS streak_start
+                FROM days
+                WHERE recent <= :streakDays
+                GROUP BY student_id
+                HAVING COUNT(*) = :streakDays AND bool_and(present) AND MAX(date) = :day
+            ), awarded AS (
+                INSERT INTO points_awards (student_id, reason, source_id, points, awarded_at)
+                SELECT st.student_id, 'ATTENDANCE_STREAK', :day - DATE '1970-01-01', :points, LOCALTIMESTAMP
+                FROM streaks st
+                WHERE NOT EXISTS (SELECT 1 FROM points_awards p
+                                  WHERE p.student_id = st.student_id AND p.reason = 'ATTENDANCE_STREAK'
+                                    AND p.source_id >= st.streak_start - DATE '1970-01-01')
+            """ + INCREMENT_AWARDED, nativeQuery = true)
+    int awardAttendanceStreaks(@Param("from") LocalDate from,
+            @Param("day") LocalDate day,
+            @Param("streakDays") int streakDays,
+            @Param("points") int points);
+
+    @Query("SELECT p FROM PointsAward p WHERE p.student.studentId = :studentId ORDER BY p.awardedAt DESC, p.id DESC")
+    List<PointsAward> findRecentByStudent(@Param("studentId") Long studentId, Pageable pageable);
+}
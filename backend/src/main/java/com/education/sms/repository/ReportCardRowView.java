@@ -0,0 +1,26 @@
+package com.education.sms.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One (student, exam) cell of a class report card, carrying the student's term
+ * aggregates and rank. See {@link ResultRepository#streamReportCardRows}.
+ */
+public interface ReportCardRowView {
+
+    Long getClassRank();
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getRegistrationNumber();
+
+    BigDecimal getTotalObtained();
+
+    Long getExamId();
+
+    BigDecimal getMarksObtained();
+}
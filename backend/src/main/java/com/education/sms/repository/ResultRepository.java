@@ -1,15 +1,32 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.ResultResponse;
 import com.education.sms.entity.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
 
+    // A term is every exam of a class's courses held within a date range
+    String TERM_EXAMS = """
+            SELECT e.exam_id, e.exam_name, e.total_marks, e.date AS exam_date, c.course_name
+            FROM exams e
+            JOIN courses c ON c.course_id = e.course_id
+            WHERE c.class_id = :classId AND e.date BETWEEN :fromDate AND :toDate
+            """;
+
     List<Result> findByStudentStudentId(Long studentId);
 
     List<Result> findByExamExamId(Long examId);
@@ -17,4 +34,54 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     Optional<Result> findByExamExamIdAndStudentStudentId(Long examId, Long studentId);
 
     List<Result> findByStudentStudentIdAndIsFinalized(Long studentId, Boolean isFinalized);
+
+    @Query("SELECT new com.education.sms.dto.ResultResponse(r.resultId, e.examId, e.examName, s.studentId, "
+            + "CONCAT(s.firstName, ' ', s.lastName), r.marksObtained, e.totalMarks, r.isFinalized, r.createdAt) "
+            + "FROM Result r JOIN r.exam e JOIN r.student s WHERE s.studentId = :studentId "
+            + "ORDER BY r.createdAt DESC, r.resultId DESC")
+    List<ResultResponse> findRecentByStudent(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query(value = "SELECT t.exam_id AS examId, t.exam_name AS examName, t.course_name AS courseName, "
+            + "t.total_marks AS totalMarks FROM (" + TERM_EXAMS + ") t ORDER BY t.exam_date, t.exam_id",
+            nativeQuery = true)
+    List<TermExamView> findTermExams(@Param("classId") Long classId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Report card rows for a whole class, one per (student, term exam), ordered by
+     * rank so a writer can emit each student as soon as their last row arrives.
+     * Totals and rank are computed in SQL with a window function; a missing result
+     * counts as zero.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "WITH term_exams AS (" + TERM_EXAMS + """
+            ),
+            totals AS (
+                SELECT s.student_id, s.class_id, COALESCE(SUM(r.marks_obtained), 0) AS total_obtained
+                FROM students s
+                LEFT JOIN results r ON r.student_id = s.student_id
+                    AND r.exam_id IN (SELECT exam_id FROM term_exams)
+                WHERE s.class_id = :classId
+                GROUP BY s.student_id, s.class_id
+            ),
+            ranked AS (
+                SELECT t.student_id, t.total_obtained,
+                       RANK() OVER (PARTITION BY t.class_id ORDER BY t.total_obtained DESC) AS class_rank
+                FROM totals t
+            )
+            SELECT k.class_rank AS classRank, s.student_id AS studentId,
+                   s.first_name AS firstName, s.last_name AS lastName,
+                   s.registration_number AS registrationNumber,
+                   k.total_obtained AS totalObtained,
+                   te.exam_id AS examId, r.marks_obtained AS marksObtained
+            FROM ranked k
+            JOIN students s ON s.student_id = k.student_id
+            CROSS JOIN term_exams te
+            LEFT JOIN results r ON r.student_id = s.student_id AND r.exam_id = te.exam_id
+            ORDER BY k.class_rank, s.student_id, te.exam_date, te.exam_id
+            """, nativeQuery = true)
+    Stream<ReportCardRowView> streamReportCardRows(@Param("classId") Long classId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
 }
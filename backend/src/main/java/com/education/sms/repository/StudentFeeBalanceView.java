@@ -0,0 +1,29 @@
+package com.education.sms.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-student row of the fee ledger queries in {@link StudentRepository}.
+ */
+public interface StudentFeeBalanceView {
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getRegistrationNumber();
+
+    Long getClassId();
+
+    String getGradeLevel();
+
+    String getSection();
+
+    BigDecimal getTotalDue();
+
+    BigDecimal getTotalPaid();
+
+    BigDecimal getOutstanding();
+}
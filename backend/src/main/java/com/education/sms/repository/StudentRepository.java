@@ -1,36 +1,179 @@
 package com.education.sms.repository;
 
+import com.education.sms.dto.StudentExportRow;
+import com.education.sms.dto.StudentSummaryResponse;
 import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    /**
+     * Fee ledger source: one row per student with the class dues and the sum of
+     * successful fee payments, each aggregated once with GROUP BY instead of per student.
+     * Payments linked to an admin request are service charges, not fees, and are excluded.
+     */
+    String FEE_LEDGER_FROM = """
+            FROM students s
+            LEFT JOIN class_entities c ON c.id = s.class_id
+            LEFT JOIN (SELECT class_id, SUM(amount) AS total_due
+                       FROM fees_structure GROUP BY class_id) d ON d.class_id = s.class_id
+            LEFT JOIN (SELECT student_id, SUM(amount_paid) AS total_paid
+                       FROM payments
+                       WHERE payment_status = 'success' AND admin_request_id IS NULL
+                       GROUP BY student_id) p ON p.student_id = s.student_id
+            """;
+
+    String FEE_LEDGER_COLUMNS = """
+            SELECT s.student_id AS studentId, s.first_name AS firstName, s.last_name AS lastName,
+                   s.registration_number AS registrationNumber,
+                   c.id AS classId, c.grade_level AS gradeLevel, c.section AS section,
+                   COALESCE(d.total_due, 0) AS totalDue,
+                   COALESCE(p.total_paid, 0) AS totalPaid,
+                   GREATEST(COALESCE(d.total_due, 0) - COALESCE(p.total_paid, 0), 0) AS outstanding
+            """;
+
+    /**
+     * Student listings: one query per page with the user and class joined in,
+     * projected straight into StudentSummaryResponse.
+     */
+    String SUMMARY_SELECT = "SELECT new com.education.sms.dto.StudentSummaryResponse(s.studentId, "
+            + "s.firstName, s.lastName, s.registrationNumber, u.email, s.enrollmentYear, "
+            + "c.id, c.gradeLevel, c.section, s.parentPhone, s.address) "
+            + "FROM Student s JOIN s.user u LEFT JOIN s.classEntity c ";
+
+    String NAME_FILTER = "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) "
+            + "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))";
+
+    String FEE_DEFAULTER_FILTER = """
+            WHERE COALESCE(d.total_due, 0) - COALESCE(p.total_paid, 0) >= :minOutstanding
+              AND COALESCE(d.total_due, 0) - COALESCE(p.total_paid, 0) > 0
+              AND (CAST(:classId AS BIGINT) IS NULL OR s.class_id = :classId)
+            """;
+
     Page<Student> findAll(Pageable pageable);
 
-    Page<Student> findByClassEntityId(Long classId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentSummaryResponse> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :classId",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE s.classEntity.id = :classId")
+    Page<StudentSummaryResponse> findSummariesByClassId(@Param("classId") Long classId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE s.studentId = :studentId")
+    Optional<StudentSummaryResponse> findSummaryById(@Param("studentId") Long studentId);
 
     List<Student> findByClassEntityId(Long classId);
 
+    @Query("SELECT u FROM Student s JOIN s.user u WHERE s.classEntity.id = :classId ORDER BY s.studentId")
+    List<User> findUsersByClassId(@Param("classId") Long classId);
+
     Optional<Student> findByUserId(Long userId);
 
     @Query("SELECT s FROM Student s WHERE s.user.id = :userId")
     Optional<Student> findByUserUserId(@Param("userId") Long userId);
 
-    @Query("SELECT s FROM Student s WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Student> searchByName(@Param("name") String name, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + NAME_FILTER, countQuery = "SELECT COUNT(s) FROM Student s " + NAME_FILTER)
+    Page<StudentSummaryResponse> searchSummariesByName(@Param("name") String name, Pageable pageable);
 
     @Query("SELECT COUNT(s) FROM Student s")
     long countAllStudents();
 
     @Query("SELECT COUNT(s) FROM Student s WHERE s.classEntity.id = :classId")
     long countByClassId(@Param("classId") Long classId);
+
+    @Query(value = FEE_LEDGER_COLUMNS + FEE_LEDGER_FROM + "WHERE s.student_id = :studentId", nativeQuery = true)
+    Optional<StudentFeeBalanceView> findFeeBalance(@Param("studentId") Long studentId);
+
+    @Query(value = FEE_LEDGER_COLUMNS + FEE_LEDGER_FROM + FEE_DEFAULTER_FILTER
+            + "ORDER BY outstanding DESC, s.student_id",
+            countQuery = "SELECT COUNT(*) " + FEE_LEDGER_FROM + FEE_DEFAULTER_FILTER,
+            nativeQuery = true)
+    Page<StudentFeeBalanceView> findFeeDefaulters(@Param("classId") Long classId,
+            @Param("minOutstanding") BigDecimal minOutstanding,
+            Pageable pageable);
+
+    @Query(value = """
+            SELECT c.id AS classId, c.grade_level AS gradeLevel, c.section AS section,
+                   COUNT(s.student_id) AS studentCount,
+                   COALESCE(SUM(d.total_due), 0) AS totalDue,
+                   COALESCE(SUM(p.total_paid), 0) AS totalPaid,
+                   COALESCE(SUM(GREATEST(COALESCE(d.total_due, 0) - COALESCE(p.total_paid, 0), 0)), 0) AS totalOutstanding,
+                   COUNT(CASE WHEN COALESCE(d.total_due, 0) > COALESCE(p.total_paid, 0) THEN 1 END) AS defaulterCount
+            FROM class_entities c
+            LEFT JOIN students s ON s.class_id = c.id
+            LEFT JOIN (SELECT class_id, SUM(amount) AS total_due
+                       FROM fees_structure GROUP BY class_id) d ON d.class_id = s.class_id
+            LEFT JOIN (SELECT student_id, SUM(amount_paid) AS total_paid
+                       FROM payments
+                       WHERE payment_status = 'success' AND admin_request_id IS NULL
+                       GROUP BY student_id) p ON p.student_id = s.student_id
+            WHERE (CAST(:classId AS BIGINT) IS NULL OR c.id = :classId)
+            GROUP BY c.id, c.grade_level, c.section
+            ORDER BY c.grade_level, c.section
+            """, nativeQuery = true)
+    List<ClassFeeBalanceView> findClassFeeBalances(@Param("classId") Long classId);
+
+    String LEADERBOARD_COLUMNS = """
+            SELECT s.student_id AS studentId, s.first_name AS firstName, s.last_name AS lastName,
+                   c.id AS classId, c.grade_level AS gradeLevel, c.section AS section,
+                   s.gamification_points AS points
+            FROM students s LEFT JOIN class_entities c ON c.id = s.class_id
+            """;
+
+    /**
+     * Top of the school by points. Walks idx_students_points from the top and
+     * stops after {@code limit} rows, so the students table is never sorted.
+     */
+    @Query(value = LEADERBOARD_COLUMNS + "ORDER BY s.gamification_points DESC, s.student_id LIMIT :limit",
+            nativeQuery = true)
+    List<LeaderboardEntryView> findLeaderboard(@Param("limit") int limit);
+
+    /**
+     * Top of a class by points, from idx_students_class_points.
+     */
+    @Query(value = LEADERBOARD_COLUMNS + "WHERE s.class_id = :classId "
+            + "ORDER BY s.gamification_points DESC, s.student_id LIMIT :limit",
+            nativeQuery = true)
+    List<LeaderboardEntryView> findClassLeaderboard(@Param("classId") Long classId, @Param("limit") int limit);
+
+    @Query(value = LEADERBOARD_COLUMNS + "WHERE s.student_id = :studentId", nativeQuery = true)
+    Optional<LeaderboardEntryView> findLeaderboardEntry(@Param("studentId") Long studentId);
+
+    /**
+     * Students ahead of the given points; a rank is this plus one. Counted from
+     * the points index, not by ranking everyone.
+     */
+    @Query(value = "SELECT COUNT(*) FROM students WHERE gamification_points > :points", nativeQuery = true)
+    long countWithMorePoints(@Param("points") int points);
+
+    @Query(value = "SELECT COUNT(*) FROM students WHERE class_id = :classId AND gamification_points > :points",
+            nativeQuery = true)
+    long countInClassWithMorePoints(@Param("classId") Long classId, @Param("points") int points);
+
+    /**
+     * Forward-only export cursor; must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.education.sms.dto.StudentExportRow(s.studentId, s.registrationNumber, s.firstName, "
+            + "s.lastName, u.email, c.gradeLevel, c.section, s.phone, s.parentPhone, u.isActive) "
+            + "FROM Student s JOIN s.user u LEFT JOIN s.classEntity c ORDER BY s.studentId")
+    Stream<StudentExportRow> streamExportRows();
 }
@@ -0,0 +1,15 @@
+package com.education.sms.repository;
+
+/**
+ * An exam that belongs to a class's term, see {@link ResultRepository#findTermExams}.
+ */
+public interface TermExamView {
+
+    Long getExamId();
+
+    String getExamName();
+
+    String getCourseName();
+
+    Integer getTotalMarks();
+}
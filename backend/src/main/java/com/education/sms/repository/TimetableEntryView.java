@@ -0,0 +1,14 @@
+package com.education.sms.repository;
+
+/**
+ * One stored timetable period with its subject, class and faculty, see
+ * {@link TimetableRepository#findEntriesByClass} and
+ * {@link TimetableRepository#findEntriesByFaculty}.
+ */
+public interface TimetableEntryView extends TimetableSubjectView {
+
+    /** ISO, 1 = Monday. */
+    Integer getDayOfWeek();
+
+    Integer getPeriod();
+}
@@ -0,0 +1,81 @@
+package com.education.sms.repository;
+
+import com.education.sms.entity.TimetableEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimetableRepository extends JpaRepository<TimetableEntry, Long> {
+
+    String SUBJECT_COLUMNS = "SELECT s.id AS subjectId, s.name AS subjectName, c.id AS classId, "
+            + "c.grade_level AS gradeLevel, c.section AS section, f.id AS facultyId, "
+            + "f.first_name AS facultyFirstName, f.last_name AS facultyLastName, "
+            + "s.periods_per_week AS periodsPerWeek ";
+
+    /**
+     * Every subject of every class, the input of a whole-school timetable.
+     */
+    @Query(value = SUBJECT_COLUMNS
+            + "FROM subjects s JOIN class_entities c ON c.id = s.class_id "
+            + "LEFT JOIN faculty f ON f.id = s.faculty_id ORDER BY c.id, s.id",
+            nativeQuery = true)
+    List<TimetableSubjectView> findTimetableSubjects();
+
+    @Query(value = SUBJECT_COLUMNS + ", t.day_of_week AS dayOfWeek, t.period AS period "
+            + "FROM timetable_entries t JOIN subjects s ON s.id = t.subject_id "
+            + "JOIN class_entities c ON c.id = t.class_id LEFT JOIN faculty f ON f.id = t.faculty_id "
+            + "WHERE t.class_id = :classId ORDER BY t.day_of_week, t.period",
+            nativeQuery = true)
+    List<TimetableEntryView> findEntriesByClass(@Param("classId") Long classId);
+
+    @Query(value = SUBJECT_COLUMNS + ", t.day_of_week AS dayOfWeek, t.period AS period "
+            + "FROM timetable_entries t JOIN subjects s ON s.id = t.subject_id "
+            + "JOIN class_entities c ON c.id = t.class_id LEFT JOIN faculty f ON f.id = t.faculty_id "
+            + "WHERE t.faculty_id = :facultyId ORDER BY t.day_of_week, t.period",
+            nativeQuery = true)
+    List<TimetableEntryView> findEntriesByFaculty(@Param("facultyId") Long facultyId);
+
+    /**
+     * Periods in which faculty already teach classes other than {@code classIds};
+     * a timetable for just those classes has to keep clear of them.
+     */
+    @Query(value = "SELECT faculty_id AS facultyId, day_of_week AS dayOfWeek, period FROM timetable_entries "
+            + "WHERE faculty_id IS NOT NULL AND class_id NOT IN (:classIds)",
+            nativeQuery = true)
+    List<FacultyPeriodView> findTeachingPeriodsOutside(@Param("classIds") Collection<Long> classIds);
+
+    @Modifying
+    @Query("DELETE FROM TimetableEntry t WHERE t.classEntity.id IN :classIds")
+    int deleteByClassIds(@Param("classIds") Collection<Long> classIds);
+
+    @Modifying
+    @Query("DELETE FROM TimetableEntry t")
+    int deleteAllEntries();
+
+    @Query(value = "SELECT faculty_id AS facultyId, day_of_week AS dayOfWeek, period FROM faculty_unavailable_periods",
+            nativeQuery = true)
+    List<FacultyPeriodView> findUnavailablePeriods();
+
+    @Query(value = "SELECT faculty_id AS facultyId, day_of_week AS dayOfWeek, period FROM faculty_unavailable_periods "
+            + "WHERE faculty_id = :facultyId ORDER BY day_of_week, period",
+            nativeQuery = true)
+    List<FacultyPeriodView> findUnavailablePeriodsByFaculty(@Param("facultyId") Long facultyId);
+
+    @Modifying
+    @Query(value = "DELETE FROM faculty_unavailable_periods WHERE faculty_id = :facultyId", nativeQuery = true)
+    int deleteUnavailablePeriods(@Param("facultyId") Long facultyId);
+
+    @Modifying
+    @Query(value = "INSERT INTO faculty_unavailable_periods (faculty_id, day_of_week, period) "
+            + "VALUES (:facultyId, :dayOfWeek, :period) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addUnavailablePeriod(@Param("facultyId") Long facultyId,
+            @Param("dayOfWeek") int dayOfWeek,
+            @Param("period") int period);
+}
@@ -0,0 +1,27 @@
+package com.education.sms.repository;
+
+/**
+ * A subject with its class and faculty, as the timetable generator and the
+ * timetable views need them, see {@link TimetableRepository}.
+ */
+public interface TimetableSubjectView {
+
+    Long getSubjectId();
+
+    String getSubjectName();
+
+    Long getClassId();
+
+    String getGradeLevel();
+
+    String getSection();
+
+    Long getFacultyId();
+
+    String getFacultyFirstName();
+
+    String getFacultyLastName();
+
+    /** Null uses the configured default. */
+    Integer getPeriodsPerWeek();
+}
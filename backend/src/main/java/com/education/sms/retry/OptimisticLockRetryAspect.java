@@ -0,0 +1,84 @@
+package com.education.sms.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implements {@link RetryOnOptimisticLock}.
+ *
+ * Ordered just before the transaction interceptor so every attempt runs in a
+ * fresh transaction: the version conflict usually only surfaces when that
+ * transaction flushes on commit. When the method joins a transaction that is
+ * already open there is nothing to retry in isolation, so the conflict is left
+ * to the caller.
+ *
+ * Conflicts are counted in sms.optimistic.lock.conflicts, tagged by operation
+ * and outcome (retried, recovered, exhausted), which shows where contention
+ * is high enough to need a different design.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticLockRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        long backoff = retry.backoffMs();
+        for (int attempt = 1;; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    record(operation, "recovered");
+                }
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    record(operation, "exhausted");
+                    throw e;
+                }
+                record(operation, "retried");
+                log.debug("Optimistic lock conflict in {} (attempt {}), retrying", operation, attempt);
+                try {
+                    // Jitter so the racing callers do not collide again in lockstep
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(backoff * 2, retry.maxBackoffMs());
+            }
+        }
+    }
+
+    private void record(String operation, String outcome) {
+        Counter.builder("sms.optimistic.lock.conflicts")
+                .description("Optimistic lock conflicts in @RetryOnOptimisticLock methods")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
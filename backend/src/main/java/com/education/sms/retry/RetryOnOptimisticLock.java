@@ -0,0 +1,32 @@
+package com.education.sms.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a @Transactional service method when its commit loses an optimistic
+ * lock race (a @Version check failed), with a short randomised backoff.
+ *
+ * Only put this on methods that are safe to run again from scratch: the failed
+ * attempt is rolled back, so database work is never duplicated, but anything
+ * done outside the transaction before the conflict surfaced (emails, caches)
+ * would be. Each attempt re-reads the rows and re-checks its preconditions, so
+ * e.g. the second librarian approving the same request gets "only pending
+ * requests can be processed" rather than silently overwriting the first.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnOptimisticLock {
+
+    /** Total attempts, including the first one. */
+    int maxAttempts() default 3;
+
+    /** Backoff before the first retry; doubles per attempt up to {@link #maxBackoffMs()}. */
+    long backoffMs() default 20;
+
+    long maxBackoffMs() default 200;
+}
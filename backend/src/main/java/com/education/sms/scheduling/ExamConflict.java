@@ -0,0 +1,11 @@
+package com.education.sms.scheduling;
+
+/**
+ * Two exams that overlap in time for the same class or the same faculty.
+ */
+public record ExamConflict(Resource resource, Long resourceId, ExamSlot first, ExamSlot second) {
+
+    public enum Resource {
+        CLASS, FACULTY
+    }
+}
@@ -0,0 +1,146 @@
+package com.education.sms.scheduling;
+
+import com.education.sms.scheduling.ExamConflict.Resource;
+import com.education.sms.utils.IntervalTree;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory exam timetable for a term: one interval tree per class and one
+ * per faculty, so checking an exam against everything its class and faculty
+ * already sit or run is two O(log n) lookups however many exams the school has.
+ *
+ * Used both to report conflicts between stored exams and to place new ones
+ * into the first conflict-free slot. Not thread-safe; build one per request.
+ */
+public class ExamScheduler {
+
+    private final Map<Long, IntervalTree<ExamSlot>> byClass = new HashMap<>();
+    private final Map<Long, IntervalTree<ExamSlot>> byFaculty = new HashMap<>();
+
+    public ExamScheduler(Collection<ExamSlot> exams) {
+        exams.forEach(this::add);
+    }
+
+    public void add(ExamSlot exam) {
+        byClass.computeIfAbsent(exam.classId(), id -> new IntervalTree<>()).add(exam.start(), exam.end(), exam);
+        if (exam.facultyId() != null) {
+            byFaculty.computeIfAbsent(exam.facultyId(), id -> new IntervalTree<>()).add(exam.start(), exam.end(), exam);
+        }
+    }
+
+    /**
+     * Every pair of overlapping exams, once per class or faculty they share.
+     */
+    public List<ExamConflict> conflicts() {
+        List<ExamConflict> found = new ArrayList<>();
+        collect(Resource.CLASS, byClass, found);
+        collect(Resource.FACULTY, byFaculty, found);
+        return found;
+    }
+
+    /**
+     * Stored exams that would overlap {@code exam}, ignoring an exam with the same id.
+     */
+    public List<ExamConflict> conflictsWith(ExamSlot exam) {
+        List<ExamConflict> found = new ArrayList<>();
+        overlapping(Resource.CLASS, byClass, exam.classId(), exam, found);
+        overlapping(Resource.FACULTY, byFaculty, exam.facultyId(), exam, found);
+        return found;
+    }
+
+    /**
+     * Places each exam of the batch into the earliest free slot of the window
+     * and adds it to the timetable, so later exams of the batch avoid it too.
+     * Exams of the busiest faculty, then the longest exams, are placed first.
+     *
+     * @return the placed exams in the order of {@code batch}; null where no slot was free
+     */
+    public List<ExamSlot> placeAll(List<ExamSlot> batch, ExamWindow window) {
+        Map<Long, Integer> facultyLoad = new HashMap<>();
+        batch.forEach(exam -> facultyLoad.merge(exam.facultyId(), 1, Integer::sum));
+        Comparator<ExamSlot> mostConstrainedFirst = Comparator
+                .comparingInt((ExamSlot exam) -> facultyLoad.get(exam.facultyId())).reversed()
+                .thenComparing(Comparator.comparingInt(ExamSlot::durationMinutes).reversed());
+
+        ExamSlot[] placed = new ExamSlot[batch.size()];
+        IntStream.range(0, batch.size()).boxed()
+                .sorted(Comparator.comparing(batch::get, mostConstrainedFirst))
+                .forEach(i -> placed[i] = place(batch.get(i), window));
+        return Arrays.asList(placed);
+    }
+
+    /**
+     * Places one exam into the earliest free slot of the window and adds it to the timetable.
+     *
+     * @return the placed exam, or null if no slot was free
+     */
+    public ExamSlot place(ExamSlot exam, ExamWindow window) {
+        int first = window.dayStart().toSecondOfDay() / 60;
+        int last = window.dayEnd().toSecondOfDay() / 60 - exam.durationMinutes();
+        IntervalTree<ExamSlot> classExams = byClass.get(exam.classId());
+        for (LocalDate day : window.days()) {
+            long dayStart = day.toEpochDay() * ExamSlot.MINUTES_PER_DAY;
+            if (classExams != null
+                    && classExams.countOverlaps(dayStart, dayStart + ExamSlot.MINUTES_PER_DAY)
+                            >= window.maxPerClassPerDay()) {
+                continue;
+            }
+            for (int minute = first; minute <= last; minute += window.stepMinutes()) {
+                ExamSlot candidate = exam.at(day, LocalTime.ofSecondOfDay(minute * 60L));
+                if (isFree(candidate)) {
+                    add(candidate);
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isFree(ExamSlot exam) {
+        IntervalTree<ExamSlot> classExams = byClass.get(exam.classId());
+        if (classExams != null && classExams.overlapsAny(exam.start(), exam.end())) {
+            return false;
+        }
+        IntervalTree<ExamSlot> facultyExams = exam.facultyId() != null ? byFaculty.get(exam.facultyId()) : null;
+        return facultyExams == null || !facultyExams.overlapsAny(exam.start(), exam.end());
+    }
+
+    private static void collect(Resource resource, Map<Long, IntervalTree<ExamSlot>> trees, List<ExamConflict> found) {
+        trees.forEach((id, tree) -> tree.forEach(exam -> tree.forEachOverlap(exam.start(), exam.end(), other -> {
+            // Each pair is seen from both sides; report it from the earlier exam only
+            if (precedes(exam, other)) {
+                found.add(new ExamConflict(resource, id, exam, other));
+            }
+        })));
+    }
+
+    private static void overlapping(Resource resource, Map<Long, IntervalTree<ExamSlot>> trees, Long id,
+            ExamSlot exam, List<ExamConflict> found) {
+        IntervalTree<ExamSlot> tree = id != null ? trees.get(id) : null;
+        if (tree == null) {
+            return;
+        }
+        tree.forEachOverlap(exam.start(), exam.end(), other -> {
+            if (exam.examId() == null || !exam.examId().equals(other.examId())) {
+                found.add(new ExamConflict(resource, id, other, exam));
+            }
+        });
+    }
+
+    private static boolean precedes(ExamSlot a, ExamSlot b) {
+        if (a.start() != b.start()) {
+            return a.start() < b.start();
+        }
+        return a.examId() != null && b.examId() != null && a.examId() < b.examId();
+    }
+}
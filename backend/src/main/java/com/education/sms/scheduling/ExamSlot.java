@@ -0,0 +1,40 @@
+package com.education.sms.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * An exam placed in time for the class sitting it and the faculty running it.
+ * An exam without a start time (created before exams had one) blocks its
+ * whole day.
+ *
+ * @param examId   null for an exam that is only being proposed
+ * @param facultyId null if the course has no faculty assigned
+ */
+public record ExamSlot(
+        Long examId,
+        String examName,
+        Long classId,
+        Long facultyId,
+        LocalDate date,
+        LocalTime startTime,
+        Integer durationMinutes) {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Minutes since the epoch at which the exam starts. */
+    public long start() {
+        return date.toEpochDay() * MINUTES_PER_DAY + (startTime != null ? startTime.toSecondOfDay() / 60 : 0);
+    }
+
+    /** Minutes since the epoch at which the exam ends (exclusive). */
+    public long end() {
+        return startTime != null && durationMinutes != null
+                ? start() + durationMinutes
+                : (date.toEpochDay() + 1) * MINUTES_PER_DAY;
+    }
+
+    public ExamSlot at(LocalDate date, LocalTime startTime) {
+        return new ExamSlot(examId, examName, classId, facultyId, date, startTime, durationMinutes);
+    }
+}
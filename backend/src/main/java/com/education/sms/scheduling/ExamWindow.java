@@ -0,0 +1,18 @@
+package com.education.sms.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Where {@link ExamScheduler#place} may put an exam: the candidate days in
+ * order of preference, the hours of the school day, the start time grid and
+ * how many exams a class may sit on one day.
+ */
+public record ExamWindow(
+        List<LocalDate> days,
+        LocalTime dayStart,
+        LocalTime dayEnd,
+        int stepMinutes,
+        int maxPerClassPerDay) {
+}
@@ -0,0 +1,36 @@
+package com.education.sms.scheduling;
+
+/**
+ * The teaching week: {@code days} days from Monday with {@code periodsPerDay}
+ * periods each. The solver numbers the periods of the week 0 .. slots()-1,
+ * day by day.
+ */
+public record TimetableGrid(int days, int periodsPerDay) {
+
+    public TimetableGrid {
+        if (days < 1 || days > 7 || periodsPerDay < 1) {
+            throw new IllegalArgumentException("Invalid timetable grid: " + days + " days of " + periodsPerDay + " periods");
+        }
+    }
+
+    public int slots() {
+        return days * periodsPerDay;
+    }
+
+    /** Slot of a period; {@code dayOfWeek} is ISO (1 = Monday), {@code period} counts from 1. */
+    public int slot(int dayOfWeek, int period) {
+        return (dayOfWeek - 1) * periodsPerDay + period - 1;
+    }
+
+    public int dayOfWeek(int slot) {
+        return slot / periodsPerDay + 1;
+    }
+
+    public int period(int slot) {
+        return slot % periodsPerDay + 1;
+    }
+
+    public boolean contains(int dayOfWeek, int period) {
+        return dayOfWeek >= 1 && dayOfWeek <= days && period >= 1 && period <= periodsPerDay;
+    }
+}
@@ -0,0 +1,8 @@
+package com.education.sms.scheduling;
+
+/**
+ * One period of a subject placed in the week. {@code dayOfWeek} is ISO
+ * (1 = Monday) and {@code period} counts from 1.
+ */
+public record TimetableLesson(Long subjectId, Long classId, Long facultyId, int dayOfWeek, int period) {
+}
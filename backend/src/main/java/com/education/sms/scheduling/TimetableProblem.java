@@ -0,0 +1,18 @@
+package com.education.sms.scheduling;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Input of the {@link TimetableSolver}.
+ *
+ * @param blockedSlots per faculty id, the slots of {@code grid} in which that
+ *                     faculty cannot teach (unavailable, or teaching a class
+ *                     outside this problem)
+ */
+public record TimetableProblem(
+        TimetableGrid grid,
+        List<TimetableRequirement> requirements,
+        Map<Long, Set<Integer>> blockedSlots) {
+}
@@ -0,0 +1,9 @@
+package com.education.sms.scheduling;
+
+/**
+ * A subject to be taught to its class {@code periodsPerWeek} times a week.
+ *
+ * @param facultyId null if the subject has no faculty assigned
+ */
+public record TimetableRequirement(Long subjectId, Long classId, Long facultyId, int periodsPerWeek) {
+}
@@ -0,0 +1,19 @@
+package com.education.sms.scheduling;
+
+import java.util.List;
+
+/**
+ * A complete weekly timetable and what is wrong with it.
+ *
+ * @param hardViolations lessons clashing with another lesson of the same class
+ *                       or faculty, or placed in a blocked slot of their faculty
+ * @param softPenalty    lessons of a subject beyond an even spread over the
+ *                       week, e.g. a second Maths period on one day when the
+ *                       subject has five periods in a five-day week
+ */
+public record TimetableSolution(int hardViolations, int softPenalty, List<TimetableLesson> lessons) {
+
+    public boolean feasible() {
+        return hardViolations == 0;
+    }
+}
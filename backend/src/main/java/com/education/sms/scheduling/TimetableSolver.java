@@ -0,0 +1,420 @@
+package com.education.sms.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Weekly timetable solver: puts every period of every subject into a slot of
+ * the week so that no class or faculty is in two places at once and no
+ * faculty teaches in a blocked slot, then spreads each subject over the days.
+ *
+ * Each worker thread builds a greedy timetable and improves it by late
+ * acceptance hill climbing, moving a lesson to another slot or swapping two
+ * lessons of a class. Moves are scored from per-slot counters, so a step costs
+ * the same however large the school. Workers publish improvements to a shared
+ * best timetable, and a worker that stops improving restarts from it. The
+ * search ends at the time budget, on {@link #stop()}, or as soon as a
+ * timetable without any violation is found; {@link #best()} can be read at
+ * any time.
+ */
+public class TimetableSolver {
+
+    // One hard violation outweighs any number of soft ones
+    private static final long HARD = 1L << 32;
+    private static final int HISTORY_LENGTH = 1_000;
+    // Iterations between looks at the clock and the shared best
+    private static final int CHECK_INTERVAL = 1 << 12;
+    // Checks without a local improvement before going back to the shared best
+    private static final int STALE_CHECKS = 64;
+    private static final int PICK_TRIES = 32;
+
+    private final TimetableGrid grid;
+    private final List<TimetableRequirement> requirements;
+    private final int slots;
+    private final int lessons;
+    private final int classCount;
+    private final int facultyCount;
+    private final int[] lessonRequirement;
+    private final int[] lessonClass;
+    private final int[] lessonFaculty; // -1 without a faculty
+    private final int[] maxPerDay; // per requirement
+    private final boolean[] blocked; // faculty * slots
+    private final int[][] classLessons;
+    private final int[] constructionOrder;
+
+    private final AtomicReference<Snapshot> best = new AtomicReference<>();
+    private volatile boolean stopped;
+
+    public TimetableSolver(TimetableProblem problem) {
+        this.grid = problem.grid();
+        this.requirements = List.copyOf(problem.requirements());
+        this.slots = grid.slots();
+
+        Map<Long, Integer> classIndex = new HashMap<>();
+        Map<Long, Integer> facultyIndex = new HashMap<>();
+        int total = 0;
+        for (TimetableRequirement requirement : requirements) {
+            if (requirement.periodsPerWeek() < 0) {
+                throw new IllegalArgumentException("Negative periods per week for subject " + requirement.subjectId());
+            }
+            classIndex.putIfAbsent(requirement.classId(), classIndex.size());
+            if (requirement.facultyId() != null) {
+                facultyIndex.putIfAbsent(requirement.facultyId(), facultyIndex.size());
+            }
+            total += requirement.periodsPerWeek();
+        }
+        this.lessons = total;
+        this.classCount = classIndex.size();
+        this.facultyCount = facultyIndex.size();
+
+        lessonRequirement = new int[lessons];
+        lessonClass = new int[lessons];
+        lessonFaculty = new int[lessons];
+        maxPerDay = new int[requirements.size()];
+        int[] classSizes = new int[classCount];
+        int[] facultyDemand = new int[facultyCount];
+        int lesson = 0;
+        for (int r = 0; r < requirements.size(); r++) {
+            TimetableRequirement requirement = requirements.get(r);
+            maxPerDay[r] = (requirement.periodsPerWeek() + grid.days() - 1) / grid.days();
+            for (int i = 0; i < requirement.periodsPerWeek(); i++, lesson++) {
+                lessonRequirement[lesson] = r;
+                lessonClass[lesson] = classIndex.get(requirement.classId());
+                lessonFaculty[lesson] = requirement.facultyId() != null ? facultyIndex.get(requirement.facultyId()) : -1;
+                classSizes[lessonClass[lesson]]++;
+                if (lessonFaculty[lesson] >= 0) {
+                    facultyDemand[lessonFaculty[lesson]]++;
+                }
+            }
+        }
+
+        blocked = new boolean[facultyCount * slots];
+        problem.blockedSlots().forEach((facultyId, blockedSlots) -> {
+            Integer f = facultyIndex.get(facultyId);
+            if (f != null) {
+                for (int slot : blockedSlots) {
+                    if (slot >= 0 && slot < slots && !blocked[f * slots + slot]) {
+                        blocked[f * slots + slot] = true;
+                        facultyDemand[f]++;
+                    }
+                }
+            }
+        });
+
+        classLessons = new int[classCount][];
+        for (int c = 0; c < classCount; c++) {
+            classLessons[c] = new int[classSizes[c]];
+        }
+        int[] filled = new int[classCount];
+        for (int l = 0; l < lessons; l++) {
+            classLessons[lessonClass[l]][filled[lessonClass[l]]++] = l;
+        }
+
+        // Lessons of the busiest faculty first, they have the fewest places to go
+        constructionOrder = IntStream.range(0, lessons).boxed()
+                .sorted(Comparator.comparingInt((Integer l) -> lessonFaculty[l] >= 0 ? -facultyDemand[lessonFaculty[l]] : 0))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Searches with {@code threads} worker threads until the budget runs out, the
+     * solver is stopped or a timetable without violations is found.
+     *
+     * @return the best timetable found
+     */
+    public TimetableSolution solve(Duration budget, int threads) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        SplittableRandom seeds = new SplittableRandom();
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("timetable-", 1).daemon(true).factory())) {
+            List<Future<?>> running = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Search search = new Search(seeds.split());
+                running.add(workers.submit(() -> search.run(deadline)));
+            }
+            try {
+                for (Future<?> worker : running) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                stopped = true;
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                stopped = true;
+                throw new IllegalStateException("Timetable search failed", e.getCause());
+            }
+        }
+        return best();
+    }
+
+    /**
+     * Ends a running {@link #solve} early; it returns the best timetable found so far.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * The best timetable found so far, or null before the first one is built.
+     */
+    public TimetableSolution best() {
+        Snapshot snapshot = best.get();
+        if (snapshot == null) {
+            return null;
+        }
+        List<TimetableLesson> placed = new ArrayList<>(lessons);
+        for (int l = 0; l < lessons; l++) {
+            TimetableRequirement requirement = requirements.get(lessonRequirement[l]);
+            int slot = snapshot.slotOf()[l];
+            placed.add(new TimetableLesson(requirement.subjectId(), requirement.classId(), requirement.facultyId(),
+                    grid.dayOfWeek(slot), grid.period(slot)));
+        }
+        placed.sort(Comparator.comparing(TimetableLesson::classId)
+                .thenComparingInt(TimetableLesson::dayOfWeek)
+                .thenComparingInt(TimetableLesson::period));
+        return new TimetableSolution((int) (snapshot.score() / HARD), (int) (snapshot.score() % HARD), placed);
+    }
+
+    public int lessonCount() {
+        return lessons;
+    }
+
+    private long bestScore() {
+        Snapshot snapshot = best.get();
+        return snapshot != null ? snapshot.score() : Long.MAX_VALUE;
+    }
+
+    private record Snapshot(long score, int[] slotOf) {
+    }
+
+    /**
+     * One worker's timetable. The score is hard violations * HARD + soft
+     * penalty, kept up to date by assign and unassign.
+     */
+    private final class Search {
+
+        private final SplittableRandom random;
+        private final int[] slotOf = new int[lessons];
+        private final int[] classLoad = new int[classCount * slots];
+        private final int[] facultyLoad = new int[facultyCount * slots];
+        private final int[] subjectDayLoad = new int[requirements.size() * grid.days()];
+        private long score;
+
+        // The last move, for undoMove: lesson moved from -> to, and the lesson swapped the other way or -1
+        private int movedLesson;
+        private int movedFrom;
+        private int movedTo;
+        private int swappedLesson;
+
+        Search(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void run(long deadline) {
+            construct();
+            publish();
+            if (lessons == 0 || slots < 2) {
+                return;
+            }
+            long[] history = new long[HISTORY_LENGTH];
+            Arrays.fill(history, score);
+            long localBest = score;
+            int staleChecks = 0;
+            for (long iteration = 0; ; iteration++) {
+                if ((iteration & (CHECK_INTERVAL - 1)) == 0) {
+                    if (stopped || bestScore() == 0 || System.nanoTime() >= deadline) {
+                        return;
+                    }
+                    // Wandered off without finding anything better: go back to the best timetable so far
+                    Snapshot shared = best.get();
+                    if (++staleChecks >= STALE_CHECKS && shared.score() < score) {
+                        adopt(shared);
+                        localBest = score;
+                        Arrays.fill(history, score);
+                        staleChecks = 0;
+                    }
+                }
+
+                long before = score;
+                int h = (int) (iteration % HISTORY_LENGTH);
+                if (tryMove() && score > before && score > history[h]) {
+                    undoMove();
+                    score = before;
+                }
+                if (score < localBest) {
+                    localBest = score;
+                    staleChecks = 0;
+                    if (score < bestScore()) {
+                        publish();
+                    }
+                }
+                history[h] = score;
+            }
+        }
+
+        /**
+         * Moves a lesson to another slot or swaps two lessons of a class.
+         *
+         * @return false if nothing changed
+         */
+        private boolean tryMove() {
+            int l = pickLesson();
+            int from = slotOf[l];
+            int[] mates = classLessons[lessonClass[l]];
+            if (mates.length > 1 && random.nextBoolean()) {
+                int m = mates[random.nextInt(mates.length)];
+                int to = slotOf[m];
+                if (to == from) {
+                    return false;
+                }
+                score += unassign(l) + unassign(m) + assign(l, to) + assign(m, from);
+                swappedLesson = m;
+            } else {
+                int to = random.nextInt(slots - 1);
+                if (to >= from) {
+                    to++;
+                }
+                score += unassign(l) + assign(l, to);
+                swappedLesson = -1;
+            }
+            movedLesson = l;
+            movedFrom = from;
+            movedTo = slotOf[l];
+            return true;
+        }
+
+        private void undoMove() {
+            unassign(movedLesson);
+            if (swappedLesson >= 0) {
+                unassign(swappedLesson);
+                assign(swappedLesson, movedTo);
+            }
+            assign(movedLesson, movedFrom);
+        }
+
+        /**
+         * A random lesson, preferring one that takes part in a violation.
+         */
+        private int pickLesson() {
+            int l = random.nextInt(lessons);
+            for (int tries = 1; score > 0 && tries < PICK_TRIES && !inViolation(l); tries++) {
+                l = random.nextInt(lessons);
+            }
+            return l;
+        }
+
+        private boolean inViolation(int l) {
+            int slot = slotOf[l];
+            int f = lessonFaculty[l];
+            int r = lessonRequirement[l];
+            if (classLoad[lessonClass[l] * slots + slot] > 1
+                    || f >= 0 && (facultyLoad[f * slots + slot] > 1 || blocked[f * slots + slot])) {
+                return true;
+            }
+            return score < HARD && subjectDayLoad[r * grid.days() + slot / grid.periodsPerDay()] > maxPerDay[r];
+        }
+
+        /**
+         * Places the lessons one by one, each into the cheapest slot at that
+         * point, ties broken at random.
+         */
+        private void construct() {
+            for (int l : constructionOrder) {
+                int chosen = 0;
+                long cheapest = Long.MAX_VALUE;
+                int ties = 0;
+                for (int slot = 0; slot < slots; slot++) {
+                    long cost = cost(l, slot);
+                    if (cost < cheapest) {
+                        cheapest = cost;
+                        chosen = slot;
+                        ties = 1;
+                    } else if (cost == cheapest && random.nextInt(++ties) == 0) {
+                        chosen = slot;
+                    }
+                }
+                score += assign(l, chosen);
+            }
+        }
+
+        private void adopt(Snapshot snapshot) {
+            Arrays.fill(classLoad, 0);
+            Arrays.fill(facultyLoad, 0);
+            Arrays.fill(subjectDayLoad, 0);
+            score = 0;
+            for (int l = 0; l < lessons; l++) {
+                score += assign(l, snapshot.slotOf()[l]);
+            }
+        }
+
+        private void publish() {
+            Snapshot mine = null;
+            for (Snapshot current = best.get(); current == null || score < current.score(); current = best.get()) {
+                if (mine == null) {
+                    mine = new Snapshot(score, slotOf.clone());
+                }
+                if (best.compareAndSet(current, mine)) {
+                    return;
+                }
+            }
+        }
+
+        /** Score change of adding lesson l to the slot, without doing it. */
+        private long cost(int l, int slot) {
+            int f = lessonFaculty[l];
+            int r = lessonRequirement[l];
+            long cost = 0;
+            if (classLoad[lessonClass[l] * slots + slot] > 0) {
+                cost += HARD;
+            }
+            if (f >= 0 && facultyLoad[f * slots + slot] > 0) {
+                cost += HARD;
+            }
+            if (f >= 0 && blocked[f * slots + slot]) {
+                cost += HARD;
+            }
+            if (subjectDayLoad[r * grid.days() + slot / grid.periodsPerDay()] >= maxPerDay[r]) {
+                cost++;
+            }
+            return cost;
+        }
+
+        /** Adds lesson l to the slot and returns the score change. */
+        private long assign(int l, int slot) {
+            long delta = cost(l, slot);
+            int f = lessonFaculty[l];
+            slotOf[l] = slot;
+            classLoad[lessonClass[l] * slots + slot]++;
+            if (f >= 0) {
+                facultyLoad[f * slots + slot]++;
+            }
+            subjectDayLoad[lessonRequirement[l] * grid.days() + slot / grid.periodsPerDay()]++;
+            return delta;
+        }
+
+        /** Takes lesson l out of its slot and returns the score change. */
+        private long unassign(int l) {
+            int slot = slotOf[l];
+            int f = lessonFaculty[l];
+            classLoad[lessonClass[l] * slots + slot]--;
+            if (f >= 0) {
+                facultyLoad[f * slots + slot]--;
+            }
+            subjectDayLoad[lessonRequirement[l] * grid.days() + slot / grid.periodsPerDay()]--;
+            return -cost(l, slot);
+        }
+    }
+}
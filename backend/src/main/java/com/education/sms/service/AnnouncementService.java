@@ -17,6 +17,8 @@ public interface AnnouncementService {
 
     List<AnnouncementResponse> getAnnouncementsForFeed(com.education.sms.entity.UserRole role);
 
+    List<AnnouncementResponse> getStudentFeed(Long classId);
+
     AnnouncementResponse getAnnouncementById(Long announcementId);
 
     void deleteAnnouncement(Long announcementId);
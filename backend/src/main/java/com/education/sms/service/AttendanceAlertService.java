@@ -0,0 +1,12 @@
+package com.education.sms.service;
+
+public interface AttendanceAlertService {
+
+    /**
+     * Re-checks the students whose attendance changed since the last run
+     * against their class threshold and alerts those who just fell below it.
+     *
+     * @return number of alerts sent
+     */
+    int checkThresholds();
+}
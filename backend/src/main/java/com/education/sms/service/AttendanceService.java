@@ -2,13 +2,47 @@ package com.education.sms.service;
 
 import com.education.sms.dto.AttendanceRequest;
 import com.education.sms.dto.AttendanceResponse;
+import com.education.sms.dto.AttendanceStats;
+import com.education.sms.dto.BulkAttendanceRequest;
+import com.education.sms.dto.ClassAttendanceRow;
 import com.education.sms.entity.Attendance;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface AttendanceService {
 
     String markAttendance(AttendanceRequest request);
-    List<AttendanceResponse> getAttendanceByStudentId(Long studentId);
-    List<AttendanceResponse> getAttendanceByStudentAndSubjectId(Long studentId, Long sujectId);
+
+    /**
+     * Marks a whole class for one subject and day: every student present
+     * except {@code absentStudentIds}. Students already marked are skipped.
+     */
+    String markBulkAttendance(BulkAttendanceRequest request);
+
+    /**
+     * @param academicYear restricts the marks to one academic year (see AcademicYear); null returns all years
+     */
+    List<AttendanceResponse> getAttendanceByStudentId(Long studentId, Integer academicYear);
+    List<AttendanceResponse> getAttendanceByStudentAndSubjectId(Long studentId, Long sujectId, Integer academicYear);
+
+    /**
+     * Totals and current present streak from the attendance bitmaps.
+     *
+     * @param subjectId one subject, or null for all of them
+     * @param from      defaults to the start of the current academic year
+     * @param to        defaults to today
+     */
+    AttendanceStats getAttendanceStats(Long studentId, Long subjectId, LocalDate from, LocalDate to);
+
+    /**
+     * Per-student totals for a class register between two dates, from the
+     * attendance bitmaps. The dates default as for {@link #getAttendanceStats}.
+     */
+    List<ClassAttendanceRow> getClassAttendance(Long classId, LocalDate from, LocalDate to);
+
+    /**
+     * Students of a class with at least one absence on the given day, with that day's totals.
+     */
+    List<ClassAttendanceRow> getClassAbsentees(Long classId, LocalDate date);
 }
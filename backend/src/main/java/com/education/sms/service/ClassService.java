@@ -3,6 +3,7 @@ package com.education.sms.service;
 import com.education.sms.dto.ClassRequest;
 import com.education.sms.dto.ClassResponse;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface ClassService {
@@ -13,4 +14,9 @@ public interface ClassService {
     ClassResponse getClassById(Long id);
 
     void assignStudentToClass(Long studentId, Long classId);
+
+    /**
+     * Sets the minimum attendance the class requires, in percent; null falls back to the default.
+     */
+    ClassResponse updateAttendanceThreshold(Long classId, BigDecimal minAttendancePercent);
 }
@@ -1,5 +1,7 @@
 package com.education.sms.service;
 
+import java.math.BigDecimal;
+
 /**
  * Service interface for sending emails
  */
@@ -32,4 +34,14 @@ public interface EmailService {
      * @param firstName User's first name
      */
     void sendPasswordChangedNotification(String to, String firstName);
+
+    /**
+     * Warn a student that their attendance for the academic year fell below the required minimum
+     *
+     * @param to         Personal email address (or the system email if none is set)
+     * @param firstName  User's first name
+     * @param percentage Current attendance in percent
+     * @param threshold  Minimum attendance required by the class, in percent
+     */
+    void sendLowAttendanceAlert(String to, String firstName, double percentage, BigDecimal threshold);
 }
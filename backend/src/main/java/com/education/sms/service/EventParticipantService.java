@@ -1,5 +1,7 @@
 package com.education.sms.service;
 
+import com.education.sms.dto.ClassEnrolmentResponse;
+import com.education.sms.dto.EventAvailabilityResponse;
 import com.education.sms.dto.EventParticipantRequest;
 import com.education.sms.dto.EventParticipantResponse;
 
@@ -7,11 +9,32 @@ import java.util.List;
 
 public interface EventParticipantService {
 
+    /**
+     * Registers a user for an event. The user gets a seat if one is left and
+     * is waitlisted otherwise; a user can only sign up once per event.
+     */
     EventParticipantResponse registerParticipant(EventParticipantRequest request);
 
     List<EventParticipantResponse> getParticipantsByEvent(Long eventId);
 
     List<EventParticipantResponse> getEventsByUser(Long userId);
 
+    /**
+     * Removes a participant; a freed seat goes to the first waitlisted user.
+     */
     void removeParticipant(Long participantId);
+
+    /**
+     * Signs up every student of a class who is not signed up yet, in student
+     * order: seats while they last, the waitlist after that.
+     */
+    ClassEnrolmentResponse enrolClass(Long eventId, Long classId, String role);
+
+    EventAvailabilityResponse getAvailability(Long eventId);
+
+    /**
+     * Changes the capacity of an event (null for unlimited). It cannot drop
+     * below the registered participants; added seats go to the waitlist first.
+     */
+    EventAvailabilityResponse updateCapacity(Long eventId, Integer capacity);
 }
@@ -1,8 +1,11 @@
 package com.education.sms.service;
 
+import com.education.sms.dto.ExamConflictResponse;
 import com.education.sms.dto.ExamRequest;
 import com.education.sms.dto.ExamResponse;
+import com.education.sms.dto.ExamScheduleRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ExamService {
@@ -16,4 +19,17 @@ public interface ExamService {
     List<ExamResponse> getExamsByClass(Long classId);
 
     ExamResponse getExamById(Long examId);
+
+    /**
+     * Every pair of exams between two dates that overlap for a class or a faculty.
+     */
+    List<ExamConflictResponse> getConflicts(LocalDate from, LocalDate to);
+
+    /**
+     * Proposes a conflict-free date and start time for each exam of the batch,
+     * around the exams already scheduled. Nothing is saved.
+     *
+     * @return one proposal per requested exam, in order; date and startTime are null where nothing fit
+     */
+    List<ExamResponse> proposeSchedule(ExamScheduleRequest request);
 }
@@ -0,0 +1,22 @@
+package com.education.sms.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * CSV exports that stream rows from a database cursor straight to the output,
+ * keeping memory use independent of the number of rows.
+ */
+public interface ExportService {
+
+    void exportStudents(OutputStream out) throws IOException;
+
+    void exportFaculty(OutputStream out) throws IOException;
+
+    void exportPayments(OutputStream out, LocalDate from, LocalDate to) throws IOException;
+
+    void exportLibraryIssues(OutputStream out, LocalDate from, LocalDate to) throws IOException;
+
+    void exportAttendance(OutputStream out, LocalDate from, LocalDate to, Long classId) throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.education.sms.service;
+
+import com.education.sms.dto.ClassFeeLedgerResponse;
+import com.education.sms.dto.PagedResponse;
+import com.education.sms.dto.StudentFeeLedgerResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface FeeLedgerService {
+
+    StudentFeeLedgerResponse getStudentLedger(Long studentId);
+
+    List<ClassFeeLedgerResponse> getClassLedgers();
+
+    ClassFeeLedgerResponse getClassLedger(Long classId);
+
+    /**
+     * Students with an outstanding balance of at least {@code minOutstanding},
+     * largest balance first. {@code classId} is optional.
+     */
+    PagedResponse<StudentFeeLedgerResponse> getDefaulters(Long classId, BigDecimal minOutstanding, Pageable pageable);
+}
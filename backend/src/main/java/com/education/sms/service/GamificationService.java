@@ -0,0 +1,45 @@
+package com.education.sms.service;
+
+import com.education.sms.dto.LeaderboardEntryResponse;
+import com.education.sms.dto.StudentPointsResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface GamificationService {
+
+    /**
+     * Points for a finalized result, by percentage of the exam's total marks.
+     * Joins the caller's transaction; awarded once per student and exam.
+     */
+    void awardForResult(Long studentId, Long examId, BigDecimal marksObtained, Integer totalMarks);
+
+    /**
+     * Points for a seat at an event (not for a place on its waitlist), if the
+     * user is a student. Awarded once per event, also if the student
+     * unregisters and signs up again.
+     */
+    void awardForEventParticipation(Long userId, Long eventId);
+
+    /**
+     * Points for returning a library book by its due date, if the borrower is a
+     * student. Awarded once per issue.
+     */
+    void awardForOnTimeReturn(Long userId, Long issueId);
+
+    /**
+     * Awards the attendance streaks reached on the given day.
+     *
+     * @return number of students awarded
+     */
+    int awardAttendanceStreaks(LocalDate day);
+
+    List<LeaderboardEntryResponse> getLeaderboard(int limit);
+
+    List<LeaderboardEntryResponse> getClassLeaderboard(Long classId, int limit);
+
+    StudentPointsResponse getStudentPoints(Long studentId);
+
+    StudentPointsResponse getStudentPointsByUser(Long userId);
+}
@@ -0,0 +1,33 @@
+package com.education.sms.service;
+
+public interface HousekeepingService {
+
+    /**
+     * Deletes password reset tokens that are expired or already used.
+     *
+     * @return number of tokens deleted
+     */
+    int purgePasswordResetTokens();
+
+    /**
+     * Creates the attendance partitions for the current and next academic year.
+     *
+     * @return number of partitions created
+     */
+    int ensureAttendancePartitions();
+
+    /**
+     * Moves academic year partitions of attendance that ended before the
+     * retention window to attendance_archive, dropping their bitmaps.
+     *
+     * @return number of partitions archived
+     */
+    int archiveAttendance();
+
+    /**
+     * Moves returned library loans older than the retention window to library_issues_archive.
+     *
+     * @return number of rows archived
+     */
+    int archiveLibraryIssues();
+}
@@ -0,0 +1,19 @@
+package com.education.sms.service;
+
+import com.education.sms.entity.User;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveUpdateService {
+
+    /**
+     * Open a Server-Sent Events stream for the given user. Announcements targeted
+     * at the user's role/class and relevant book request transitions are pushed
+     * to the returned emitter until the client disconnects or the stream times out.
+     */
+    SseEmitter subscribe(User user);
+
+    /**
+     * Number of currently open streams (all users).
+     */
+    int getActiveSubscriberCount();
+}
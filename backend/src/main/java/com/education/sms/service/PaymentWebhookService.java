@@ -0,0 +1,21 @@
+package com.education.sms.service;
+
+public interface PaymentWebhookService {
+
+    /**
+     * Verifies a Razorpay webhook and queues it for reconciliation.
+     *
+     * @return true if the event was queued, false if it was ignored (duplicate
+     *         delivery or an event type we do not reconcile)
+     */
+    boolean ingest(String payload, String signature, String gatewayEventId);
+
+    /**
+     * Applies one batch of pending webhook events to payments.
+     *
+     * @return number of events claimed in this batch
+     */
+    int reconcileBatch();
+
+    long getPendingCount();
+}
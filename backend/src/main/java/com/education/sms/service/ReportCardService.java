@@ -0,0 +1,20 @@
+package com.education.sms.service;
+
+import com.education.sms.dto.ReportCardJobRequest;
+import com.education.sms.dto.ReportCardJobResponse;
+import org.springframework.core.io.Resource;
+
+public interface ReportCardService {
+
+    /**
+     * Queues report card generation for a class and returns immediately.
+     */
+    ReportCardJobResponse startJob(ReportCardJobRequest request);
+
+    ReportCardJobResponse getJob(String jobId);
+
+    /**
+     * Output file of a completed job.
+     */
+    Resource getJobOutput(String jobId);
+}
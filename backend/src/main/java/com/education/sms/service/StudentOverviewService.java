@@ -0,0 +1,11 @@
+package com.education.sms.service;
+
+import com.education.sms.dto.StudentOverviewResponse;
+
+/**
+ * The student home screen in one call instead of one per section.
+ */
+public interface StudentOverviewService {
+
+    StudentOverviewResponse getOverview(Long userId);
+}
@@ -0,0 +1,48 @@
+package com.education.sms.service;
+
+import com.education.sms.dto.TimetableEntryResponse;
+import com.education.sms.dto.TimetableJobRequest;
+import com.education.sms.dto.TimetableJobResponse;
+import com.education.sms.dto.TimetablePeriod;
+
+import java.util.List;
+
+public interface TimetableService {
+
+    /**
+     * Queues timetable generation for the given classes (every class if none
+     * are given) and returns immediately. Only one job runs at a time.
+     */
+    TimetableJobResponse startJob(TimetableJobRequest request);
+
+    TimetableJobResponse getJob(String jobId);
+
+    /**
+     * The best timetable of a job so far; while the job runs it may still
+     * improve.
+     */
+    List<TimetableEntryResponse> getJobTimetable(String jobId);
+
+    /**
+     * Ends a running job early, keeping the best timetable found so far.
+     */
+    TimetableJobResponse stopJob(String jobId);
+
+    /**
+     * Replaces the stored timetable of the job's classes with the job's result.
+     * Only finished jobs without clashes can be applied.
+     */
+    TimetableJobResponse applyJob(String jobId);
+
+    List<TimetableEntryResponse> getClassTimetable(Long classId);
+
+    List<TimetableEntryResponse> getFacultyTimetable(Long facultyId);
+
+    List<TimetablePeriod> getUnavailablePeriods(Long facultyId);
+
+    /**
+     * Replaces the periods in which a faculty member cannot teach. Takes effect
+     * for the next generated timetable.
+     */
+    List<TimetablePeriod> setUnavailablePeriods(Long facultyId, List<TimetablePeriod> periods);
+}
@@ -1,5 +1,6 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.config.CacheConfig;
 import com.education.sms.dto.AdminUserRegistrationRequest;
 import com.education.sms.dto.AdminUserRegistrationResponse;
 import com.education.sms.entity.*;
@@ -12,6 +13,7 @@ import com.education.sms.service.AdminRegistrationService;
 import com.education.sms.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,6 +42,7 @@ public class AdminRegistrationServiceImpl implements AdminRegistrationService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = { CacheConfig.CLASS_LEDGER, CacheConfig.FEE_DEFAULTERS }, allEntries = true)
     public AdminUserRegistrationResponse registerStudent(AdminUserRegistrationRequest request) {
         log.info("Admin registering new student: {} {}", request.getFirstName(), request.getLastName());
 
@@ -49,6 +52,9 @@ public class AdminRegistrationServiceImpl implements AdminRegistrationService {
         // Generate system email: firstName.lastName.year@sms.edu.in
         String year = request.getAdditionalId() != null ? request.getAdditionalId()
                 : String.valueOf(LocalDateTime.now().getYear());
+        if (!year.matches("\\d{4}")) {
+            throw new IllegalArgumentException("Enrollment year must be a four-digit year");
+        }
         String systemEmail = generateSystemEmail(request.getFirstName(), request.getLastName(), year,
                 STUDENT_EMAIL_SUFFIX);
 
@@ -77,6 +83,7 @@ public class AdminRegistrationServiceImpl implements AdminRegistrationService {
         student.setUser(savedUser);
         student.setFirstName(request.getFirstName());
         student.setLastName(request.getLastName());
+        student.setEnrollmentYear(Integer.valueOf(year));
 
         // Assign to class if classId is provided
         if (request.getClassId() != null) {
@@ -7,6 +7,7 @@ import com.education.sms.entity.User;
 import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.AdminRequestRepository;
 import com.education.sms.repository.UserRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
 import com.education.sms.service.AdminRequestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -43,6 +44,7 @@ public class AdminRequestServiceImpl implements AdminRequestService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public AdminRequestResponse updateStatus(Long requestId, String status, String adminComments) {
         AdminRequest request = adminRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin request not found with id: " + requestId));
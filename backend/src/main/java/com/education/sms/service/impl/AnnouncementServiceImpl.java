@@ -5,15 +5,20 @@ import com.education.sms.dto.AnnouncementResponse;
 import com.education.sms.entity.Announcement;
 import com.education.sms.entity.ClassEntity;
 import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.event.AnnouncementCreatedEvent;
 import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.AnnouncementRepository;
 import com.education.sms.repository.ClassEntityRepository;
 import com.education.sms.repository.UserRepository;
 import com.education.sms.service.AnnouncementService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +29,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     private final AnnouncementRepository announcementRepository;
     private final UserRepository userRepository;
     private final ClassEntityRepository classEntityRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -46,7 +52,10 @@ public class AnnouncementServiceImpl implements AnnouncementService {
             announcementBuilder.targetRole(request.targetRole());
         }
 
-        return toResponse(announcementRepository.save(announcementBuilder.build()));
+        AnnouncementResponse response = toResponse(announcementRepository.save(announcementBuilder.build()));
+        // Pushed to live SSE subscribers once the transaction commits
+        eventPublisher.publishEvent(new AnnouncementCreatedEvent(response));
+        return response;
     }
 
     @Override
@@ -82,6 +91,23 @@ public class AnnouncementServiceImpl implements AnnouncementService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<AnnouncementResponse> getStudentFeed(Long classId) {
+        // Get general announcements for STUDENT role
+        List<AnnouncementResponse> allAnnouncements = new ArrayList<>(getAnnouncementsForFeed(UserRole.STUDENT));
+
+        // Get class-specific announcements if student is in a class
+        if (classId != null) {
+            allAnnouncements.addAll(getAnnouncementsByClass(classId));
+        }
+
+        // Sort by createdAt descending and remove duplicates
+        return allAnnouncements.stream()
+                .distinct()
+                .sorted(Comparator.comparing(AnnouncementResponse::createdAt).reversed())
+                .toList();
+    }
+
     @Override
     public AnnouncementResponse getAnnouncementById(Long announcementId) {
         Announcement announcement = announcementRepository.findById(announcementId)
@@ -0,0 +1,108 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.repository.AttendanceAlertView;
+import com.education.sms.repository.AttendanceRepository;
+import com.education.sms.service.AttendanceAlertService;
+import com.education.sms.service.EmailService;
+import com.education.sms.utils.AcademicYear;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily low-attendance alerts.
+ *
+ * Every mark adds to the student's running totals in attendance_rollups and
+ * flags the row dirty (see AttendanceRepository#recordRollups), so a run only
+ * reads the students marked since the previous run, never the attendance
+ * history. Each dirty row is compared with its class threshold
+ * (class_entities.min_attendance_percent, or the default) and an email goes
+ * out when a student crosses below it; below_threshold keeps a student from
+ * being alerted again until they have recovered. Outcomes are counted as
+ * sms.attendance.alerts.
+ */
+@Service
+@Slf4j
+public class AttendanceAlertServiceImpl implements AttendanceAlertService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.attendance.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.attendance.alerts.default-threshold-percent:75}")
+    private BigDecimal defaultThreshold;
+
+    @Value("${app.attendance.alerts.min-classes:20}")
+    private int minClasses;
+
+    @Value("${app.attendance.alerts.batch-size:500}")
+    private int batchSize;
+
+    public AttendanceAlertServiceImpl(AttendanceRepository attendanceRepository,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.attendanceRepository = attendanceRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int checkThresholds() {
+        int academicYear = AcademicYear.of(LocalDate.now());
+        transactionTemplate.execute(tx -> attendanceRepository.clearDirtyRollupsOutside(academicYear));
+
+        int alerts = 0;
+        List<AttendanceAlertView> batch;
+        do {
+            batch = transactionTemplate.execute(tx ->
+                    attendanceRepository.evaluateDirtyRollups(academicYear, defaultThreshold, minClasses, batchSize));
+            // Sent after the batch commits, so a rolled back batch never leaves an alert behind
+            for (AttendanceAlertView student : batch) {
+                if (student.getBelow() && !student.getWasBelow()) {
+                    double percentage = Math.round(student.getPresentClasses() * 1000.0
+                            / student.getTotalClasses()) / 10.0;
+                    emailService.sendLowAttendanceAlert(student.getEmail(), student.getFirstName(), percentage,
+                            student.getThreshold());
+                    count("alerted");
+                    alerts++;
+                } else if (!student.getBelow() && student.getWasBelow()) {
+                    count("recovered");
+                }
+            }
+        } while (batch.size() == batchSize);
+
+        if (alerts > 0) {
+            log.info("Low attendance alerts sent: {}", alerts);
+        }
+        return alerts;
+    }
+
+    @Scheduled(cron = "${app.attendance.alerts.cron:0 0 18 * * *}")
+    public void runAlerts() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            checkThresholds();
+        } catch (RuntimeException e) {
+            log.error("Low attendance alert run failed", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("sms.attendance.alerts", "outcome", outcome).increment();
+    }
+}
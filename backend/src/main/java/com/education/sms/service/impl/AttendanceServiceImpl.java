@@ -2,20 +2,33 @@ package com.education.sms.service.impl;
 
 import com.education.sms.dto.AttendanceRequest;
 import com.education.sms.dto.AttendanceResponse;
+import com.education.sms.dto.AttendanceStats;
+import com.education.sms.dto.BulkAttendanceRequest;
+import com.education.sms.dto.ClassAttendanceRow;
 import com.education.sms.entity.Attendance;
 import com.education.sms.entity.Student;
 import com.education.sms.entity.Subject;
 import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.AttendanceBitmapView;
 import com.education.sms.repository.AttendanceRepository;
 import com.education.sms.repository.StudentRepository;
 import com.education.sms.repository.SubjectRepository;
 import com.education.sms.service.AttendanceService;
+import com.education.sms.utils.AcademicYear;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -51,13 +64,57 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .isPresent(request.isPresent())
                 .build();
 
-        attendanceRepository.save(attendance);
+        attendanceRepository.saveAndFlush(attendance);
+        recordDerived(subject.getId(), request.date(), List.of(student.getStudentId()));
         return "Attendance marked successfully";
     }
 
     @Override
-    public List<AttendanceResponse> getAttendanceByStudentId(Long studentId) {
-        List<Attendance> attendanceList = attendanceRepository.findByStudentStudentId(studentId);
+    @Transactional
+    public String markBulkAttendance(BulkAttendanceRequest request) {
+        Subject subject = subjectRepository.findById(request.subjectId())
+                .orElseThrow(() -> new ResourceNotFoundException("Subject not found"));
+        List<Student> students = studentRepository.findByClassEntityId(subject.getClassEntity().getId());
+
+        Set<Long> absent = request.absentStudentIds() != null ? request.absentStudentIds() : Set.of();
+        Set<Long> inClass = students.stream().map(Student::getStudentId).collect(Collectors.toSet());
+        if (!inClass.containsAll(absent)) {
+            throw new IllegalArgumentException("Absent students must belong to the class where this subject is taught.");
+        }
+
+        // Students already marked for this subject and day keep their mark
+        Set<Long> marked = new HashSet<>(attendanceRepository.findMarkedStudentIds(subject.getId(), request.date()));
+        List<Attendance> register = students.stream()
+                .filter(student -> !marked.contains(student.getStudentId()))
+                .map(student -> Attendance.builder()
+                        .student(student)
+                        .subject(subject)
+                        .date(request.date())
+                        .isPresent(!absent.contains(student.getStudentId()))
+                        .build())
+                .toList();
+        if (register.isEmpty()) {
+            return "Attendance already marked for this date.";
+        }
+
+        attendanceRepository.saveAllAndFlush(register);
+        recordDerived(subject.getId(), request.date(),
+                register.stream().map(attendance -> attendance.getStudent().getStudentId()).toList());
+        return "Attendance marked for " + register.size() + " students";
+    }
+
+    // Bitmaps and running totals are derived from the day's flushed rows in the same transaction
+    private void recordDerived(Long subjectId, LocalDate date, List<Long> studentIds) {
+        attendanceRepository.recordBitmaps(subjectId, date, studentIds);
+        attendanceRepository.recordRollups(subjectId, date, AcademicYear.of(date), studentIds);
+    }
+
+    @Override
+    public List<AttendanceResponse> getAttendanceByStudentId(Long studentId, Integer academicYear) {
+        List<Attendance> attendanceList = academicYear == null
+                ? attendanceRepository.findByStudentStudentId(studentId)
+                : attendanceRepository.findByStudentStudentIdAndDateBetween(studentId,
+                        AcademicYear.start(academicYear), AcademicYear.end(academicYear));
         return attendanceList.stream()
                 .map(attendance -> new AttendanceResponse(
                         attendance.getId(),
@@ -70,10 +127,13 @@ public class AttendanceServiceImpl implements AttendanceService {
     }
 
     @Override
-    public List<AttendanceResponse> getAttendanceByStudentAndSubjectId(Long studentId, Long  subjectId) {
+    public List<AttendanceResponse> getAttendanceByStudentAndSubjectId(Long studentId, Long  subjectId,
+            Integer academicYear) {
         // FIX: Call the method with the underscore
-        List<Attendance> attendanceList =
-                attendanceRepository.findByStudentStudentIdAndSubjectId(studentId, subjectId);
+        List<Attendance> attendanceList = academicYear == null
+                ? attendanceRepository.findByStudentStudentIdAndSubjectId(studentId, subjectId)
+                : attendanceRepository.findByStudentStudentIdAndSubjectIdAndDateBetween(studentId, subjectId,
+                        AcademicYear.start(academicYear), AcademicYear.end(academicYear));
 
         return attendanceList.stream()
                 .map(attendance -> new AttendanceResponse(
@@ -85,4 +145,93 @@ public class AttendanceServiceImpl implements AttendanceService {
                 ))
                 .toList();
     }
-}
\ No newline at end of file
+
+    @Override
+    public AttendanceStats getAttendanceStats(Long studentId, Long subjectId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : AcademicYear.startOf(end);
+        checkRange(start, end);
+
+        // Per month: days with any mark, and days with at least one absence
+        Map<LocalDate, int[]> days = new TreeMap<>(Comparator.reverseOrder());
+        long total = 0;
+        long present = 0;
+        for (AttendanceBitmapView bitmap : attendanceRepository.findBitmapsByStudent(studentId, subjectId,
+                start.withDayOfMonth(1), end.withDayOfMonth(1))) {
+            int range = rangeMask(bitmap.getMonth(), start, end);
+            int marked = bitmap.getMarkedMask() & range;
+            int presentDays = bitmap.getPresentMask() & marked;
+            total += Integer.bitCount(marked);
+            present += Integer.bitCount(presentDays);
+            int[] month = days.computeIfAbsent(bitmap.getMonth(), m -> new int[2]);
+            month[0] |= marked;
+            month[1] |= marked & ~presentDays;
+        }
+
+        // Walk back from the latest month; the streak ends at the latest day with an absence
+        int streak = 0;
+        for (int[] month : days.values()) {
+            int absent = month[1];
+            int presentOnly = month[0] & ~absent;
+            if (absent != 0) {
+                int latestAbsence = 31 - Integer.numberOfLeadingZeros(absent);
+                streak += Integer.bitCount(presentOnly >>> latestAbsence);
+                break;
+            }
+            streak += Integer.bitCount(presentOnly);
+        }
+        return new AttendanceStats(studentId, subjectId, start, end, total, present, percentage(present, total),
+                streak);
+    }
+
+    @Override
+    public List<ClassAttendanceRow> getClassAttendance(Long classId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : AcademicYear.startOf(end);
+        checkRange(start, end);
+        Map<Long, long[]> totals = new LinkedHashMap<>();
+        Map<Long, AttendanceBitmapView> students = new LinkedHashMap<>();
+        for (AttendanceBitmapView bitmap : attendanceRepository.findBitmapsByClass(classId,
+                start.withDayOfMonth(1), end.withDayOfMonth(1))) {
+            students.putIfAbsent(bitmap.getStudentId(), bitmap);
+            long[] counts = totals.computeIfAbsent(bitmap.getStudentId(), id -> new long[2]);
+            if (bitmap.getMonth() != null) {
+                int marked = bitmap.getMarkedMask() & rangeMask(bitmap.getMonth(), start, end);
+                counts[0] += Integer.bitCount(marked);
+                counts[1] += Integer.bitCount(bitmap.getPresentMask() & marked);
+            }
+        }
+        return students.values().stream()
+                .map(s -> {
+                    long[] counts = totals.get(s.getStudentId());
+                    return new ClassAttendanceRow(s.getStudentId(), s.getRegistrationNumber(), s.getFirstName(),
+                            s.getLastName(), counts[0], counts[1], percentage(counts[1], counts[0]));
+                })
+                .toList();
+    }
+
+    @Override
+    public List<ClassAttendanceRow> getClassAbsentees(Long classId, LocalDate date) {
+        return getClassAttendance(classId, date, date).stream()
+                .filter(row -> row.presentClasses() < row.totalClasses())
+                .toList();
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    // Bits of the days of month that fall between from and to (inclusive)
+    private static int rangeMask(LocalDate month, LocalDate from, LocalDate to) {
+        int first = month.isAfter(from) ? 1 : from.getDayOfMonth();
+        int last = month.withDayOfMonth(month.lengthOfMonth()).isBefore(to) ? 31 : to.getDayOfMonth();
+        // 1 << 31 overflows to Integer.MIN_VALUE, and MIN_VALUE - 1 is still the right 31-bit mask
+        return ((1 << last) - 1) & -(1 << (first - 1));
+    }
+
+    private static double percentage(long present, long total) {
+        return total == 0 ? 0.0 : Math.round(present * 1000.0 / total) / 10.0;
+    }
+}
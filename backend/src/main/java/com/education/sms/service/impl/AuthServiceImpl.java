@@ -5,6 +5,7 @@ import com.education.sms.entity.*;
 import com.education.sms.repository.FacultyRepository;
 import com.education.sms.repository.StudentRepository;
 import com.education.sms.repository.UserRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
 import com.education.sms.service.AuthService;
 import com.education.sms.utils.JwtUtil;
 
@@ -75,6 +76,9 @@ public class AuthServiceImpl implements AuthService {
                 student.setUser(savedUser);
                 student.setFirstName(request.getFirstName());
                 student.setLastName(request.getLastName());
+                // The email has passed STUDENT_EMAIL_REGEX, so the part before '@' ends in .YYYY
+                String localPart = email.substring(0, email.indexOf('@'));
+                student.setEnrollmentYear(Integer.valueOf(localPart.substring(localPart.lastIndexOf('.') + 1)));
                 studentRepository.save(student);
             }
 
@@ -116,6 +120,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public void logout(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
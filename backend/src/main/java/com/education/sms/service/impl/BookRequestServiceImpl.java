@@ -8,13 +8,16 @@ import com.education.sms.entity.Book;
 import com.education.sms.entity.BookRequest;
 import com.education.sms.entity.Student;
 import com.education.sms.entity.User;
+import com.education.sms.event.BookRequestStatusChangedEvent;
 import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.BookRepository;
 import com.education.sms.repository.BookRequestRepository;
 import com.education.sms.repository.StudentRepository;
 import com.education.sms.repository.UserRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
 import com.education.sms.service.BookRequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,6 +34,7 @@ public class BookRequestServiceImpl implements BookRequestService {
     private final StudentRepository studentRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookRequestResponse createRequest(BookRequestCreateDTO request) {
@@ -60,10 +64,11 @@ public class BookRequestServiceImpl implements BookRequestService {
                 .build();
 
         BookRequest saved = bookRequestRepository.save(bookRequest);
-        return mapToResponse(saved);
+        return publishStatusChange(mapToResponse(saved));
     }
 
     @Override
+    @RetryOnOptimisticLock
     public BookRequestResponse processRequest(BookRequestActionDTO action, Long librarianUserId) {
         BookRequest bookRequest = bookRequestRepository.findById(action.requestId())
                 .orElseThrow(
@@ -101,7 +106,7 @@ public class BookRequestServiceImpl implements BookRequestService {
         }
 
         BookRequest saved = bookRequestRepository.save(bookRequest);
-        return mapToResponse(saved);
+        return publishStatusChange(mapToResponse(saved));
     }
 
     @Override
@@ -134,6 +139,7 @@ public class BookRequestServiceImpl implements BookRequestService {
     }
 
     @Override
+    @RetryOnOptimisticLock
     public BookRequestResponse cancelRequest(Long requestId, Long studentId) {
         BookRequest bookRequest = bookRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Book request not found with id: " + requestId));
@@ -148,7 +154,13 @@ public class BookRequestServiceImpl implements BookRequestService {
 
         bookRequest.setStatus("CANCELLED");
         BookRequest saved = bookRequestRepository.save(bookRequest);
-        return mapToResponse(saved);
+        return publishStatusChange(mapToResponse(saved));
+    }
+
+    private BookRequestResponse publishStatusChange(BookRequestResponse response) {
+        // Pushed to live SSE subscribers (librarians + owning student) after commit
+        eventPublisher.publishEvent(new BookRequestStatusChangedEvent(response));
+        return response;
     }
 
     private BookRequestResponse mapToResponse(BookRequest br) {
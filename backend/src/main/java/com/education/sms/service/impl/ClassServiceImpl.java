@@ -1,5 +1,6 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.config.CacheConfig;
 import com.education.sms.dto.ClassRequest;
 import com.education.sms.dto.ClassResponse;
 import com.education.sms.entity.ClassEntity;
@@ -10,8 +11,10 @@ import com.education.sms.repository.StudentRepository;
 import com.education.sms.service.ClassService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +40,7 @@ public class ClassServiceImpl implements ClassService {
                 .gradeLevel(request.gradeLevel())
                 .section(request.section())
                 .academicYear(request.academicYear())
+                .minAttendancePercent(request.minAttendancePercent())
                 .build();
 
         // 3. Save to DB
@@ -59,6 +63,8 @@ public class ClassServiceImpl implements ClassService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true)
     public void assignStudentToClass(Long studentId, Long classId) {
         // 1. Fetch Student
         Student student = studentRepository.findById(studentId)
@@ -76,12 +82,22 @@ public class ClassServiceImpl implements ClassService {
         studentRepository.save(student);
     }
 
+    @Override
+    @Transactional
+    public ClassResponse updateAttendanceThreshold(Long classId, BigDecimal minAttendancePercent) {
+        ClassEntity classEntity = classEntityRepository.findById(classId)
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + classId));
+        classEntity.setMinAttendancePercent(minAttendancePercent);
+        return toResponse(classEntityRepository.save(classEntity));
+    }
+
     private ClassResponse toResponse(ClassEntity entity) {
         return new ClassResponse(
                 entity.getId(),
                 entity.getGradeLevel(),
                 entity.getSection(),
                 entity.getAddress(),
-                entity.getAcademicYear());
+                entity.getAcademicYear(),
+                entity.getMinAttendancePercent());
     }
 }
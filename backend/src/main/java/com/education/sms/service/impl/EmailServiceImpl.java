@@ -1,24 +1,36 @@
 package com.education.sms.service.impl;
 
 import com.education.sms.service.EmailService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final AsyncTaskExecutor taskExecutor;
+
+    // Emails submitted to the async executor that have not finished sending,
+    // counted from submission so queued work shows up. With virtual threads
+    // there is no executor queue, so this is the backlog of SMTP work.
+    private final AtomicInteger pending = new AtomicInteger();
 
     @Value("${spring.mail.username:noreply@sms.edu.in}")
     private String fromEmail;
@@ -26,10 +38,51 @@ public class EmailServiceImpl implements EmailService {
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
+    public EmailServiceImpl(JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("sms.email.pending", pending, AtomicInteger::get)
+                .description("Emails accepted for sending that have not finished yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands a send to the async executor. The pending count goes up here, on the
+     * caller's thread, and down when the send finishes.
+     */
+    private void submit(String description, Runnable send) {
+        pending.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    send.run();
+                } catch (RuntimeException e) {
+                    log.error("Sending {} failed", description, e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
     @Override
-    @Async
     public void sendCredentialsEmail(String to, String systemEmail, String tempPassword, String role,
             String firstName) {
+        submit("credentials email", () -> deliverCredentialsEmail(to, systemEmail, tempPassword, role, firstName));
+    }
+
+    private void deliverCredentialsEmail(String to, String systemEmail, String tempPassword, String role,
+            String firstName) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -89,8 +142,11 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendPasswordResetEmail(String to, String resetToken, String firstName) {
+        submit("password reset email", () -> deliverPasswordResetEmail(to, resetToken, firstName));
+    }
+
+    private void deliverPasswordResetEmail(String to, String resetToken, String firstName) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -147,8 +203,11 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendPasswordChangedNotification(String to, String firstName) {
+        submit("password changed notification", () -> deliverPasswordChangedNotification(to, firstName));
+    }
+
+    private void deliverPasswordChangedNotification(String to, String firstName) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
@@ -173,6 +232,38 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Override
+    public void sendLowAttendanceAlert(String to, String firstName, double percentage, BigDecimal threshold) {
+        submit("low attendance alert", () -> deliverLowAttendanceAlert(to, firstName, percentage, threshold));
+    }
+
+    private void deliverLowAttendanceAlert(String to, String firstName, double percentage, BigDecimal threshold) {
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(to);
+            message.setSubject("SMS Portal - Low Attendance Warning");
+            message.setText(String.format("""
+                    Hello %s,
+
+                    Your attendance for this academic year is %.1f%%, below the required minimum of %s%%.
+
+                    Please attend classes regularly and speak to your class teacher if you need support.
+
+                    You can see your attendance at %s/login
+
+                    Best regards,
+                    SMS Administration Team
+                    """, firstName, percentage, threshold.stripTrailingZeros().toPlainString(), frontendUrl));
+
+            mailSender.send(message);
+            log.info("Low attendance alert sent to: {}", to);
+
+        } catch (Exception e) {
+            log.error("Failed to send low attendance alert to {}: {}", to, e.getMessage());
+        }
+    }
+
     private String buildCredentialsEmailHtml(String firstName, String systemEmail, String tempPassword, String role) {
         return String.format(
                 """
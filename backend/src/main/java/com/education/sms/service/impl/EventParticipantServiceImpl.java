@@ -1,29 +1,57 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.dto.ClassEnrolmentResponse;
+import com.education.sms.dto.EventAvailabilityResponse;
 import com.education.sms.dto.EventParticipantRequest;
 import com.education.sms.dto.EventParticipantResponse;
 import com.education.sms.entity.Event;
 import com.education.sms.entity.EventParticipant;
 import com.education.sms.entity.User;
 import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.ClassEntityRepository;
 import com.education.sms.repository.EventParticipantRepository;
 import com.education.sms.repository.EventRepository;
+import com.education.sms.repository.StudentRepository;
 import com.education.sms.repository.UserRepository;
 import com.education.sms.service.EventParticipantService;
+import com.education.sms.service.GamificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Event sign-ups with limited seats.
+ *
+ * Seats are a counter on the event row (events.seats_available) taken with a
+ * conditional decrement, so the row lock of that UPDATE is the only point
+ * where concurrent sign-ups meet; (event_id, user_id) is unique, so a user
+ * who signs up twice at once gets one row. A sign-up that finds no seat locks
+ * the event row before joining the waitlist, and every path that frees or
+ * adds seats holds the same lock while it promotes the waitlist, so a seat is
+ * never left free while someone waits for it.
+ */
 @Service
 @RequiredArgsConstructor
 public class EventParticipantServiceImpl implements EventParticipantService {
 
+    private static final String REGISTERED = "registered";
+    private static final String WAITLISTED = "waitlisted";
+
     private final EventParticipantRepository eventParticipantRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final GamificationService gamificationService;
 
     @Override
     @Transactional
@@ -34,18 +62,39 @@ public class EventParticipantServiceImpl implements EventParticipantService {
         User user = userRepository.findById(request.userId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.userId()));
 
-        // Check if already registered
+        // Cheap rejection of repeats before queueing for a seat; the unique key catches the races
         if (eventParticipantRepository.existsByEventEventIdAndUserId(request.eventId(), request.userId())) {
             throw new IllegalArgumentException("User already registered for this event");
         }
 
+        // Every writer takes the event row before inserting participants, so
+        // sign-ups and class enrolments cannot deadlock on the unique key
+        boolean seated = eventRepository.takeSeat(event.getEventId()) > 0;
+        if (!seated) {
+            // Full: wait for the row so a seat freed meanwhile is seen, and so
+            // whoever frees the next seat sees this waitlist entry
+            eventRepository.findByIdForUpdate(event.getEventId());
+            seated = eventRepository.takeSeat(event.getEventId()) > 0;
+        }
+
         EventParticipant participant = EventParticipant.builder()
                 .event(event)
                 .user(user)
                 .role(request.role())
+                .status(seated ? REGISTERED : WAITLISTED)
                 .build();
 
-        return toResponse(eventParticipantRepository.save(participant));
+        EventParticipant saved;
+        try {
+            saved = eventParticipantRepository.saveAndFlush(participant);
+        } catch (DataIntegrityViolationException e) {
+            // Rolls back the seat with the rest of the transaction
+            throw new IllegalArgumentException("User already registered for this event");
+        }
+        if (seated) {
+            gamificationService.awardForEventParticipation(user.getId(), event.getEventId());
+        }
+        return toResponse(saved);
     }
 
     @Override
@@ -65,10 +114,129 @@ public class EventParticipantServiceImpl implements EventParticipantService {
     @Override
     @Transactional
     public void removeParticipant(Long participantId) {
-        if (!eventParticipantRepository.existsById(participantId)) {
-            throw new ResourceNotFoundException("Participant not found with id: " + participantId);
+        Long eventId = eventParticipantRepository.findEventIdById(participantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Participant not found with id: " + participantId));
+
+        // Event row first, like every other writer; held until the promotion commits. The
+        // participant is read only under the lock, so a promotion by a concurrent removal
+        // is seen and its seat released with it
+        eventRepository.findByIdForUpdate(eventId);
+        EventParticipant participant = eventParticipantRepository.findById(participantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Participant not found with id: " + participantId));
+        boolean hadSeat = REGISTERED.equals(participant.getStatus());
+        eventParticipantRepository.delete(participant);
+        eventParticipantRepository.flush();
+
+        if (hadSeat && eventRepository.releaseSeat(eventId) > 0) {
+            promoteWaitlisted(eventId);
         }
-        eventParticipantRepository.deleteById(participantId);
+    }
+
+    @Override
+    @Transactional
+    public ClassEnrolmentResponse enrolClass(Long eventId, Long classId, String role) {
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        if (!classEntityRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("Class not found with id: " + classId);
+        }
+
+        // With the row locked no sign-up can take a seat or join the waitlist until this commits
+        Set<Long> enrolled = new HashSet<>(eventParticipantRepository.findUserIdsByEventId(eventId));
+        Integer seats = eventRepository.findSeatsAvailable(eventId);
+        int seatsLeft = seats != null ? seats : Integer.MAX_VALUE;
+
+        List<EventParticipant> participants = new ArrayList<>();
+        int alreadyEnrolled = 0;
+        int registered = 0;
+        for (User user : studentRepository.findUsersByClassId(classId)) {
+            if (enrolled.contains(user.getId())) {
+                alreadyEnrolled++;
+                continue;
+            }
+            boolean seated = registered < seatsLeft;
+            if (seated) {
+                registered++;
+            }
+            participants.add(EventParticipant.builder()
+                    .event(event)
+                    .user(user)
+                    .role(role != null ? role : "participant")
+                    .status(seated ? REGISTERED : WAITLISTED)
+                    .build());
+        }
+        eventParticipantRepository.saveAll(participants);
+        if (seats != null && registered > 0) {
+            eventRepository.takeSeats(eventId, registered);
+        }
+        for (EventParticipant participant : participants) {
+            if (REGISTERED.equals(participant.getStatus())) {
+                gamificationService.awardForEventParticipation(participant.getUser().getId(), eventId);
+            }
+        }
+
+        return new ClassEnrolmentResponse(eventId, classId, registered, participants.size() - registered,
+                alreadyEnrolled, seats != null ? seats - registered : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventAvailabilityResponse getAvailability(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        return availability(event);
+    }
+
+    @Override
+    @Transactional
+    public EventAvailabilityResponse updateCapacity(Long eventId, Integer capacity) {
+        if (capacity != null && capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+
+        long registered = eventParticipantRepository.countByEventEventIdAndStatus(eventId, REGISTERED);
+        if (capacity != null && registered > capacity) {
+            throw new IllegalStateException(registered + " participants are already registered for this event");
+        }
+        event.setCapacity(capacity);
+        eventRepository.setSeatsAvailable(eventId, capacity != null ? (int) (capacity - registered) : null);
+        promoteWaitlisted(eventId);
+        return availability(event);
+    }
+
+    /**
+     * Gives free seats to the waitlist in sign-up order. Callers hold the
+     * event row lock.
+     */
+    private void promoteWaitlisted(Long eventId) {
+        Integer seats = eventRepository.findSeatsAvailable(eventId);
+        if (seats != null && seats == 0) {
+            return;
+        }
+        List<EventParticipant> promoted = eventParticipantRepository.findWaitlisted(eventId,
+                seats != null ? PageRequest.of(0, seats) : Pageable.unpaged());
+        if (promoted.isEmpty()) {
+            return;
+        }
+        promoted.forEach(participant -> participant.setStatus(REGISTERED));
+        if (seats != null) {
+            eventRepository.takeSeats(eventId, promoted.size());
+        }
+        for (EventParticipant participant : promoted) {
+            gamificationService.awardForEventParticipation(participant.getUser().getId(), eventId);
+        }
+    }
+
+    private EventAvailabilityResponse availability(Event event) {
+        Long eventId = event.getEventId();
+        return new EventAvailabilityResponse(
+                eventId,
+                event.getCapacity(),
+                eventRepository.findSeatsAvailable(eventId),
+                eventParticipantRepository.countByEventEventIdAndStatus(eventId, REGISTERED),
+                eventParticipantRepository.countByEventEventIdAndStatus(eventId, WAITLISTED));
     }
 
     private EventParticipantResponse toResponse(EventParticipant entity) {
@@ -78,6 +246,7 @@ public class EventParticipantServiceImpl implements EventParticipantService {
                 entity.getEvent().getTitle(),
                 entity.getUser().getId(),
                 entity.getUser().getEmail(),
-                entity.getRole());
+                entity.getRole(),
+                entity.getStatus());
     }
 }
@@ -23,10 +23,15 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public EventResponse createEvent(EventRequest request) {
+        if (request.capacity() != null && request.capacity() <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
         Event event = Event.builder()
                 .title(request.title())
                 .eventDate(request.eventDate())
                 .description(request.description())
+                .capacity(request.capacity())
+                .seatsAvailable(request.capacity())
                 .build();
 
         return toResponse(eventRepository.save(event));
@@ -67,6 +72,7 @@ public class EventServiceImpl implements EventService {
                 entity.getEventId(),
                 entity.getTitle(),
                 entity.getEventDate(),
-                entity.getDescription());
+                entity.getDescription(),
+                entity.getCapacity());
     }
 }
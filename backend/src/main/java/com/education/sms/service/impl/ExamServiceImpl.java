@@ -1,18 +1,33 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.dto.ExamConflictResponse;
 import com.education.sms.dto.ExamRequest;
 import com.education.sms.dto.ExamResponse;
+import com.education.sms.dto.ExamScheduleRequest;
 import com.education.sms.entity.Course;
 import com.education.sms.entity.Exam;
 import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.ClassEntityRepository;
 import com.education.sms.repository.CourseRepository;
 import com.education.sms.repository.ExamRepository;
+import com.education.sms.repository.FacultyRepository;
+import com.education.sms.scheduling.ExamConflict;
+import com.education.sms.scheduling.ExamScheduler;
+import com.education.sms.scheduling.ExamSlot;
+import com.education.sms.scheduling.ExamWindow;
 import com.education.sms.service.ExamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,18 +36,59 @@ public class ExamServiceImpl implements ExamService {
 
     private final ExamRepository examRepository;
     private final CourseRepository courseRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final FacultyRepository facultyRepository;
+
+    @Value("${app.exams.scheduling.day-start:09:00}")
+    private String defaultDayStart;
+
+    @Value("${app.exams.scheduling.day-end:16:00}")
+    private String defaultDayEnd;
+
+    @Value("${app.exams.scheduling.step-minutes:30}")
+    private int defaultStepMinutes;
+
+    @Value("${app.exams.scheduling.max-per-class-per-day:1}")
+    private int defaultMaxPerClassPerDay;
 
     @Override
     @Transactional
     public ExamResponse createExam(ExamRequest request) {
         Course course = courseRepository.findById(request.courseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + request.courseId()));
+        if ((request.startTime() == null) != (request.durationMinutes() == null)) {
+            throw new IllegalArgumentException("Start time and duration must be given together");
+        }
+        if (request.durationMinutes() != null && request.durationMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        // Clashes are looked up by day, so an exam must not run into the next one
+        if (request.startTime() != null
+                && request.startTime().toSecondOfDay() / 60 + request.durationMinutes() > ExamSlot.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Exam must end on the day it starts");
+        }
+
+        ExamSlot slot = toSlot(course, request).at(request.date(), request.startTime());
+        // Serialise exam creation per class and faculty, so two requests cannot both pass the check
+        classEntityRepository.findByIdForUpdate(slot.classId());
+        if (slot.facultyId() != null) {
+            facultyRepository.findByIdForUpdate(slot.facultyId());
+        }
+        List<ExamConflict> conflicts = new ExamScheduler(
+                examRepository.findSlotsOn(request.date(), slot.classId(), slot.facultyId())).conflictsWith(slot);
+        if (!conflicts.isEmpty()) {
+            ExamConflict conflict = conflicts.get(0);
+            throw new IllegalStateException("Exam overlaps '" + conflict.first().examName() + "' for the same "
+                    + conflict.resource().name().toLowerCase());
+        }
 
         Exam exam = Exam.builder()
                 .course(course)
                 .examName(request.examName())
                 .date(request.date())
                 .totalMarks(request.totalMarks())
+                .startTime(request.startTime())
+                .durationMinutes(request.durationMinutes())
                 .build();
 
         return toResponse(examRepository.save(exam));
@@ -66,6 +122,82 @@ public class ExamServiceImpl implements ExamService {
         return toResponse(exam);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExamConflictResponse> getConflicts(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return new ExamScheduler(examRepository.findSlotsBetween(from, to)).conflicts().stream()
+                .map(conflict -> new ExamConflictResponse(
+                        conflict.resource().name(),
+                        conflict.resourceId(),
+                        conflict.first().date(),
+                        conflict.first().examId(),
+                        conflict.first().examName(),
+                        conflict.second().examId(),
+                        conflict.second().examName()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExamResponse> proposeSchedule(ExamScheduleRequest request) {
+        checkRange(request.from(), request.to());
+        ExamWindow window = new ExamWindow(
+                request.from().datesUntil(request.to().plusDays(1))
+                        .filter(day -> day.getDayOfWeek() != DayOfWeek.SUNDAY)
+                        .toList(),
+                request.dayStart() != null ? request.dayStart() : LocalTime.parse(defaultDayStart),
+                request.dayEnd() != null ? request.dayEnd() : LocalTime.parse(defaultDayEnd),
+                request.stepMinutes() != null ? request.stepMinutes() : defaultStepMinutes,
+                request.maxExamsPerClassPerDay() != null ? request.maxExamsPerClassPerDay()
+                        : defaultMaxPerClassPerDay);
+        if (!window.dayStart().isBefore(window.dayEnd()) || window.stepMinutes() <= 0
+                || window.maxPerClassPerDay() <= 0) {
+            throw new IllegalArgumentException("Invalid school day, step or exams per day");
+        }
+
+        List<ExamRequest> exams = request.exams() != null ? request.exams() : List.of();
+        Map<Long, Course> courses = courseRepository.findAllById(exams.stream().map(ExamRequest::courseId).toList())
+                .stream()
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        List<ExamSlot> batch = exams.stream()
+                .map(exam -> {
+                    Course course = courses.get(exam.courseId());
+                    if (course == null) {
+                        throw new ResourceNotFoundException("Course not found with id: " + exam.courseId());
+                    }
+                    if (exam.durationMinutes() == null || exam.durationMinutes() <= 0) {
+                        throw new IllegalArgumentException("Duration must be positive");
+                    }
+                    return toSlot(course, exam);
+                })
+                .toList();
+
+        List<ExamSlot> placed = new ExamScheduler(examRepository.findSlotsBetween(request.from(), request.to()))
+                .placeAll(batch, window);
+        List<ExamResponse> proposals = new ArrayList<>(exams.size());
+        for (int i = 0; i < exams.size(); i++) {
+            ExamRequest exam = exams.get(i);
+            ExamSlot slot = placed.get(i);
+            proposals.add(new ExamResponse(null, exam.courseId(), courses.get(exam.courseId()).getCourseName(),
+                    exam.examName(), slot != null ? slot.date() : null, exam.totalMarks(),
+                    slot != null ? slot.startTime() : null, exam.durationMinutes()));
+        }
+        return proposals;
+    }
+
+    private static ExamSlot toSlot(Course course, ExamRequest request) {
+        return new ExamSlot(null, request.examName(), course.getClassEntity().getId(),
+                course.getFaculty() != null ? course.getFaculty().getId() : null,
+                null, null, request.durationMinutes());
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+    }
+
     private ExamResponse toResponse(Exam entity) {
         Course course = entity.getCourse();
         return new ExamResponse(
@@ -74,6 +206,8 @@ public class ExamServiceImpl implements ExamService {
                 course != null ? course.getCourseName() : null,
                 entity.getExamName(),
                 entity.getDate(),
-                entity.getTotalMarks());
+                entity.getTotalMarks(),
+                entity.getStartTime(),
+                entity.getDurationMinutes());
     }
 }
@@ -0,0 +1,144 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.repository.AttendanceRepository;
+import com.education.sms.repository.FacultyRepository;
+import com.education.sms.repository.LibraryIssueRepository;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.ExportService;
+import com.education.sms.utils.CsvWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams export rows from forward-only cursors (see the streamExportRows
+ * repository methods) into CSV.
+ *
+ * Each export runs in its own read-only transaction because the response body
+ * is written after the controller has returned, on the async request thread.
+ * Rows are constructor-expression DTOs rather than entities, so nothing
+ * accumulates in the persistence context while the cursor is drained.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // Flush to the client every this many rows so large exports start downloading immediately
+    private static final int FLUSH_EVERY = 1000;
+
+    private final StudentRepository studentRepository;
+    private final FacultyRepository facultyRepository;
+    private final PaymentRepository paymentRepository;
+    private final LibraryIssueRepository libraryIssueRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportServiceImpl(StudentRepository studentRepository,
+            FacultyRepository facultyRepository,
+            PaymentRepository paymentRepository,
+            LibraryIssueRepository libraryIssueRepository,
+            AttendanceRepository attendanceRepository,
+            PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.facultyRepository = facultyRepository;
+        this.paymentRepository = paymentRepository;
+        this.libraryIssueRepository = libraryIssueRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportStudents(OutputStream out) throws IOException {
+        stream(out,
+                List.of("Student ID", "Registration Number", "First Name", "Last Name", "Email",
+                        "Grade", "Section", "Phone", "Parent Phone", "Active"),
+                studentRepository::streamExportRows,
+                r -> row(r.studentId(), r.registrationNumber(), r.firstName(),
+                        r.lastName(), r.email(), r.gradeLevel(), r.section(),
+                        r.phone(), r.parentPhone(), r.isActive()));
+    }
+
+    @Override
+    public void exportFaculty(OutputStream out) throws IOException {
+        stream(out,
+                List.of("Faculty ID", "Employee ID", "First Name", "Last Name", "Email", "Department",
+                        "Phone", "Active"),
+                facultyRepository::streamExportRows,
+                r -> row(r.facultyId(), r.employeeId(), r.firstName(),
+                        r.lastName(), r.email(), r.department(), r.phone(),
+                        r.isActive()));
+    }
+
+    @Override
+    public void exportPayments(OutputStream out, LocalDate from, LocalDate to) throws IOException {
+        stream(out,
+                List.of("Payment ID", "Student ID", "Registration Number", "First Name", "Last Name",
+                        "Amount", "Status", "Razorpay Payment ID", "Razorpay Order ID", "Payment Date"),
+                () -> paymentRepository.streamExportRows(from.atStartOfDay(), to.plusDays(1).atStartOfDay()),
+                r -> row(r.paymentId(), r.studentId(), r.registrationNumber(),
+                        r.firstName(), r.lastName(), r.amountPaid(), r.paymentStatus(),
+                        r.razorpayPaymentId(), r.razorpayOrderId(), r.paymentDate()));
+    }
+
+    @Override
+    public void exportLibraryIssues(OutputStream out, LocalDate from, LocalDate to) throws IOException {
+        stream(out,
+                List.of("Issue ID", "Book", "ISBN", "User Email", "User Role", "Issue Date", "Due Date",
+                        "Return Date", "Status", "Fine"),
+                () -> libraryIssueRepository.streamExportRows(from, to),
+                r -> row(r.issueId(), r.bookTitle(), r.isbn(), r.userEmail(), r.userRole(),
+                        r.issueDate(), r.dueDate(), r.returnDate(), r.status(),
+                        r.fineAmount()));
+    }
+
+    @Override
+    public void exportAttendance(OutputStream out, LocalDate from, LocalDate to, Long classId) throws IOException {
+        stream(out,
+                List.of("Attendance ID", "Date", "Student ID", "Registration Number", "First Name", "Last Name",
+                        "Grade", "Section", "Subject Code", "Subject", "Present"),
+                () -> attendanceRepository.streamExportRows(from, to, classId),
+                r -> row(r.attendanceId(), r.date(), r.studentId(), r.registrationNumber(),
+                        r.firstName(), r.lastName(), r.gradeLevel(),
+                        r.section(), r.subjectCode(), r.subjectName(), r.present()));
+    }
+
+    private <T> void stream(OutputStream out, List<String> header, Supplier<Stream<T>> rows,
+            Function<T, List<Object>> toValues) throws IOException {
+        CsvWriter csv = new CsvWriter(out, true);
+        csv.writeRow(header);
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                try (Stream<T> stream = rows.get()) {
+                    int count = 0;
+                    for (T row : (Iterable<T>) stream::iterator) {
+                        csv.writeRow(toValues.apply(row));
+                        if (++count % FLUSH_EVERY == 0) {
+                            csv.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Typically the client went away mid-download
+            throw e.getCause();
+        }
+        csv.flush();
+    }
+
+    private static List<Object> row(Object... values) {
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,111 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.config.CacheConfig;
+import com.education.sms.dto.ClassFeeLedgerResponse;
+import com.education.sms.dto.PagedResponse;
+import com.education.sms.dto.StudentFeeLedgerResponse;
+import com.education.sms.event.PaymentsReconciledEvent;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.ClassFeeBalanceView;
+import com.education.sms.repository.StudentFeeBalanceView;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.FeeLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Dues, payments and outstanding balances per student and per class.
+ *
+ * All figures come from aggregate SQL in {@link StudentRepository} (fee
+ * structure summed per class, successful payments summed per student), so the
+ * cost does not grow with one payments lookup per student. Results are cached
+ * and evicted by the services that change payments, fees or class membership,
+ * once their transaction commits (see CacheConfig).
+ */
+@Service
+@RequiredArgsConstructor
+public class FeeLedgerServiceImpl implements FeeLedgerService {
+
+    private final StudentRepository studentRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.STUDENT_LEDGER)
+    public StudentFeeLedgerResponse getStudentLedger(Long studentId) {
+        return studentRepository.findFeeBalance(studentId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLASS_LEDGER, key = "'all'")
+    public List<ClassFeeLedgerResponse> getClassLedgers() {
+        return studentRepository.findClassFeeBalances(null).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.CLASS_LEDGER)
+    public ClassFeeLedgerResponse getClassLedger(Long classId) {
+        return studentRepository.findClassFeeBalances(classId).stream()
+                .findFirst()
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + classId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.FEE_DEFAULTERS)
+    public PagedResponse<StudentFeeLedgerResponse> getDefaulters(Long classId, BigDecimal minOutstanding,
+            Pageable pageable) {
+        BigDecimal threshold = minOutstanding != null ? minOutstanding : BigDecimal.ZERO;
+        return PagedResponse.from(studentRepository.findFeeDefaulters(classId, threshold, pageable)
+                .map(this::toResponse));
+    }
+
+    // Runs after commit already, so the eviction must not wait for another one
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true, beforeInvocation = true)
+    public void onPaymentsReconciled(PaymentsReconciledEvent event) {
+        // Webhook reconciliation changed payment statuses in bulk
+    }
+
+    private StudentFeeLedgerResponse toResponse(StudentFeeBalanceView row) {
+        return new StudentFeeLedgerResponse(
+                row.getStudentId(),
+                row.getFirstName() + " " + row.getLastName(),
+                row.getRegistrationNumber(),
+                row.getClassId(),
+                className(row.getGradeLevel(), row.getSection()),
+                row.getTotalDue(),
+                row.getTotalPaid(),
+                row.getOutstanding());
+    }
+
+    private ClassFeeLedgerResponse toResponse(ClassFeeBalanceView row) {
+        return new ClassFeeLedgerResponse(
+                row.getClassId(),
+                className(row.getGradeLevel(), row.getSection()),
+                row.getStudentCount(),
+                row.getTotalDue(),
+                row.getTotalPaid(),
+                row.getTotalOutstanding(),
+                row.getDefaulterCount());
+    }
+
+    private String className(String gradeLevel, String section) {
+        return gradeLevel != null ? gradeLevel + "-" + section : null;
+    }
+}
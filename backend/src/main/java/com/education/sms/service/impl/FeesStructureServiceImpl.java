@@ -1,5 +1,6 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.config.CacheConfig;
 import com.education.sms.dto.FeesStructureRequest;
 import com.education.sms.dto.FeesStructureResponse;
 import com.education.sms.entity.ClassEntity;
@@ -9,6 +10,7 @@ import com.education.sms.repository.ClassEntityRepository;
 import com.education.sms.repository.FeesStructureRepository;
 import com.education.sms.service.FeesStructureService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,8 @@ public class FeesStructureServiceImpl implements FeesStructureService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true)
     public FeesStructureResponse createFeesStructure(FeesStructureRequest request) {
         ClassEntity classEntity = classEntityRepository.findById(request.classId())
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + request.classId()));
@@ -66,6 +70,8 @@ public class FeesStructureServiceImpl implements FeesStructureService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true)
     public void deleteFeesStructure(Long feeId) {
         if (!feesStructureRepository.existsById(feeId)) {
             throw new ResourceNotFoundException("Fee structure not found with id: " + feeId);
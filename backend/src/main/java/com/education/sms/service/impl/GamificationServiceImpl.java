@@ -0,0 +1,234 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.dto.LeaderboardEntryResponse;
+import com.education.sms.dto.PointsAwardResponse;
+import com.education.sms.dto.StudentPointsResponse;
+import com.education.sms.entity.PointsReason;
+import com.education.sms.entity.Student;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.ClassEntityRepository;
+import com.education.sms.repository.LeaderboardEntryView;
+import com.education.sms.repository.PointsAwardRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.GamificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gamification points.
+ *
+ * Every award is a single SQL statement (PointsAwardRepository) that records
+ * it in points_awards and adds its points to students.gamification_points, in
+ * the transaction of the event that earned it: a rolled back result, return
+ * or registration takes its points with it, a repeated one is ignored, and
+ * concurrent awards to one student queue on the row lock instead of losing
+ * updates. Leaderboards read the top of the points indexes from V16 rather
+ * than sorting all students. Awarded points are counted as
+ * sms.gamification.points by reason.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GamificationServiceImpl implements GamificationService {
+
+    private final PointsAwardRepository pointsAwardRepository;
+    private final StudentRepository studentRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.gamification.points.attendance-streak:20}")
+    private int attendanceStreakPoints;
+
+    @Value("${app.gamification.points.result-distinction:50}")
+    private int distinctionPoints;
+
+    @Value("${app.gamification.points.result-merit:25}")
+    private int meritPoints;
+
+    @Value("${app.gamification.points.event-participation:10}")
+    private int eventParticipationPoints;
+
+    @Value("${app.gamification.points.on-time-return:5}")
+    private int onTimeReturnPoints;
+
+    @Value("${app.gamification.result.distinction-percent:90}")
+    private BigDecimal distinctionPercent;
+
+    @Value("${app.gamification.result.merit-percent:75}")
+    private BigDecimal meritPercent;
+
+    @Value("${app.gamification.streaks.enabled:true}")
+    private boolean streaksEnabled;
+
+    @Value("${app.gamification.streaks.days:5}")
+    private int streakDays;
+
+    @Value("${app.gamification.streaks.lookback-days:14}")
+    private int streakLookbackDays;
+
+    @Value("${app.gamification.leaderboard.max-limit:100}")
+    private int maxLeaderboardLimit;
+
+    @Value("${app.gamification.recent-awards:10}")
+    private int recentAwards;
+
+    @Override
+    @Transactional
+    public void awardForResult(Long studentId, Long examId, BigDecimal marksObtained, Integer totalMarks) {
+        if (marksObtained == null || totalMarks == null || totalMarks <= 0) {
+            return;
+        }
+        BigDecimal percent = marksObtained.multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(totalMarks), 2, RoundingMode.HALF_UP);
+        int points = percent.compareTo(distinctionPercent) >= 0 ? distinctionPoints
+                : percent.compareTo(meritPercent) >= 0 ? meritPoints
+                : 0;
+        if (points > 0 && pointsAwardRepository.awardToStudent(studentId, PointsReason.RESULT.name(), examId,
+                points) > 0) {
+            count(PointsReason.RESULT, points);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void awardForEventParticipation(Long userId, Long eventId) {
+        if (pointsAwardRepository.awardToUser(userId, PointsReason.EVENT_PARTICIPATION.name(), eventId,
+                eventParticipationPoints) > 0) {
+            count(PointsReason.EVENT_PARTICIPATION, eventParticipationPoints);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void awardForOnTimeReturn(Long userId, Long issueId) {
+        if (pointsAwardRepository.awardToUser(userId, PointsReason.ON_TIME_RETURN.name(), issueId,
+                onTimeReturnPoints) > 0) {
+            count(PointsReason.ON_TIME_RETURN, onTimeReturnPoints);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int awardAttendanceStreaks(LocalDate day) {
+        int awarded = pointsAwardRepository.awardAttendanceStreaks(day.minusDays(streakLookbackDays), day,
+                streakDays, attendanceStreakPoints);
+        if (awarded > 0) {
+            count(PointsReason.ATTENDANCE_STREAK, (long) awarded * attendanceStreakPoints);
+            log.info("Attendance streak points awarded to {} students for {}", awarded, day);
+        }
+        return awarded;
+    }
+
+    // After the attendance alerts, so the day's marks are in
+    @Scheduled(cron = "${app.gamification.streaks.cron:0 30 18 * * *}")
+    public void runStreaks() {
+        if (!streaksEnabled) {
+            return;
+        }
+        try {
+            // Called on this, not the proxy, so the transaction is started here
+            transactionTemplate.execute(tx -> awardAttendanceStreaks(LocalDate.now()));
+        } catch (RuntimeException e) {
+            log.error("Attendance streak run failed", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getLeaderboard(int limit) {
+        return ranked(studentRepository.findLeaderboard(checkLimit(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getClassLeaderboard(Long classId, int limit) {
+        int checked = checkLimit(limit);
+        if (!classEntityRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("Class not found with id: " + classId);
+        }
+        return ranked(studentRepository.findClassLeaderboard(classId, checked));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPointsResponse getStudentPoints(Long studentId) {
+        LeaderboardEntryView entry = studentRepository.findLeaderboardEntry(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        int points = entry.getPoints();
+        Long classRank = entry.getClassId() != null
+                ? studentRepository.countInClassWithMorePoints(entry.getClassId(), points) + 1
+                : null;
+        List<PointsAwardResponse> awards = pointsAwardRepository
+                .findRecentByStudent(studentId, PageRequest.of(0, recentAwards)).stream()
+                .map(award -> new PointsAwardResponse(award.getReason().name(), award.getSourceId(),
+                        award.getPoints(), award.getAwardedAt()))
+                .toList();
+        return new StudentPointsResponse(
+                entry.getStudentId(),
+                entry.getFirstName() + " " + entry.getLastName(),
+                entry.getClassId(),
+                className(entry),
+                points,
+                studentRepository.countWithMorePoints(points) + 1,
+                classRank,
+                awards);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPointsResponse getStudentPointsByUser(Long userId) {
+        Student student = studentRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found"));
+        return getStudentPoints(student.getStudentId());
+    }
+
+    private int checkLimit(int limit) {
+        if (limit < 1 || limit > maxLeaderboardLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLeaderboardLimit);
+        }
+        return limit;
+    }
+
+    /**
+     * Competition ranking of rows sorted by points: equal points share a rank
+     * and the next rank skips past them (1, 2, 2, 4).
+     */
+    private static List<LeaderboardEntryResponse> ranked(List<LeaderboardEntryView> rows) {
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(rows.size());
+        int rank = 0;
+        Integer previous = null;
+        for (int i = 0; i < rows.size(); i++) {
+            LeaderboardEntryView row = rows.get(i);
+            if (!row.getPoints().equals(previous)) {
+                rank = i + 1;
+                previous = row.getPoints();
+            }
+            entries.add(new LeaderboardEntryResponse(rank, row.getStudentId(),
+                    row.getFirstName() + " " + row.getLastName(), row.getClassId(), className(row),
+                    row.getPoints()));
+        }
+        return entries;
+    }
+
+    private static String className(LeaderboardEntryView row) {
+        return row.getClassId() != null ? row.getGradeLevel() + "-" + row.getSection() : null;
+    }
+
+    private void count(PointsReason reason, long points) {
+        meterRegistry.counter("sms.gamification.points", "reason", reason.name()).increment(points);
+    }
+}
@@ -0,0 +1,180 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.repository.AttendanceRepository;
+import com.education.sms.repository.LibraryIssueRepository;
+import com.education.sms.repository.PasswordResetTokenRepository;
+import com.education.sms.service.HousekeepingService;
+import com.education.sms.utils.AcademicYear;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Nightly cleanup: purges dead password reset tokens, rolls the attendance
+ * partitions forward and archives old attendance years and returned library
+ * loans.
+ *
+ * Attendance is partitioned by academic year (V11), so it is archived a whole
+ * partition at a time without touching rows. The other tasks delete in
+ * batches of app.housekeeping.batch-size rows, each in its own short
+ * transaction, so a run never holds locks on a large range of a hot table;
+ * the batch queries skip rows that are locked by user requests. A run stops
+ * after max-batches-per-run batches per task and picks up the rest the next
+ * night. Rows are counted as sms.housekeeping.rows, attendance partitions as
+ * sms.housekeeping.partitions, and the duration of every task as
+ * sms.housekeeping.duration.
+ */
+@Service
+@Slf4j
+public class HousekeepingServiceImpl implements HousekeepingService {
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final LibraryIssueRepository libraryIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.housekeeping.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.housekeeping.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.housekeeping.max-batches-per-run:500}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.housekeeping.attendance-retention-days:730}")
+    private int attendanceRetentionDays;
+
+    @Value("${app.housekeeping.library-issue-retention-days:730}")
+    private int libraryIssueRetentionDays;
+
+    public HousekeepingServiceImpl(PasswordResetTokenRepository tokenRepository,
+            AttendanceRepository attendanceRepository,
+            LibraryIssueRepository libraryIssueRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.libraryIssueRepository = libraryIssueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int purgePasswordResetTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        return inBatches("password_reset_tokens", limit -> tokenRepository.deleteExpiredOrUsedBatch(now, limit));
+    }
+
+    @Override
+    public int ensureAttendancePartitions() {
+        // A year ahead, so marks entered early for the next year never land in the default partition
+        LocalDate through = LocalDate.now().plusYears(1);
+        return timed("attendance_partitions", Unit.PARTITIONS,
+                () -> transactionTemplate.execute(tx -> attendanceRepository.ensurePartitions(through)));
+    }
+
+    @Override
+    public int archiveAttendance() {
+        LocalDate cutoff = LocalDate.now().minusDays(attendanceRetentionDays);
+        return timed("attendance", Unit.PARTITIONS, () -> transactionTemplate.execute(tx -> {
+            int archived = attendanceRepository.archivePartitionsBefore(cutoff);
+            // Every month before the cutoff's academic year has just left attendance
+            attendanceRepository.deleteBitmapsBefore(AcademicYear.startOf(cutoff));
+            return archived;
+        }));
+    }
+
+    @Override
+    public int archiveLibraryIssues() {
+        LocalDate cutoff = LocalDate.now().minusDays(libraryIssueRetentionDays);
+        return inBatches("library_issues", limit -> libraryIssueRepository.archiveReturnedBefore(cutoff, limit));
+    }
+
+    @Scheduled(cron = "${app.housekeeping.cron:0 30 2 * * *}")
+    public void runHousekeeping() {
+        if (!enabled) {
+            return;
+        }
+        // Tasks are independent: one failing must not keep the others from running
+        for (Runnable task : new Runnable[] {
+                this::purgePasswordResetTokens, this::ensureAttendancePartitions, this::archiveAttendance,
+                this::archiveLibraryIssues }) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Housekeeping task failed", e);
+            }
+        }
+    }
+
+    private int inBatches(String task, IntUnaryOperator batch) {
+        return timed(task, Unit.ROWS, () -> {
+            int total = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer affected = transactionTemplate.execute(tx -> batch.applyAsInt(batchSize));
+                int count = affected != null ? affected : 0;
+                total += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            return total;
+        });
+    }
+
+    private int timed(String task, Unit unit, Supplier<Integer> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        int total = 0;
+        try {
+            Integer affected = work.get();
+            total = affected != null ? affected : 0;
+            return total;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Counter.builder(unit.metric)
+                    .description(unit.description)
+                    .tag("task", task)
+                    .register(meterRegistry)
+                    .increment(total);
+            sample.stop(Timer.builder("sms.housekeeping.duration")
+                    .description("Duration of one housekeeping task run")
+                    .tag("task", task)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            if (total > 0) {
+                log.info("Housekeeping {}: {} {}", task, total, unit.name().toLowerCase());
+            }
+        }
+    }
+
+    /**
+     * What a task counts; each has its own counter so rows and partitions are never summed.
+     */
+    private enum Unit {
+        ROWS("sms.housekeeping.rows", "Rows deleted or archived by the housekeeping job"),
+        PARTITIONS("sms.housekeeping.partitions", "Attendance partitions created or archived by the housekeeping job");
+
+        private final String metric;
+        private final String description;
+
+        Unit(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+}
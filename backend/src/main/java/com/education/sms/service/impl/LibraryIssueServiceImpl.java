@@ -9,6 +9,8 @@ import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.BookRepository;
 import com.education.sms.repository.LibraryIssueRepository;
 import com.education.sms.repository.UserRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
+import com.education.sms.service.GamificationService;
 import com.education.sms.service.LibraryIssueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -26,9 +28,12 @@ public class LibraryIssueServiceImpl implements LibraryIssueService {
     private final LibraryIssueRepository libraryIssueRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final GamificationService gamificationService;
 
     @Override
     @Transactional
+    // The book row is a shared counter, so concurrent loans of one title collide often
+    @RetryOnOptimisticLock(maxAttempts = 5)
     public LibraryIssueResponse issueBook(LibraryIssueRequest request) {
         Book book = bookRepository.findById(request.bookId())
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + request.bookId()));
@@ -64,6 +69,7 @@ public class LibraryIssueServiceImpl implements LibraryIssueService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock(maxAttempts = 5)
     public LibraryIssueResponse returnBook(Long issueId, BigDecimal fineAmount) {
         LibraryIssue issue = libraryIssueRepository.findById(issueId)
                 .orElseThrow(() -> new ResourceNotFoundException("Library issue not found with id: " + issueId));
@@ -84,6 +90,11 @@ public class LibraryIssueServiceImpl implements LibraryIssueService {
         book.setAvailableCopies(book.getAvailableCopies() + 1);
         bookRepository.save(book);
 
+        // Points for students who return on time; faculty loans get none
+        if (issue.getDueDate() != null && !issue.getReturnDate().isAfter(issue.getDueDate())) {
+            gamificationService.awardForOnTimeReturn(issue.getUser().getId(), issue.getIssueId());
+        }
+
         return toResponse(libraryIssueRepository.save(issue));
     }
 
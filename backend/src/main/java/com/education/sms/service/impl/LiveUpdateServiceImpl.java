@@ -0,0 +1,173 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.dto.AnnouncementResponse;
+import com.education.sms.dto.BookRequestResponse;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.event.AnnouncementCreatedEvent;
+import com.education.sms.event.BookRequestStatusChangedEvent;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.LiveUpdateService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * In-process fan-out of domain events to open SSE streams.
+ *
+ * Events are received after the publishing transaction commits and queued per
+ * subscriber. Each queue is drained by at most one virtual thread at a time, so
+ * a client sees events in publish order while a slow or dead client never holds
+ * up the request that triggered the event, or the other subscribers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    private final StudentRepository studentRepository;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Override
+    public SseEmitter subscribe(User user) {
+        Long studentId = null;
+        Long classId = null;
+        if (user.getRole() == UserRole.STUDENT) {
+            Student student = studentRepository.findByUserId(user.getId()).orElse(null);
+            if (student != null) {
+                studentId = student.getStudentId();
+                classId = student.getClassEntity() != null ? student.getClassEntity().getId() : null;
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(user.getId(), user.getRole(), studentId, classId, emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Initial event so the client knows the stream is live
+        send(subscriber, SseEmitter.event().name("connected").data("ok"));
+        return emitter;
+    }
+
+    @Override
+    public int getActiveSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnnouncementCreated(AnnouncementCreatedEvent event) {
+        AnnouncementResponse announcement = event.announcement();
+        broadcast(s -> isAnnouncementTarget(s, announcement), "announcement", announcement);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookRequestStatusChanged(BookRequestStatusChangedEvent event) {
+        BookRequestResponse request = event.request();
+        broadcast(s -> s.role() == UserRole.LIBRARIAN
+                || (s.studentId() != null && s.studentId().equals(request.studentId())),
+                "book-request", request);
+    }
+
+    private boolean isAnnouncementTarget(Subscriber subscriber, AnnouncementResponse announcement) {
+        // Class-specific announcements go to students of that class only
+        if (announcement.targetClassId() != null) {
+            return announcement.targetClassId().equals(subscriber.classId());
+        }
+        // Otherwise global (no role) or role-targeted, same rule as the feed endpoint
+        return announcement.targetRole() == null || announcement.targetRole() == subscriber.role();
+    }
+
+    private void broadcast(Predicate<Subscriber> filter, String eventName, Object payload) {
+        for (Subscriber subscriber : subscribers) {
+            if (filter.test(subscriber)) {
+                send(subscriber, SseEmitter.event().name(eventName).data(payload));
+            }
+        }
+    }
+
+    /**
+     * Periodic comment lines keep proxies from closing idle streams and let us
+     * detect clients that went away without a clean disconnect.
+     */
+    @Scheduled(fixedRateString = "${app.live.heartbeat-seconds:25}", timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.pending().add(event);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            sendExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.pending().poll()) != null) {
+                try {
+                    subscriber.emitter().send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping SSE subscriber for user {}: {}", subscriber.userId(), e.getMessage());
+                    subscribers.remove(subscriber);
+                    subscriber.pending().clear();
+                    subscriber.emitter().completeWithError(e);
+                    return;
+                }
+            }
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // An event queued after the last poll but before the flag was cleared
+        if (!subscriber.pending().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter().complete());
+        subscribers.clear();
+        sendExecutor.shutdown();
+    }
+
+    private record Subscriber(Long userId, UserRole role, Long studentId, Long classId, SseEmitter emitter,
+                              Queue<SseEmitter.SseEventBuilder> pending, AtomicBoolean draining) {
+
+        Subscriber(Long userId, UserRole role, Long studentId, Long classId, SseEmitter emitter) {
+            this(userId, role, studentId, classId, emitter, new ConcurrentLinkedQueue<>(), new AtomicBoolean());
+        }
+    }
+}
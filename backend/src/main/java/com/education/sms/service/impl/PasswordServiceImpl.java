@@ -7,6 +7,7 @@ import com.education.sms.entity.PasswordResetToken;
 import com.education.sms.entity.User;
 import com.education.sms.repository.PasswordResetTokenRepository;
 import com.education.sms.repository.UserRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
 import com.education.sms.service.EmailService;
 import com.education.sms.service.PasswordService;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,7 @@ public class PasswordServiceImpl implements PasswordService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public void changePassword(String email, PasswordChangeRequest request) {
         log.info("Processing password change for user: {}", email);
 
@@ -60,7 +62,9 @@ public class PasswordServiceImpl implements PasswordService {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         user.setMustChangePassword(false);
         user.setPasswordChangedAt(LocalDateTime.now());
-        userRepository.save(user);
+        // Flush now so a version conflict (e.g. a concurrent logout) is retried
+        // before the notification email goes out, not after
+        userRepository.saveAndFlush(user);
 
         // Send notification email if personal email exists
         if (user.getPersonalEmail() != null && !user.getPersonalEmail().isBlank()) {
@@ -129,6 +133,7 @@ public class PasswordServiceImpl implements PasswordService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public void confirmPasswordReset(PasswordResetConfirm request) {
         log.info("Processing password reset confirmation");
 
@@ -152,7 +157,7 @@ public class PasswordServiceImpl implements PasswordService {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         user.setMustChangePassword(false);
         user.setPasswordChangedAt(LocalDateTime.now());
-        userRepository.save(user);
+        userRepository.saveAndFlush(user);
 
         // Mark token as used
         resetToken.setUsed(true);
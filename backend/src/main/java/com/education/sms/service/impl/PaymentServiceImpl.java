@@ -1,88 +1,188 @@
 package com.education.sms.service.impl;
 
+import com.education.sms.config.CacheConfig;
 import com.education.sms.dto.PaymentRequest;
 import com.education.sms.dto.PaymentResponse;
 import com.education.sms.entity.AdminRequest;
 import com.education.sms.entity.Payment;
 import com.education.sms.entity.Student;
+import com.education.sms.event.PaymentsReconciledEvent;
 import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.AdminRequestRepository;
 import com.education.sms.repository.PaymentRepository;
 import com.education.sms.repository.StudentRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
 import com.education.sms.service.PaymentService;
-import lombok.RequiredArgsConstructor;
+import com.education.sms.utils.RecentKeyCache;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.json.JSONObject;
 import com.razorpay.Utils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final StudentRepository studentRepository;
     private final AdminRequestRepository adminRequestRepository;
 
+    // Recently recorded payments by Razorpay payment ID, for duplicate submissions
+    private final RecentKeyCache<String, PaymentResponse> recentPayments;
+
     @Value("${razorpay.key_id}")
     private String razorpayKeyId;
 
     @Value("${razorpay.key_secret}")
     private String razorpayKeySecret;
 
+    public PaymentServiceImpl(PaymentRepository paymentRepository,
+            StudentRepository studentRepository,
+            AdminRequestRepository adminRequestRepository,
+            @Value("${app.payments.idempotency-cache.size:10000}") int idempotencyCacheSize,
+            @Value("${app.payments.idempotency-cache.ttl-minutes:15}") long idempotencyCacheTtlMinutes) {
+        this.paymentRepository = paymentRepository;
+        this.studentRepository = studentRepository;
+        this.adminRequestRepository = adminRequestRepository;
+        this.recentPayments = new RecentKeyCache<>(idempotencyCacheSize,
+                Duration.ofMinutes(idempotencyCacheTtlMinutes));
+    }
+
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.STUDENT_LEDGER, key = "#request.studentId()"),
+            @CacheEvict(cacheNames = { CacheConfig.CLASS_LEDGER, CacheConfig.FEE_DEFAULTERS }, allEntries = true)
+    })
     public PaymentResponse createPayment(PaymentRequest request) {
+        String razorpayPaymentId = request.razorpayPaymentId();
+        boolean hasGatewayId = razorpayPaymentId != null && !razorpayPaymentId.isEmpty();
+        boolean verified = hasGatewayId && verifySignature(request);
+
+        // Duplicate submissions (client retries, double clicks) of a verified payment are
+        // answered with the payment we already recorded - first from memory, then from the
+        // database - as long as it was recorded for the same student
+        if (verified) {
+            PaymentResponse recent = recentPayments.get(razorpayPaymentId);
+            if (recent != null) {
+                return checkOwner(recent, request.studentId());
+            }
+            Payment existing = paymentRepository.findByRazorpayPaymentId(razorpayPaymentId).orElse(null);
+            if (existing != null) {
+                return remember(checkOwner(toResponse(existing), request.studentId()));
+            }
+        }
+
         Student student = studentRepository.findById(request.studentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + request.studentId()));
 
-        Payment.PaymentBuilder paymentBuilder = Payment.builder()
-                .student(student)
-                .amountPaid(request.amountPaid())
-                .razorpayPaymentId(request.razorpayPaymentId())
-                .razorpayOrderId(request.razorpayOrderId());
-
         // Optionally link to admin request
+        AdminRequest adminRequest = null;
         if (request.adminRequestId() != null) {
-            AdminRequest adminRequest = adminRequestRepository.findById(request.adminRequestId())
+            adminRequest = adminRequestRepository.findById(request.adminRequestId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Admin request not found with id: " + request.adminRequestId()));
-            paymentBuilder.adminRequest(adminRequest);
         }
 
-        // Verify signature if razorpay payment ID is present
-        if (request.razorpayPaymentId() != null && !request.razorpayPaymentId().isEmpty()) {
-            try {
-                JSONObject options = new JSONObject();
-                options.put("razorpay_order_id", request.razorpayOrderId());
-                options.put("razorpay_payment_id", request.razorpayPaymentId());
-                options.put("razorpay_signature", request.razorpaySignature());
-
-                boolean isValid = Utils.verifyPaymentSignature(options, razorpayKeySecret);
-                if (isValid) {
-                    paymentBuilder.paymentStatus("success");
-                } else {
-                    paymentBuilder.paymentStatus("failed");
-                }
-            } catch (Exception e) {
-                // Verification failed
-                paymentBuilder.paymentStatus("failed");
-            }
+        if (!verified) {
+            // An attempt with a bad signature is kept as failed but not under its Razorpay ID,
+            // so it can neither answer nor block a later, correctly signed submission
+            return toResponse(paymentRepository.save(Payment.builder()
+                    .student(student)
+                    .amountPaid(request.amountPaid())
+                    .razorpayOrderId(request.razorpayOrderId())
+                    .paymentStatus(hasGatewayId ? "failed" : null)
+                    .adminRequest(adminRequest)
+                    .build()));
         }
 
-        return toResponse(paymentRepository.save(paymentBuilder.build()));
+        // Insert-or-ignore on the unique razorpay_payment_id, so concurrent duplicates
+        // that both missed the lookup above still end up as a single row
+        paymentRepository.insertIfAbsent(
+                student.getStudentId(),
+                request.amountPaid(),
+                razorpayPaymentId,
+                request.razorpayOrderId(),
+                "success",
+                LocalDateTime.now(),
+                adminRequest != null ? adminRequest.getRequestId() : null);
+
+        Payment payment = paymentRepository.findByRazorpayPaymentId(razorpayPaymentId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Payment not found after insert for Razorpay ID: " + razorpayPaymentId));
+        return remember(checkOwner(toResponse(payment), request.studentId()));
+    }
+
+    private static PaymentResponse checkOwner(PaymentResponse payment, Long studentId) {
+        if (!payment.studentId().equals(studentId)) {
+            throw new IllegalArgumentException(
+                    "Payment " + payment.razorpayPaymentId() + " is recorded for another student");
+        }
+        return payment;
+    }
+
+    private boolean verifySignature(PaymentRequest request) {
+        try {
+            JSONObject options = new JSONObject();
+            options.put("razorpay_order_id", request.razorpayOrderId());
+            options.put("razorpay_payment_id", request.razorpayPaymentId());
+            options.put("razorpay_signature", request.razorpaySignature());
+            return Utils.verifyPaymentSignature(options, razorpayKeySecret);
+        } catch (Exception e) {
+            // Verification failed
+            return false;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentsReconciled(PaymentsReconciledEvent event) {
+        // Cached responses for these orders may carry a stale status now
+        recentPayments.invalidateIf(r -> event.razorpayOrderIds().contains(r.razorpayOrderId()));
+    }
+
+    /**
+     * Caches the response once the transaction has committed, so a rolled back
+     * insert is never served to a retry.
+     */
+    private PaymentResponse remember(PaymentResponse response) {
+        if (response.razorpayPaymentId() == null) {
+            return response;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentPayments.put(response.razorpayPaymentId(), response);
+                }
+            });
+        } else {
+            recentPayments.put(response.razorpayPaymentId(), response);
+        }
+        return response;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = { CacheConfig.STUDENT_LEDGER, CacheConfig.CLASS_LEDGER,
+            CacheConfig.FEE_DEFAULTERS }, allEntries = true)
+    @RetryOnOptimisticLock
     public PaymentResponse updatePaymentStatus(Long paymentId, String status) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + paymentId));
         payment.setPaymentStatus(status);
+        if (payment.getRazorpayPaymentId() != null) {
+            recentPayments.invalidate(payment.getRazorpayPaymentId());
+        }
         return toResponse(paymentRepository.save(payment));
     }
 
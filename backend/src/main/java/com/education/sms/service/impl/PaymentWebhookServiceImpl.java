@@ -0,0 +1,269 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.entity.PaymentWebhookEvent;
+import com.education.sms.entity.WebhookEventStatus;
+import com.education.sms.event.PaymentsReconciledEvent;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.repository.PaymentWebhookEventRepository;
+import com.education.sms.service.PaymentWebhookService;
+import com.razorpay.Utils;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Webhook-driven payment reconciliation.
+ *
+ * The webhook endpoint only verifies the signature and appends a row to
+ * payment_webhook_events. A scheduled worker drains that queue in batches and
+ * applies status changes with one UPDATE per target status, keyed on the
+ * Razorpay payment ID of each event, instead of loading and saving payments one
+ * by one. Other attempts of the same order are left alone.
+ */
+@Service
+@Slf4j
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+    private static final List<String> SUCCESS_FROM = List.of("pending", "failed");
+    private static final List<String> FAILED_FROM = List.of("pending");
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${razorpay.webhook_secret:}")
+    private String webhookSecret;
+
+    @Value("${app.payments.reconciliation.enabled:true}")
+    private boolean reconciliationEnabled;
+
+    @Value("${app.payments.reconciliation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.payments.reconciliation.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.payments.reconciliation.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.payments.reconciliation.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+
+    public PaymentWebhookServiceImpl(PaymentWebhookEventRepository webhookEventRepository,
+            PaymentRepository paymentRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentRepository = paymentRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public boolean ingest(String payload, String signature, String gatewayEventId) {
+        if (!isSignatureValid(payload, signature)) {
+            throw new IllegalArgumentException("Invalid webhook signature");
+        }
+
+        if (gatewayEventId != null && webhookEventRepository.existsByGatewayEventId(gatewayEventId)) {
+            return false;
+        }
+
+        PaymentWebhookEvent event;
+        try {
+            event = parse(payload, gatewayEventId);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Malformed webhook payload");
+        }
+        if (event == null) {
+            return false;
+        }
+
+        try {
+            webhookEventRepository.save(event);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent redelivery of the same event
+            return false;
+        }
+    }
+
+    @Override
+    public int reconcileBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PaymentWebhookEvent> events = webhookEventRepository.claimPending(batchSize, now);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, Set<String>> paymentIdsByStatus = new HashMap<>();
+            Set<String> allPaymentIds = new HashSet<>();
+            Set<String> allOrderIds = new HashSet<>();
+            for (PaymentWebhookEvent event : events) {
+                paymentIdsByStatus.computeIfAbsent(event.getTargetStatus(), k -> new HashSet<>())
+                        .add(event.getRazorpayPaymentId());
+                allPaymentIds.add(event.getRazorpayPaymentId());
+                allOrderIds.add(event.getRazorpayOrderId());
+            }
+
+            // Failures first, so an attempt that failed and was then captured within
+            // the same batch ends up as success
+            int updated = 0;
+            if (paymentIdsByStatus.containsKey("failed")) {
+                updated += paymentRepository.updateStatusByPaymentIds(paymentIdsByStatus.get("failed"), "failed",
+                        FAILED_FROM);
+            }
+            if (paymentIdsByStatus.containsKey("success")) {
+                updated += paymentRepository.updateStatusByPaymentIds(paymentIdsByStatus.get("success"), "success",
+                        SUCCESS_FROM);
+            }
+
+            // A capture for an attempt the client has not posted yet settles the order's
+            // pending payment, if it still has one
+            Set<String> knownPaymentIds = new HashSet<>(paymentRepository.findExistingPaymentIds(allPaymentIds));
+            for (PaymentWebhookEvent event : events) {
+                if ("success".equals(event.getTargetStatus())
+                        && !knownPaymentIds.contains(event.getRazorpayPaymentId())
+                        && paymentRepository.settlePendingOrderPayment(event.getRazorpayOrderId(),
+                                event.getRazorpayPaymentId(), "success") > 0) {
+                    knownPaymentIds.add(event.getRazorpayPaymentId());
+                    updated++;
+                }
+            }
+
+            // Webhooks can arrive before the client has posted the payment; keep those for a later
+            // run. A failure of an attempt we never recorded changes nothing once the order exists
+            Set<String> existingOrderIds = new HashSet<>(paymentRepository.findExistingOrderIds(allOrderIds));
+            Set<String> matchedOrderIds = new HashSet<>();
+            List<Long> processed = new ArrayList<>();
+            List<Long> retry = new ArrayList<>();
+            List<Long> unmatched = new ArrayList<>();
+            for (PaymentWebhookEvent event : events) {
+                boolean matched = "success".equals(event.getTargetStatus())
+                        ? knownPaymentIds.contains(event.getRazorpayPaymentId())
+                        : existingOrderIds.contains(event.getRazorpayOrderId());
+                if (matched) {
+                    processed.add(event.getId());
+                    matchedOrderIds.add(event.getRazorpayOrderId());
+                } else if (event.getAttempts() + 1 >= maxAttempts) {
+                    unmatched.add(event.getId());
+                } else {
+                    retry.add(event.getId());
+                }
+            }
+
+            if (!processed.isEmpty()) {
+                webhookEventRepository.markCompleted(processed, WebhookEventStatus.PROCESSED, now);
+            }
+            if (!unmatched.isEmpty()) {
+                webhookEventRepository.markCompleted(unmatched, WebhookEventStatus.UNMATCHED, now);
+                log.warn("{} payment webhook events had no matching payment after {} attempts",
+                        unmatched.size(), maxAttempts);
+            }
+            if (!retry.isEmpty()) {
+                webhookEventRepository.scheduleRetry(retry, now.plusSeconds(retryDelaySeconds));
+            }
+
+            if (updated > 0) {
+                eventPublisher.publishEvent(new PaymentsReconciledEvent(matchedOrderIds));
+            }
+            return events.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    @Override
+    public long getPendingCount() {
+        return webhookEventRepository.countByStatus(WebhookEventStatus.PENDING);
+    }
+
+    /**
+     * Drains the queue until it is empty or the per-run batch limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${app.payments.reconciliation.interval-ms:5000}")
+    public void runReconciliation() {
+        if (!reconciliationEnabled) {
+            return;
+        }
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int claimed = reconcileBatch();
+            total += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Reconciled {} payment webhook events", total);
+        }
+    }
+
+    private boolean isSignatureValid(String payload, String signature) {
+        if (webhookSecret == null || webhookSecret.isEmpty()) {
+            log.warn("Rejecting payment webhook: razorpay.webhook_secret is not configured");
+            return false;
+        }
+        if (signature == null || signature.isEmpty()) {
+            return false;
+        }
+        try {
+            return Utils.verifyWebhookSignature(payload, signature, webhookSecret);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Maps a Razorpay webhook body to a queue row, or null for events we do not reconcile.
+     */
+    private PaymentWebhookEvent parse(String payload, String gatewayEventId) {
+        JSONObject body = new JSONObject(payload);
+        String eventType = body.optString("event");
+
+        String targetStatus = switch (eventType) {
+            case "payment.captured", "order.paid" -> "success";
+            case "payment.failed" -> "failed";
+            default -> null;
+        };
+        if (targetStatus == null) {
+            return null;
+        }
+
+        JSONObject payment = body.optJSONObject("payload") != null
+                ? body.getJSONObject("payload").optJSONObject("payment")
+                : null;
+        JSONObject entity = payment != null ? payment.optJSONObject("entity") : null;
+        String orderId = entity != null ? entity.optString("order_id", null) : null;
+        String paymentId = entity != null ? entity.optString("id", null) : null;
+        if (orderId == null || orderId.isEmpty() || paymentId == null || paymentId.isEmpty()) {
+            // Payments created without an order, or events without the attempt, cannot be
+            // matched to our rows
+            return null;
+        }
+
+        return PaymentWebhookEvent.builder()
+                .gatewayEventId(gatewayEventId)
+                .eventType(eventType)
+                .razorpayOrderId(orderId)
+                .razorpayPaymentId(paymentId)
+                .targetStatus(targetStatus)
+                .payload(payload)
+                .build();
+    }
+}
@@ -0,0 +1,297 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.dto.ReportCardJobRequest;
+import com.education.sms.dto.ReportCardJobResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.report.CsvReportCardWriter;
+import com.education.sms.report.GradeBand;
+import com.education.sms.report.PdfReportCardWriter;
+import com.education.sms.report.ReportCardWriter;
+import com.education.sms.report.StudentReportCard;
+import com.education.sms.repository.ClassEntityRepository;
+import com.education.sms.repository.ReportCardRowView;
+import com.education.sms.repository.ResultRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.repository.TermExamView;
+import com.education.sms.service.ReportCardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Term report cards for a whole class, generated in the background.
+ *
+ * Totals, percentages and class rank are computed in SQL; the rows are
+ * streamed from the database in rank order and written to a file one student at
+ * a time, so neither the query result nor the document is held in memory. Job
+ * state is kept in memory and expires after the configured retention period.
+ */
+@Service
+@Slf4j
+public class ReportCardServiceImpl implements ReportCardService {
+
+    private final ResultRepository resultRepository;
+    private final StudentRepository studentRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.reports.dir:reports}")
+    private String reportsDir;
+
+    @Value("${app.reports.retention-hours:24}")
+    private long retentionHours;
+
+    public ReportCardServiceImpl(ResultRepository resultRepository,
+            StudentRepository studentRepository,
+            ClassEntityRepository classEntityRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.resultRepository = resultRepository;
+        this.studentRepository = studentRepository;
+        this.classEntityRepository = classEntityRepository;
+        this.readOnlyTransaction = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public ReportCardJobResponse startJob(ReportCardJobRequest request) {
+        if (request.classId() == null || request.fromDate() == null || request.toDate() == null) {
+            throw new IllegalArgumentException("classId, fromDate and toDate are required");
+        }
+        if (request.fromDate().isAfter(request.toDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        String format = request.format() != null ? request.format().toLowerCase() : "csv";
+        if (!format.equals("csv") && !format.equals("pdf")) {
+            throw new IllegalArgumentException("Unsupported format: " + request.format());
+        }
+
+        ClassEntity classEntity = classEntityRepository.findById(request.classId())
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + request.classId()));
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), request, format,
+                "Report card " + classEntity.getGradeLevel() + "-" + classEntity.getSection()
+                        + " (" + request.fromDate() + " to " + request.toDate() + ")");
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job));
+        return toResponse(job);
+    }
+
+    @Override
+    public ReportCardJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    @Override
+    public Resource getJobOutput(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (!"completed".equals(job.status)) {
+            throw new IllegalStateException("Report job " + jobId + " is " + job.status);
+        }
+        return new FileSystemResource(job.output);
+    }
+
+    private void run(ReportJob job) {
+        job.status = "running";
+        Path output = null;
+        try {
+            Path dir = Paths.get(reportsDir);
+            Files.createDirectories(dir);
+            output = dir.resolve("report-cards-" + job.id + "." + job.format);
+
+            try (OutputStream out = Files.newOutputStream(output);
+                    ReportCardWriter writer = job.format.equals("pdf")
+                            ? new PdfReportCardWriter(out)
+                            : new CsvReportCardWriter(out)) {
+                readOnlyTransaction.executeWithoutResult(tx -> generate(job, writer));
+            }
+
+            job.output = output;
+            job.status = "completed";
+        } catch (Exception e) {
+            log.error("Report card job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.status = "failed";
+            // A failed job has no output for the purge to delete, so drop the partial file now
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException deleteFailure) {
+                    log.warn("Could not delete partial report file {}", output, deleteFailure);
+                }
+            }
+        } finally {
+            job.completedAt = LocalDateTime.now();
+        }
+    }
+
+    private void generate(ReportJob job, ReportCardWriter writer) {
+        ReportCardJobRequest request = job.request;
+        List<TermExamView> exams = resultRepository.findTermExams(
+                request.classId(), request.fromDate(), request.toDate());
+        job.totalStudents = (int) studentRepository.countByClassId(request.classId());
+
+        BigDecimal termTotal = exams.stream()
+                .map(e -> e.getTotalMarks() != null ? BigDecimal.valueOf(e.getTotalMarks()) : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        try {
+            writer.begin(job.title, exams);
+            if (exams.isEmpty()) {
+                return;
+            }
+
+            try (Stream<ReportCardRowView> rows = resultRepository.streamReportCardRows(
+                    request.classId(), request.fromDate(), request.toDate())) {
+                Map<Long, Integer> columns = new HashMap<>();
+                for (int i = 0; i < exams.size(); i++) {
+                    columns.put(exams.get(i).getExamId(), i);
+                }
+
+                // Rows arrive exam by exam for each student; a new student ID completes the
+                // previous card. Marks go to their exam's column, so a missing or repeated
+                // result row cannot shift them onto the wrong exam or student
+                Iterator<ReportCardRowView> it = rows.iterator();
+                ReportCardRowView current = null;
+                List<BigDecimal> marks = null;
+                while (it.hasNext()) {
+                    ReportCardRowView row = it.next();
+                    if (current == null || !current.getStudentId().equals(row.getStudentId())) {
+                        if (current != null) {
+                            writer.write(toCard(current, marks, termTotal));
+                            job.processedStudents.incrementAndGet();
+                        }
+                        current = row;
+                        marks = new ArrayList<>(Collections.nCopies(exams.size(), null));
+                    }
+                    Integer column = columns.get(row.getExamId());
+                    if (column != null && marks.get(column) == null) {
+                        marks.set(column, row.getMarksObtained());
+                    }
+                }
+                if (current != null) {
+                    writer.write(toCard(current, marks, termTotal));
+                    job.processedStudents.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StudentReportCard toCard(ReportCardRowView row, List<BigDecimal> marks, BigDecimal termTotal) {
+        BigDecimal percentage = termTotal.signum() > 0
+                ? row.getTotalObtained().multiply(BigDecimal.valueOf(100)).divide(termTotal, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        return new StudentReportCard(
+                row.getClassRank(),
+                row.getStudentId(),
+                row.getFirstName() + " " + row.getLastName(),
+                row.getRegistrationNumber(),
+                marks,
+                row.getTotalObtained(),
+                termTotal,
+                percentage,
+                GradeBand.forPercentage(percentage));
+    }
+
+    /**
+     * Drops finished jobs and their files once the retention period has passed.
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            if (job.output != null) {
+                try {
+                    Files.deleteIfExists(job.output);
+                } catch (IOException e) {
+                    log.warn("Could not delete report file {}", job.output, e);
+                }
+            }
+            return true;
+        });
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private ReportCardJobResponse toResponse(ReportJob job) {
+        int processed = job.processedStudents.get();
+        int progress = "completed".equals(job.status) ? 100
+                : job.totalStudents > 0 ? processed * 100 / job.totalStudents : 0;
+        return new ReportCardJobResponse(
+                job.id,
+                job.request.classId(),
+                job.format,
+                job.status,
+                processed,
+                job.totalStudents,
+                progress,
+                job.createdAt,
+                job.completedAt,
+                job.error);
+    }
+
+    private static final class ReportJob {
+        final String id;
+        final ReportCardJobRequest request;
+        final String format;
+        final String title;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicInteger processedStudents = new AtomicInteger();
+        volatile String status = "queued";
+        volatile int totalStudents;
+        volatile Path output;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        ReportJob(String id, ReportCardJobRequest request, String format, String title) {
+            this.id = id;
+            this.request = request;
+            this.format = format;
+            this.title = title;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import com.education.sms.exception.ResourceNotFoundException;
 import com.education.sms.repository.ExamRepository;
 import com.education.sms.repository.ResultRepository;
 import com.education.sms.repository.StudentRepository;
+import com.education.sms.retry.RetryOnOptimisticLock;
+import com.education.sms.service.GamificationService;
 import com.education.sms.service.ResultService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,9 +26,11 @@ public class ResultServiceImpl implements ResultService {
     private final ResultRepository resultRepository;
     private final ExamRepository examRepository;
     private final StudentRepository studentRepository;
+    private final GamificationService gamificationService;
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public ResultResponse createOrUpdateResult(ResultRequest request) {
         Exam exam = examRepository.findById(request.examId())
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + request.examId()));
@@ -78,12 +82,17 @@ public class ResultServiceImpl implements ResultService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public void finalizeResult(Long resultId) {
         Result result = resultRepository.findById(resultId)
                 .orElseThrow(() -> new ResourceNotFoundException("Result not found with id: " + resultId));
 
         result.setIsFinalized(true);
         resultRepository.save(result);
+
+        // Marks can no longer change, so this is when a result earns its points
+        gamificationService.awardForResult(result.getStudent().getStudentId(), result.getExam().getExamId(),
+                result.getMarksObtained(), result.getExam().getTotalMarks());
     }
 
     private ResultResponse mapToResponse(Result result) {
@@ -0,0 +1,209 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.dto.AnnouncementResponse;
+import com.education.sms.dto.AttendanceOverview;
+import com.education.sms.dto.BookRequestResponse;
+import com.education.sms.dto.PaymentResponse;
+import com.education.sms.dto.ResultResponse;
+import com.education.sms.dto.StudentOverviewResponse;
+import com.education.sms.dto.StudentProfileDTO;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.metrics.SqlStatementCounter;
+import com.education.sms.repository.AttendanceRepository;
+import com.education.sms.repository.AttendanceTotalsView;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.repository.ResultRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.service.AnnouncementService;
+import com.education.sms.service.BookRequestService;
+import com.education.sms.service.StudentOverviewService;
+import com.education.sms.utils.AcademicYear;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the student home screen. The profile is loaded first because it
+ * supplies the student and class ids; the other sections are then fetched
+ * concurrently, each on its own virtual thread in its own read-only
+ * transaction, so the response takes about as long as the slowest section
+ * rather than the sum of all of them. List sections are capped at
+ * app.student-overview.section-limit items.
+ *
+ * Sections are best effort: one that fails or misses the shared deadline is
+ * left null and named in {@code unavailable}, and the rest are returned.
+ * StructuredTaskScope is still a preview API on Java 21, so the fan-out uses a
+ * per-request virtual thread executor that is shut down before returning.
+ * A section cut off by the deadline is left to finish rather than interrupted
+ * (interrupting a virtual thread blocked on a socket closes the socket, which
+ * would break the pooled connection); the transaction timeout bounds it.
+ *
+ * Each concurrent section holds a pooled connection, so the fan-out across all
+ * requests is capped by app.student-overview.max-parallel-sections, well below
+ * the pool size. A permit is held until its section finishes, abandoned ones
+ * included; when none is free the section runs on the request's own thread
+ * instead, so a burst of overview calls degrades to sequential sections rather
+ * than draining the pool for every other endpoint.
+ */
+@Service
+@Slf4j
+public class StudentOverviewServiceImpl implements StudentOverviewService {
+
+    private final StudentRepository studentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ResultRepository resultRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookRequestService bookRequestService;
+    private final AnnouncementService announcementService;
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int sectionLimit;
+    private final long timeoutNanos;
+    private final Semaphore sectionPermits;
+
+    public StudentOverviewServiceImpl(StudentRepository studentRepository,
+            AttendanceRepository attendanceRepository,
+            ResultRepository resultRepository,
+            PaymentRepository paymentRepository,
+            BookRequestService bookRequestService,
+            AnnouncementService announcementService,
+            MeterRegistry meterRegistry,
+            SqlStatementCounter sqlStatementCounter,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.student-overview.section-limit:5}") int sectionLimit,
+            @Value("${app.student-overview.timeout-ms:2000}") long timeoutMs,
+            @Value("${app.student-overview.max-parallel-sections:4}") int maxParallelSections) {
+        this.studentRepository = studentRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.resultRepository = resultRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookRequestService = bookRequestService;
+        this.announcementService = announcementService;
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.sectionLimit = sectionLimit;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.sectionPermits = new Semaphore(maxParallelSections);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Applied as a query timeout, so an abandoned section does not hold its connection for long
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+    }
+
+    @Override
+    public StudentOverviewResponse getOverview(Long userId) {
+        StudentProfileDTO profile = readOnlyTransaction.execute(tx -> studentRepository.findByUserId(userId)
+                .map(StudentProfileDTO::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found")));
+        Long studentId = profile.getStudentId();
+        Pageable recent = PageRequest.of(0, sectionLimit);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<AttendanceOverview> attendance = submit(executor, () -> attendanceOverview(studentId, recent));
+            Future<List<ResultResponse>> results = submit(executor,
+                    () -> resultRepository.findRecentByStudent(studentId, recent));
+            Future<List<PaymentResponse>> payments = submit(executor,
+                    () -> paymentRepository.findRecentByStudent(studentId, recent));
+            Future<List<BookRequestResponse>> bookRequests = submit(executor,
+                    () -> bookRequestService.getRequestsByStudent(studentId,
+                            PageRequest.of(0, sectionLimit, Sort.by(Sort.Direction.DESC, "requestDate"))).content());
+            Future<List<AnnouncementResponse>> announcements = submit(executor,
+                    () -> announcementService.getStudentFeed(profile.getClassId()).stream()
+                            .limit(sectionLimit)
+                            .toList());
+
+            long deadline = System.nanoTime() + timeoutNanos;
+            Map<String, String> unavailable = new LinkedHashMap<>();
+            return new StudentOverviewResponse(
+                    profile,
+                    await("attendance", attendance, deadline, unavailable),
+                    await("recentResults", results, deadline, unavailable),
+                    await("recentPayments", payments, deadline, unavailable),
+                    await("bookRequests", bookRequests, deadline, unavailable),
+                    await("announcements", announcements, deadline, unavailable),
+                    unavailable);
+        } finally {
+            // Does not wait: abandoned sections finish in the background
+            executor.shutdown();
+        }
+    }
+
+    private AttendanceOverview attendanceOverview(Long studentId, Pageable recent) {
+        // Current academic year only, which is also a single attendance partition
+        LocalDate from = AcademicYear.startOf(LocalDate.now());
+        AttendanceTotalsView totals = attendanceRepository.findTotalsByStudent(studentId, from);
+        double percentage = totals.getTotal() == 0 ? 0.0
+                : Math.round(totals.getPresent() * 1000.0 / totals.getTotal()) / 10.0;
+        return new AttendanceOverview(totals.getTotal(), totals.getPresent(), percentage,
+                attendanceRepository.findRecentByStudent(studentId, from, recent));
+    }
+
+    private <T> Future<T> submit(ExecutorService executor, Supplier<T> section) {
+        Callable<T> task = () -> readOnlyTransaction.execute(tx -> section.get());
+        if (!sectionPermits.tryAcquire()) {
+            // Fan-out is at its cap: run the section now, on the connection this request would use anyway
+            FutureTask<T> inline = new FutureTask<>(task);
+            inline.run();
+            return inline;
+        }
+        Callable<T> counted = sqlStatementCounter.propagate(task);
+        try {
+            return executor.submit(() -> {
+                try {
+                    return counted.call();
+                } finally {
+                    sectionPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sectionPermits.release();
+            throw e;
+        }
+    }
+
+    private <T> T await(String section, Future<T> future, long deadline, Map<String, String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Student overview section {} missed the deadline", section);
+            return unavailable(section, "timeout", future, unavailable);
+        } catch (ExecutionException e) {
+            log.warn("Student overview section {} failed", section, e.getCause());
+            return unavailable(section, "error", future, unavailable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return unavailable(section, "interrupted", future, unavailable);
+        }
+    }
+
+    private <T> T unavailable(String section, String reason, Future<T> future, Map<String, String> unavailable) {
+        future.cancel(false);
+        unavailable.put(section, reason);
+        meterRegistry.counter("sms.student.overview.unavailable", "section", section, "reason", reason).increment();
+        return null;
+    }
+}
@@ -42,6 +42,7 @@ public class SubjectServiceImpl implements SubjectService {
                                 .code(request.code())
                                 .classEntity(classEntity)
                                 .faculty(faculty)
+                                .periodsPerWeek(request.periodsPerWeek())
                                 .build();
 
                 return toResponse(subjectRepository.save(subject));
@@ -67,6 +68,7 @@ public class SubjectServiceImpl implements SubjectService {
                                 entity.getName(),
                                 entity.getCode(),
                                 entity.getClassEntity().getId(),
-                                entity.getFaculty().getId());
+                                entity.getFaculty().getId(),
+                                entity.getPeriodsPerWeek());
         }
 }
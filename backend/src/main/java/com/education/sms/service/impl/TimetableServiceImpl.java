@@ -0,0 +1,433 @@
+package com.education.sms.service.impl;
+
+import com.education.sms.dto.TimetableEntryResponse;
+import com.education.sms.dto.TimetableJobRequest;
+import com.education.sms.dto.TimetableJobResponse;
+import com.education.sms.dto.TimetablePeriod;
+import com.education.sms.entity.TimetableEntry;
+import com.education.sms.exception.ResourceNotFoundException;
+import com.education.sms.repository.ClassEntityRepository;
+import com.education.sms.repository.FacultyPeriodView;
+import com.education.sms.repository.FacultyRepository;
+import com.education.sms.repository.SubjectRepository;
+import com.education.sms.repository.TimetableEntryView;
+import com.education.sms.repository.TimetableRepository;
+import com.education.sms.repository.TimetableSubjectView;
+import com.education.sms.scheduling.TimetableGrid;
+import com.education.sms.scheduling.TimetableLesson;
+import com.education.sms.scheduling.TimetableProblem;
+import com.education.sms.scheduling.TimetableRequirement;
+import com.education.sms.scheduling.TimetableSolution;
+import com.education.sms.scheduling.TimetableSolver;
+import com.education.sms.service.TimetableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Weekly class timetables, generated in the background by the
+ * {@link TimetableSolver} from the subjects of each class, their periods per
+ * week and the periods their faculty cannot teach.
+ *
+ * A job works on a snapshot of those taken when it starts and is only written
+ * to timetable_entries when applied; the unique constraints there catch a
+ * clash with changes made in the meantime. Job state is kept in memory and
+ * expires after the configured retention period, like report card jobs.
+ */
+@Service
+@Slf4j
+public class TimetableServiceImpl implements TimetableService {
+
+    private final TimetableRepository timetableRepository;
+    private final ClassEntityRepository classEntityRepository;
+    private final SubjectRepository subjectRepository;
+    private final FacultyRepository facultyRepository;
+    private final AsyncTaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TimetableJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.timetable.days-per-week:5}")
+    private int daysPerWeek;
+
+    @Value("${app.timetable.periods-per-day:8}")
+    private int periodsPerDay;
+
+    @Value("${app.timetable.default-periods-per-week:5}")
+    private int defaultPeriodsPerWeek;
+
+    @Value("${app.timetable.time-budget-seconds:30}")
+    private int defaultTimeBudgetSeconds;
+
+    @Value("${app.timetable.max-time-budget-seconds:300}")
+    private int maxTimeBudgetSeconds;
+
+    @Value("${app.timetable.threads:0}")
+    private int defaultThreads;
+
+    @Value("${app.timetable.retention-hours:24}")
+    private long retentionHours;
+
+    public TimetableServiceImpl(TimetableRepository timetableRepository,
+            ClassEntityRepository classEntityRepository,
+            SubjectRepository subjectRepository,
+            FacultyRepository facultyRepository,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+            MeterRegistry meterRegistry) {
+        this.timetableRepository = timetableRepository;
+        this.classEntityRepository = classEntityRepository;
+        this.subjectRepository = subjectRepository;
+        this.facultyRepository = facultyRepository;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized TimetableJobResponse startJob(TimetableJobRequest request) {
+        int budget = request.timeBudgetSeconds() != null ? request.timeBudgetSeconds() : defaultTimeBudgetSeconds;
+        if (budget < 1 || budget > maxTimeBudgetSeconds) {
+            throw new IllegalArgumentException("timeBudgetSeconds must be between 1 and " + maxTimeBudgetSeconds);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = request.threads() != null ? request.threads() : defaultThreads > 0 ? defaultThreads : cores;
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        // More workers than cores only share the same time budget
+        threads = Math.min(threads, cores);
+        if (jobs.values().stream().anyMatch(job -> job.completedAt == null)) {
+            throw new IllegalStateException("Another timetable job is still running");
+        }
+
+        boolean allClasses = request.classIds() == null || request.classIds().isEmpty();
+        Set<Long> classIds = allClasses ? Set.of() : new LinkedHashSet<>(request.classIds());
+        if (!allClasses && classEntityRepository.findAllById(classIds).size() != classIds.size()) {
+            throw new ResourceNotFoundException("Class not found among: " + classIds);
+        }
+
+        TimetableGrid grid = grid();
+        Map<Long, TimetableSubjectView> subjects = new LinkedHashMap<>();
+        List<TimetableRequirement> requirements = new ArrayList<>();
+        for (TimetableSubjectView subject : timetableRepository.findTimetableSubjects()) {
+            if (allClasses || classIds.contains(subject.getClassId())) {
+                subjects.put(subject.getSubjectId(), subject);
+                int periods = subject.getPeriodsPerWeek() != null ? subject.getPeriodsPerWeek() : defaultPeriodsPerWeek;
+                requirements.add(new TimetableRequirement(subject.getSubjectId(), subject.getClassId(),
+                        subject.getFacultyId(), periods));
+            }
+        }
+
+        Map<Long, Set<Integer>> blocked = new HashMap<>();
+        List<FacultyPeriodView> busy = new ArrayList<>(timetableRepository.findUnavailablePeriods());
+        if (!allClasses) {
+            busy.addAll(timetableRepository.findTeachingPeriodsOutside(classIds));
+        }
+        for (FacultyPeriodView period : busy) {
+            if (grid.contains(period.getDayOfWeek(), period.getPeriod())) {
+                blocked.computeIfAbsent(period.getFacultyId(), id -> new HashSet<>())
+                        .add(grid.slot(period.getDayOfWeek(), period.getPeriod()));
+            }
+        }
+        checkFits(grid, subjects, requirements, blocked);
+
+        TimetableSolver solver = new TimetableSolver(new TimetableProblem(grid, requirements, blocked));
+        int classCount = (int) requirements.stream().map(TimetableRequirement::classId).distinct().count();
+        TimetableJob job = new TimetableJob(UUID.randomUUID().toString(), allClasses, classIds, subjects,
+                solver, classCount, budget, threads);
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job));
+        return toResponse(job);
+    }
+
+    @Override
+    public TimetableJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    @Override
+    public List<TimetableEntryResponse> getJobTimetable(String jobId) {
+        TimetableJob job = findJob(jobId);
+        TimetableSolution solution = job.solver.best();
+        if (solution == null) {
+            throw new IllegalStateException("Timetable job " + jobId + " has no timetable yet");
+        }
+        List<TimetableEntryResponse> entries = new ArrayList<>(solution.lessons().size());
+        for (TimetableLesson lesson : solution.lessons()) {
+            entries.add(toResponse(job.subjects.get(lesson.subjectId()), lesson.dayOfWeek(), lesson.period()));
+        }
+        return entries;
+    }
+
+    @Override
+    public TimetableJobResponse stopJob(String jobId) {
+        TimetableJob job = findJob(jobId);
+        job.solver.stop();
+        return toResponse(job);
+    }
+
+    @Override
+    @Transactional
+    public TimetableJobResponse applyJob(String jobId) {
+        TimetableJob job = findJob(jobId);
+        if (!"completed".equals(job.status)) {
+            throw new IllegalStateException("Timetable job " + jobId + " is " + job.status);
+        }
+        TimetableSolution solution = job.result;
+        if (!solution.feasible()) {
+            throw new IllegalStateException("Timetable job " + jobId + " still has "
+                    + solution.hardViolations() + " clashes and cannot be applied");
+        }
+        // Claimed before anything is deleted, so two concurrent applies cannot both
+        // rewrite the timetable; handed back if this transaction does not commit
+        if (!job.applied.compareAndSet(false, true)) {
+            throw new IllegalStateException("Timetable job " + jobId + " has already been applied");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    job.applied.set(false);
+                }
+            }
+        });
+
+        if (job.allClasses) {
+            timetableRepository.deleteAllEntries();
+        } else {
+            timetableRepository.deleteByClassIds(job.classIds);
+        }
+        List<TimetableEntry> entries = new ArrayList<>(solution.lessons().size());
+        for (TimetableLesson lesson : solution.lessons()) {
+            entries.add(TimetableEntry.builder()
+                    .classEntity(classEntityRepository.getReferenceById(lesson.classId()))
+                    .subject(subjectRepository.getReferenceById(lesson.subjectId()))
+                    .faculty(lesson.facultyId() != null ? facultyRepository.getReferenceById(lesson.facultyId()) : null)
+                    .dayOfWeek(lesson.dayOfWeek())
+                    .period(lesson.period())
+                    .build());
+        }
+        timetableRepository.saveAll(entries);
+        log.info("Applied timetable job {}: {} periods for {} classes", jobId, entries.size(), job.classCount);
+        return toResponse(job);
+    }
+
+    @Override
+    public List<TimetableEntryResponse> getClassTimetable(Long classId) {
+        if (!classEntityRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("Class not found with id: " + classId);
+        }
+        return timetableRepository.findEntriesByClass(classId).stream().map(this::toResponse).toList();
+    }
+
+    @Override
+    public List<TimetableEntryResponse> getFacultyTimetable(Long facultyId) {
+        if (!facultyRepository.existsById(facultyId)) {
+            throw new ResourceNotFoundException("Faculty not found with id: " + facultyId);
+        }
+        return timetableRepository.findEntriesByFaculty(facultyId).stream().map(this::toResponse).toList();
+    }
+
+    @Override
+    public List<TimetablePeriod> getUnavailablePeriods(Long facultyId) {
+        if (!facultyRepository.existsById(facultyId)) {
+            throw new ResourceNotFoundException("Faculty not found with id: " + facultyId);
+        }
+        return timetableRepository.findUnavailablePeriodsByFaculty(facultyId).stream()
+                .map(period -> new TimetablePeriod(DayOfWeek.of(period.getDayOfWeek()), period.getPeriod()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public List<TimetablePeriod> setUnavailablePeriods(Long facultyId, List<TimetablePeriod> periods) {
+        if (!facultyRepository.existsById(facultyId)) {
+            throw new ResourceNotFoundException("Faculty not found with id: " + facultyId);
+        }
+        TimetableGrid grid = grid();
+        for (TimetablePeriod period : periods) {
+            if (period.dayOfWeek() == null || period.period() == null
+                    || !grid.contains(period.dayOfWeek().getValue(), period.period())) {
+                throw new IllegalArgumentException("Not a period of the teaching week: " + period);
+            }
+        }
+        timetableRepository.deleteUnavailablePeriods(facultyId);
+        for (TimetablePeriod period : periods) {
+            timetableRepository.addUnavailablePeriod(facultyId, period.dayOfWeek().getValue(), period.period());
+        }
+        return getUnavailablePeriods(facultyId);
+    }
+
+    private void run(TimetableJob job) {
+        job.status = "running";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            job.result = job.solver.solve(Duration.ofSeconds(job.timeBudgetSeconds), job.threads);
+            outcome = job.result.feasible() ? "feasible" : "infeasible";
+            job.status = "completed";
+            log.info("Timetable job {} finished: {} lessons, {} clashes, spread penalty {}", job.id,
+                    job.solver.lessonCount(), job.result.hardViolations(), job.result.softPenalty());
+        } catch (Exception e) {
+            log.error("Timetable job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.status = "failed";
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            sample.stop(Timer.builder("sms.timetable.solve")
+                    .description("Duration of one timetable generation job")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Rejects problems that cannot be solved at any budget: a class with more
+     * periods than the week, or a faculty member with more periods than the
+     * week has free for them.
+     */
+    private void checkFits(TimetableGrid grid, Map<Long, TimetableSubjectView> subjects,
+            List<TimetableRequirement> requirements, Map<Long, Set<Integer>> blocked) {
+        Map<Long, Integer> classDemand = new HashMap<>();
+        Map<Long, Integer> facultyDemand = new HashMap<>();
+        for (TimetableRequirement requirement : requirements) {
+            classDemand.merge(requirement.classId(), requirement.periodsPerWeek(), Integer::sum);
+            if (requirement.facultyId() != null) {
+                facultyDemand.merge(requirement.facultyId(), requirement.periodsPerWeek(), Integer::sum);
+            }
+        }
+        for (TimetableRequirement requirement : requirements) {
+            TimetableSubjectView subject = subjects.get(requirement.subjectId());
+            int classPeriods = classDemand.get(requirement.classId());
+            if (classPeriods > grid.slots()) {
+                throw new IllegalArgumentException(className(subject) + " (class " + requirement.classId()
+                        + ") needs " + classPeriods + " periods a week but the week has " + grid.slots());
+            }
+            if (requirement.facultyId() != null) {
+                int facultyPeriods = facultyDemand.get(requirement.facultyId());
+                int free = grid.slots() - blocked.getOrDefault(requirement.facultyId(), Set.of()).size();
+                if (facultyPeriods > free) {
+                    throw new IllegalArgumentException(facultyName(subject) + " (faculty " + requirement.facultyId()
+                            + ") needs " + facultyPeriods + " periods a week but is free for " + free);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops finished jobs once the retention period has passed.
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private TimetableGrid grid() {
+        return new TimetableGrid(daysPerWeek, periodsPerDay);
+    }
+
+    private TimetableJob findJob(String jobId) {
+        TimetableJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Timetable job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private TimetableJobResponse toResponse(TimetableJob job) {
+        TimetableSolution best = job.result != null ? job.result : job.solver.best();
+        return new TimetableJobResponse(
+                job.id,
+                job.status,
+                job.classCount,
+                job.solver.lessonCount(),
+                job.timeBudgetSeconds,
+                job.threads,
+                best != null ? best.hardViolations() : null,
+                best != null ? best.softPenalty() : null,
+                best != null && best.feasible(),
+                job.applied.get(),
+                job.createdAt,
+                job.completedAt,
+                job.error);
+    }
+
+    private TimetableEntryResponse toResponse(TimetableEntryView entry) {
+        return toResponse(entry, entry.getDayOfWeek(), entry.getPeriod());
+    }
+
+    private TimetableEntryResponse toResponse(TimetableSubjectView subject, int dayOfWeek, int period) {
+        return new TimetableEntryResponse(
+                DayOfWeek.of(dayOfWeek),
+                period,
+                subject.getClassId(),
+                className(subject),
+                subject.getSubjectId(),
+                subject.getSubjectName(),
+                subject.getFacultyId(),
+                facultyName(subject));
+    }
+
+    private static String className(TimetableSubjectView subject) {
+        return subject.getGradeLevel() + "-" + subject.getSection();
+    }
+
+    private static String facultyName(TimetableSubjectView subject) {
+        return subject.getFacultyId() != null ? subject.getFacultyFirstName() + " " + subject.getFacultyLastName() : null;
+    }
+
+    private static final class TimetableJob {
+        final String id;
+        final boolean allClasses;
+        final Set<Long> classIds;
+        final Map<Long, TimetableSubjectView> subjects;
+        final TimetableSolver solver;
+        final int classCount;
+        final int timeBudgetSeconds;
+        final int threads;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile String status = "queued";
+        volatile TimetableSolution result;
+        final AtomicBoolean applied = new AtomicBoolean();
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        TimetableJob(String id, boolean allClasses, Set<Long> classIds,
+                Map<Long, TimetableSubjectView> subjects, TimetableSolver solver, int classCount,
+                int timeBudgetSeconds, int threads) {
+            this.id = id;
+            this.allClasses = allClasses;
+            this.classIds = classIds;
+            this.subjects = subjects;
+            this.solver = solver;
+            this.classCount = classCount;
+            this.timeBudgetSeconds = timeBudgetSeconds;
+            this.threads = threads;
+        }
+    }
+}
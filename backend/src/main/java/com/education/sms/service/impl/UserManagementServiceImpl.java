@@ -3,7 +3,6 @@ package com.education.sms.service.impl;
 import com.education.sms.dto.*;
 import com.education.sms.entity.Faculty;
 import com.education.sms.entity.Librarian;
-import com.education.sms.entity.Student;
 import com.education.sms.repository.*;
 import com.education.sms.service.UserManagementService;
 import lombok.RequiredArgsConstructor;
@@ -27,14 +26,12 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     @Override
     public PagedResponse<StudentSummaryResponse> getAllStudents(Pageable pageable) {
-        Page<Student> page = studentRepository.findAll(pageable);
-        return PagedResponse.from(page.map(this::mapStudentToSummary));
+        return PagedResponse.from(studentRepository.findSummaries(pageable));
     }
 
     @Override
     public PagedResponse<StudentSummaryResponse> searchStudents(String name, Pageable pageable) {
-        Page<Student> page = studentRepository.searchByName(name, pageable);
-        return PagedResponse.from(page.map(this::mapStudentToSummary));
+        return PagedResponse.from(studentRepository.searchSummariesByName(name, pageable));
     }
 
     @Override
@@ -69,39 +66,6 @@ public class UserManagementServiceImpl implements UserManagementService {
                 courseRepository.count());
     }
 
-    private StudentSummaryResponse mapStudentToSummary(Student student) {
-        String className = student.getClassEntity() != null
-                ? student.getClassEntity().getGradeLevel() + " - " + student.getClassEntity().getSection()
-                : "Not Assigned";
-
-        Long classId = student.getClassEntity() != null ? student.getClassEntity().getId() : null;
-
-        // Extract enrollment year from email (format:
-        // firstName.lastName.YEAR@sms.edu.in)
-        String enrollmentYear = null;
-        String email = student.getUser() != null ? student.getUser().getEmail() : null;
-        if (email != null && email.contains("@sms.edu.in")) {
-            String[] parts = email.split("@")[0].split("\\.");
-            if (parts.length >= 3) {
-                enrollmentYear = parts[parts.length - 1]; // Last part before @ is the year
-            }
-        }
-
-        return new StudentSummaryResponse(
-                student.getStudentId(),
-                student.getStudentId(),
-                student.getFirstName(),
-                student.getLastName(),
-                student.getFirstName() + " " + student.getLastName(),
-                student.getRegistrationNumber(),
-                email,
-                enrollmentYear,
-                className,
-                classId,
-                student.getParentPhone(),
-                student.getAddress());
-    }
-
     private FacultySummaryResponse mapFacultyToSummary(Faculty faculty) {
         return new FacultySummaryResponse(
                 faculty.getId(),
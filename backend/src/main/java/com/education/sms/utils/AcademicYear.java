@@ -0,0 +1,39 @@
+package com.education.sms.utils;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+/**
+ * Academic year boundaries. A year runs from June 1st to May 31st and is named
+ * after the calendar year it starts in, so 2025 covers 2025-06-01 .. 2026-05-31.
+ *
+ * The attendance table is partitioned on the same boundaries; keep
+ * START_MONTH in sync with attendance_academic_year_start() in V11.
+ */
+public final class AcademicYear {
+
+    public static final Month START_MONTH = Month.JUNE;
+
+    private AcademicYear() {
+    }
+
+    /** The academic year containing the given day. */
+    public static int of(LocalDate day) {
+        return day.getMonthValue() < START_MONTH.getValue() ? day.getYear() - 1 : day.getYear();
+    }
+
+    /** First day of the academic year. */
+    public static LocalDate start(int year) {
+        return LocalDate.of(year, START_MONTH, 1);
+    }
+
+    /** Last day of the academic year. */
+    public static LocalDate end(int year) {
+        return start(year + 1).minusDays(1);
+    }
+
+    /** First day of the academic year containing the given day. */
+    public static LocalDate startOf(LocalDate day) {
+        return start(of(day));
+    }
+}
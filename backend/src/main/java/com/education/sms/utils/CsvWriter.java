@@ -0,0 +1,87 @@
+package com.education.sms.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV writer over an output stream. Rows are buffered and
+ * written through as the buffer fills, so callers can stream any number of rows.
+ * Text cells that a spreadsheet would read as a formula are prefixed with a
+ * quote; numbers are written as they are.
+ */
+public class CsvWriter implements AutoCloseable {
+
+    private final Writer writer;
+
+    public CsvWriter(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * @param excelCompatible write a UTF-8 byte order mark so Excel detects the encoding
+     */
+    public CsvWriter(OutputStream out, boolean excelCompatible) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (excelCompatible) {
+            try {
+                writer.write('\uFEFF');
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write CSV header", e);
+            }
+        }
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        writeRow(Arrays.asList(values));
+    }
+
+    public void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (value instanceof CharSequence && startsLikeFormula(text)) {
+            // Text such as "=HYPERLINK(...)" would run as a formula in a spreadsheet; the
+            // leading quote makes Excel and LibreOffice show it as plain text instead
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private static boolean startsLikeFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -0,0 +1,158 @@
+package com.education.sms.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Interval tree over half-open {@code [start, end)} ranges of longs.
+ *
+ * A treap ordered by start, where every node also keeps the largest end in its
+ * subtree; an overlap query skips every subtree whose largest end is at or
+ * before the query start, and every right subtree starting at or after the
+ * query end. Insert is O(log n) expected, a query O(log n + k) for k matches.
+ * Not thread-safe.
+ */
+public class IntervalTree<T> {
+
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+    private Node<T> root;
+    private int size;
+
+    public void add(long start, long end, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Empty interval [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Node<>(start, end, value, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Calls {@code action} for every stored interval overlapping {@code [start, end)}, in start order.
+     */
+    public void forEachOverlap(long start, long end, Consumer<T> action) {
+        visit(root, start, end, action);
+    }
+
+    public List<T> overlaps(long start, long end) {
+        List<T> found = new ArrayList<>();
+        forEachOverlap(start, end, found::add);
+        return found;
+    }
+
+    public boolean overlapsAny(long start, long end) {
+        Node<T> node = root;
+        while (node != null && node.maxEnd > start) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            // An overlap on the left is possible only if something there ends after start
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public int countOverlaps(long start, long end) {
+        int[] count = new int[1];
+        forEachOverlap(start, end, value -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Calls {@code action} for every stored interval, in start order.
+     */
+    public void forEach(Consumer<T> action) {
+        forEachOverlap(Long.MIN_VALUE, Long.MAX_VALUE, action);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start < node.start) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static <T> void visit(Node<T> node, long start, long end, Consumer<T> action) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        visit(node.left, start, end, action);
+        if (node.start >= end) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end > start) {
+            action.accept(node.value);
+        }
+        visit(node.right, start, end, action);
+    }
+
+    private static final class Node<T> {
+        final long start;
+        final long end;
+        final T value;
+        final int priority;
+        long maxEnd;
+        Node<T> left;
+        Node<T> right;
+
+        Node(long start, long end, T value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
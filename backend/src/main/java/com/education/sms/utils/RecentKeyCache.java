@@ -0,0 +1,61 @@
+package com.education.sms.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Small bounded, time-limited in-memory cache for recently seen keys.
+ *
+ * Used to short-circuit obvious duplicates (client retries, double clicks)
+ * before they reach the database. It is a best-effort optimisation only - the
+ * database constraint remains the source of truth for uniqueness.
+ */
+public class RecentKeyCache<K, V> {
+
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+
+    public RecentKeyCache(int maxSize, Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        // Access-ordered so the least recently used key is evicted first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAt() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<V> condition) {
+        entries.values().removeIf(entry -> condition.test(entry.value()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
@@ -0,0 +1,34 @@
+-- Migration script for the housekeeping job (HousekeepingServiceImpl)
+-- Run this against your PostgreSQL database: sms_db
+
+-- Rows past the retention window are moved here in batches. Same columns as
+-- the live tables plus the time they were archived; no foreign keys, so
+-- students, subjects and books can still be removed later.
+CREATE TABLE IF NOT EXISTS attendance_archive (
+    id BIGINT PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    is_present BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_attendance_archive_student_date ON attendance_archive(student_id, date);
+
+CREATE TABLE IF NOT EXISTS library_issues_archive (
+    issue_id BIGINT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    issue_date DATE NOT NULL,
+    due_date DATE,
+    return_date DATE,
+    status VARCHAR(255) NOT NULL,
+    fine_amount NUMERIC(7, 2),
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_library_issues_archive_user ON library_issues_archive(user_id);
+
+-- Let each batch find its candidates without scanning the live tables
+CREATE INDEX IF NOT EXISTS idx_attendance_date ON attendance(date);
+CREATE INDEX IF NOT EXISTS idx_library_issues_returned_return_date
+    ON library_issues(return_date) WHERE status = 'returned';
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at ON password_reset_tokens(expires_at);
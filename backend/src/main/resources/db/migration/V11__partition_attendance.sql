@@ -0,0 +1,187 @@
+-- Migration script for range-partitioning attendance by academic year
+-- Run this against your PostgreSQL database: sms_db
+
+-- attendance becomes a partitioned table with one partition per academic year
+-- (June to May, attendance_ay2025 = 2025-06-01 .. 2026-05-31). Queries that
+-- filter on date only touch the partitions they need, each partition has its
+-- own small indexes, and a finished year can be detached as a whole instead of
+-- deleting its rows (see archive_attendance_partitions below).
+--
+-- PostgreSQL requires the partition key in every unique constraint, so the
+-- primary key becomes (id, date); ids still come from attendance_seq and stay
+-- unique on their own.
+
+-- 1. Move the current table out of the way, keeping its sequence
+ALTER SEQUENCE attendance_seq OWNED BY NONE;
+ALTER TABLE attendance RENAME TO attendance_legacy;
+ALTER TABLE attendance_legacy RENAME CONSTRAINT attendance_pkey TO attendance_legacy_pkey;
+ALTER TABLE attendance_legacy RENAME CONSTRAINT uk_attendance_student_subject_date TO uk_attendance_legacy;
+ALTER INDEX idx_attendance_date RENAME TO idx_attendance_legacy_date;
+
+-- 2. Partitioned parent. Rows outside every year partition land in
+-- attendance_default; ensure_attendance_partitions() moves them out.
+CREATE TABLE attendance (
+    id BIGINT NOT NULL DEFAULT nextval('attendance_seq'),
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    is_present BOOLEAN NOT NULL,
+    CONSTRAINT attendance_pkey PRIMARY KEY (id, date),
+    CONSTRAINT uk_attendance_student_subject_date UNIQUE (student_id, subject_id, date),
+    CONSTRAINT fk_attendance_student FOREIGN KEY (student_id) REFERENCES students (student_id),
+    CONSTRAINT fk_attendance_subject FOREIGN KEY (subject_id) REFERENCES subjects (id)
+) PARTITION BY RANGE (date);
+ALTER SEQUENCE attendance_seq OWNED BY attendance.id;
+CREATE INDEX idx_attendance_date ON attendance (date);
+CREATE TABLE attendance_default PARTITION OF attendance DEFAULT;
+
+-- 3. Archive side: same layout, no foreign keys, so whole year partitions can
+-- move across without copying rows. Rows archived one by one before this
+-- migration go back into attendance and are archived again by year; rows whose
+-- student or subject no longer exists stay in attendance_archive_orphans.
+CREATE TABLE attendance_archive_rows AS
+    SELECT id, student_id, subject_id, date, is_present FROM attendance_archive;
+DROP TABLE attendance_archive;
+CREATE TABLE attendance_archive (
+    id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    is_present BOOLEAN NOT NULL,
+    CONSTRAINT attendance_archive_pkey PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+CREATE INDEX idx_attendance_archive_student_date ON attendance_archive (student_id, date);
+
+-- 4. Partition management. The academic year starts on June 1st; keep this in
+-- sync with AcademicYear.START_MONTH.
+CREATE OR REPLACE FUNCTION attendance_academic_year_start(day DATE) RETURNS DATE
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT make_date(CAST(extract(YEAR FROM day) AS INTEGER)
+                     - CASE WHEN extract(MONTH FROM day) < 6 THEN 1 ELSE 0 END, 6, 1)
+$$;
+
+-- Creates the partition holding day, moving any matching rows out of
+-- attendance_default first. Returns true if a partition was created.
+CREATE OR REPLACE FUNCTION ensure_attendance_partition(day DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    lower_bound DATE := attendance_academic_year_start(day);
+    upper_bound DATE := (attendance_academic_year_start(day) + INTERVAL '1 year')::DATE;
+    partition_name TEXT := 'attendance_ay' || extract(YEAR FROM attendance_academic_year_start(day));
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE attendance INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM attendance_default WHERE date >= %L AND date < %L '
+                   || 'RETURNING id, student_id, subject_id, date, is_present) '
+                   || 'INSERT INTO %I (id, student_id, subject_id, date, is_present) '
+                   || 'SELECT id, student_id, subject_id, date, is_present FROM moved',
+                   lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE attendance ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN true;
+END;
+$$;
+
+-- Creates every year partition up to and including the year of through_day,
+-- plus one for each year that has rows stranded in attendance_default.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_attendance_partitions(through_day DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    year_start DATE;
+    created INTEGER := 0;
+BEGIN
+    FOR year_start IN
+        SELECT DISTINCT attendance_academic_year_start(date) FROM attendance_default
+        UNION
+        SELECT generate_series(attendance_academic_year_start(CURRENT_DATE),
+                               attendance_academic_year_start(through_day), INTERVAL '1 year')::DATE
+    LOOP
+        IF ensure_attendance_partition(year_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Detaches every year partition that ended on or before cutoff and attaches it
+-- to attendance_archive (metadata only, no rows are copied). If that year is
+-- already archived (late rows recreated the live partition), the rows are
+-- appended to the archived partition instead. Returns the number of
+-- partitions archived.
+CREATE OR REPLACE FUNCTION archive_attendance_partitions(cutoff DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    part RECORD;
+    fk RECORD;
+    lower_bound DATE;
+    archive_name TEXT;
+    archived INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname::TEXT AS relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'attendance'::regclass
+          AND c.relname ~ '^attendance_ay[0-9]{4}$'
+        ORDER BY c.relname
+    LOOP
+        lower_bound := make_date(CAST(substring(part.relname FROM 14) AS INTEGER), 6, 1);
+        CONTINUE WHEN (lower_bound + INTERVAL '1 year')::DATE > cutoff;
+        archive_name := 'attendance_archive_' || substring(part.relname FROM 12);
+
+        EXECUTE format('ALTER TABLE attendance DETACH PARTITION %I', part.relname);
+        IF to_regclass(archive_name) IS NOT NULL THEN
+            EXECUTE format('INSERT INTO %I (id, student_id, subject_id, date, is_present) '
+                           || 'SELECT id, student_id, subject_id, date, is_present FROM %I',
+                           archive_name, part.relname);
+            EXECUTE format('DROP TABLE %I', part.relname);
+        ELSE
+            FOR fk IN
+                SELECT conname FROM pg_constraint
+                WHERE conrelid = to_regclass(part.relname) AND contype = 'f'
+            LOOP
+                EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', part.relname, fk.conname);
+            END LOOP;
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', part.relname, archive_name);
+            EXECUTE format('ALTER TABLE attendance_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           archive_name, lower_bound, (lower_bound + INTERVAL '1 year')::DATE);
+        END IF;
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$;
+
+-- 5. Year partitions for the existing rows, this year and next, then the data
+SELECT ensure_attendance_partition(year_start)
+FROM (
+    SELECT DISTINCT attendance_academic_year_start(date) AS year_start FROM attendance_legacy
+    UNION
+    SELECT DISTINCT attendance_academic_year_start(date) FROM attendance_archive_rows
+) years;
+SELECT ensure_attendance_partitions((CURRENT_DATE + INTERVAL '1 year')::DATE);
+
+INSERT INTO attendance (id, student_id, subject_id, date, is_present)
+SELECT id, student_id, subject_id, date, is_present FROM attendance_legacy;
+WITH restored AS (
+    DELETE FROM attendance_archive_rows r
+    WHERE EXISTS (SELECT 1 FROM students s WHERE s.student_id = r.student_id)
+      AND EXISTS (SELECT 1 FROM subjects sub WHERE sub.id = r.subject_id)
+    RETURNING id, student_id, subject_id, date, is_present
+)
+INSERT INTO attendance (id, student_id, subject_id, date, is_present)
+SELECT id, student_id, subject_id, date, is_present FROM restored;
+
+DROP TABLE attendance_legacy;
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM attendance_archive_rows) THEN
+        ALTER TABLE attendance_archive_rows RENAME TO attendance_archive_orphans;
+    ELSE
+        DROP TABLE attendance_archive_rows;
+    END IF;
+END $$;
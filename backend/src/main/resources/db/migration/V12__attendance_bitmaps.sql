@@ -0,0 +1,38 @@
+-- Migration script for the attendance bitmap side table
+-- Run this against your PostgreSQL database: sms_db
+
+-- One row per (student, subject, month). Bit n-1 of marked_mask is set when
+-- attendance was taken on day n of the month, the same bit of present_mask
+-- when the student was present. A month fits in an INTEGER (day 31 = bit 30).
+-- attendance stays the source of truth; markAttendance keeps this table in
+-- step and rebuild_attendance_bitmaps() recomputes it from the rows.
+CREATE TABLE attendance_bitmaps (
+    student_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    marked_mask INTEGER NOT NULL DEFAULT 0,
+    present_mask INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT attendance_bitmaps_pkey PRIMARY KEY (student_id, subject_id, month),
+    CONSTRAINT fk_attendance_bitmaps_student FOREIGN KEY (student_id) REFERENCES students (student_id),
+    CONSTRAINT fk_attendance_bitmaps_subject FOREIGN KEY (subject_id) REFERENCES subjects (id)
+);
+
+-- Recomputes every bitmap from attendance. Returns the number of bitmaps written.
+CREATE OR REPLACE FUNCTION rebuild_attendance_bitmaps() RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    written INTEGER;
+BEGIN
+    DELETE FROM attendance_bitmaps;
+    INSERT INTO attendance_bitmaps (student_id, subject_id, month, marked_mask, present_mask)
+    SELECT student_id, subject_id, CAST(date_trunc('month', date) AS DATE),
+           bit_or(1 << (CAST(extract(DAY FROM date) AS INTEGER) - 1)),
+           COALESCE(bit_or(1 << (CAST(extract(DAY FROM date) AS INTEGER) - 1)) FILTER (WHERE is_present), 0)
+    FROM attendance
+    GROUP BY student_id, subject_id, CAST(date_trunc('month', date) AS DATE);
+    GET DIAGNOSTICS written = ROW_COUNT;
+    RETURN written;
+END;
+$$;
+
+SELECT rebuild_attendance_bitmaps();
@@ -0,0 +1,48 @@
+-- Migration script for incremental attendance totals and low-attendance alerts
+-- Run this against your PostgreSQL database: sms_db
+
+-- Minimum attendance a class requires, in percent; NULL uses
+-- app.attendance.alerts.default-threshold-percent
+ALTER TABLE class_entities ADD COLUMN min_attendance_percent NUMERIC(5, 2);
+
+-- Running totals per student and academic year, bumped by every mark. dirty
+-- flags the rows changed since the last alert run, so that run only reads
+-- the students marked that day; below_threshold remembers the last state so
+-- an alert goes out once per crossing.
+CREATE TABLE attendance_rollups (
+    student_id BIGINT NOT NULL,
+    academic_year INTEGER NOT NULL,
+    total_classes INTEGER NOT NULL DEFAULT 0,
+    present_classes INTEGER NOT NULL DEFAULT 0,
+    below_threshold BOOLEAN NOT NULL DEFAULT FALSE,
+    dirty BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT attendance_rollups_pkey PRIMARY KEY (student_id, academic_year),
+    CONSTRAINT fk_attendance_rollups_student FOREIGN KEY (student_id) REFERENCES students (student_id)
+);
+CREATE INDEX idx_attendance_rollups_dirty ON attendance_rollups (academic_year, student_id) WHERE dirty;
+
+-- Recomputes every total from attendance, keeping below_threshold. Rows of the
+-- current academic year are flagged dirty so the next alert run re-checks
+-- them. Returns the number of rows written.
+CREATE OR REPLACE FUNCTION rebuild_attendance_rollups() RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    written INTEGER;
+BEGIN
+    UPDATE attendance_rollups SET total_classes = 0, present_classes = 0;
+    INSERT INTO attendance_rollups (student_id, academic_year, total_classes, present_classes, dirty)
+    SELECT student_id, CAST(extract(YEAR FROM attendance_academic_year_start(date)) AS INTEGER),
+           COUNT(*), COUNT(*) FILTER (WHERE is_present), FALSE
+    FROM attendance
+    GROUP BY student_id, attendance_academic_year_start(date)
+    ON CONFLICT (student_id, academic_year) DO UPDATE SET
+        total_classes = EXCLUDED.total_classes,
+        present_classes = EXCLUDED.present_classes;
+    GET DIAGNOSTICS written = ROW_COUNT;
+    UPDATE attendance_rollups SET dirty = TRUE
+    WHERE academic_year = CAST(extract(YEAR FROM attendance_academic_year_start(CURRENT_DATE)) AS INTEGER);
+    RETURN written;
+END;
+$$;
+
+SELECT rebuild_attendance_rollups();
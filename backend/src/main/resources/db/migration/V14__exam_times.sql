@@ -0,0 +1,10 @@
+-- Migration script for exam start times and durations
+-- Run this against your PostgreSQL database: sms_db
+
+-- Exams created before this migration keep NULL times and block their whole
+-- day when the scheduler checks for conflicts.
+ALTER TABLE exams ADD COLUMN start_time TIME;
+ALTER TABLE exams ADD COLUMN duration_minutes INTEGER;
+
+-- The scheduler loads a term's exams by date range
+CREATE INDEX idx_exams_date ON exams (date);
@@ -0,0 +1,37 @@
+-- Migration script for weekly class timetables
+-- Run this against your PostgreSQL database: sms_db
+
+-- Teaching periods per week for each subject; NULL uses
+-- app.timetable.default-periods-per-week.
+ALTER TABLE subjects ADD COLUMN periods_per_week INTEGER;
+
+-- Periods a faculty member cannot teach. day_of_week is ISO (1 = Monday),
+-- period counts from 1.
+CREATE TABLE faculty_unavailable_periods (
+    faculty_id BIGINT NOT NULL,
+    day_of_week INTEGER NOT NULL,
+    period INTEGER NOT NULL,
+    CONSTRAINT faculty_unavailable_periods_pkey PRIMARY KEY (faculty_id, day_of_week, period),
+    CONSTRAINT fk_faculty_unavailable_faculty FOREIGN KEY (faculty_id) REFERENCES faculty (id)
+);
+
+-- The applied timetable. A class, and a faculty member, is in at most one
+-- place per period; the generator only applies solutions that satisfy both.
+-- A whole school is written at once, so ids come from a pooled sequence (as
+-- in V6) and the inserts are batched.
+CREATE SEQUENCE timetable_entries_seq INCREMENT BY 50;
+CREATE TABLE timetable_entries (
+    id BIGINT PRIMARY KEY DEFAULT nextval('timetable_entries_seq'),
+    class_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    faculty_id BIGINT,
+    day_of_week INTEGER NOT NULL,
+    period INTEGER NOT NULL,
+    CONSTRAINT uk_timetable_class_period UNIQUE (class_id, day_of_week, period),
+    CONSTRAINT uk_timetable_faculty_period UNIQUE (faculty_id, day_of_week, period),
+    CONSTRAINT fk_timetable_class FOREIGN KEY (class_id) REFERENCES class_entities (id),
+    CONSTRAINT fk_timetable_subject FOREIGN KEY (subject_id) REFERENCES subjects (id),
+    CONSTRAINT fk_timetable_faculty FOREIGN KEY (faculty_id) REFERENCES faculty (id)
+);
+ALTER SEQUENCE timetable_entries_seq OWNED BY timetable_entries.id;
+CREATE INDEX idx_timetable_subject ON timetable_entries (subject_id);
@@ -0,0 +1,31 @@
+-- Migration script for the gamification points engine
+-- Run this against your PostgreSQL database: sms_db
+
+-- Points are only ever changed by adding to the column in SQL, so it must not be NULL
+UPDATE students SET gamification_points = 0 WHERE gamification_points IS NULL;
+ALTER TABLE students ALTER COLUMN gamification_points SET DEFAULT 0;
+ALTER TABLE students ALTER COLUMN gamification_points SET NOT NULL;
+
+-- Every award, at most once per student, reason and source (the exam, event,
+-- library issue or, for attendance streaks, the day the streak was reached).
+-- The award and the increment of students.gamification_points happen in one
+-- statement, so a retried or duplicated event never counts twice.
+CREATE SEQUENCE points_awards_seq INCREMENT BY 50;
+CREATE TABLE points_awards (
+    id BIGINT PRIMARY KEY DEFAULT nextval('points_awards_seq'),
+    student_id BIGINT NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    source_id BIGINT NOT NULL,
+    points INTEGER NOT NULL,
+    awarded_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_points_awards_source UNIQUE (student_id, reason, source_id),
+    CONSTRAINT fk_points_awards_student FOREIGN KEY (student_id) REFERENCES students (student_id)
+);
+ALTER SEQUENCE points_awards_seq OWNED BY points_awards.id;
+CREATE INDEX idx_points_awards_student_time ON points_awards (student_id, awarded_at DESC);
+
+-- Leaderboards: the top of the school, or of a class, is the start of these
+-- indexes, so a leaderboard reads limit rows instead of sorting every student,
+-- and a rank counts index entries above the student's points
+CREATE INDEX idx_students_points ON students (gamification_points DESC, student_id);
+CREATE INDEX idx_students_class_points ON students (class_id, gamification_points DESC, student_id);
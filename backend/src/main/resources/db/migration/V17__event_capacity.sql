@@ -0,0 +1,38 @@
+-- Migration script for capacity-limited event registration
+-- Run this against your PostgreSQL database: sms_db
+
+-- Seats of an event. capacity NULL means unlimited (and seats_available is
+-- NULL too). seats_available is a counter taken with a conditional decrement
+-- (UPDATE ... WHERE seats_available > 0), so concurrent sign-ups can never
+-- take more seats than there are.
+ALTER TABLE events ADD COLUMN capacity INTEGER;
+ALTER TABLE events ADD COLUMN seats_available INTEGER;
+ALTER TABLE events ADD CONSTRAINT ck_events_capacity CHECK (capacity > 0);
+ALTER TABLE events ADD CONSTRAINT ck_events_seats_available
+    CHECK (seats_available >= 0 AND seats_available <= capacity);
+
+-- A participant holds a seat ('registered') or waits for one ('waitlisted');
+-- registered_at orders the waitlist.
+ALTER TABLE event_participants ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'registered';
+ALTER TABLE event_participants ADD COLUMN registered_at TIMESTAMP;
+UPDATE event_participants SET registered_at = LOCALTIMESTAMP;
+ALTER TABLE event_participants ALTER COLUMN registered_at SET NOT NULL;
+
+-- The exists-then-insert check let concurrent sign-ups through twice; keep
+-- the first row of each pair and make the pair unique
+DELETE FROM event_participants p
+USING event_participants q
+WHERE p.event_id = q.event_id AND p.user_id = q.user_id AND p.ep_id > q.ep_id;
+ALTER TABLE event_participants ADD CONSTRAINT uk_event_participants_event_user UNIQUE (event_id, user_id);
+
+CREATE INDEX idx_event_participants_user ON event_participants (user_id);
+CREATE INDEX idx_event_participants_waitlist ON event_participants (event_id, registered_at, ep_id)
+    WHERE status = 'waitlisted';
+
+-- Class-wide enrolment inserts a class at a time; pooled ids (as in V6) let
+-- Hibernate batch those inserts
+CREATE SEQUENCE event_participants_seq INCREMENT BY 50;
+SELECT setval('event_participants_seq', COALESCE(MAX(ep_id), 0) + 1, false) FROM event_participants;
+ALTER TABLE event_participants ALTER COLUMN ep_id DROP IDENTITY IF EXISTS;
+ALTER TABLE event_participants ALTER COLUMN ep_id SET DEFAULT nextval('event_participants_seq');
+ALTER SEQUENCE event_participants_seq OWNED BY event_participants.ep_id;
@@ -0,0 +1,335 @@
+-- Baseline schema: every table as mapped by the JPA entities when versioned
+-- migrations were introduced (what ddl-auto=update used to produce).
+-- V2-V6 predate Flyway; they are idempotent, so running them after this is safe.
+--
+-- Only runs on an empty database. Existing databases are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and continue from V2.
+
+create sequence attendance_seq start with 1 increment by 50;
+create sequence library_issues_seq start with 1 increment by 50;
+create sequence payment_webhook_events_seq start with 1 increment by 50;
+create sequence payments_seq start with 1 increment by 50;
+create sequence results_seq start with 1 increment by 50;
+
+create table admin_requests (
+    created_at timestamp(6),
+    new_date timestamp(6),
+    previous_date timestamp(6),
+    request_id bigint generated by default as identity,
+    requester_user_id bigint not null,
+    updated_at timestamp(6),
+    admin_comments TEXT,
+    description TEXT,
+    request_document_url varchar(255),
+    request_type varchar(255) not null,
+    status varchar(255) not null,
+    primary key (request_id)
+);
+
+create table announcements (
+    announcement_id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    post_by_user_id bigint not null,
+    target_class_id bigint,
+    content TEXT not null,
+    target_role varchar(255) check (target_role in ('ADMIN','STUDENT','FACULTY','LIBRARIAN')),
+    title varchar(255),
+    primary key (announcement_id)
+);
+
+create table app_users (
+    is_active boolean not null,
+    must_change_password boolean,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    last_logout timestamp(6),
+    password_changed_at timestamp(6),
+    email varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    personal_email varchar(255),
+    profile_image_url varchar(255),
+    role varchar(255) not null check (role in ('ADMIN','STUDENT','FACULTY','LIBRARIAN')),
+    primary key (id)
+);
+
+create table attendance (
+    date date not null,
+    is_present boolean not null,
+    id bigint not null default nextval('attendance_seq'),
+    student_id bigint not null,
+    subject_id bigint not null,
+    primary key (id)
+);
+
+create table book_requests (
+    approved_by bigint,
+    approved_date timestamp(6),
+    book_id bigint not null,
+    created_at timestamp(6),
+    request_date timestamp(6) not null,
+    request_id bigint generated by default as identity,
+    student_id bigint not null,
+    updated_at timestamp(6),
+    remarks TEXT,
+    status varchar(255) not null,
+    primary key (request_id)
+);
+
+create table books (
+    available_copies integer not null,
+    total_copies integer not null,
+    book_id bigint generated by default as identity,
+    author varchar(255),
+    isbn varchar(255) not null unique,
+    title varchar(255) not null,
+    primary key (book_id)
+);
+
+create table class_entities (
+    academic_year integer,
+    id bigint generated by default as identity,
+    address varchar(255),
+    grade_level varchar(255) not null,
+    section varchar(255) not null,
+    primary key (id)
+);
+
+create table courses (
+    class_id bigint not null,
+    course_id bigint generated by default as identity,
+    faculty_id bigint,
+    course_name varchar(255) not null,
+    primary key (course_id)
+);
+
+create table event_participants (
+    ep_id bigint generated by default as identity,
+    event_id bigint not null,
+    user_id bigint not null,
+    role varchar(255),
+    primary key (ep_id)
+);
+
+create table events (
+    event_date date not null,
+    event_id bigint generated by default as identity,
+    description TEXT,
+    title varchar(255) not null,
+    primary key (event_id)
+);
+
+create table exams (
+    date date not null,
+    total_marks integer,
+    course_id bigint not null,
+    exam_id bigint generated by default as identity,
+    exam_name varchar(255) not null,
+    primary key (exam_id)
+);
+
+create table faculty (
+    id bigint generated by default as identity,
+    user_id bigint not null unique,
+    department varchar(255) not null,
+    employee_id varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table fees_structure (
+    amount numeric(10,2) not null,
+    class_id bigint not null,
+    fee_id bigint generated by default as identity,
+    fee_type varchar(255) not null,
+    primary key (fee_id)
+);
+
+create table librarians (
+    id bigint generated by default as identity,
+    user_id bigint not null unique,
+    employee_id varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    phone varchar(255),
+    primary key (id)
+);
+
+create table library_issues (
+    due_date date,
+    fine_amount numeric(7,2),
+    issue_date date not null,
+    return_date date,
+    book_id bigint not null,
+    issue_id bigint not null default nextval('library_issues_seq'),
+    user_id bigint not null,
+    status varchar(255) not null,
+    primary key (issue_id)
+);
+
+create table password_reset_tokens (
+    used boolean not null,
+    created_at timestamp(6),
+    expires_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    token varchar(255) not null unique,
+    primary key (id)
+);
+
+create table payment_webhook_events (
+    attempts integer not null,
+    id bigint not null default nextval('payment_webhook_events_seq'),
+    next_attempt_at timestamp(6),
+    processed_at timestamp(6),
+    received_at timestamp(6) not null,
+    event_type varchar(255) not null,
+    gateway_event_id varchar(255) unique,
+    payload TEXT,
+    razorpay_order_id varchar(255) not null,
+    razorpay_payment_id varchar(255),
+    status varchar(255) not null check (status in ('PENDING','PROCESSED','UNMATCHED')),
+    target_status varchar(255) not null,
+    primary key (id)
+);
+
+create table payments (
+    amount_paid numeric(10,2) not null,
+    admin_request_id bigint,
+    payment_date timestamp(6) not null,
+    payment_id bigint not null default nextval('payments_seq'),
+    student_id bigint not null,
+    payment_status varchar(255) not null,
+    razorpay_order_id varchar(255),
+    razorpay_payment_id varchar(255),
+    primary key (payment_id),
+    constraint uk_payments_razorpay_payment_id unique (razorpay_payment_id)
+);
+
+create table results (
+    is_finalized boolean not null,
+    marks_obtained numeric(5,2) not null,
+    created_at timestamp(6),
+    exam_id bigint not null,
+    result_id bigint not null default nextval('results_seq'),
+    student_id bigint not null,
+    primary key (result_id)
+);
+
+create table students (
+    gamification_points integer,
+    class_id bigint,
+    student_id bigint generated by default as identity,
+    user_id bigint not null unique,
+    address varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    parent_phone varchar(255),
+    phone varchar(255),
+    profile_image_url varchar(255),
+    registration_number varchar(255),
+    primary key (student_id)
+);
+
+create table subjects (
+    class_id bigint,
+    faculty_id bigint,
+    id bigint generated by default as identity,
+    code varchar(255) not null unique,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+alter sequence attendance_seq owned by attendance.id;
+alter sequence library_issues_seq owned by library_issues.issue_id;
+alter sequence payment_webhook_events_seq owned by payment_webhook_events.id;
+alter sequence payments_seq owned by payments.payment_id;
+alter sequence results_seq owned by results.result_id;
+
+create index idx_payment_webhook_events_status
+    on payment_webhook_events (status, id);
+
+create index idx_payments_razorpay_order_id
+    on payments (razorpay_order_id);
+
+alter table admin_requests
+    add constraint FK24a72vtq4f7qxpi39j2tuvhvx foreign key (requester_user_id) references app_users;
+
+alter table announcements
+    add constraint FKqyq2qqbtr1uph415yirapyp4c foreign key (post_by_user_id) references app_users;
+
+alter table announcements
+    add constraint FKrqn7giyqicaejf519n69uco52 foreign key (target_class_id) references class_entities;
+
+alter table attendance
+    add constraint FK7121lveuhtmu9wa6m90ayd5yg foreign key (student_id) references students;
+
+alter table attendance
+    add constraint FKcjg1qkkmmy4dtktcdug457x4p foreign key (subject_id) references subjects;
+
+alter table book_requests
+    add constraint FKj421x659bmgkb44k4bn7xnv97 foreign key (approved_by) references app_users;
+
+alter table book_requests
+    add constraint FK8b4twec5c1mnswtkqoyf1c14i foreign key (book_id) references books;
+
+alter table book_requests
+    add constraint FKt1esrk2fur7p36mheco4lwou8 foreign key (student_id) references students;
+
+alter table courses
+    add constraint FKnmp37iedpynfj9algxdelr3xo foreign key (class_id) references class_entities;
+
+alter table courses
+    add constraint FKkb7y7evjam6951oast40wqk1b foreign key (faculty_id) references faculty;
+
+alter table event_participants
+    add constraint FK2x391urx4up03f4jp2y9mdt5x foreign key (event_id) references events;
+
+alter table event_participants
+    add constraint FKqsmjp2nxgmto7wgd7vgs90brb foreign key (user_id) references app_users;
+
+alter table exams
+    add constraint FKr1qm93flajdaclug2fg8i7bcg foreign key (course_id) references courses;
+
+alter table faculty
+    add constraint FKihc77u496wrjymwex95hafn0f foreign key (user_id) references app_users;
+
+alter table fees_structure
+    add constraint FKmlbksac0s3ck7ooao3bp510fj foreign key (class_id) references class_entities;
+
+alter table librarians
+    add constraint FKq1dxv1w03ccc73pm9gd3vdea1 foreign key (user_id) references app_users;
+
+alter table library_issues
+    add constraint FKqkcf84mugqeam1wgtm5he5c0 foreign key (book_id) references books;
+
+alter table library_issues
+    add constraint FKkxu23bc2igoff45v4j24h4rvv foreign key (user_id) references app_users;
+
+alter table password_reset_tokens
+    add constraint FKk4vaguhrxs5jl3lqtshglaxo8 foreign key (user_id) references app_users;
+
+alter table payments
+    add constraint FKrnakj20v0oc0iqdq2wvhlt5ij foreign key (admin_request_id) references admin_requests;
+
+alter table payments
+    add constraint FK6ooq278k2bs5xi8t5o6oort1v foreign key (student_id) references students;
+
+alter table results
+    add constraint FKeow9kom5hrbhv6jhq82bqe68k foreign key (exam_id) references exams;
+
+alter table results
+    add constraint FKfri0f5doafs6f1ob36de88b6a foreign key (student_id) references students;
+
+alter table students
+    add constraint FKanhdiftg12ee7qwgu3w9nq87j foreign key (class_id) references class_entities;
+
+alter table students
+    add constraint FKaxlph8dqkilnnhhxdvqthd18b foreign key (user_id) references app_users;
+
+alter table subjects
+    add constraint FK7tfgtklswtn2chri894habq1k foreign key (class_id) references class_entities;
+
+alter table subjects
+    add constraint FKj152blph70vxw1qnl060nl2ll foreign key (faculty_id) references faculty;
@@ -0,0 +1,25 @@
+-- Migration script to make Razorpay payment ingestion idempotent
+-- Run this against your PostgreSQL database: sms_db
+
+-- Remove duplicate payments recorded for the same Razorpay payment ID,
+-- keeping the earliest row
+DELETE FROM payments p
+USING payments dup
+WHERE p.razorpay_payment_id IS NOT NULL
+  AND p.razorpay_payment_id = dup.razorpay_payment_id
+  AND p.payment_id > dup.payment_id;
+
+-- One row per Razorpay payment ID (NULLs, e.g. offline payments, are still allowed)
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'uk_payments_razorpay_payment_id'
+    ) THEN
+        ALTER TABLE payments
+            ADD CONSTRAINT uk_payments_razorpay_payment_id UNIQUE (razorpay_payment_id);
+    END IF;
+END $$;
+
+-- Order lookups (webhooks, reconciliation). Not unique: one order can have
+-- several payment attempts
+CREATE INDEX IF NOT EXISTS idx_payments_razorpay_order_id ON payments(razorpay_order_id);
@@ -0,0 +1,20 @@
+-- Migration script for the Razorpay webhook queue used by payment reconciliation
+-- Run this against your PostgreSQL database: sms_db
+
+CREATE TABLE IF NOT EXISTS payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    gateway_event_id VARCHAR(255) UNIQUE,
+    event_type VARCHAR(255) NOT NULL,
+    razorpay_order_id VARCHAR(255) NOT NULL,
+    razorpay_payment_id VARCHAR(255),
+    target_status VARCHAR(255) NOT NULL,
+    payload TEXT,
+    status VARCHAR(255) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Queue polling: oldest pending events first
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_status ON payment_webhook_events(status, id);
@@ -0,0 +1,13 @@
+-- Migration script for the fee ledger aggregate queries
+-- Run this against your PostgreSQL database: sms_db
+
+-- Successful fee payments summed per student (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_payments_student_success
+    ON payments(student_id) INCLUDE (amount_paid)
+    WHERE payment_status = 'success' AND admin_request_id IS NULL;
+
+-- Fee structure summed per class
+CREATE INDEX IF NOT EXISTS idx_fees_structure_class_id ON fees_structure(class_id);
+
+-- Students per class
+CREATE INDEX IF NOT EXISTS idx_students_class_id ON students(class_id);
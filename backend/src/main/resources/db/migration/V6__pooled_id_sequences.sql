@@ -0,0 +1,40 @@
+-- Migration script to move high-volume tables from IDENTITY to pooled sequences
+-- Run this against your PostgreSQL database: sms_db
+-- Run it BEFORE deploying the matching application version, otherwise Hibernate
+-- creates the sequences itself starting at 1.
+--
+-- Hibernate allocates ids in blocks of 50 (pooled-lo), which lets it batch
+-- inserts. Each sequence is seeded past the current max id, and the column
+-- default is switched to the same sequence so plain SQL inserts stay consistent.
+
+DO $$
+DECLARE
+    t RECORD;
+    max_id BIGINT;
+    last_val BIGINT;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+            ('attendance', 'id', 'attendance_seq'),
+            ('results', 'result_id', 'results_seq'),
+            ('payments', 'payment_id', 'payments_seq'),
+            ('library_issues', 'issue_id', 'library_issues_seq'),
+            ('payment_webhook_events', 'id', 'payment_webhook_events_seq')
+        ) AS v(tbl, col, seq)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t.seq);
+
+        -- Only ever move a sequence forward, so re-running is safe
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', t.col, t.tbl) INTO max_id;
+        EXECUTE format('SELECT last_value FROM %I', t.seq) INTO last_val;
+        IF max_id >= last_val THEN
+            PERFORM setval(t.seq, max_id + 1, false);
+        END IF;
+
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', t.tbl, t.col);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I SET DEFAULT nextval(%L)', t.tbl, t.col, t.seq);
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.%I', t.seq, t.tbl, t.col);
+    END LOOP;
+END $$;
+
+-- payment_webhook_events was created with BIGSERIAL; its old sequence is no longer used
+DROP SEQUENCE IF EXISTS payment_webhook_events_id_seq;
@@ -0,0 +1,54 @@
+-- Migration script for the indexes and unique constraints behind the hot lookups
+-- Run this against your PostgreSQL database: sms_db
+
+-- One attendance mark per student, subject and day. Marking checks for an
+-- existing row first; the constraint closes the race between two requests.
+-- Remove duplicates first, keeping the earliest row
+DELETE FROM attendance a
+USING attendance dup
+WHERE a.student_id = dup.student_id
+  AND a.subject_id = dup.subject_id
+  AND a.date = dup.date
+  AND a.id > dup.id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'uk_attendance_student_subject_date'
+    ) THEN
+        ALTER TABLE attendance
+            ADD CONSTRAINT uk_attendance_student_subject_date UNIQUE (student_id, subject_id, date);
+    END IF;
+END $$;
+
+-- One result per student per exam (same check-then-insert pattern as attendance)
+DELETE FROM results r
+USING results dup
+WHERE r.exam_id = dup.exam_id
+  AND r.student_id = dup.student_id
+  AND r.result_id > dup.result_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'uk_results_exam_student'
+    ) THEN
+        ALTER TABLE results
+            ADD CONSTRAINT uk_results_exam_student UNIQUE (exam_id, student_id);
+    END IF;
+END $$;
+
+-- Overdue / issued-books lists filter on status and compare due_date
+CREATE INDEX IF NOT EXISTS idx_library_issues_status_due_date ON library_issues(status, due_date);
+
+-- Librarian request queues: filter on status, oldest or newest first
+CREATE INDEX IF NOT EXISTS idx_book_requests_status_request_date ON book_requests(status, request_date);
+
+-- A student's payments by status (pending/success history)
+CREATE INDEX IF NOT EXISTS idx_payments_student_status ON payments(student_id, payment_status);
+
+-- Class announcement feed, newest first
+CREATE INDEX IF NOT EXISTS idx_announcements_target_class_created
+    ON announcements(target_class_id, created_at DESC);
+
+-- students(class_id) is covered by idx_students_class_id from V5
@@ -0,0 +1,16 @@
+-- Migration script for the stored student enrollment year
+-- Run this against your PostgreSQL database: sms_db
+
+-- Listings used to re-derive the year from the system email
+-- (firstName.lastName.YEAR@sms.edu.in) for every row; it is now set once at
+-- registration.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS enrollment_year INTEGER;
+
+-- Backfill from the same email convention. Students whose email does not end
+-- in a four-digit year keep NULL, which is what the listings showed before.
+UPDATE students s
+SET enrollment_year = CAST(substring(u.email FROM '\.(\d{4})@sms\.edu\.in$') AS INTEGER)
+FROM app_users u
+WHERE u.id = s.user_id
+  AND s.enrollment_year IS NULL
+  AND u.email ~ '\.\d{4}@sms\.edu\.in$';
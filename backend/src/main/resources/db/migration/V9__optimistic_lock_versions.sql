@@ -0,0 +1,13 @@
+-- Migration script for the optimistic lock version columns
+-- Run this against your PostgreSQL database: sms_db
+
+-- Hibernate checks and increments these on every update (@Version), so two
+-- concurrent edits of the same row no longer overwrite each other silently:
+-- the second one fails and is retried against the fresh row.
+-- Existing rows start at 0; the default also covers native inserts.
+ALTER TABLE books ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE results ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE book_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE admin_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE app_users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
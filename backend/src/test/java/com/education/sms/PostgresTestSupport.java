@@ -0,0 +1,138 @@
+package com.education.sms;
+
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.Subject;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.ClassEntityRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.repository.SubjectRepository;
+import com.education.sms.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Base for tests of PostgreSQL-only SQL (ON CONFLICT upserts, partitions,
+ * PL/pgSQL functions), which the H2 test database cannot run. All subclasses
+ * share one embedded PostgreSQL with the Flyway schema and, as long as they add
+ * no bean overrides, one application context; tests create their own rows with
+ * unique keys instead of cleaning up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class PostgresTestSupport {
+
+    // Stopped by its own shutdown hook, after the cached application context
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected StudentRepository studentRepository;
+
+    @Autowired
+    protected ClassEntityRepository classEntityRepository;
+
+    @Autowired
+    protected SubjectRepository subjectRepository;
+
+    protected User createUser(UserRole role) {
+        return userRepository.save(User.builder()
+                .email(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@test.local")
+                .password("x")
+                .role(role)
+                .build());
+    }
+
+    protected ClassEntity createClass() {
+        return classEntityRepository.save(ClassEntity.builder()
+                .gradeLevel("10")
+                .section(UUID.randomUUID().toString().substring(0, 8))
+                .build());
+    }
+
+    protected Subject createSubject(ClassEntity classEntity) {
+        return subjectRepository.save(Subject.builder()
+                .name("Mathematics")
+                .code("MATH-" + UUID.randomUUID())
+                .classEntity(classEntity)
+                .build());
+    }
+
+    protected Student createStudent(ClassEntity classEntity) {
+        return studentRepository.save(Student.builder()
+                .user(createUser(UserRole.STUDENT))
+                .firstName("Test")
+                .lastName("Student")
+                .registrationNumber("REG-" + UUID.randomUUID())
+                .classEntity(classEntity)
+                .build());
+    }
+
+    /**
+     * Starts every task at once from a pool wider than the connection pool, so
+     * the tasks really queue on the database.
+     */
+    protected static <T> List<T> runConcurrently(List<Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            // Room for several cached contexts and the concurrency tests' pools
+            return EmbeddedPostgres.builder().setServerConfig("max_connections", "300").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
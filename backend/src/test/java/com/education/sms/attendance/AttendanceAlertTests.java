@@ -0,0 +1,91 @@
+package com.education.sms.attendance;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.BulkAttendanceRequest;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.Subject;
+import com.education.sms.service.AttendanceAlertService;
+import com.education.sms.service.AttendanceService;
+import com.education.sms.service.EmailService;
+import com.education.sms.utils.AcademicYear;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The running totals and their evaluation are PostgreSQL upserts (V13). A run
+ * evaluates every dirty rollup of the year, including other tests' students,
+ * so alerts are checked by recipient.
+ */
+class AttendanceAlertTests extends PostgresTestSupport {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceAlertService attendanceAlertService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Student student;
+    private Subject subject;
+    private LocalDate day = AcademicYear.startOf(LocalDate.now());
+
+    @Test
+    void alertsOncePerCrossingBelowTheThreshold() {
+        ClassEntity classEntity = createClass();
+        student = createStudent(classEntity);
+        subject = createSubject(classEntity);
+
+        // 0% but under app.attendance.alerts.min-classes (20) marks
+        mark(6, false);
+        attendanceAlertService.checkThresholds();
+        verifyAlerts(0);
+
+        // 14 of 20 is 70%, below the default 75%
+        mark(14, true);
+        attendanceAlertService.checkThresholds();
+        verifyAlerts(1);
+
+        // Still below: no second alert, whether marked again or not
+        attendanceAlertService.checkThresholds();
+        mark(1, false);
+        attendanceAlertService.checkThresholds();
+        verifyAlerts(1);
+
+        // 21 of 28 is exactly 75%, which is not below
+        mark(7, true);
+        attendanceAlertService.checkThresholds();
+        verifyAlerts(1);
+
+        // 21 of 30 crosses below again
+        mark(2, false);
+        attendanceAlertService.checkThresholds();
+        verifyAlerts(2);
+    }
+
+    private void mark(int days, boolean present) {
+        for (int i = 0; i < days; i++) {
+            attendanceService.markBulkAttendance(new BulkAttendanceRequest(subject.getId(), day,
+                    present ? Set.of() : Set.of(student.getStudentId())));
+            day = day.plusDays(1);
+        }
+    }
+
+    private void verifyAlerts(int count) {
+        verify(emailService, times(count)).sendLowAttendanceAlert(eq(student.getUser().getEmail()), eq("Test"),
+                anyDouble(), any(BigDecimal.class));
+    }
+}
@@ -0,0 +1,112 @@
+package com.education.sms.attendance;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.AttendanceRequest;
+import com.education.sms.dto.AttendanceStats;
+import com.education.sms.dto.BulkAttendanceRequest;
+import com.education.sms.dto.ClassAttendanceRow;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.Subject;
+import com.education.sms.service.AttendanceService;
+import com.education.sms.utils.AcademicYear;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marks are folded into per-month bitmaps by PostgreSQL upserts (V12), so these
+ * tests run on the embedded PostgreSQL. They use January to March of the
+ * current academic year, whose partition the migration creates.
+ */
+class AttendanceBitmapTests extends PostgresTestSupport {
+
+    private static final int YEAR = AcademicYear.of(LocalDate.now()) + 1;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    private ClassEntity classEntity;
+    private Subject subject;
+    private Student first;
+    private Student second;
+
+    @BeforeEach
+    void setUp() {
+        classEntity = createClass();
+        subject = createSubject(classEntity);
+        first = createStudent(classEntity);
+        second = createStudent(classEntity);
+    }
+
+    @Test
+    void rangesAcrossMonthBoundariesCountTheRightDays() {
+        mark(first, day(1, 30), true);
+        mark(first, day(1, 31), false);
+        mark(first, day(2, 1), true);
+        mark(first, day(2, 28), true);
+
+        assertTotals(stats(first, day(1, 31), day(2, 1)), 2, 1);
+        // Day 31 is the highest bit of the month
+        assertTotals(stats(first, day(1, 1), day(1, 31)), 2, 1);
+        assertTotals(stats(first, day(1, 31), day(1, 31)), 1, 0);
+        assertTotals(stats(first, day(2, 1), day(2, 28)), 2, 2);
+        assertTotals(stats(first, day(1, 1), day(3, 31)), 4, 3);
+    }
+
+    @Test
+    void streakRunsBackAcrossMonths() {
+        mark(first, day(1, 29), false);
+        mark(first, day(1, 30), true);
+        mark(first, day(1, 31), true);
+        mark(first, day(2, 1), true);
+        mark(first, day(2, 2), true);
+
+        assertThat(stats(first, day(1, 1), day(2, 2)).currentStreak()).isEqualTo(4);
+        assertThat(stats(first, day(1, 1), day(2, 1)).currentStreak()).isEqualTo(3);
+        assertThat(stats(first, day(1, 29), day(1, 29)).currentStreak()).isZero();
+        // Without an absence in range the whole range counts
+        assertThat(stats(first, day(1, 30), day(2, 2)).currentStreak()).isEqualTo(4);
+    }
+
+    @Test
+    void bulkMarksMergeIntoExistingBitmaps() {
+        mark(first, day(3, 30), true);
+
+        attendanceService.markBulkAttendance(new BulkAttendanceRequest(subject.getId(), day(3, 31),
+                Set.of(first.getStudentId())));
+        // first keeps the mark it already has for the 30th; second is marked present
+        attendanceService.markBulkAttendance(new BulkAttendanceRequest(subject.getId(), day(3, 30),
+                Set.of(first.getStudentId())));
+
+        assertTotals(stats(first, day(3, 1), day(3, 31)), 2, 1);
+        assertTotals(stats(second, day(3, 1), day(3, 31)), 2, 2);
+
+        assertThat(attendanceService.getClassAbsentees(classEntity.getId(), day(3, 31)))
+                .extracting(ClassAttendanceRow::studentId)
+                .containsExactly(first.getStudentId());
+        assertThat(attendanceService.getClassAbsentees(classEntity.getId(), day(3, 30))).isEmpty();
+    }
+
+    private void mark(Student student, LocalDate date, boolean present) {
+        attendanceService.markAttendance(new AttendanceRequest(student.getStudentId(), subject.getId(), date, present));
+    }
+
+    private AttendanceStats stats(Student student, LocalDate from, LocalDate to) {
+        return attendanceService.getAttendanceStats(student.getStudentId(), subject.getId(), from, to);
+    }
+
+    private static void assertTotals(AttendanceStats stats, long total, long present) {
+        assertThat(stats.totalClasses()).isEqualTo(total);
+        assertThat(stats.presentClasses()).isEqualTo(present);
+    }
+
+    private static LocalDate day(int month, int dayOfMonth) {
+        return LocalDate.of(YEAR, month, dayOfMonth);
+    }
+}
@@ -0,0 +1,112 @@
+package com.education.sms.attendance;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.Subject;
+import com.education.sms.repository.AttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the V11 partition functions the way HousekeepingServiceImpl does. Each
+ * test works in its own long finished academic year, so the years of the other
+ * tests are never touched.
+ */
+class AttendancePartitionTests extends PostgresTestSupport {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Student student;
+    private Subject subject;
+
+    @BeforeEach
+    void setUp() {
+        ClassEntity classEntity = createClass();
+        student = createStudent(classEntity);
+        subject = createSubject(classEntity);
+    }
+
+    @Test
+    void strandedRowsMoveIntoTheirNewYearPartition() {
+        long id = insertMark(LocalDate.of(1985, 9, 2));
+        assertThat(liveTableOf(id)).isEqualTo("attendance_default");
+
+        int created = transactionTemplate.execute(tx -> attendanceRepository.ensurePartitions(LocalDate.now()));
+
+        assertThat(created).isEqualTo(1);
+        assertThat(liveTableOf(id)).isEqualTo("attendance_ay1985");
+        assertThat(parentOf("attendance_ay1985")).isEqualTo("attendance");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_default WHERE id = ?",
+                Integer.class, id)).isZero();
+    }
+
+    @Test
+    void archivedYearIsDetachedAndLateRowsAreAppended() {
+        long first = insertMark(LocalDate.of(1990, 9, 3));
+        transactionTemplate.execute(tx -> attendanceRepository.ensurePartitions(LocalDate.now()));
+        LocalDate cutoff = LocalDate.of(1991, 6, 1);
+
+        transactionTemplate.execute(tx -> attendanceRepository.archivePartitionsBefore(cutoff));
+
+        assertThat(parentOf("attendance_archive_ay1990")).isEqualTo("attendance_archive");
+        assertThat(tableExists("attendance_ay1990")).isFalse();
+        assertThat(archiveTableOf(first)).isEqualTo("attendance_archive_ay1990");
+        assertThat(liveTableOf(first)).isNull();
+
+        // A late mark for the archived year lands in the default partition, gets its
+        // live partition back, and is then appended to the archived one
+        long late = insertMark(LocalDate.of(1990, 11, 5));
+        assertThat(liveTableOf(late)).isEqualTo("attendance_default");
+        transactionTemplate.execute(tx -> attendanceRepository.ensurePartitions(LocalDate.now()));
+        assertThat(liveTableOf(late)).isEqualTo("attendance_ay1990");
+
+        transactionTemplate.execute(tx -> attendanceRepository.archivePartitionsBefore(cutoff));
+
+        assertThat(tableExists("attendance_ay1990")).isFalse();
+        assertThat(liveTableOf(late)).isNull();
+        assertThat(archiveTableOf(first)).isEqualTo("attendance_archive_ay1990");
+        assertThat(archiveTableOf(late)).isEqualTo("attendance_archive_ay1990");
+    }
+
+    private long insertMark(LocalDate date) {
+        return jdbcTemplate.queryForObject("INSERT INTO attendance (student_id, subject_id, date, is_present) "
+                + "VALUES (?, ?, ?, TRUE) RETURNING id", Long.class, student.getStudentId(), subject.getId(), date);
+    }
+
+    private String liveTableOf(long id) {
+        return tableOf("attendance", id);
+    }
+
+    private String archiveTableOf(long id) {
+        return tableOf("attendance_archive", id);
+    }
+
+    private String tableOf(String parent, long id) {
+        return jdbcTemplate.query("SELECT tableoid::regclass::text FROM " + parent + " WHERE id = ?",
+                rs -> rs.next() ? rs.getString(1) : null, id);
+    }
+
+    private String parentOf(String partition) {
+        return jdbcTemplate.queryForObject("SELECT inhparent::regclass::text FROM pg_inherits "
+                + "WHERE inhrelid = to_regclass(?)", String.class, partition);
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+}
@@ -0,0 +1,185 @@
+package com.education.sms.events;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.EventParticipantRequest;
+import com.education.sms.dto.EventParticipantResponse;
+import com.education.sms.entity.Event;
+import com.education.sms.entity.EventParticipant;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.EventParticipantRepository;
+import com.education.sms.repository.EventRepository;
+import com.education.sms.service.EventParticipantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seats are taken with PostgreSQL row locks and points are awarded with
+ * PostgreSQL upserts in the same transaction, so these tests run on the
+ * embedded PostgreSQL with the real gamification service.
+ */
+class EventRegistrationConcurrencyTests extends PostgresTestSupport {
+
+    private static final int SIGN_UPS = 500;
+    private static final int CAPACITY = 100;
+
+    @Autowired
+    private EventParticipantService eventParticipantService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventParticipantRepository eventParticipantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentSignUpsNeverTakeMoreSeatsThanCapacity() throws Exception {
+        Long eventId = createEvent(CAPACITY);
+        List<User> users = createUsers(SIGN_UPS);
+
+        List<String> statuses = runConcurrently(users.stream()
+                .map(user -> (Callable<String>) () -> eventParticipantService
+                        .registerParticipant(new EventParticipantRequest(eventId, user.getId(), "participant"))
+                        .status())
+                .toList());
+
+        assertThat(statuses).filteredOn("registered"::equals).hasSize(CAPACITY);
+        assertThat(statuses).filteredOn("waitlisted"::equals).hasSize(SIGN_UPS - CAPACITY);
+        assertThat(eventParticipantRepository.countByEventEventIdAndStatus(eventId, "registered")).isEqualTo(CAPACITY);
+        assertThat(eventParticipantRepository.countByEventEventIdAndStatus(eventId, "waitlisted"))
+                .isEqualTo(SIGN_UPS - CAPACITY);
+        assertThat(eventRepository.findSeatsAvailable(eventId)).isZero();
+        // Points for every seat and none for the waitlist
+        List<EventParticipant> participants = eventParticipantRepository.findByEventEventId(eventId);
+        assertThat(pointsAwardedFor(eventId)).containsExactlyInAnyOrderElementsOf(userIdsWithStatus(participants,
+                "registered"));
+
+        // A freed seat goes to the first user on the waitlist, who is awarded points for it
+        EventParticipant leaving = participants.stream()
+                .filter(p -> "registered".equals(p.getStatus()))
+                .findFirst().orElseThrow();
+        EventParticipant firstWaiting = participants.stream()
+                .filter(p -> "waitlisted".equals(p.getStatus()))
+                .min(Comparator.comparing(EventParticipant::getRegisteredAt).thenComparing(EventParticipant::getEpId))
+                .orElseThrow();
+        eventParticipantService.removeParticipant(leaving.getEpId());
+
+        assertThat(eventParticipantRepository.findById(firstWaiting.getEpId()).orElseThrow().getStatus())
+                .isEqualTo("registered");
+        assertThat(eventParticipantRepository.countByEventEventIdAndStatus(eventId, "registered")).isEqualTo(CAPACITY);
+        assertThat(eventRepository.findSeatsAvailable(eventId)).isZero();
+        assertThat(pointsAwardedFor(eventId)).hasSize(CAPACITY + 1).contains(firstWaiting.getUser().getId());
+    }
+
+    @Test
+    void concurrentRepeatsOfOneUserKeepOneRegistration() throws Exception {
+        Long eventId = createEvent(CAPACITY);
+        User user = createUsers(1).get(0);
+
+        List<Callable<String>> attempts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            attempts.add(() -> {
+                try {
+                    EventParticipantResponse response = eventParticipantService
+                            .registerParticipant(new EventParticipantRequest(eventId, user.getId(), "participant"));
+                    return response.status();
+                } catch (IllegalArgumentException e) {
+                    return "rejected";
+                }
+            });
+        }
+        List<String> outcomes = runConcurrently(attempts);
+
+        assertThat(outcomes).filteredOn("registered"::equals).hasSize(1);
+        assertThat(outcomes).filteredOn("rejected"::equals).hasSize(49);
+        assertThat(eventParticipantRepository.findByEventEventId(eventId)).hasSize(1);
+        // The rejected attempts gave their seats back
+        assertThat(eventRepository.findSeatsAvailable(eventId)).isEqualTo(CAPACITY - 1);
+        assertThat(pointsAwardedFor(eventId)).containsExactly(user.getId());
+    }
+
+    @Test
+    void concurrentRemovalsNeverLoseASeat() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Long eventId = createEvent(1);
+            List<Long> participantIds = new ArrayList<>();
+            for (User user : createUsers(3)) {
+                participantIds.add(eventParticipantService
+                        .registerParticipant(new EventParticipantRequest(eventId, user.getId(), "participant"))
+                        .epId());
+            }
+
+            // Removing the seat holder promotes the first waiting user, who is being removed too
+            runConcurrently(participantIds.subList(0, 2).stream()
+                    .map(id -> (Callable<Void>) () -> {
+                        eventParticipantService.removeParticipant(id);
+                        return null;
+                    })
+                    .toList());
+
+            assertThat(eventParticipantRepository.findById(participantIds.get(2)).orElseThrow().getStatus())
+                    .isEqualTo("registered");
+            assertThat(eventRepository.findSeatsAvailable(eventId)).isZero();
+        }
+    }
+
+    private Long createEvent(int capacity) {
+        return eventRepository.save(Event.builder()
+                .title("Sports day " + UUID.randomUUID())
+                .eventDate(LocalDate.now().plusDays(7))
+                .capacity(capacity)
+                .seatsAvailable(capacity)
+                .build()).getEventId();
+    }
+
+    /**
+     * Users with a student account, the only ones that earn points.
+     */
+    private List<User> createUsers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .email("athlete-" + UUID.randomUUID() + "@test.local")
+                    .password("x")
+                    .role(UserRole.STUDENT)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+        studentRepository.saveAll(users.stream()
+                .map(user -> Student.builder()
+                        .user(user)
+                        .firstName("Test")
+                        .lastName("Athlete")
+                        .registrationNumber("REG-" + UUID.randomUUID())
+                        .build())
+                .toList());
+        return users;
+    }
+
+    private List<Long> pointsAwardedFor(Long eventId) {
+        return jdbcTemplate.queryForList("SELECT s.user_id FROM points_awards p "
+                + "JOIN students s ON s.student_id = p.student_id "
+                + "WHERE p.reason = 'EVENT_PARTICIPATION' AND p.source_id = ?", Long.class, eventId);
+    }
+
+    private static List<Long> userIdsWithStatus(List<EventParticipant> participants, String status) {
+        return participants.stream()
+                .filter(p -> status.equals(p.getStatus()))
+                .map(p -> p.getUser().getId())
+                .toList();
+    }
+}
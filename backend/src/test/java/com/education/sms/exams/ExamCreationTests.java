@@ -0,0 +1,95 @@
+package com.education.sms.exams;
+
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Course;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.ClassEntityRepository;
+import com.education.sms.repository.CourseRepository;
+import com.education.sms.repository.UserRepository;
+import com.education.sms.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExamCreationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassEntityRepository classEntityRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private String admin;
+    private ClassEntity classEntity;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("admin-" + UUID.randomUUID() + "@test.local")
+                .password("x")
+                .role(UserRole.ADMIN)
+                .build());
+        admin = jwtUtil.generateToken(user.getEmail(), UserRole.ADMIN.name());
+        classEntity = classEntityRepository.save(ClassEntity.builder()
+                .gradeLevel("10")
+                .section(UUID.randomUUID().toString().substring(0, 8))
+                .build());
+    }
+
+    @Test
+    void overlappingExamForTheSameClassIsAConflict() throws Exception {
+        Course physics = createCourse("Physics");
+        Course chemistry = createCourse("Chemistry");
+
+        createExam(physics, "Physics final", "09:00", 120).andExpect(status().isOk());
+
+        createExam(chemistry, "Chemistry final", "10:30", 60)
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("Physics final")));
+        // Starting as the other ends is not an overlap
+        createExam(chemistry, "Chemistry final", "11:00", 60).andExpect(status().isOk());
+        // Running past midnight is rejected before any lookup
+        createExam(chemistry, "Chemistry resit", "23:30", 60).andExpect(status().isBadRequest());
+    }
+
+    private Course createCourse(String name) {
+        return courseRepository.save(Course.builder().courseName(name).classEntity(classEntity).build());
+    }
+
+    private ResultActions createExam(Course course, String name, String startTime, int duration) throws Exception {
+        return mockMvc.perform(post("/api/exams")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"courseId": %d, "examName": "%s", "date": "2026-03-02", "totalMarks": 100,
+                         "startTime": "%s", "durationMinutes": %d}
+                        """.formatted(course.getCourseId(), name, startTime, duration)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.education.sms.gamification;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.LeaderboardEntryResponse;
+import com.education.sms.entity.Attendance;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.Subject;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.AttendanceRepository;
+import com.education.sms.repository.PointsAwardRepository;
+import com.education.sms.service.GamificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Points are awarded by PostgreSQL statements (INSERT ... ON CONFLICT inside a
+ * CTE), so these tests run on the embedded PostgreSQL.
+ */
+class GamificationPointsTests extends PostgresTestSupport {
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    private PointsAwardRepository pointsAwardRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repeatedAwardAddsPointsOnce() {
+        ClassEntity classEntity = createClass();
+        Student student = createStudent(classEntity);
+
+        assertThat(award(student, 50)).isEqualTo(1);
+        assertThat(award(student, 50)).isZero();
+        assertThat(points(student)).isEqualTo(50);
+
+        // Same reason and source through the user account is the same award
+        gamificationService.awardForEventParticipation(student.getUser().getId(), 7L);
+        gamificationService.awardForEventParticipation(student.getUser().getId(), 7L);
+        assertThat(points(student)).isEqualTo(60);
+        assertThat(gamificationService.getStudentPoints(student.getStudentId()).recentAwards()).hasSize(2);
+
+        // Users without a student account get nothing, and no error
+        User librarian = createUser(UserRole.LIBRARIAN);
+        gamificationService.awardForEventParticipation(librarian.getId(), 7L);
+    }
+
+    @Test
+    void fullStreakPaysOnceUntilTheNextFullStreak() {
+        ClassEntity classEntity = createClass();
+        List<Subject> subjects = List.of(createSubject(classEntity), createSubject(classEntity));
+        Student steady = createStudent(classEntity);
+        Student missedOne = createStudent(classEntity);
+        LocalDate first = LocalDate.of(2025, 9, 1);
+
+        for (int i = 0; i < 5; i++) {
+            markDay(steady, subjects, first.plusDays(i), true);
+            // Absent from one subject on the third day breaks the run
+            markDay(missedOne, subjects, first.plusDays(i), i != 2);
+        }
+        assertThat(gamificationService.awardAttendanceStreaks(first.plusDays(4))).isEqualTo(1);
+        assertThat(gamificationService.awardAttendanceStreaks(first.plusDays(4))).isZero();
+        assertThat(points(steady)).isEqualTo(20);
+        assertThat(points(missedOne)).isZero();
+
+        // The next day of the same unbroken run does not pay again...
+        markDay(steady, subjects, first.plusDays(5), true);
+        assertThat(gamificationService.awardAttendanceStreaks(first.plusDays(5))).isZero();
+
+        // ...until five more days have passed
+        for (int i = 6; i < 9; i++) {
+            markDay(steady, subjects, first.plusDays(i), true);
+            assertThat(gamificationService.awardAttendanceStreaks(first.plusDays(i))).isZero();
+        }
+        markDay(steady, subjects, first.plusDays(9), true);
+        assertThat(gamificationService.awardAttendanceStreaks(first.plusDays(9))).isEqualTo(1);
+        assertThat(points(steady)).isEqualTo(40);
+    }
+
+    @Test
+    void equalPointsShareARank() {
+        ClassEntity classEntity = createClass();
+        List<Student> students = new ArrayList<>();
+        int[] points = { 50, 25, 25, 10 };
+        for (int value : points) {
+            Student student = createStudent(classEntity);
+            award(student, value);
+            students.add(student);
+        }
+
+        List<LeaderboardEntryResponse> leaderboard =
+                gamificationService.getClassLeaderboard(classEntity.getId(), 10);
+        assertThat(leaderboard).extracting(LeaderboardEntryResponse::rank).containsExactly(1, 2, 2, 4);
+        assertThat(leaderboard).extracting(LeaderboardEntryResponse::points).containsExactly(50, 25, 25, 10);
+
+        assertThat(gamificationService.getStudentPoints(students.get(2).getStudentId()).classRank()).isEqualTo(2);
+        assertThat(gamificationService.getStudentPoints(students.get(3).getStudentId()).classRank()).isEqualTo(4);
+    }
+
+    private int award(Student student, int points) {
+        return transactionTemplate.execute(tx ->
+                pointsAwardRepository.awardToStudent(student.getStudentId(), "RESULT", 1L, points));
+    }
+
+    private int points(Student student) {
+        return gamificationService.getStudentPoints(student.getStudentId()).points();
+    }
+
+    private void markDay(Student student, List<Subject> subjects, LocalDate date, boolean presentInAll) {
+        List<Attendance> marks = new ArrayList<>();
+        for (int i = 0; i < subjects.size(); i++) {
+            marks.add(Attendance.builder()
+                    .student(student)
+                    .subject(subjects.get(i))
+                    .date(date)
+                    .isPresent(presentInAll || i > 0)
+                    .build());
+        }
+        attendanceRepository.saveAll(marks);
+    }
+}
@@ -0,0 +1,122 @@
+package com.education.sms.httpcache;
+
+import com.education.sms.entity.Book;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.BookRepository;
+import com.education.sms.repository.UserRepository;
+import com.education.sms.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private String librarian;
+    private String student;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        librarian = token(UserRole.LIBRARIAN);
+        student = token(UserRole.STUDENT);
+        book = bookRepository.save(Book.builder()
+                .title("Cached " + UUID.randomUUID())
+                .isbn(UUID.randomUUID().toString())
+                .build());
+    }
+
+    @Test
+    void unchangedResourceIsAnsweredWithNotModified() throws Exception {
+        String etag = etagOf(fetch("/api/books/" + book.getBookId(), student, null).andExpect(status().isOk()));
+
+        fetch("/api/books/" + book.getBookId(), student, etag)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void committedChangeIssuesANewTag() throws Exception {
+        String etag = etagOf(fetch("/api/books/" + book.getBookId(), student, null).andExpect(status().isOk()));
+
+        book.setAuthor("Someone");
+        bookRepository.save(book);
+
+        String changed = etagOf(fetch("/api/books/" + book.getBookId(), student, etag)
+                .andExpect(status().isOk()));
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void tagsAreNotSharedBetweenRoles() throws Exception {
+        String studentTag = etagOf(fetch("/api/books", student, null).andExpect(status().isOk()));
+        String librarianTag = etagOf(fetch("/api/books", librarian, studentTag).andExpect(status().isOk()));
+
+        assertThat(librarianTag).isNotEqualTo(studentTag);
+    }
+
+    @Test
+    void errorResponsesCarryNoTag() throws Exception {
+        fetch("/api/books/" + Long.MAX_VALUE, student, null)
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        // Missing required parameter, rejected after the interceptor computed a tag
+        fetch("/api/books/search/title", student, null)
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private ResultActions fetch(String uri, String token, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static String etagOf(ResultActions result) {
+        String etag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private String token(UserRole role) {
+        User user = userRepository.save(User.builder()
+                .email(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@test.local")
+                .password("x")
+                .role(role)
+                .build());
+        return jwtUtil.generateToken(user.getEmail(), role.name());
+    }
+}
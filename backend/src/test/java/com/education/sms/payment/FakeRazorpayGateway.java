@@ -0,0 +1,67 @@
+package com.education.sms.payment;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Razorpay: issues order/payment IDs and produces checkout
+ * signatures and signed webhook bodies the same way the real gateway does
+ * (HMAC-SHA256, hex encoded), so tests never need network access.
+ */
+public class FakeRazorpayGateway {
+
+    private final String keySecret;
+    private final String webhookSecret;
+    // Per-instance prefix keeps IDs unique across tests sharing one database
+    private final String prefix = Long.toHexString(System.nanoTime());
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FakeRazorpayGateway(String keySecret, String webhookSecret) {
+        this.keySecret = keySecret;
+        this.webhookSecret = webhookSecret;
+    }
+
+    public String createOrder() {
+        return "order_" + prefix + sequence.incrementAndGet();
+    }
+
+    public String createPaymentId() {
+        return "pay_" + prefix + sequence.incrementAndGet();
+    }
+
+    /** Signature the checkout widget returns to the client after a successful payment. */
+    public String checkoutSignature(String orderId, String paymentId) {
+        return hmac(orderId + "|" + paymentId, keySecret);
+    }
+
+    public Webhook paymentCaptured(String orderId, String paymentId) {
+        return webhook("payment.captured", orderId, paymentId, "captured");
+    }
+
+    public Webhook paymentFailed(String orderId, String paymentId) {
+        return webhook("payment.failed", orderId, paymentId, "failed");
+    }
+
+    private Webhook webhook(String event, String orderId, String paymentId, String status) {
+        String body = """
+                {"event":"%s","payload":{"payment":{"entity":{"id":"%s","order_id":"%s","status":"%s"}}}}"""
+                .formatted(event, paymentId, orderId, status);
+        return new Webhook("evt_" + prefix + sequence.incrementAndGet(), body, hmac(body, webhookSecret));
+    }
+
+    private static String hmac(String data, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Webhook(String eventId, String body, String signature) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.education.sms.payment;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.ClassFeeLedgerResponse;
+import com.education.sms.dto.PaymentRequest;
+import com.education.sms.dto.StudentFeeLedgerResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.FeesStructure;
+import com.education.sms.entity.Payment;
+import com.education.sms.entity.Student;
+import com.education.sms.repository.FeesStructureRepository;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.service.FeeLedgerService;
+import com.education.sms.service.PaymentService;
+import com.education.sms.service.PaymentWebhookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The ledger figures come from native aggregate SQL (GREATEST, CAST of a null
+ * parameter), so these tests run on the embedded PostgreSQL.
+ */
+class FeeLedgerTests extends PostgresTestSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private FeesStructureRepository feesStructureRepository;
+
+    @Value("${razorpay.key_secret}")
+    private String keySecret;
+
+    @Value("${razorpay.webhook_secret}")
+    private String webhookSecret;
+
+    private FakeRazorpayGateway gateway;
+    private ClassEntity classEntity;
+    private Student paidUp;
+    private Student partlyPaid;
+    private Student unpaid;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new FakeRazorpayGateway(keySecret, webhookSecret);
+        classEntity = createClass();
+        addFee("Tuition", "1000.00");
+        addFee("Library", "500.00");
+        paidUp = createStudent(classEntity);
+        partlyPaid = createStudent(classEntity);
+        unpaid = createStudent(classEntity);
+
+        savePayment(paidUp, "1500.00", "success");
+        savePayment(partlyPaid, "600.00", "success");
+        // Only successful payments count
+        savePayment(partlyPaid, "400.00", "failed");
+    }
+
+    @Test
+    void balancesAreDuesMinusSuccessfulPayments() {
+        StudentFeeLedgerResponse ledger = feeLedgerService.getStudentLedger(partlyPaid.getStudentId());
+        assertThat(ledger.totalDue()).isEqualByComparingTo("1500");
+        assertThat(ledger.totalPaid()).isEqualByComparingTo("600");
+        assertThat(ledger.outstanding()).isEqualByComparingTo("900");
+        assertThat(feeLedgerService.getStudentLedger(paidUp.getStudentId()).outstanding()).isEqualByComparingTo("0");
+
+        ClassFeeLedgerResponse classLedger = feeLedgerService.getClassLedger(classEntity.getId());
+        assertThat(classLedger.studentCount()).isEqualTo(3);
+        assertThat(classLedger.totalDue()).isEqualByComparingTo("4500");
+        assertThat(classLedger.totalPaid()).isEqualByComparingTo("2100");
+        assertThat(classLedger.totalOutstanding()).isEqualByComparingTo("2400");
+        assertThat(classLedger.defaulterCount()).isEqualTo(2);
+    }
+
+    @Test
+    void defaultersAreOrderedByOutstandingAndFilteredByMinimum() {
+        assertThat(feeLedgerService.getDefaulters(classEntity.getId(), null, PageRequest.of(0, 10)).content())
+                .extracting(StudentFeeLedgerResponse::studentId)
+                .containsExactly(unpaid.getStudentId(), partlyPaid.getStudentId());
+
+        assertThat(feeLedgerService.getDefaulters(classEntity.getId(), new BigDecimal("1000"), PageRequest.of(0, 10))
+                .content())
+                .extracting(StudentFeeLedgerResponse::studentId)
+                .containsExactly(unpaid.getStudentId());
+    }
+
+    @Test
+    void cachedLedgerIsEvictedOncePaymentsCommit() throws Exception {
+        assertThat(feeLedgerService.getStudentLedger(unpaid.getStudentId()).outstanding())
+                .isEqualByComparingTo("1500");
+        assertThat(feeLedgerService.getClassLedger(classEntity.getId()).defaulterCount()).isEqualTo(2);
+
+        // A payment recorded through the API
+        String order = gateway.createOrder();
+        String paymentId = gateway.createPaymentId();
+        paymentService.createPayment(new PaymentRequest(unpaid.getStudentId(), new BigDecimal("1000.00"),
+                paymentId, order, null, gateway.checkoutSignature(order, paymentId)));
+        assertThat(feeLedgerService.getStudentLedger(unpaid.getStudentId()).outstanding())
+                .isEqualByComparingTo("500");
+
+        // A pending payment captured by a webhook, whose eviction runs after the batch commits
+        String webhookOrder = gateway.createOrder();
+        paymentRepository.save(Payment.builder()
+                .student(unpaid)
+                .amountPaid(new BigDecimal("500.00"))
+                .razorpayOrderId(webhookOrder)
+                .paymentStatus("pending")
+                .build());
+        assertThat(feeLedgerService.getClassLedger(classEntity.getId()).defaulterCount()).isEqualTo(2);
+
+        FakeRazorpayGateway.Webhook webhook = gateway.paymentCaptured(webhookOrder, gateway.createPaymentId());
+        mockMvc.perform(post("/api/payments/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Razorpay-Signature", webhook.signature())
+                .header("X-Razorpay-Event-Id", webhook.eventId())
+                .content(webhook.body()))
+                .andExpect(status().isOk());
+        paymentWebhookService.reconcileBatch();
+
+        assertThat(feeLedgerService.getStudentLedger(unpaid.getStudentId()).outstanding())
+                .isEqualByComparingTo("0");
+        assertThat(feeLedgerService.getClassLedger(classEntity.getId()).defaulterCount()).isEqualTo(1);
+    }
+
+    private void addFee(String type, String amount) {
+        feesStructureRepository.save(FeesStructure.builder()
+                .classEntity(classEntity)
+                .feeType(type)
+                .amount(new BigDecimal(amount))
+                .build());
+    }
+
+    private void savePayment(Student student, String amount, String status) {
+        paymentRepository.save(Payment.builder()
+                .student(student)
+                .amountPaid(new BigDecimal(amount))
+                .razorpayOrderId(gateway.createOrder())
+                .razorpayPaymentId(gateway.createPaymentId())
+                .paymentStatus(status)
+                .build());
+    }
+}
@@ -0,0 +1,119 @@
+package com.education.sms.payment;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.PaymentRequest;
+import com.education.sms.dto.PaymentResponse;
+import com.education.sms.entity.Payment;
+import com.education.sms.entity.Student;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Recorded payments are deduplicated by an INSERT ... ON CONFLICT on the
+ * Razorpay payment ID, so these tests run on the embedded PostgreSQL.
+ */
+class PaymentIdempotencyTests extends PostgresTestSupport {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Value("${razorpay.key_secret}")
+    private String keySecret;
+
+    @Value("${razorpay.webhook_secret}")
+    private String webhookSecret;
+
+    private FakeRazorpayGateway gateway;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new FakeRazorpayGateway(keySecret, webhookSecret);
+        student = createStudent(createClass());
+    }
+
+    @Test
+    void duplicateSubmissionsRecordOnePayment() throws Exception {
+        String order = gateway.createOrder();
+        String paymentId = gateway.createPaymentId();
+        PaymentRequest request = signed(student, order, paymentId);
+
+        PaymentResponse first = paymentService.createPayment(request);
+        assertThat(first.paymentStatus()).isEqualTo("success");
+        assertThat(paymentService.createPayment(request).paymentId()).isEqualTo(first.paymentId());
+
+        // Concurrent submissions of a new payment all miss the lookup and meet on the unique key
+        String concurrentId = gateway.createPaymentId();
+        List<Callable<Long>> submissions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            submissions.add(() -> paymentService.createPayment(signed(student, order, concurrentId)).paymentId());
+        }
+        assertThat(runConcurrently(submissions)).containsOnly(
+                paymentRepository.findByRazorpayPaymentId(concurrentId).orElseThrow().getPaymentId());
+
+        assertThat(paymentRepository.findByStudentStudentId(student.getStudentId())).hasSize(2);
+    }
+
+    @Test
+    void forgedDuplicateIsNotAnsweredWithTheRecordedPayment() {
+        String order = gateway.createOrder();
+        String paymentId = gateway.createPaymentId();
+        PaymentResponse recorded = paymentService.createPayment(signed(student, order, paymentId));
+
+        PaymentResponse forged = paymentService.createPayment(new PaymentRequest(student.getStudentId(),
+                new BigDecimal("1500.00"), paymentId, order, null, "forged"));
+
+        assertThat(forged.paymentId()).isNotEqualTo(recorded.paymentId());
+        assertThat(forged.paymentStatus()).isEqualTo("failed");
+        assertThat(forged.razorpayPaymentId()).isNull();
+        assertThat(paymentRepository.findByRazorpayPaymentId(paymentId).orElseThrow().getPaymentId())
+                .isEqualTo(recorded.paymentId());
+    }
+
+    @Test
+    void duplicateFromAnotherStudentIsRejected() {
+        String order = gateway.createOrder();
+        String paymentId = gateway.createPaymentId();
+        paymentService.createPayment(signed(student, order, paymentId));
+        Student other = createStudent(createClass());
+
+        assertThatThrownBy(() -> paymentService.createPayment(signed(other, order, paymentId)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Also when the duplicate is the first submission this instance sees
+        String unseenId = gateway.createPaymentId();
+        paymentRepository.save(Payment.builder()
+                .student(student)
+                .amountPaid(new BigDecimal("1500.00"))
+                .razorpayOrderId(order)
+                .razorpayPaymentId(unseenId)
+                .paymentStatus("success")
+                .build());
+        assertThatThrownBy(() -> paymentService.createPayment(signed(other, order, unseenId)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(paymentRepository.findByStudentStudentId(other.getStudentId())).isEmpty();
+        assertThat(paymentRepository.findByRazorpayPaymentId(paymentId).orElseThrow().getStudent().getStudentId())
+                .isEqualTo(student.getStudentId());
+    }
+
+    private PaymentRequest signed(Student payer, String order, String paymentId) {
+        return new PaymentRequest(payer.getStudentId(), new BigDecimal("1500.00"), paymentId, order, null,
+                gateway.checkoutSignature(order, paymentId));
+    }
+}
@@ -0,0 +1,186 @@
+package com.education.sms.payment;
+
+import com.education.sms.entity.Payment;
+import com.education.sms.entity.Student;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.entity.WebhookEventStatus;
+import com.education.sms.repository.PaymentRepository;
+import com.education.sms.repository.PaymentWebhookEventRepository;
+import com.education.sms.repository.StudentRepository;
+import com.education.sms.repository.UserRepository;
+import com.education.sms.service.PaymentWebhookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaymentReconciliationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentWebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${razorpay.key_secret}")
+    private String keySecret;
+
+    @Value("${razorpay.webhook_secret}")
+    private String webhookSecret;
+
+    private FakeRazorpayGateway gateway;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new FakeRazorpayGateway(keySecret, webhookSecret);
+        User user = userRepository.save(User.builder()
+                .email("payer-" + UUID.randomUUID() + "@test.local")
+                .password("x")
+                .role(UserRole.STUDENT)
+                .build());
+        student = studentRepository.save(Student.builder().user(user).firstName("Pay").lastName("Er").build());
+    }
+
+    @Test
+    void capturedWebhookMarksPendingPaymentsAsSuccessInBulk() throws Exception {
+        String[] orders = new String[25];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = gateway.createOrder();
+            savePending(orders[i]);
+            deliver(gateway.paymentCaptured(orders[i], gateway.createPaymentId()));
+        }
+
+        paymentWebhookService.reconcileBatch();
+
+        for (String order : orders) {
+            assertThat(paymentRepository.findByRazorpayOrderId(order).orElseThrow().getPaymentStatus())
+                    .isEqualTo("success");
+        }
+    }
+
+    @Test
+    void lateFailureDoesNotOverwriteCapturedPayment() throws Exception {
+        String order = gateway.createOrder();
+        savePending(order);
+        deliver(gateway.paymentCaptured(order, gateway.createPaymentId()));
+        paymentWebhookService.reconcileBatch();
+
+        deliver(gateway.paymentFailed(order, gateway.createPaymentId()));
+        paymentWebhookService.reconcileBatch();
+
+        assertThat(paymentRepository.findByRazorpayOrderId(order).orElseThrow().getPaymentStatus())
+                .isEqualTo("success");
+    }
+
+    @Test
+    void captureLeavesEarlierFailedAttemptOfTheOrderAlone() throws Exception {
+        String order = gateway.createOrder();
+        String failedAttempt = gateway.createPaymentId();
+        savePending(order);
+        paymentRepository.save(Payment.builder()
+                .student(student)
+                .amountPaid(new BigDecimal("1500.00"))
+                .razorpayOrderId(order)
+                .razorpayPaymentId(failedAttempt)
+                .paymentStatus("failed")
+                .build());
+
+        String capturedAttempt = gateway.createPaymentId();
+        deliver(gateway.paymentCaptured(order, capturedAttempt));
+        paymentWebhookService.reconcileBatch();
+
+        assertThat(paymentRepository.findByRazorpayPaymentId(failedAttempt).orElseThrow().getPaymentStatus())
+                .isEqualTo("failed");
+        assertThat(paymentRepository.findByRazorpayPaymentId(capturedAttempt).orElseThrow().getPaymentStatus())
+                .isEqualTo("success");
+        assertThat(paymentRepository.findByStudentStudentIdAndPaymentStatus(student.getStudentId(), "success"))
+                .hasSize(1);
+    }
+
+    @Test
+    void redeliveredWebhookIsQueuedOnce() throws Exception {
+        String order = gateway.createOrder();
+        FakeRazorpayGateway.Webhook webhook = gateway.paymentCaptured(order, gateway.createPaymentId());
+        long before = webhookEventRepository.count();
+
+        deliver(webhook);
+        deliver(webhook);
+
+        assertThat(webhookEventRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void webhookBeforePaymentIsKeptForRetry() throws Exception {
+        String order = gateway.createOrder();
+        FakeRazorpayGateway.Webhook webhook = gateway.paymentCaptured(order, gateway.createPaymentId());
+        deliver(webhook);
+
+        paymentWebhookService.reconcileBatch();
+
+        assertThat(webhookEventRepository.findAll()).filteredOn(e -> webhook.eventId().equals(e.getGatewayEventId()))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getStatus()).isEqualTo(WebhookEventStatus.PENDING);
+                    assertThat(e.getAttempts()).isEqualTo(1);
+                    assertThat(e.getNextAttemptAt()).isNotNull();
+                });
+    }
+
+    @Test
+    void invalidSignatureIsRejected() throws Exception {
+        FakeRazorpayGateway.Webhook webhook = gateway.paymentCaptured(gateway.createOrder(), gateway.createPaymentId());
+
+        mockMvc.perform(post("/api/payments/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Razorpay-Signature", "bogus")
+                .header("X-Razorpay-Event-Id", webhook.eventId())
+                .content(webhook.body()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void savePending(String orderId) {
+        paymentRepository.save(Payment.builder()
+                .student(student)
+                .amountPaid(new BigDecimal("1500.00"))
+                .razorpayOrderId(orderId)
+                .build());
+    }
+
+    private void deliver(FakeRazorpayGateway.Webhook webhook) throws Exception {
+        mockMvc.perform(post("/api/payments/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Razorpay-Signature", webhook.signature())
+                .header("X-Razorpay-Event-Id", webhook.eventId())
+                .content(webhook.body()))
+                .andExpect(status().isOk());
+    }
+}
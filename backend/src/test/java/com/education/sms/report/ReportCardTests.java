@@ -0,0 +1,105 @@
+package com.education.sms.report;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.ReportCardJobRequest;
+import com.education.sms.dto.ReportCardJobResponse;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Course;
+import com.education.sms.entity.Exam;
+import com.education.sms.entity.Result;
+import com.education.sms.entity.Student;
+import com.education.sms.repository.CourseRepository;
+import com.education.sms.repository.ExamRepository;
+import com.education.sms.repository.ResultRepository;
+import com.education.sms.service.ReportCardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ranks and totals come from a native window query, so these tests run on the
+ * embedded PostgreSQL.
+ */
+class ReportCardTests extends PostgresTestSupport {
+
+    private static final LocalDate TERM_START = LocalDate.of(2025, 9, 1);
+
+    @Autowired
+    private ReportCardService reportCardService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Test
+    void missingResultsLeaveGapsInsteadOfShiftingMarks() throws Exception {
+        ClassEntity classEntity = createClass();
+        Course course = courseRepository.save(Course.builder().courseName("Science").classEntity(classEntity).build());
+        Exam midterm = createExam(course, "Midterm", TERM_START.plusDays(10));
+        Exam finals = createExam(course, "Final", TERM_START.plusDays(40));
+
+        Student top = createStudent(classEntity);
+        Student missedFinal = createStudent(classEntity);
+        Student missedMidterm = createStudent(classEntity);
+        addResult(top, midterm, "50.00");
+        addResult(top, finals, "45.00");
+        // Equal totals share rank 2, so only the student ID tells their rows apart
+        addResult(missedFinal, midterm, "80.00");
+        addResult(missedMidterm, finals, "80.00");
+
+        List<String> lines = generate(classEntity);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(1).split(",", -1)).startsWith("1", top.getRegistrationNumber(), "Test Student",
+                "50.00", "45.00", "95.00");
+        assertThat(lines.get(2).split(",", -1)).startsWith("2", missedFinal.getRegistrationNumber(), "Test Student",
+                "80.00", "", "80.00");
+        assertThat(lines.get(3).split(",", -1)).startsWith("2", missedMidterm.getRegistrationNumber(),
+                "Test Student", "", "80.00", "80.00");
+    }
+
+    private List<String> generate(ClassEntity classEntity) throws Exception {
+        ReportCardJobResponse job = reportCardService.startJob(new ReportCardJobRequest(
+                classEntity.getId(), TERM_START, TERM_START.plusMonths(3), "csv"));
+        for (int i = 0; i < 100 && !isFinished(job); i++) {
+            Thread.sleep(100);
+            job = reportCardService.getJob(job.jobId());
+        }
+        assertThat(job.status()).isEqualTo("completed");
+        return Files.readAllLines(reportCardService.getJobOutput(job.jobId()).getFile().toPath(),
+                StandardCharsets.UTF_8);
+    }
+
+    private static boolean isFinished(ReportCardJobResponse job) {
+        return job.status().equals("completed") || job.status().equals("failed");
+    }
+
+    private Exam createExam(Course course, String name, LocalDate date) {
+        return examRepository.save(Exam.builder()
+                .course(course)
+                .examName(name)
+                .date(date)
+                .totalMarks(100)
+                .build());
+    }
+
+    private void addResult(Student student, Exam exam, String marks) {
+        resultRepository.save(Result.builder()
+                .student(student)
+                .exam(exam)
+                .marksObtained(new BigDecimal(marks))
+                .build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.education.sms.retry;
+
+import com.education.sms.dto.LibraryIssueRequest;
+import com.education.sms.dto.LibraryIssueResponse;
+import com.education.sms.entity.Book;
+import com.education.sms.entity.User;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.BookRepository;
+import com.education.sms.repository.UserRepository;
+import com.education.sms.service.LibraryIssueService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockRetryTests {
+
+    @Autowired
+    private LibraryIssueService libraryIssueService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void conflictingIssueIsRetriedAndRecovers() {
+        Book book = bookRepository.save(Book.builder()
+                .title("Contended " + UUID.randomUUID())
+                .isbn(UUID.randomUUID().toString())
+                .totalCopies(5)
+                .availableCopies(5)
+                .build());
+        User student = userRepository.save(User.builder()
+                .email("student-" + UUID.randomUUID() + "@test.local")
+                .password("x")
+                .role(UserRole.STUDENT)
+                .build());
+        double recoveredBefore = conflicts("recovered");
+
+        // The borrower is looked up after the book is read, so the first attempt holds a
+        // stale copy when another loan of the same book commits at that point
+        TransactionTemplate concurrentLoan = new TransactionTemplate(transactionManager);
+        concurrentLoan.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean interfered = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (interfered.compareAndSet(false, true)) {
+                concurrentLoan.executeWithoutResult(status -> {
+                    Book other = bookRepository.findById(book.getBookId()).orElseThrow();
+                    other.setAvailableCopies(other.getAvailableCopies() - 1);
+                });
+            }
+            return Optional.of(student);
+        }).when(userRepository).findById(student.getId());
+
+        LibraryIssueResponse issue = libraryIssueService.issueBook(
+                new LibraryIssueRequest(book.getBookId(), student.getId()));
+
+        assertThat(issue.status()).isEqualTo("issued");
+        assertThat(bookRepository.findById(book.getBookId()).orElseThrow().getAvailableCopies()).isEqualTo(3);
+        assertThat(conflicts("recovered") - recoveredBefore).isEqualTo(1);
+    }
+
+    private double conflicts(String outcome) {
+        return Search.in(meterRegistry).name("sms.optimistic.lock.conflicts")
+                .tag("operation", "LibraryIssueServiceImpl.issueBook")
+                .tag("outcome", outcome)
+                .counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
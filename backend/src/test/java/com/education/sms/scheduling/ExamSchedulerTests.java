@@ -0,0 +1,101 @@
+package com.education.sms.scheduling;
+
+import com.education.sms.scheduling.ExamConflict.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ExamSchedulerTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void conflictsWithReportsClassAndFacultyOverlaps() {
+        ExamSlot physics = new ExamSlot(1L, "Physics", 1L, 10L, DAY, LocalTime.of(9, 0), 120);
+        ExamSlot chemistry = new ExamSlot(2L, "Chemistry", 2L, 10L, DAY, LocalTime.of(13, 0), 60);
+        ExamSlot untimed = new ExamSlot(3L, "Biology", 1L, null, DAY.plusDays(1), null, null);
+        ExamScheduler scheduler = new ExamScheduler(List.of(physics, chemistry, untimed));
+
+        assertThat(scheduler.conflictsWith(proposed(1L, 20L, DAY, 10, 0, 60)))
+                .extracting(ExamConflict::resource, conflict -> conflict.first().examId())
+                .containsExactly(tuple(Resource.CLASS, 1L));
+        assertThat(scheduler.conflictsWith(proposed(3L, 10L, DAY, 13, 30, 60)))
+                .extracting(ExamConflict::resource, conflict -> conflict.first().examId())
+                .containsExactly(tuple(Resource.FACULTY, 2L));
+        assertThat(scheduler.conflictsWith(proposed(1L, 10L, DAY, 10, 30, 60)))
+                .extracting(ExamConflict::resource)
+                .containsExactly(Resource.CLASS, Resource.FACULTY);
+        // Half-open: starting as another ends is fine
+        assertThat(scheduler.conflictsWith(proposed(1L, 10L, DAY, 11, 0, 60))).isEmpty();
+        // An exam is never in conflict with itself
+        assertThat(scheduler.conflictsWith(physics)).isEmpty();
+        // An exam without a start time blocks its whole day
+        assertThat(scheduler.conflictsWith(proposed(1L, 20L, DAY.plusDays(1), 15, 0, 30)))
+                .extracting(conflict -> conflict.first().examId())
+                .containsExactly(3L);
+    }
+
+    @Test
+    void placeSkipsFullDaysAndBusySlots() {
+        ExamSlot untimed = new ExamSlot(1L, "Biology", 1L, null, DAY, null, null);
+        ExamSlot facultyBusy = new ExamSlot(2L, "Chemistry", 2L, 10L, DAY.plusDays(1), LocalTime.of(9, 0), 60);
+        ExamScheduler scheduler = new ExamScheduler(List.of(untimed, facultyBusy));
+        ExamWindow window = window(1, DAY, DAY.plusDays(1), DAY.plusDays(2));
+
+        // The untimed exam fills the class's day, the faculty is busy until 10:00 the next day
+        ExamSlot first = scheduler.place(proposal(1L, 10L, 60), window);
+        assertThat(first.date()).isEqualTo(DAY.plusDays(1));
+        assertThat(first.startTime()).isEqualTo(LocalTime.of(10, 0));
+
+        // One exam per class per day, so the next one moves to the following day
+        ExamSlot second = scheduler.place(proposal(1L, 20L, 60), window);
+        assertThat(second.date()).isEqualTo(DAY.plusDays(2));
+        assertThat(second.startTime()).isEqualTo(LocalTime.of(9, 0));
+
+        assertThat(scheduler.place(proposal(1L, 30L, 60), window)).isNull();
+
+        // Two per day lets a class sit a second exam right after the first
+        ExamScheduler twoPerDay = new ExamScheduler(List.of());
+        ExamWindow twoPerDayWindow = window(2, DAY);
+        assertThat(twoPerDay.place(proposal(5L, 50L, 60), twoPerDayWindow).startTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(twoPerDay.place(proposal(5L, 60L, 60), twoPerDayWindow).startTime())
+                .isEqualTo(LocalTime.of(10, 0));
+        assertThat(twoPerDay.place(proposal(5L, 70L, 60), twoPerDayWindow)).isNull();
+    }
+
+    @Test
+    void placeAllPlacesTheMostConstrainedExamsFirst() {
+        ExamScheduler scheduler = new ExamScheduler(List.of());
+        ExamSlot shortExam = proposal(5L, 40L, 30);
+        ExamSlot longExam = proposal(6L, 50L, 120);
+        ExamSlot sameFaculty = proposal(7L, 50L, 60);
+
+        // In batch order the 60 minute exam would take the morning and leave no room for the long one
+        List<ExamSlot> placed = scheduler.placeAll(List.of(shortExam, sameFaculty, longExam), window(1, DAY));
+
+        assertThat(placed).hasSize(3);
+        assertThat(placed.get(0).startTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(placed.get(1)).isNull();
+        assertThat(placed.get(2).startTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(scheduler.conflicts()).isEmpty();
+    }
+
+    private static ExamSlot proposed(Long classId, Long facultyId, LocalDate date, int hour, int minute,
+            int duration) {
+        return new ExamSlot(null, "Proposed", classId, facultyId, date, LocalTime.of(hour, minute), duration);
+    }
+
+    private static ExamSlot proposal(Long classId, Long facultyId, int duration) {
+        return new ExamSlot(null, "Proposed", classId, facultyId, null, null, duration);
+    }
+
+    // A 09:00 to 11:00 school day on a half-hour grid
+    private static ExamWindow window(int maxPerClassPerDay, LocalDate... days) {
+        return new ExamWindow(List.of(days), LocalTime.of(9, 0), LocalTime.of(11, 0), 30, maxPerClassPerDay);
+    }
+}
@@ -0,0 +1,73 @@
+package com.education.sms.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableSolverTests {
+
+    private static final Duration BUDGET = Duration.ofSeconds(10);
+
+    @Test
+    void solvedTimetableHasNoClashesAndKeepsOutOfBlockedSlots() {
+        TimetableGrid grid = new TimetableGrid(5, 4);
+        // Faculty 1 cannot teach on Monday
+        Set<Integer> monday = Set.of(grid.slot(1, 1), grid.slot(1, 2), grid.slot(1, 3), grid.slot(1, 4));
+        TimetableProblem problem = new TimetableProblem(grid, List.of(
+                new TimetableRequirement(1L, 100L, 1L, 4),
+                new TimetableRequirement(2L, 100L, 2L, 4),
+                new TimetableRequirement(3L, 100L, null, 3),
+                new TimetableRequirement(4L, 200L, 1L, 4),
+                new TimetableRequirement(5L, 200L, 2L, 4)),
+                Map.of(1L, monday));
+
+        TimetableSolution solution = new TimetableSolver(problem).solve(BUDGET, 2);
+
+        assertThat(solution.feasible()).isTrue();
+        assertThat(solution.lessons()).hasSize(19);
+        Set<String> classPeriods = new HashSet<>();
+        Set<String> facultyPeriods = new HashSet<>();
+        for (TimetableLesson lesson : solution.lessons()) {
+            assertThat(grid.contains(lesson.dayOfWeek(), lesson.period())).isTrue();
+            assertThat(classPeriods.add(lesson.classId() + "@" + lesson.dayOfWeek() + "/" + lesson.period()))
+                    .as("class %d double-booked", lesson.classId()).isTrue();
+            if (lesson.facultyId() != null) {
+                assertThat(facultyPeriods.add(lesson.facultyId() + "@" + lesson.dayOfWeek() + "/" + lesson.period()))
+                        .as("faculty %d double-booked", lesson.facultyId()).isTrue();
+            }
+        }
+        assertThat(solution.lessons())
+                .filteredOn(lesson -> Long.valueOf(1L).equals(lesson.facultyId()))
+                .extracting(TimetableLesson::dayOfWeek)
+                .doesNotContain(1);
+    }
+
+    @Test
+    void spreadPenaltyIsZeroWhenAPerfectTimetableExists() {
+        TimetableGrid grid = new TimetableGrid(5, 3);
+        // Each subject once a day; the three faculty rotate through the periods
+        TimetableProblem problem = new TimetableProblem(grid, List.of(
+                new TimetableRequirement(1L, 100L, 1L, 5),
+                new TimetableRequirement(2L, 100L, 2L, 5),
+                new TimetableRequirement(3L, 100L, 3L, 5),
+                new TimetableRequirement(4L, 200L, 1L, 5),
+                new TimetableRequirement(5L, 200L, 2L, 5),
+                new TimetableRequirement(6L, 200L, 3L, 5)),
+                Map.of());
+
+        TimetableSolution solution = new TimetableSolver(problem).solve(BUDGET, 2);
+
+        assertThat(solution.hardViolations()).isZero();
+        assertThat(solution.softPenalty()).isZero();
+        Set<String> subjectDays = new HashSet<>();
+        for (TimetableLesson lesson : solution.lessons()) {
+            assertThat(subjectDays.add(lesson.subjectId() + "@" + lesson.dayOfWeek())).isTrue();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.education.sms.timetable;
+
+import com.education.sms.PostgresTestSupport;
+import com.education.sms.dto.TimetableJobRequest;
+import com.education.sms.dto.TimetableJobResponse;
+import com.education.sms.dto.TimetablePeriod;
+import com.education.sms.entity.ClassEntity;
+import com.education.sms.entity.Faculty;
+import com.education.sms.entity.Subject;
+import com.education.sms.entity.UserRole;
+import com.education.sms.repository.FacultyRepository;
+import com.education.sms.service.TimetableService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Faculty availability is stored with an ON CONFLICT insert (V15), so these
+ * tests run on the embedded PostgreSQL. The week is the default five days of
+ * eight periods.
+ */
+class TimetableJobTests extends PostgresTestSupport {
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Test
+    void problemsThatCannotFitTheWeekAreRejected() {
+        ClassEntity crowded = createClass();
+        createSubject(crowded, null, 41);
+        assertThatThrownBy(() -> timetableService.startJob(request(crowded)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("needs 41 periods a week but the week has 40");
+
+        // 40 periods over two classes fit the week until one period is taken away
+        Faculty faculty = createFaculty();
+        ClassEntity first = createClass();
+        ClassEntity second = createClass();
+        createSubject(first, faculty, 20);
+        createSubject(second, faculty, 20);
+        timetableService.setUnavailablePeriods(faculty.getId(), List.of(new TimetablePeriod(DayOfWeek.FRIDAY, 8)));
+        assertThatThrownBy(() -> timetableService.startJob(request(first, second)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("needs 40 periods a week but is free for 39");
+    }
+
+    @Test
+    void jobIsAppliedOnlyOnce() throws InterruptedException {
+        ClassEntity classEntity = createClass();
+        createSubject(classEntity, createFaculty(), 3);
+        createSubject(classEntity, null, 2);
+
+        TimetableJobResponse job = timetableService.startJob(request(classEntity));
+        for (int i = 0; i < 100 && !job.status().equals("completed") && !job.status().equals("failed"); i++) {
+            Thread.sleep(100);
+            job = timetableService.getJob(job.jobId());
+        }
+        assertThat(job.status()).isEqualTo("completed");
+        assertThat(job.feasible()).isTrue();
+
+        assertThat(timetableService.applyJob(job.jobId()).applied()).isTrue();
+        assertThat(timetableService.getClassTimetable(classEntity.getId())).hasSize(5);
+
+        String jobId = job.jobId();
+        assertThatThrownBy(() -> timetableService.applyJob(jobId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already been applied");
+        assertThat(timetableService.getClassTimetable(classEntity.getId())).hasSize(5);
+    }
+
+    private Faculty createFaculty() {
+        return facultyRepository.save(Faculty.builder()
+                .user(createUser(UserRole.FACULTY))
+                .firstName("Test")
+                .lastName("Faculty")
+                .department("Science")
+                .build());
+    }
+
+    private Subject createSubject(ClassEntity classEntity, Faculty faculty, int periodsPerWeek) {
+        return subjectRepository.save(Subject.builder()
+                .name("Subject")
+                .code("SUB-" + UUID.randomUUID())
+                .classEntity(classEntity)
+                .faculty(faculty)
+                .periodsPerWeek(periodsPerWeek)
+                .build());
+    }
+
+    private static TimetableJobRequest request(ClassEntity... classes) {
+        return new TimetableJobRequest(Arrays.stream(classes).map(ClassEntity::getId).toList(), 10, 1);
+    }
+}
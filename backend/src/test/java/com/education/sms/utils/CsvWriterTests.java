@@ -0,0 +1,35 @@
+package com.education.sms.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTests {
+
+    @Test
+    void quotesSeparatorsAndQuotes() throws IOException {
+        assertThat(write("Smith, John", "say \"hi\"", "plain"))
+                .isEqualTo("\"Smith, John\",\"say \"\"hi\"\"\",plain\r\n");
+    }
+
+    @Test
+    void neutralizesTextThatLooksLikeAFormula() throws IOException {
+        assertThat(write("=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)", "\tcmd", "a=b"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-2,'@SUM(A1),'\tcmd,a=b\r\n");
+        // Numbers are data, not text, and keep their sign
+        assertThat(write(-5, new BigDecimal("-12.50"), null)).isEqualTo("-5,-12.50,\r\n");
+    }
+
+    private static String write(Object... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRow(values);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.education.sms.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTests {
+
+    @Test
+    void overlapsAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(10, 20, "a");
+        tree.add(20, 30, "b");
+        tree.add(5, 40, "c");
+
+        assertThat(tree.overlaps(19, 21)).containsExactly("c", "a", "b");
+        // Touching ends do not overlap
+        assertThat(tree.overlaps(30, 35)).containsExactly("c");
+        assertThat(tree.overlapsAny(0, 5)).isFalse();
+        assertThat(tree.overlapsAny(40, 50)).isFalse();
+        assertThat(tree.countOverlaps(0, 100)).isEqualTo(3);
+        assertThatThrownBy(() -> tree.add(7, 7, "empty")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortedInsertsAnswerLikeAnyOther() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            tree.add(i * 10L, i * 10L + 15, i);
+        }
+
+        assertThat(tree.size()).isEqualTo(n);
+        assertThat(tree.overlaps(100, 111)).containsExactly(9, 10, 11);
+        assertThat(tree.overlapsAny(n * 10L + 5, n * 10L + 10)).isFalse();
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInserts() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> stored = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long start = random.nextLong(1_000);
+            long[] interval = { start, start + 1 + random.nextLong(50), step };
+            tree.add(interval[0], interval[1], step);
+            stored.add(interval);
+
+            long from = random.nextLong(1_000);
+            long to = from + 1 + random.nextLong(100);
+            List<Integer> expected = stored.stream()
+                    .filter(other -> other[0] < to && other[1] > from)
+                    .map(other -> (int) other[2])
+                    .toList();
+            assertThat(tree.overlaps(from, to)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(tree.overlapsAny(from, to)).isEqualTo(!expected.isEmpty());
+        }
+        assertThat(tree.size()).isEqualTo(stored.size());
+    }
+}